@@ -0,0 +1,152 @@
+package com.giri.aiart.shared.persistence.pgvector;
+
+import com.giri.aiart.shared.util.EmbeddingUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/// Insert and read throughput of {@value #ROWS} vectors over JDBC: pgvector's text form (`CAST(? AS vector)`,
+/// `embedding::text`) against its binary wire format ({@link PgVector}, `vector_send(embedding)`). Each invocation
+/// moves all rows, so the reported time is per {@value #ROWS} rows.
+///
+/// Starts a `pgvector/pgvector:pg18` container, Docker must be running:
+/// ```shell
+/// ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args=PgVectorCodecBenchmark
+/// ```
+///
+/// @author Giri Pottepalem
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PgVectorCodecBenchmark {
+    static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"768", "1536"})
+    int dimensions;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private float[][] vectors;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("pgvector/pgvector:pg18")
+            .asCompatibleSubstituteFor("postgres"));
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+            postgres.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS vector");
+            statement.execute("CREATE UNLOGGED TABLE vector_read (id int PRIMARY KEY, embedding vector NOT NULL)");
+            statement.execute("CREATE UNLOGGED TABLE vector_write (id int PRIMARY KEY, embedding vector NOT NULL)");
+        }
+        PgVector.register(connection);
+        var random = new SplittableRandom(42);
+        // rows cycle through one batch of distinct vectors, 100k of them would not fit a default heap
+        vectors = new float[BATCH_SIZE][dimensions];
+        for (float[] vector : vectors) {
+            for (int i = 0; i < dimensions; i++) {
+                vector[i] = (float) random.nextDouble(-1, 1);
+            }
+        }
+        connection.setAutoCommit(false);
+        insert("INSERT INTO vector_read VALUES (?, ?)", true);
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE vector_write");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void insertText() throws SQLException {
+        insert("INSERT INTO vector_write VALUES (?, CAST(? AS vector))", false);
+    }
+
+    @Benchmark
+    public void insertBinary() throws SQLException {
+        insert("INSERT INTO vector_write VALUES (?, ?)", true);
+    }
+
+    @Benchmark
+    public void readText(Blackhole blackhole) throws SQLException {
+        read("SELECT embedding::text FROM vector_read", false, blackhole);
+    }
+
+    @Benchmark
+    public void readBinary(Blackhole blackhole) throws SQLException {
+        read("SELECT vector_send(embedding) FROM vector_read", true, blackhole);
+    }
+
+    private void insert(String sql, boolean binary) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int row = 0; row < ROWS; row++) {
+                statement.setInt(1, row);
+                if (binary) {
+                    statement.setObject(2, new PgVector(vectors[row % BATCH_SIZE]));
+                } else {
+                    statement.setString(2, EmbeddingUtils.toVectorLiteral(vectors[row % BATCH_SIZE]));
+                }
+                statement.addBatch();
+                if ((row + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private void read(String sql, boolean binary, Blackhole blackhole) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setFetchSize(BATCH_SIZE);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    if (binary) {
+                        blackhole.consume(PgVector.decode(rs.getBytes(1)));
+                    } else {
+                        var vector = new PgVector();
+                        vector.setValue(rs.getString(1));
+                        blackhole.consume(vector.toArray());
+                    }
+                }
+            }
+        }
+        connection.commit();
+    }
+}
@@ -0,0 +1,188 @@
+package com.giri.aiart.shared.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/// {@link VectorMath} against the plain loops of {@link ScalarVectorKernels}, at the dimensions of common embedding
+/// models. `batch*` methods score one query against {@link #ROWS} vectors, on the heap and in a native segment.
+///
+/// ```shell
+/// ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args=VectorMathBenchmark
+/// ```
+///
+/// @author Giri Pottepalem
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class VectorMathBenchmark {
+    static final int ROWS = 1_000;
+
+    @Param({"768", "1536"})
+    int dimensions;
+
+    private final ScalarVectorKernels scalar = new ScalarVectorKernels();
+    private float[] a;
+    private float[] b;
+    private float[][] rows;
+    private float[] scores;
+    private short[] half;
+    private byte[] quantized;
+    private Arena arena;
+    private MemorySegment slab;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new SplittableRandom(42);
+        a = vector(random);
+        b = vector(random);
+        rows = new float[ROWS][];
+        arena = Arena.ofConfined();
+        slab = arena.allocate((long) ROWS * dimensions * Float.BYTES, ValueLayout.JAVA_FLOAT.byteAlignment());
+        for (int row = 0; row < ROWS; row++) {
+            rows[row] = vector(random);
+            MemorySegment.copy(rows[row], 0, slab, ValueLayout.JAVA_FLOAT, (long) row * dimensions * Float.BYTES,
+                dimensions);
+        }
+        scores = new float[ROWS];
+        half = new short[dimensions];
+        quantized = new byte[dimensions];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Benchmark
+    public float dotScalar() {
+        return scalar.dot(a, b);
+    }
+
+    @Benchmark
+    public float dotVectorMath() {
+        return VectorMath.dot(a, b);
+    }
+
+    @Benchmark
+    public float dotSegmentScalar() {
+        return scalar.dot(a, slab, 0);
+    }
+
+    @Benchmark
+    public float dotSegmentVectorMath() {
+        return VectorMath.dot(a, slab, 0);
+    }
+
+    @Benchmark
+    public float cosineScalar() {
+        return scalar.cosine(a, b);
+    }
+
+    @Benchmark
+    public float cosineVectorMath() {
+        return VectorMath.cosine(a, b);
+    }
+
+    @Benchmark
+    public float l2Scalar() {
+        return (float) Math.sqrt(scalar.squaredL2(a, b));
+    }
+
+    @Benchmark
+    public float l2VectorMath() {
+        return VectorMath.l2(a, b);
+    }
+
+    @Benchmark
+    public float[] normalizeScalar() {
+        float[] unit = new float[a.length];
+        scalar.scale(a, 1 / (float) Math.sqrt(scalar.dot(a, a)), unit);
+        return unit;
+    }
+
+    @Benchmark
+    public float[] normalizeVectorMath() {
+        return VectorMath.normalize(a);
+    }
+
+    @Benchmark
+    public short[] toHalfScalar() {
+        for (int i = 0; i < a.length; i++) {
+            half[i] = Float.floatToFloat16(a[i]);
+        }
+        return half;
+    }
+
+    @Benchmark
+    public short[] toHalfVectorMath() {
+        VectorMath.toHalf(a, half);
+        return half;
+    }
+
+    @Benchmark
+    public byte[] quantizeInt8Scalar() {
+        float inverse = Byte.MAX_VALUE / scalar.maxAbs(a);
+        for (int i = 0; i < a.length; i++) {
+            quantized[i] = (byte) Math.round(a[i] * inverse);
+        }
+        return quantized;
+    }
+
+    @Benchmark
+    public byte[] quantizeInt8VectorMath() {
+        VectorMath.quantizeInt8(a, quantized);
+        return quantized;
+    }
+
+    @Benchmark
+    public float[] batchScalar() {
+        scalar.dotAll(a, rows, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public float[] batchVectorMath() {
+        VectorMath.dotAll(a, rows, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public float[] batchSegmentScalar() {
+        scalar.dotAll(a, slab, 0, ROWS, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public float[] batchSegmentVectorMath() {
+        VectorMath.dotAll(a, slab, 0, ROWS, scores);
+        return scores;
+    }
+
+    private float[] vector(SplittableRandom random) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextDouble(-1, 1);
+        }
+        return vector;
+    }
+}
@@ -16,6 +16,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.modulith.Modulith;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /// The main Spring Boot application.
 /// @author Giri Pottepalem
@@ -26,6 +28,8 @@ import org.springframework.retry.annotation.EnableRetry;
 @EnableConfigurationProperties(MinioProperties.class)
 @ImportAutoConfiguration(OllamaApiAutoConfiguration.class) // 1.1.0-M3
 @EnableRetry
+@EnableAsync // event-driven embedding (ArtworkEmbeddingListener)
+@EnableScheduling // resuming interrupted ingestions (IngestionResumeSweeper)
 public class AiArtApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(AiArtApplication.class, args);
@@ -0,0 +1,36 @@
+package com.giri.aiart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/// Synthetic corpus generation type-safe property mapping, for search and index tuning at production size.
+/// @author Giri Pottepalem
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "aiart.corpus")
+public class CorpusProperties {
+    /// Whether the corpus is generated on startup, after which the application exits
+    private boolean generate;
+    /// Seed of all generated values: the same seed and sizes produce the same ids, texts and vectors
+    private long seed = 42;
+    private int artists = 1000;
+    private int artworksPerArtist = 10;
+    /// Number of topics: each has a centroid vector and its own words in titles and descriptions
+    private int clusters = 256;
+    /// Norm of the random offset of a vector from its (unit) centroid; vectors of a topic have a cosine similarity
+    /// of about `1 / (1 + spread²)`, of different topics about `0`
+    private double spread = 0.5;
+    /// Exponent of the topic popularity: `1` spreads artworks evenly, larger values crowd the first topics
+    private double clusterSkew = 1.5;
+    /// Share of an artist's artworks on their own topic, the rest are on random topics
+    private double artistAffinity = 0.7;
+    /// Embedding model recorded on the vectors, the current one's when unset
+    private String model;
+    /// Length of the vectors, the current embedding space's when unset
+    private Integer dimensions;
+    /// Artists generated and copied per transaction
+    private int chunkSize = 100;
+    /// Chunks generated and copied concurrently, each on its own connection
+    private int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+}
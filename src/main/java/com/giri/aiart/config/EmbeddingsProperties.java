@@ -0,0 +1,133 @@
+package com.giri.aiart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/// Embedding generation type-safe property mapping.
+/// @author Giri Pottepalem
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "aiart.embeddings")
+public class EmbeddingsProperties {
+    /// Native length of the vectors of the embedding model (`spring.ai.ollama.embedding.options.model`); with the
+    /// model it names the embedding space vectors are stored and searched in
+    private int dimensions = 1024;
+
+    /// Approximate nearest neighbor index of each embedding space
+    private Index index = new Index();
+
+    /// In-process HNSW index of the current space, in front of pgvector
+    private Hnsw hnsw = new Hnsw();
+
+    /// Memoization of embedded texts
+    private Cache cache = new Cache();
+
+    /// Grouping of texts into embedding model calls
+    private Batch batch = new Batch();
+
+    /// Re-embedding of `NEEDS_UPDATE` embeddings, e.g. after switching embedding models
+    private Backfill backfill = new Backfill();
+    /// Streaming export of `artwork_embedding`
+    private Export export = new Export();
+
+    /// Precision of the vectors in the ANN index
+    public enum IndexMode {
+        /// float32, 4 bytes per dimension, exact distances
+        VECTOR,
+        /// float16 (`halfvec`), 2 bytes per dimension
+        HALFVEC,
+        /// binary quantization (`bit`), 1 bit per dimension, hamming distance
+        BIT
+    }
+
+    @Data
+    public static class Index {
+        /// Precision of the indexed vectors; the table always keeps float32 vectors to rescore the candidates with
+        private IndexMode mode = IndexMode.HALFVEC;
+        /// Candidates taken from the index per requested result, then reordered by their full-precision distance
+        private int rescoreFactor = 4;
+        /// HNSW search breadth (`hnsw.ef_search`), raised to the number of candidates when that is larger
+        private int efSearch = 100;
+    }
+
+    /// Precision of the vectors in the embedding snapshot file
+    public enum SnapshotPrecision {
+        /// 4 bytes per dimension, the vectors as stored
+        FLOAT32,
+        /// 2 bytes per dimension, half the file and page faults, ~3 significant digits
+        FLOAT16
+    }
+
+    @Data
+    public static class Hnsw {
+        /// Whether nearest neighbor searches are answered in-process when they can be, instead of by pgvector
+        private boolean enabled = false;
+        /// Off-heap memory of the indexed vectors (4 bytes per dimension each); vectors beyond it are left to pgvector
+        private DataSize memory = DataSize.ofMegabytes(256);
+        /// Neighbors per node and layer, twice as many on the bottom layer
+        private int m = 16;
+        /// Search breadth when inserting a vector
+        private int efConstruction = 100;
+        /// Search breadth of a query, raised to the number of results when that is larger
+        private int efSearch = 64;
+        /// How often the index catches up with inserted and archived embeddings
+        private Duration syncInterval = Duration.ofSeconds(30);
+        /// Directory of the memory-mapped vector snapshots the index starts from, one file per embedding space
+        private Path snapshotDir = Path.of("data", "snapshots");
+        /// Precision of the snapshot vectors
+        private SnapshotPrecision snapshotPrecision = SnapshotPrecision.FLOAT32;
+        /// How far before the snapshot's watermark a catch-up starts again: rows committed late by long transactions
+        /// carry a `last_modified_at` older than rows already applied
+        private Duration deltaOverlap = Duration.ofMinutes(5);
+        /// Share of deleted vectors at which the index is rebuilt to reclaim their memory
+        private double rebuildRatio = 0.25;
+    }
+
+    @Data
+    public static class Cache {
+        /// Whether embeddings are looked up by text before calling the embedding model
+        private boolean enabled = true;
+        /// Off-heap memory of the in-process tier; least recently used vectors are evicted beyond it
+        private DataSize memory = DataSize.ofMegabytes(64);
+        /// Whether vectors are also kept in `embedding_cache`, so that they survive restarts
+        private boolean persistent = true;
+    }
+
+    @Data
+    public static class Batch {
+        /// Maximum number of texts in one embedding model call
+        private int maxSize = 32;
+        /// Maximum estimated tokens (about 4 characters each) in one embedding model call; a longer text is sent alone
+        private int maxTokens = 8192;
+        /// Time a single embedding request waits for concurrent ones to share its model call, `0` to disable
+        /// micro-batching
+        private Duration window = Duration.ofMillis(10);
+        /// Number of micro-batches sent to the embedding model concurrently
+        private int concurrency = 4;
+        /// Longest a single embedding request waits for its micro-batch before it fails
+        private Duration timeout = Duration.ofSeconds(60);
+    }
+
+    @Data
+    public static class Backfill {
+        /// Number of embeddings read per keyset page; the checkpoint advances once per chunk
+        private int chunkSize = 500;
+        /// Number of texts sent to the embedding model in one call
+        private int batchSize = 32;
+        /// Number of embedding model calls in flight at once
+        private int parallelism = 2;
+        /// Upper bound of embedding model calls per second across all workers, `0` for unthrottled
+        private double maxBatchesPerSecond = 4;
+    }
+
+    @Data
+    public static class Export {
+        /// Rows the export's server-side cursor fetches per round trip; bounds its memory use, whatever the table size
+        private int fetchSize = 1000;
+    }
+}
@@ -0,0 +1,34 @@
+package com.giri.aiart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/// Image preprocessing (thumbnails and vision model input) type-safe property mapping.
+/// @author Giri Pottepalem
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "aiart.imaging")
+public class ImagingProperties {
+    /// Thumbnail stored next to every ingested original
+    private Rendition thumbnail = new Rendition(320, 0.8f);
+
+    /// Image sent to the vision model instead of the original
+    private Rendition vision = new Rendition(1024, 0.85f);
+
+    @Data
+    public static class Rendition {
+        /// Longest edge in pixels, smaller images are not upscaled
+        private int maxEdge;
+        /// JPEG quality, between 0 (smallest) and 1 (best)
+        private float quality;
+
+        public Rendition() {
+        }
+
+        Rendition(int maxEdge, float quality) {
+            this.maxEdge = maxEdge;
+            this.quality = quality;
+        }
+    }
+}
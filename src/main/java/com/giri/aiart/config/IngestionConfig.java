@@ -0,0 +1,48 @@
+package com.giri.aiart.config;
+
+import com.giri.aiart.shared.util.LogIcons;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/// Executor configuration for asynchronous artwork ingestion and event-driven embedding.
+///
+/// The pool is deliberately bounded: every job ends up calling the vision and embedding models, so running more
+/// jobs than the models can serve only grows latency. When the queue is full, submissions are rejected and the
+/// caller is asked to retry later.
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Configuration
+@AllArgsConstructor
+public class IngestionConfig {
+    private final IngestionProperties ingestionProperties;
+
+    @Bean
+    public ThreadPoolTaskExecutor ingestionExecutor() {
+        var executorProperties = ingestionProperties.getExecutor();
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(executorProperties.getPoolSize());
+        executor.setMaxPoolSize(executorProperties.getPoolSize());
+        executor.setQueueCapacity(executorProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("ingest-");
+        log.info("{} Ingestion executor configured: poolSize={}, queueCapacity={}",
+            LogIcons.CONFIG, executorProperties.getPoolSize(), executorProperties.getQueueCapacity());
+        return executor;
+    }
+
+    /// Executor of the `ArtworkIngested` listener, sized independently of ingestion. The queue is unbounded:
+    /// publications are persisted, so queued work only delays embeddings, it never blocks or fails an upload.
+    @Bean
+    public ThreadPoolTaskExecutor embeddingExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(ingestionProperties.getEmbeddingConcurrency());
+        executor.setMaxPoolSize(ingestionProperties.getEmbeddingConcurrency());
+        executor.setThreadNamePrefix("embed-");
+        log.info("{} Embedding executor configured: mode={}, poolSize={}",
+            LogIcons.CONFIG, ingestionProperties.getEmbeddingMode(), ingestionProperties.getEmbeddingConcurrency());
+        return executor;
+    }
+}
@@ -0,0 +1,81 @@
+package com.giri.aiart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/// Artwork ingestion type-safe property mapping.
+/// @author Giri Pottepalem
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "aiart.ingestion")
+public class IngestionProperties {
+    /// Bounded executor used for asynchronous ingestion jobs
+    private Executor executor = new Executor();
+
+    /// Maximum number of finished jobs kept in memory for status polling
+    private int maxRetainedJobs = 1000;
+
+    /// Deadline shared by all concurrently running stages of a single ingestion
+    private Duration deadline = Duration.ofMinutes(4);
+
+    /// Bulk (portfolio) ingestion
+    private Bulk bulk = new Bulk();
+
+    /// Where images are described and embedded
+    private EmbeddingMode embeddingMode = EmbeddingMode.EVENT;
+
+    /// Number of artworks described and embedded concurrently in {@link EmbeddingMode#EVENT} mode
+    private int embeddingConcurrency = 2;
+
+    /// Resuming interrupted and failed ingestions from their checkpoint
+    private Resume resume = new Resume();
+
+    public enum EmbeddingMode {
+        /// During ingestion, the artwork is persisted with its embedding; a model outage fails the upload
+        INLINE,
+        /// After the artwork is committed, from an `ArtworkIngested` event; uploads do not wait for the models
+        EVENT
+    }
+
+    @Data
+    public static class Executor {
+        /// Number of ingestion jobs running concurrently
+        private int poolSize = 4;
+        /// Number of ingestion jobs waiting for a free worker, submissions beyond this are rejected
+        private int queueCapacity = 100;
+    }
+
+    @Data
+    public static class Bulk {
+        /// Number of images of one bulk request going through upload/describe/embed concurrently
+        private int parallelism = 8;
+        /// Maximum number of prepared artworks persisted in one transaction
+        private int batchSize = 25;
+        /// Maximum number of images accepted in one bulk request
+        private int maxItems = 1000;
+        /// Time after which a bulk response stream is closed
+        private Duration timeout = Duration.ofHours(2);
+    }
+
+    @Data
+    public static class Resume {
+        /// Whether the sweeper resumes checkpoints on its own
+        private boolean enabled = true;
+        /// Time between two sweeps
+        private Duration interval = Duration.ofMinutes(1);
+        /// A running ingestion without progress for this long is considered stuck (its JVM is gone); must exceed
+        /// the deadline
+        private Duration staleAfter = Duration.ofMinutes(10);
+        /// A failed ingestion is resumed after this long
+        private Duration retryAfter = Duration.ofMinutes(2);
+        /// Attempts (including the first) after which a checkpoint is abandoned and its stored images removed
+        private int maxAttempts = 3;
+        /// Number of ingestions resumed concurrently
+        private int concurrency = 2;
+        /// Maximum number of checkpoints picked up per sweep
+        private int batchSize = 20;
+    }
+}
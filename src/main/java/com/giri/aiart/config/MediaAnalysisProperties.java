@@ -0,0 +1,27 @@
+package com.giri.aiart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/// Media analysis (vision model) type-safe property mapping.
+/// @author Giri Pottepalem
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "aiart.analysis")
+public class MediaAnalysisProperties {
+    /// Persistent cache of analysis results
+    private Cache cache = new Cache();
+
+    @Data
+    public static class Cache {
+        /// Whether analyses are looked up by image, prompt and model before calling the vision model
+        private boolean enabled = true;
+        /// How long a cached analysis is served; models drift and prompts get tuned without a version bump
+        private Duration ttl = Duration.ofDays(30);
+        /// How often expired analyses are deleted
+        private Duration purgeInterval = Duration.ofHours(6);
+    }
+}
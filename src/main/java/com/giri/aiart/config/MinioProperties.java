@@ -3,6 +3,7 @@ package com.giri.aiart.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 /// MinIO client type-safe property mapping.
 /// @author Giri Pottepalem
@@ -15,6 +16,26 @@ public class MinioProperties {
     private String secretKey;
     private boolean secure;
     private String bucketName;
+    /// Optional multi-bucket layout, buckets left empty fall back to `bucketName`
+    private Buckets buckets = new Buckets();
     private String imageSize;
     private String fileSize;
+
+    /// Size of the parts an object is uploaded in. Objects of unknown size are streamed one part at a time, so this
+    /// also bounds the heap used by a single upload. MinIO requires at least 5 MB.
+    private DataSize partSize = DataSize.ofMegabytes(16);
+
+    /// Objects of at least this size are uploaded as parts in parallel
+    private DataSize parallelUploadThreshold = DataSize.ofMegabytes(64);
+
+    /// Number of parts of one object uploaded concurrently
+    private int uploadParallelism = 4;
+
+    @Data
+    public static class Buckets {
+        /// Bucket of uploaded originals
+        private String originals;
+        /// Bucket of derived thumbnails
+        private String thumbnails;
+    }
 }
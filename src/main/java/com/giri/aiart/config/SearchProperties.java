@@ -0,0 +1,24 @@
+package com.giri.aiart.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/// Artwork search type-safe property mapping.
+/// @author Giri Pottepalem
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "aiart.search")
+public class SearchProperties {
+    /// Keyword plus vector search
+    private Hybrid hybrid = new Hybrid();
+
+    @Data
+    public static class Hybrid {
+        /// Ranked artworks taken from each of the keyword and vector searches before fusing, at least the page size
+        private int candidates = 50;
+        /// Rank constant `k` of reciprocal-rank fusion, `score = Σ 1 / (k + rank)`; larger values flatten the
+        /// advantage of the top ranks
+        private int rrfK = 60;
+    }
+}
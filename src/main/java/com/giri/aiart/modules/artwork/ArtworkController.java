@@ -0,0 +1,53 @@
+package com.giri.aiart.modules.artwork;
+
+import com.giri.aiart.shared.dto.ArtworkDTO;
+import com.giri.aiart.shared.dto.VectorEncoding;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+/// **REST API** for reading artworks.
+///
+/// - `GET /api/v1/artworks?page=0&size=20` — artworks, oldest first, with their embeddings' type, status, model and
+///   dimensions
+/// - `GET /api/v1/artworks/{id}` — one artwork; add `vectors=FLOAT32` or `vectors=FLOAT16` to get each embedding's
+///   vector as base64 (see {@link VectorEncoding}), it is left out otherwise
+///
+/// @author Giri Pottepalem
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/artworks")
+public class ArtworkController {
+    private final ArtworkService artworkService;
+
+    /// A page of artworks, without vectors
+    @GetMapping
+    public ResponseEntity<List<ArtworkDTO>> list(
+        @RequestParam(required = false) Integer page,
+        @RequestParam(required = false) Integer size
+    ) {
+        try {
+            return ResponseEntity.ok(artworkService.list(page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /// An artwork, with its vectors in the given encoding if asked for
+    @GetMapping("/{id}")
+    public ResponseEntity<ArtworkDTO> get(
+        @PathVariable UUID id,
+        @RequestParam(required = false) VectorEncoding vectors
+    ) {
+        return artworkService.get(id, vectors)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
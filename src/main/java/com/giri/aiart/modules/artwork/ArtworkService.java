@@ -0,0 +1,79 @@
+package com.giri.aiart.modules.artwork;
+
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.dto.ArtworkDTO;
+import com.giri.aiart.shared.dto.ArtworkEmbeddingDTO;
+import com.giri.aiart.shared.dto.VectorEncoding;
+import com.giri.aiart.shared.persistence.ArtWorkRepository;
+import com.giri.aiart.shared.persistence.ArtworkEmbeddingRepository;
+import com.giri.aiart.shared.persistence.ArtworkEmbeddingSummary;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/// Reads artworks for the REST API.
+///
+/// Embeddings are listed through {@link ArtworkEmbeddingSummary} projections, which never select the vector column;
+/// vectors are only loaded for a single artwork and only when asked for with a {@link VectorEncoding}.
+///
+/// @author Giri Pottepalem
+@Service
+@RequiredArgsConstructor
+public class ArtworkService {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final ArtWorkRepository artWorkRepository;
+    private final ArtworkEmbeddingRepository artworkEmbeddingRepository;
+
+    /// A page of artworks, oldest first, with their embeddings but no vectors
+    ///
+    /// @param page zero-based page number, `0` when `null`
+    /// @param size page size, {@value #DEFAULT_PAGE_SIZE} when `null`, at most {@value #MAX_PAGE_SIZE}
+    /// @throws IllegalArgumentException if the page or its size is out of range
+    @Transactional
+    public List<ArtworkDTO> list(Integer page, Integer size) {
+        int number = page == null ? 0 : page;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (number < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page " + number + " of size " + pageSize + " is out of range");
+        }
+        var artworks = artWorkRepository.findAll(PageRequest.of(number, pageSize, Sort.by("createdAt", "id")))
+            .getContent();
+        var embeddings = summaries(artworks.stream().map(Artwork::getId).toList());
+        return artworks.stream()
+            .map(artwork -> ArtworkDTO.of(artwork, embeddings.getOrDefault(artwork.getId(), List.of())))
+            .toList();
+    }
+
+    /// An artwork with its embeddings
+    ///
+    /// @param vectors encoding of the vectors to include, `null` to leave them out
+    /// @return the artwork, empty if there is none with the given id
+    @Transactional
+    public Optional<ArtworkDTO> get(UUID id, VectorEncoding vectors) {
+        return artWorkRepository.findById(id).map(artwork -> ArtworkDTO.of(artwork, vectors == null
+            ? summaries(List.of(id)).getOrDefault(id, List.of())
+            : artworkEmbeddingRepository.findByArtwork_Id(id).stream()
+                .map(embedding -> ArtworkEmbeddingDTO.fromEntity(embedding, vectors))
+                .toList()));
+    }
+
+    private Map<UUID, List<ArtworkEmbeddingDTO>> summaries(Collection<UUID> artworkIds) {
+        if (artworkIds.isEmpty()) {
+            return Map.of();
+        }
+        return artworkEmbeddingRepository.findSummariesByArtworkIds(artworkIds).stream()
+            .collect(Collectors.groupingBy(ArtworkEmbeddingSummary::artworkId,
+                Collectors.mapping(ArtworkEmbeddingDTO::fromSummary, Collectors.toList())));
+    }
+}
@@ -0,0 +1,9 @@
+package com.giri.aiart.modules.chat.media;
+
+/// Response of a media analysis along with the model that produced it, which is the primary model or one of its
+/// fallbacks.
+///
+/// @param text the aggregated AI response
+/// @param model name of the model that produced it
+/// @author Giri Pottepalem
+public record MediaAnalysis(String text, String model) {}
@@ -0,0 +1,141 @@
+package com.giri.aiart.modules.chat.media;
+
+import com.giri.aiart.config.MediaAnalysisProperties;
+import com.giri.aiart.prompt.PromptFactory;
+import com.giri.aiart.prompt.PromptType;
+import com.giri.aiart.shared.util.ContentHashUtils;
+import com.giri.aiart.shared.util.LogIcons;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/// Persistent cache of vision model analyses (`media_analysis_cache`), so that an image is sent to the model once
+/// per prompt and model, not on every request.
+///
+/// Entries are keyed by (SHA-256 of the image, {@link PromptType}, prompt version, model name):
+/// - changing a prompt's text comes with a {@link com.giri.aiart.prompt.PromptBuilder#version()} bump, switching
+///   the model changes the name; either way the previous analyses are simply never looked up again
+/// - every entry also expires after `aiart.analysis.cache.ttl`, expired rows are deleted every `purge-interval`
+///
+/// The cache is an optimization only: resources that can be read only once are not cached, and database failures
+/// are logged and treated as misses. Lookups are counted in `aiart.analysis.cache` (`result=hit|miss`).
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class MediaAnalysisCache {
+    static final String METRIC = "aiart.analysis.cache";
+
+    /// Cache key of one analysis
+    record Key(String contentHash, PromptType promptType, int promptVersion, String model) {}
+
+    private final JdbcClient jdbcClient;
+    private final MediaAnalysisProperties mediaAnalysisProperties;
+    private final MeterRegistry meterRegistry;
+
+    /// @return the key of the analysis of the given image by the given model, or empty when it is not to be cached
+    Optional<Key> keyOf(@NonNull Resource mediaResource, @NonNull PromptType promptType, @NonNull String model) {
+        if (!mediaAnalysisProperties.getCache().isEnabled() || mediaResource.isOpen()) {
+            return Optional.empty();
+        }
+        try (InputStream inputStream = mediaResource.getInputStream()) {
+            return Optional.of(new Key(ContentHashUtils.sha256Hex(inputStream), promptType,
+                PromptFactory.versionOf(promptType), model));
+        } catch (IOException e) {
+            log.warn("{} Cannot fingerprint {}, analyzing it uncached: {}", LogIcons.WARNING,
+                mediaResource.getDescription(), e.toString());
+            return Optional.empty();
+        }
+    }
+
+    /// @return the unexpired cached analysis, if any
+    Optional<MediaAnalysis> find(@NonNull Key key) {
+        Optional<MediaAnalysis> analysis;
+        try {
+            analysis = jdbcClient.sql("""
+                    SELECT analysis FROM media_analysis_cache
+                    WHERE content_hash = :contentHash AND prompt_type = :promptType
+                      AND prompt_version = :promptVersion AND model = :model AND expires_at > :now
+                    """)
+                .param("contentHash", key.contentHash())
+                .param("promptType", key.promptType().name())
+                .param("promptVersion", key.promptVersion())
+                .param("model", key.model())
+                .param("now", Timestamp.from(Instant.now()))
+                .query(String.class)
+                .optional()
+                .map(text -> new MediaAnalysis(text, key.model()));
+        } catch (RuntimeException e) {
+            log.warn("{} Analysis cache lookup failed, analyzing uncached: {}", LogIcons.WARNING, e.toString());
+            analysis = Optional.empty();
+        }
+        meterRegistry.counter(METRIC, "result", analysis.isPresent() ? "hit" : "miss").increment();
+        if (analysis.isPresent()) {
+            log.info("{} Serving cached {} analysis of {} by {}", LogIcons.DATA, key.promptType(),
+                key.contentHash(), key.model());
+        }
+        return analysis;
+    }
+
+    /// Caches an analysis for `aiart.analysis.cache.ttl`, replacing an expired or outdated one
+    void save(@NonNull Key key, @NonNull MediaAnalysis analysis) {
+        if (analysis.text() == null || analysis.text().isBlank()) {
+            return;
+        }
+        var now = Instant.now();
+        try {
+            jdbcClient.sql("""
+                    INSERT INTO media_analysis_cache
+                        (content_hash, prompt_type, prompt_version, model, analysis, created_at, expires_at)
+                    VALUES (:contentHash, :promptType, :promptVersion, :model, :analysis, :now, :expiresAt)
+                    ON CONFLICT (content_hash, prompt_type, prompt_version, model) DO UPDATE
+                    SET analysis = EXCLUDED.analysis, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at
+                    """)
+                .param("contentHash", key.contentHash())
+                .param("promptType", key.promptType().name())
+                .param("promptVersion", key.promptVersion())
+                .param("model", key.model())
+                .param("analysis", analysis.text())
+                .param("now", Timestamp.from(now))
+                .param("expiresAt", Timestamp.from(now.plus(mediaAnalysisProperties.getCache().getTtl())))
+                .update();
+        } catch (RuntimeException e) {
+            log.warn("{} Could not cache {} analysis: {}", LogIcons.WARNING, key.promptType(), e.toString());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@mediaAnalysisProperties.cache.purgeInterval.toMillis()}",
+        initialDelayString = "#{@mediaAnalysisProperties.cache.purgeInterval.toMillis()}")
+    void scheduledPurge() {
+        try {
+            purgeExpired();
+        } catch (RuntimeException e) {
+            log.warn("{} Purging expired cached analyses failed: {}", LogIcons.WARNING, e.toString());
+        }
+    }
+
+    /// Deletes expired analyses
+    ///
+    /// @return the number of deleted analyses
+    int purgeExpired() {
+        int purged = jdbcClient.sql("DELETE FROM media_analysis_cache WHERE expires_at <= :now")
+            .param("now", Timestamp.from(Instant.now()))
+            .update();
+        if (purged > 0) {
+            log.info("{} Purged {} expired cached analyses", LogIcons.DATA, purged);
+        }
+        return purged;
+    }
+}
@@ -66,6 +66,15 @@ public interface MediaChatService {
     /// @throws IOException if reading the media resource fails
     String analyzeMedia(Resource mediaResource, PromptType promptType) throws IOException;
 
+    /// Same as {@link #analyzeMedia(Resource, PromptType)}, also reporting which model produced the response, so
+    /// that callers persisting the response can record its provenance.
+    ///
+    /// @param mediaResource the media resource
+    /// @param promptType the prompt type
+    /// @return the aggregated AI response and the name of the model that produced it
+    /// @throws IOException if reading the media resource fails
+    MediaAnalysis analyzeMediaWithModel(Resource mediaResource, PromptType promptType) throws IOException;
+
     /// Extracts textual content (OCR or caption text) from a classpath media file
     /// using an AI model capable of text recognition or visual question answering.
     ///
@@ -86,6 +95,12 @@ public interface MediaChatService {
         return analyzeMedia(imageResource, PromptType.DESCRIPTION);
     }
 
+    /// Generates a descriptive caption for the given image resource using AI, along with the model that produced it.
+    /// This is a shorthand for analyzeMediaWithModel(..., PromptType.DESCRIPTION).
+    default MediaAnalysis describeImageWithModel(Resource imageResource) throws IOException {
+        return analyzeMediaWithModel(imageResource, PromptType.DESCRIPTION);
+    }
+
     /// Generates a caption caption for the given image resource using AI.
     /// This is a shorthand for analyzeMedia(..., PromptType.CAPTION).
     default String captionImage(Resource imageResource) throws IOException {
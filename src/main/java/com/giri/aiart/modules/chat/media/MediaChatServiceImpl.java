@@ -19,12 +19,16 @@ import org.springframework.retry.annotation.Recover;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
 import java.util.List;
 
 /// A concrete implementation of {@link MediaChatService}
 ///
+/// Analyses by the primary model are looked up in and saved to the {@link MediaAnalysisCache}; fallback analyses are
+/// not cached, so an outage of the primary model never pins a fallback's answer.
+///
 /// @See {@link com.giri.aiart.config.ChatClientConfiguration} for {@link ChatClient}
 ///
 /// @author Giri Pottepalem
@@ -41,42 +45,30 @@ public class MediaChatServiceImpl implements MediaChatService {
     private final ChatClientWithMeta secondaryChatClient;
     private final ChatClientWithMeta tertiaryChatClient;
     private final SimpleLoggerAdvisor simpleLoggerAdvisor;
+    private final MediaAnalysisCache mediaAnalysisCache;
 
     @Override
     public Flux<String> analyzeMediaStreaming(String mediaFileName, PromptType promptType) throws IOException {
         log.info("{} Analyzing mediaFile:{} for prompt: {}", LogIcons.ANALYSIS, mediaFileName, promptType.name());
-        ModelUtils.logModelName(chatClientWithMeta.modelName());
-
-        Prompt prompt = PromptFactory.createPrompt(promptType, mediaFileName);
-
-        return chatClientWithMeta.chatClient().prompt(prompt)
-            .advisors(simpleLoggerAdvisor)
-            .stream()
-            .content();
+        return stream(MediaUtils.toResource(mediaFileName), promptType);
     }
 
     @Override
     public Flux<String> analyzeMediaStreaming(Resource mediaResource, PromptType promptType) throws IOException {
         log.info("{} Analyzing mediaResource for prompt: {}", LogIcons.ANALYSIS, promptType.name());
-        ModelUtils.logModelName(chatClientWithMeta.modelName());
-
-        Prompt prompt = PromptFactory.createPrompt(promptType, mediaResource);
-        return chatClientWithMeta.chatClient().prompt(prompt)
-            .advisors(simpleLoggerAdvisor)
-            .stream()
-            .content();
+        return stream(mediaResource, promptType);
     }
 
     @Override
     public String analyzeMedia(Resource mediaResource, PromptType promptType) throws IOException {
         log.info("{} Analyzing mediaResource for prompt: {}", LogIcons.ANALYSIS, promptType.name());
-        ModelUtils.logModelName(chatClientWithMeta.modelName());
+        return analyze(mediaResource, promptType).text();
+    }
 
-        Prompt prompt = PromptFactory.createPrompt(promptType, mediaResource);
-        return chatClientWithMeta.chatClient().prompt(prompt)
-            .advisors(simpleLoggerAdvisor)
-            .call()
-            .content();
+    @Override
+    public MediaAnalysis analyzeMediaWithModel(Resource mediaResource, PromptType promptType) throws IOException {
+        log.info("{} Analyzing mediaResource for prompt: {}", LogIcons.ANALYSIS, promptType.name());
+        return analyze(mediaResource, promptType);
     }
 
     /// Recover from retry failures by going to secondary/tertiary models
@@ -87,6 +79,61 @@ public class MediaChatServiceImpl implements MediaChatService {
         );
     }
 
+    /// Recover from retry failures by going to secondary/tertiary models, reporting the one that answered
+    @Recover
+    private MediaAnalysis recoverAnalyzeMediaWithModel(Exception ex, Resource mediaResource, PromptType promptType) {
+        return ModelFallbackUtil.executeFallbackWithModel(
+            ex, promptType, mediaResource, simpleLoggerAdvisor, secondaryChatClient, tertiaryChatClient
+        );
+    }
+
+    /// Analyzes with the primary model, unless the analysis is cached
+    private MediaAnalysis analyze(Resource mediaResource, PromptType promptType) {
+        ModelUtils.logModelName(chatClientWithMeta.modelName());
+        var key = mediaAnalysisCache.keyOf(mediaResource, promptType, chatClientWithMeta.modelName());
+        var cached = key.flatMap(mediaAnalysisCache::find);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Prompt prompt = PromptFactory.createPrompt(promptType, mediaResource);
+        var content = chatClientWithMeta.chatClient().prompt(prompt)
+            .advisors(simpleLoggerAdvisor)
+            .call()
+            .content();
+        var analysis = new MediaAnalysis(content, chatClientWithMeta.modelName());
+        key.ifPresent(k -> mediaAnalysisCache.save(k, analysis));
+        return analysis;
+    }
+
+    /// Streams from the primary model, or replays the cached analysis as a single element. A completed stream is
+    /// cached once it has been fully consumed; a cancelled or failed one is not.
+    private Flux<String> stream(Resource mediaResource, PromptType promptType) {
+        ModelUtils.logModelName(chatClientWithMeta.modelName());
+        var key = mediaAnalysisCache.keyOf(mediaResource, promptType, chatClientWithMeta.modelName());
+        var cached = key.flatMap(mediaAnalysisCache::find);
+        if (cached.isPresent()) {
+            return Flux.just(cached.get().text());
+        }
+
+        Prompt prompt = PromptFactory.createPrompt(promptType, mediaResource);
+        Flux<String> content = chatClientWithMeta.chatClient().prompt(prompt)
+            .advisors(simpleLoggerAdvisor)
+            .stream()
+            .content();
+        if (key.isEmpty()) {
+            return content;
+        }
+        return Flux.defer(() -> {
+            var text = new StringBuilder();
+            return content
+                .doOnNext(text::append)
+                // off the model client's event loop, the insert blocks
+                .doOnComplete(() -> Schedulers.boundedElastic().schedule(() -> mediaAnalysisCache.save(
+                    key.get(), new MediaAnalysis(text.toString(), chatClientWithMeta.modelName()))));
+        });
+    }
+
     /// TODO revisit: image -> text extraction : DO WE NEED THIS ?
     @Override
     public Flux<String> extractText(String mediaFileName) throws IOException {
@@ -30,6 +30,19 @@ public class ModelFallbackUtil {
         SimpleLoggerAdvisor advisor,
         ChatClientWithMeta secondary,
         ChatClientWithMeta tertiary
+    ) {
+        return executeFallbackWithModel(primaryException, promptType, mediaResource, advisor, secondary, tertiary)
+            .text();
+    }
+
+    /// Fallback for non-streaming use-cases, reporting which fallback model produced the response
+    public MediaAnalysis executeFallbackWithModel(
+        Exception primaryException,
+        PromptType promptType,
+        Resource mediaResource,
+        SimpleLoggerAdvisor advisor,
+        ChatClientWithMeta secondary,
+        ChatClientWithMeta tertiary
     ) {
         log.warn("{} Primary LLM failed: {}", LogIcons.WARNING, primaryException.getMessage());
         log.info("{} Retrying with secondary model...", LogIcons.AI);
@@ -37,20 +50,22 @@ public class ModelFallbackUtil {
 
         try {
             Prompt prompt = PromptFactory.createPrompt(promptType, mediaResource);
-            return secondary.chatClient().prompt(prompt)
+            var content = secondary.chatClient().prompt(prompt)
                 .advisors(advisor)
                 .call()
                 .content();
+            return new MediaAnalysis(content, secondary.modelName());
         } catch (Exception ex2) {
             log.warn("{} Secondary LLM failed: {}", LogIcons.WARNING, ex2.getMessage());
             log.info("{} Retrying with tertiary model...", LogIcons.AI);
             ModelUtils.logModelName(tertiary.modelName());
 
             Prompt prompt = PromptFactory.createPrompt(promptType, mediaResource);
-            return tertiary.chatClient().prompt(prompt)
+            var content = tertiary.chatClient().prompt(prompt)
                 .advisors(advisor)
                 .call()
                 .content();
+            return new MediaAnalysis(content, tertiary.modelName());
         }
     }
 
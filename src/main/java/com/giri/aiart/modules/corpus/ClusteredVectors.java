@@ -0,0 +1,69 @@
+package com.giri.aiart.modules.corpus;
+
+import com.giri.aiart.shared.util.VectorMath;
+import lombok.NonNull;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/// Unit vectors scattered around random topic centroids, so that nearest neighbors mean something: vectors of a topic
+/// are close to each other and unrelated to those of other topics, as with real embeddings of similar content.
+///
+/// A vector of topic `c` is `normalize(centroid[c] + noise)`, each noise element drawn from
+/// `N(0, spread² / dimensions)`, i.e. a noise norm of about `spread`.
+///
+/// @author Giri Pottepalem
+final class ClusteredVectors {
+    private final float[][] centroids;
+    private final float sigma;
+    private final double skew;
+
+    /// @param clusters number of topics
+    /// @param spread norm of the offset of a vector from its centroid
+    /// @param skew exponent of the topic popularity, `1` for uniform
+    /// @param seed seed of the centroids
+    ClusteredVectors(int clusters, int dimensions, double spread, double skew, long seed) {
+        if (clusters < 1 || dimensions < 1 || spread < 0 || skew <= 0) {
+            throw new IllegalArgumentException("Invalid clusters %d, dimensions %d, spread %s or skew %s"
+                .formatted(clusters, dimensions, spread, skew));
+        }
+        var random = new SplittableRandom(seed);
+        centroids = new float[clusters][];
+        for (int cluster = 0; cluster < clusters; cluster++) {
+            centroids[cluster] = VectorMath.normalize(gaussian(dimensions, 1, random));
+        }
+        this.sigma = (float) (spread / Math.sqrt(dimensions));
+        this.skew = skew;
+    }
+
+    int clusters() {
+        return centroids.length;
+    }
+
+    int dimensions() {
+        return centroids[0].length;
+    }
+
+    /// @return a topic, lower ones more often the larger the skew
+    int nextCluster(@NonNull RandomGenerator random) {
+        return Math.min((int) (centroids.length * Math.pow(random.nextDouble(), skew)), centroids.length - 1);
+    }
+
+    /// @return a unit vector of the given topic
+    float[] next(int cluster, @NonNull RandomGenerator random) {
+        float[] centroid = centroids[cluster];
+        float[] vector = gaussian(centroid.length, sigma, random);
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] += centroid[i];
+        }
+        return VectorMath.normalize(vector);
+    }
+
+    private static float[] gaussian(int dimensions, float sigma, RandomGenerator random) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextGaussian() * sigma;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,214 @@
+package com.giri.aiart.modules.corpus;
+
+import com.giri.aiart.config.CorpusProperties;
+import com.giri.aiart.modules.embeddings.EmbeddingSpace;
+import com.giri.aiart.modules.embeddings.EmbeddingSpaceRegistry;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.pgvector.PgBinaryCopy;
+import com.giri.aiart.shared.util.LogIcons;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/// Generates a reproducible synthetic corpus of artists, artworks and `IMAGE` embeddings at any size, for
+/// benchmarking search and index tuning.
+///
+/// - Every artwork belongs to a topic ({@link ClusteredVectors}): its vector lies near the topic's centroid and its
+///   title and description use the topic's words, so vector, keyword and hybrid searches find the same neighborhoods.
+///   An artist mostly works on one topic (`aiart.corpus.artist-affinity`).
+/// - Artists are generated in chunks of `chunk-size`, `parallelism` chunks at a time. Each chunk draws from its own
+///   `SplittableRandom`, split off the seed's in chunk order, so the output does not depend on thread scheduling.
+/// - Each chunk is written in one transaction with three binary `COPY`s ({@link PgBinaryCopy}): artists, artworks,
+///   embeddings. Only the chunk's artwork ids and topics are held in memory, vectors are written as generated.
+///
+/// `COPY` fires the `search_vector` trigger and maintains every index; for millions of rows, building the vector
+/// indexes after the load is considerably faster.
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyntheticCorpusGenerator {
+    private static final String[] FIRST_NAMES = {"Ada", "Bapu", "Chen", "Dalia", "Emeka", "Frida", "Goro", "Hana",
+        "Ilya", "Jun", "Kavya", "Lior", "Mira", "Nia", "Omar", "Paula", "Ravi", "Sofia", "Tariq", "Yuki"};
+    private static final String[] LAST_NAMES = {"Sattiraju", "Okafor", "Lindqvist", "Moreau", "Tanaka", "Varma",
+        "Kowalski", "Haddad", "Silva", "Novak", "Mensah", "Ibarra", "Kaur", "Petrov", "Nakamura", "Rossi"};
+    private static final String[] SUBJECTS = {"harbor", "forest", "portrait", "city", "river", "mountain", "garden",
+        "market", "temple", "desert", "orchard", "lighthouse", "dancer", "horse", "storm", "village", "bridge",
+        "festival", "cathedral", "glacier", "meadow", "train", "kitchen", "library"};
+    private static final String[] MOODS = {"quiet", "vivid", "melancholic", "luminous", "stormy", "dreamlike",
+        "austere", "playful", "nocturnal", "sunlit", "misty", "fiery"};
+    private static final String[] PALETTES = {"ochre", "cobalt", "crimson", "emerald", "silver", "amber", "violet",
+        "charcoal", "turquoise", "rose"};
+    private static final ArtType[] ART_TYPES = ArtType.values();
+
+    private final DataSource dataSource;
+    private final EmbeddingSpaceRegistry embeddingSpaceRegistry;
+
+    /// Totals of a generated corpus
+    public record Result(long artists, long artworks, long embeddings, Duration elapsed) {}
+
+    /// Generates and inserts the corpus described by the properties
+    ///
+    /// @throws IllegalArgumentException if a size is not positive
+    /// @throws IllegalStateException if a chunk fails; chunks already committed stay
+    public Result generate(@NonNull CorpusProperties corpus) {
+        if (corpus.getArtists() < 1 || corpus.getArtworksPerArtist() < 1 || corpus.getChunkSize() < 1
+            || corpus.getParallelism() < 1) {
+            throw new IllegalArgumentException("Corpus sizes, chunk size and parallelism must be positive");
+        }
+        EmbeddingSpace current = embeddingSpaceRegistry.current();
+        var space = new EmbeddingSpace(corpus.getModel() != null ? corpus.getModel() : current.model(),
+            corpus.getDimensions() != null ? corpus.getDimensions() : current.dimensions());
+        var random = new SplittableRandom(corpus.getSeed());
+        var vectors = new ClusteredVectors(corpus.getClusters(), space.dimensions(), corpus.getSpread(),
+            corpus.getClusterSkew(), random.nextLong());
+        log.info("{} Generating {} artists × {} artworks in {} topics, {} ...", LogIcons.SEED, corpus.getArtists(),
+            corpus.getArtworksPerArtist(), corpus.getClusters(), space);
+
+        long start = System.nanoTime();
+        var artworks = new AtomicLong();
+        var embeddings = new AtomicLong();
+        List<Future<?>> chunks = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(corpus.getParallelism())) {
+            for (int first = 0; first < corpus.getArtists(); first += corpus.getChunkSize()) {
+                var chunk = new Chunk(first, Math.min(corpus.getChunkSize(), corpus.getArtists() - first),
+                    random.split());
+                chunks.add(executor.submit(() -> {
+                    long[] counts = write(chunk, corpus, space, vectors);
+                    artworks.addAndGet(counts[0]);
+                    embeddings.addAndGet(counts[1]);
+                    return null;
+                }));
+            }
+            for (Future<?> future : chunks) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Synthetic corpus generation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Synthetic corpus generation interrupted", e);
+        }
+        var result = new Result(corpus.getArtists(), artworks.get(), embeddings.get(),
+            Duration.ofNanos(System.nanoTime() - start));
+        log.info("{} Generated {} artists, {} artworks and {} embeddings in {}", LogIcons.SUCCESS, result.artists(),
+            result.artworks(), result.embeddings(), result.elapsed());
+        return result;
+    }
+
+    /// Artists `first` to `first + size - 1` and their random stream
+    private record Chunk(int first, int size, SplittableRandom random) {}
+
+    /// Generates and copies a chunk in one transaction
+    ///
+    /// @return the numbers of artworks and embeddings copied
+    private long[] write(Chunk chunk, CorpusProperties corpus, EmbeddingSpace space, ClusteredVectors vectors)
+        throws SQLException, IOException {
+        var random = chunk.random();
+        int artworksPerArtist = corpus.getArtworksPerArtist();
+        UUID[] artistIds = new UUID[chunk.size()];
+        int[] artistTopics = new int[chunk.size()];
+        UUID[] artworkIds = new UUID[chunk.size() * artworksPerArtist];
+        int[] artworkTopics = new int[artworkIds.length];
+        String[] descriptions = new String[artworkIds.length];
+        Instant now = Instant.now();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (var copy = new PgBinaryCopy(connection, "artist",
+                    "id", "version", "created_at", "last_modified_at", "first_name", "last_name", "bio")) {
+                    for (int a = 0; a < chunk.size(); a++) {
+                        artistIds[a] = uuid(random);
+                        artistTopics[a] = vectors.nextCluster(random);
+                        copy.row().uuid(artistIds[a]).int64(0).timestamp(now).timestamp(now)
+                            .text(pick(FIRST_NAMES, random)).text(pick(LAST_NAMES, random) + " " + (chunk.first() + a))
+                            .text("Synthetic artist painting %s %ss".formatted(mood(artistTopics[a]),
+                                subject(artistTopics[a])));
+                    }
+                    copy.finish();
+                }
+                try (var copy = new PgBinaryCopy(connection, "artwork",
+                    "id", "version", "created_at", "last_modified_at", "artist_id", "title", "description",
+                    "art_type")) {
+                    for (int i = 0; i < artworkIds.length; i++) {
+                        int artist = i / artworksPerArtist;
+                        int topic = random.nextDouble() < corpus.getArtistAffinity()
+                            ? artistTopics[artist]
+                            : vectors.nextCluster(random);
+                        artworkIds[i] = uuid(random);
+                        artworkTopics[i] = topic;
+                        descriptions[i] = "A %s %s in %s tones, %s".formatted(mood(topic), subject(topic),
+                            palette(topic), pick(MOODS, random));
+                        copy.row().uuid(artworkIds[i]).int64(0).timestamp(now).timestamp(now).uuid(artistIds[artist])
+                            .text("%s %s %s".formatted(capitalize(mood(topic)), subject(topic), i % 97))
+                            .text(descriptions[i])
+                            .text(pick(ART_TYPES, random).name());
+                    }
+                    copy.finish();
+                }
+                try (var copy = new PgBinaryCopy(connection, "artwork_embedding",
+                    "id", "version", "created_at", "last_modified_at", "artwork_id", "type", "status", "embedding",
+                    "model", "dimensions", "source_text")) {
+                    for (int i = 0; i < artworkIds.length; i++) {
+                        copy.row().uuid(uuid(random)).int64(0).timestamp(now).timestamp(now).uuid(artworkIds[i])
+                            .text(EmbeddingType.IMAGE.name()).text(EmbeddingStatusType.ACTIVE.name())
+                            .vector(vectors.next(artworkTopics[i], random))
+                            .text(space.model()).int32(space.dimensions()).text(descriptions[i]);
+                    }
+                    copy.finish();
+                }
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+        return new long[] {artworkIds.length, artworkIds.length};
+    }
+
+    /// A random (version 4) UUID drawn from the chunk's stream, so that ids are reproducible
+    private static UUID uuid(SplittableRandom random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(most, least);
+    }
+
+    private static <T> T pick(T[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String subject(int topic) {
+        return SUBJECTS[topic % SUBJECTS.length];
+    }
+
+    private static String mood(int topic) {
+        return MOODS[(topic / SUBJECTS.length) % MOODS.length];
+    }
+
+    private static String palette(int topic) {
+        return PALETTES[(topic / (SUBJECTS.length * MOODS.length)) % PALETTES.length];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
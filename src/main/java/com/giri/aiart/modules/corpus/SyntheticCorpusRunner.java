@@ -0,0 +1,32 @@
+package com.giri.aiart.modules.corpus;
+
+import com.giri.aiart.config.CorpusProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/// Command-line corpus generation ({@link SyntheticCorpusGenerator}), then shuts the application down.
+/// ```shell
+/// java -jar ai-art.jar --spring.main.web-application-type=none --aiart.corpus.generate=true \
+///     --aiart.corpus.artists=1000000 --aiart.corpus.seed=7
+/// ```
+///
+/// @author Giri Pottepalem
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "aiart.corpus", name = "generate", havingValue = "true")
+class SyntheticCorpusRunner implements ApplicationRunner {
+    private final SyntheticCorpusGenerator syntheticCorpusGenerator;
+    private final CorpusProperties corpusProperties;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        syntheticCorpusGenerator.generate(corpusProperties);
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+}
@@ -0,0 +1,77 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.modules.imaging.ImagePreprocessor;
+import com.giri.aiart.modules.storage.StorageService;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.event.ArtworkIngested;
+import com.giri.aiart.shared.util.LogIcons;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/// Describes and embeds artworks after they have been committed, in **event mode** of the ingestion pipeline
+/// (`aiart.ingestion.embedding-mode: event`).
+///
+/// - Listens to {@link ArtworkIngested} on the `embeddingExecutor`, whose size (`aiart.ingestion.embedding-concurrency`)
+///   scales embedding throughput independently of uploads
+/// - The publication is tracked by the Spring Modulith JDBC event publication registry: if describing or embedding
+///   fails (e.g. the model is down), the publication stays incomplete and is delivered again on restart
+/// - Redelivery is idempotent, an artwork that already has its embedding is skipped
+///
+/// The listener deliberately runs without a transaction: the model calls take seconds to minutes, only
+/// {@link ArtworkEmbeddingWriter} opens a short one.
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class ArtworkEmbeddingListener {
+    private final StorageService storageService;
+    private final ImagePreprocessor imagePreprocessor;
+    private final EmbeddingGeneratorService embeddingGeneratorService;
+    private final ArtworkEmbeddingWriter artworkEmbeddingWriter;
+
+    @Async("embeddingExecutor")
+    @ApplicationModuleListener(propagation = Propagation.NOT_SUPPORTED)
+    void on(ArtworkIngested event) throws Exception {
+        if (artworkEmbeddingWriter.isEmbedded(event.artworkId(), EmbeddingType.IMAGE)) {
+            log.info("{} Artwork {} is already embedded, skipping redelivered event", LogIcons.ART_WORK, event.artworkId());
+            return;
+        }
+        log.info("{} Describing and embedding artwork {}", LogIcons.AI, event.artworkId());
+        Path image = download(event.minioKey());
+        try {
+            var preprocessed = imagePreprocessor.preprocess(new FileSystemResource(image));
+            String description = embeddingGeneratorService.describe(preprocessed.visionInput()).text();
+            ArtworkEmbedding embedding = embeddingGeneratorService.embed(description, EmbeddingType.IMAGE);
+            artworkEmbeddingWriter.attach(event.artworkId(), embedding);
+        } finally {
+            Files.deleteIfExists(image);
+        }
+        log.info("{} Artwork {} embedded", LogIcons.SUCCESS, event.artworkId());
+    }
+
+    /// Spools the original to a temporary file; it is read more than once, and media types are derived from the
+    /// file extension, so the file keeps the object's name
+    private Path download(String minioKey) throws Exception {
+        Path image = Files.createTempFile("artwork-", "_" + FilenameUtils.getName(minioKey));
+        try (InputStream inputStream = storageService.downloadFile(minioKey)) {
+            Files.copy(inputStream, image, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            Files.deleteIfExists(image);
+            throw e;
+        }
+        return image;
+    }
+}
@@ -0,0 +1,49 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.ArtWorkRepository;
+import com.giri.aiart.shared.persistence.ArtworkEmbeddingRepository;
+import com.giri.aiart.shared.util.LogIcons;
+import jakarta.transaction.Transactional;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/// Short write transaction of event-driven embedding: the vision and embedding models run outside of it, like in
+/// the ingestion pipeline.
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class ArtworkEmbeddingWriter {
+    private final ArtWorkRepository artWorkRepository;
+    private final ArtworkEmbeddingRepository artworkEmbeddingRepository;
+
+    /// Whether the artwork already has an embedding of the given type, e.g. when an event is redelivered
+    boolean isEmbedded(@NonNull UUID artworkId, @NonNull EmbeddingType type) {
+        return artworkEmbeddingRepository.existsByArtwork_IdAndType(artworkId, type);
+    }
+
+    /// Attaches the embedding to the artwork, unless the artwork was deleted or got an embedding of the same type in
+    /// the meantime.
+    @Transactional
+    public void attach(@NonNull UUID artworkId, @NonNull ArtworkEmbedding embedding) {
+        var artwork = artWorkRepository.findById(artworkId);
+        if (artwork.isEmpty()) {
+            log.warn("{} Artwork {} no longer exists, dropping its embedding", LogIcons.WARNING, artworkId);
+            return;
+        }
+        if (isEmbedded(artworkId, embedding.getType())) {
+            log.info("{} Artwork {} already has a {} embedding", LogIcons.ART_WORK, artworkId, embedding.getType());
+            return;
+        }
+        artwork.get().addEmbeddings(List.of(embedding));
+        artworkEmbeddingRepository.save(embedding);
+    }
+}
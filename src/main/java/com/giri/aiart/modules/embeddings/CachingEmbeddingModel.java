@@ -0,0 +1,166 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.shared.util.ContentHashUtils;
+import com.giri.aiart.shared.util.LogIcons;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Memoizing `EmbeddingModel` decorator: a text is embedded by the model once, later requests for the same text get
+/// the cached vector.
+///
+/// Entries are keyed by (model name, dimensions, SHA-256 of the text), so switching models never serves a stale
+/// vector. Two tiers are consulted in order:
+/// 1. {@link OffHeapVectorCache} — bounded (`aiart.embeddings.cache.memory`), least recently used evicted first
+/// 2. {@link EmbeddingCacheStore} — the `embedding_cache` table, survives restarts and is shared across instances
+///    (`aiart.embeddings.cache.persistent`); a failing database only costs the cache, never the embedding
+///
+/// Only the texts missing from both tiers reach the model, in a single call, and each distinct text once.
+/// `call(EmbeddingRequest)` and document embedding carry options or metadata and are passed through uncached.
+///
+/// Metrics: `aiart.embeddings.cache` (`tier=memory|postgres`, `result=hit|miss`), `aiart.embeddings.cache.evictions`,
+/// and the `aiart.embeddings.cache.size` / `aiart.embeddings.cache.memory` gauges of the in-process tier.
+///
+/// @author Giri Pottepalem
+/// @see EmbeddingCacheConfiguration
+@Slf4j
+public class CachingEmbeddingModel implements EmbeddingModel, DisposableBean {
+    static final String METRIC = "aiart.embeddings.cache";
+
+    private final EmbeddingModel delegate;
+    private final String model;
+    private final int dimensions;
+    private final OffHeapVectorCache memory;
+    private final EmbeddingCacheStore store;
+    private final MeterRegistry meterRegistry;
+
+    /// @param delegate the model computing vectors on a miss
+    /// @param model name of the delegate's model, part of the cache key
+    /// @param dimensions length of the delegate's vectors, part of the cache key
+    /// @param memoryBytes off-heap memory of the in-process tier
+    /// @param store the persistent tier, `null` for none
+    CachingEmbeddingModel(@NonNull EmbeddingModel delegate, @NonNull String model, int dimensions, long memoryBytes,
+                          EmbeddingCacheStore store, @NonNull MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.model = model;
+        this.dimensions = dimensions;
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        var evictions = meterRegistry.counter(METRIC + ".evictions");
+        this.memory = new OffHeapVectorCache(dimensions, memoryBytes, evictions::increment);
+        Gauge.builder(METRIC + ".size", memory, OffHeapVectorCache::size).register(meterRegistry);
+        Gauge.builder(METRIC + ".memory", memory, OffHeapVectorCache::usedBytes).baseUnit("bytes").register(meterRegistry);
+        log.info("{} Caching embeddings of {} ({} dimensions), {} bytes off-heap, persistent: {}",
+            LogIcons.DATA, model, dimensions, memoryBytes, store != null);
+    }
+
+    @Override
+    public float[] embed(String text) {
+        return embed(List.of(text)).getFirst();
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        List<String> keys = texts.stream().map(ContentHashUtils::sha256Hex).toList();
+        Map<String, float[]> vectors = new LinkedHashMap<>();
+        int memoryHits = 0;
+        for (String key : keys) {
+            float[] vector = vectors.containsKey(key) ? vectors.get(key) : memory.get(key);
+            if (vector != null) {
+                vectors.put(key, vector);
+                memoryHits++;
+            }
+        }
+        count("memory", memoryHits, texts.size() - memoryHits);
+
+        // distinct texts missing from memory, in input order
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            if (!vectors.containsKey(keys.get(i))) {
+                missing.putIfAbsent(keys.get(i), texts.get(i));
+            }
+        }
+        if (!missing.isEmpty() && store != null) {
+            Map<String, float[]> persisted = findPersisted(missing.keySet());
+            count("postgres", persisted.size(), missing.size() - persisted.size());
+            persisted.forEach((key, vector) -> {
+                memory.put(key, vector);
+                vectors.put(key, vector);
+                missing.remove(key);
+            });
+        }
+        if (!missing.isEmpty()) {
+            List<float[]> embedded = delegate.embed(new ArrayList<>(missing.values()));
+            Map<String, float[]> computed = new LinkedHashMap<>();
+            int i = 0;
+            for (String key : missing.keySet()) {
+                computed.put(key, embedded.get(i++));
+            }
+            computed.forEach(memory::put);
+            vectors.putAll(computed);
+            savePersisted(computed);
+        }
+        return keys.stream().map(vectors::get).toList();
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        return delegate.call(request);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return delegate.embed(document);
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public void destroy() {
+        memory.close();
+    }
+
+    private Map<String, float[]> findPersisted(Collection<String> keys) {
+        try {
+            return store.findAll(model, dimensions, keys);
+        } catch (RuntimeException e) {
+            log.warn("{} Embedding cache lookup failed, embedding without it: {}", LogIcons.WARNING, e.toString());
+            return Map.of();
+        }
+    }
+
+    private void savePersisted(Map<String, float[]> vectors) {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.saveAll(model, dimensions, vectors);
+        } catch (RuntimeException e) {
+            log.warn("{} Could not persist {} cached embeddings: {}", LogIcons.WARNING, vectors.size(), e.toString());
+        }
+    }
+
+    private void count(String tier, long hits, long misses) {
+        if (hits > 0) {
+            meterRegistry.counter(METRIC, "tier", tier, "result", "hit").increment(hits);
+        }
+        if (misses > 0) {
+            meterRegistry.counter(METRIC, "tier", tier, "result", "miss").increment(misses);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties;
+import com.giri.aiart.modules.embeddings.EmbeddingBackfillStore.Checkpoint;
+import com.giri.aiart.modules.embeddings.EmbeddingBackfillStore.Pending;
+import com.giri.aiart.shared.util.LogIcons;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/// Re-embeds the source text of every `NEEDS_UPDATE` embedding, e.g. after switching embedding models, and activates
+/// it again in the current {@link EmbeddingSpace}.
+///
+/// - Rows are read in keyset pages of `aiart.embeddings.backfill.chunk-size` (by id, on a partial index), never by
+///   offset, so every page costs the same however far the run has progressed
+/// - Each page is split into batches of `batch-size` texts, embedded with one `EmbeddingModel.embed(List)` call each
+///   (split further over the `aiart.embeddings.batch` limits) and written back with one JDBC batch; at most
+///   `parallelism` batches are in flight, and no more than `max-batches-per-second` start per second so the model
+///   server stays usable for ingestion
+/// - The position and totals are checkpointed in `embedding_backfill` after every page: a stopped or crashed run
+///   continues after the last completed page
+/// - Rows that fail (model error) or cannot be re-embedded (no source text) keep `NEEDS_UPDATE`; the next run picks
+///   them up again
+///
+/// Progress is exposed through {@link EmbeddingBackfillEndpoint} and counted in `aiart.embeddings.backfill`
+/// (`outcome=updated|failed|skipped`). A run is local to its JVM: start it on one instance only.
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class EmbeddingBackfill {
+    static final String METRIC = "aiart.embeddings.backfill";
+    static final String JOB = "needs-update";
+
+    enum State { IDLE, RUNNING, STOPPING }
+
+    private final EmbeddingBackfillStore store;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final EmbeddingSpaceRegistry embeddingSpaceRegistry;
+    private final EmbeddingsProperties embeddingsProperties;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReference<State> state = new AtomicReference<>(State.IDLE);
+
+    /// Starts a run in the background, unless one is running
+    ///
+    /// @return whether a run was started
+    boolean start() {
+        if (!state.compareAndSet(State.IDLE, State.RUNNING)) {
+            return false;
+        }
+        Thread.ofVirtual().name("embedding-backfill").start(() -> {
+            try {
+                run();
+            } catch (Exception e) {
+                log.error("{} Embedding backfill failed", LogIcons.ERROR, e);
+            } finally {
+                state.set(State.IDLE);
+            }
+        });
+        return true;
+    }
+
+    /// Asks a running backfill to stop after its current page
+    ///
+    /// @return whether a run was asked to stop
+    boolean stop() {
+        return state.compareAndSet(State.RUNNING, State.STOPPING);
+    }
+
+    EmbeddingBackfillProgress progress() {
+        var checkpoint = store.findCheckpoint(JOB);
+        long pending = store.countPending();
+        return checkpoint
+            .map(c -> new EmbeddingBackfillProgress(state.get().name(), pending, c.processed(), c.failed(),
+                c.skipped(), c.lastId(), c.startedAt(), c.updatedAt(), c.finishedAt(), rate(c)))
+            .orElseGet(() -> new EmbeddingBackfillProgress(state.get().name(), pending, 0, 0, 0, null, null, null,
+                null, 0));
+    }
+
+    /// Runs the backfill on the calling thread until every page is processed or a stop is requested. Continues an
+    /// unfinished run from its checkpoint.
+    void run() throws InterruptedException {
+        var backfill = embeddingsProperties.getBackfill();
+        var checkpoint = store.findCheckpoint(JOB).filter(c -> c.finishedAt() == null);
+        if (checkpoint.isEmpty()) {
+            store.restart(JOB, Instant.now());
+        }
+        UUID lastId = checkpoint.map(Checkpoint::lastId).orElse(null);
+        log.info("{} Embedding backfill {} ({} embeddings need an update)", LogIcons.STARTUP,
+            lastId == null ? "started" : "resumed after " + lastId, store.countPending());
+
+        var throttle = new Throttle(backfill.getMaxBatchesPerSecond());
+        var permits = new Semaphore(backfill.getParallelism());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (state.get() != State.STOPPING) {
+                List<Pending> chunk = store.nextChunk(lastId, backfill.getChunkSize());
+                if (chunk.isEmpty()) {
+                    store.finish(JOB, Instant.now());
+                    log.info("{} Embedding backfill finished", LogIcons.SUCCESS);
+                    return;
+                }
+                var tally = new Tally();
+                List<Future<?>> batches = new ArrayList<>();
+                for (int from = 0; from < chunk.size(); from += backfill.getBatchSize()) {
+                    var batch = chunk.subList(from, Math.min(from + backfill.getBatchSize(), chunk.size()));
+                    batches.add(executor.submit(() -> {
+                        permits.acquire();
+                        try {
+                            throttle.acquire();
+                            reembed(batch, tally);
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> batch : batches) {
+                    await(batch);
+                }
+                lastId = chunk.getLast().id();
+                store.advance(JOB, lastId, tally.updated.get(), tally.failed.get(), tally.skipped.get(), Instant.now());
+                log.debug("{} Embedding backfill page done: {} updated, {} failed, {} skipped, last id {}",
+                    LogIcons.DATA, tally.updated, tally.failed, tally.skipped, lastId);
+            }
+        }
+        log.info("{} Embedding backfill stopped after {}", LogIcons.WARNING, lastId);
+    }
+
+    /// Embeds one batch and writes it back, never throws: failures are counted and the rows keep `NEEDS_UPDATE`
+    private void reembed(List<Pending> batch, Tally tally) {
+        List<Pending> embeddable = batch.stream()
+            .filter(pending -> pending.sourceText() != null && !pending.sourceText().isBlank())
+            .toList();
+        count(tally.skipped, "skipped", batch.size() - embeddable.size());
+        if (embeddable.isEmpty()) {
+            return;
+        }
+        try {
+            List<float[]> vectors = embeddingBatcher.embedAll(embeddable.stream().map(Pending::sourceText).toList());
+            int updated = store.activate(embeddable.stream().map(Pending::id).toList(), vectors,
+                embeddingSpaceRegistry.current().model());
+            count(tally.updated, "updated", updated);
+            // rows archived or re-activated while they were being embedded
+            count(tally.skipped, "skipped", embeddable.size() - updated);
+        } catch (RuntimeException e) {
+            log.warn("{} Re-embedding {} embeddings failed: {}", LogIcons.WARNING, embeddable.size(), e.toString());
+            count(tally.failed, "failed", embeddable.size());
+        }
+    }
+
+    private void count(AtomicLong total, String outcome, long amount) {
+        if (amount > 0) {
+            total.addAndGet(amount);
+            meterRegistry.counter(METRIC, "outcome", outcome).increment(amount);
+        }
+    }
+
+    private static void await(Future<?> batch) throws InterruptedException {
+        try {
+            batch.get();
+        } catch (ExecutionException e) {
+            // reembed does not throw, only the semaphore or the throttle can be interrupted
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /// Embeddings per second of a run so far
+    private static double rate(Checkpoint checkpoint) {
+        var end = checkpoint.finishedAt() != null ? checkpoint.finishedAt() : checkpoint.updatedAt();
+        long millis = Duration.between(checkpoint.startedAt(), end).toMillis();
+        return millis > 0 ? checkpoint.processed() * 1000.0 / millis : 0;
+    }
+
+    /// Outcomes of one page
+    private static final class Tally {
+        final AtomicLong updated = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+    }
+
+    /// Spaces embedding model calls at least `1 / permitsPerSecond` apart, across all workers
+    private static final class Throttle {
+        private final long intervalNanos;
+        private long next = System.nanoTime();
+
+        Throttle(double permitsPerSecond) {
+            this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+        }
+
+        void acquire() throws InterruptedException {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(next, now);
+                next = slot + intervalNanos;
+                wait = slot - now;
+            }
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.giri.aiart.modules.embeddings;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/// Actuator endpoint of the re-embedding backfill ({@link EmbeddingBackfill}):
+/// - `GET /actuator/embeddingbackfill` → progress
+/// - `POST /actuator/embeddingbackfill` → starts a run, or resumes the unfinished one
+/// - `DELETE /actuator/embeddingbackfill` → stops the running run after its current page
+///
+/// @author Giri Pottepalem
+@Component
+@Endpoint(id = "embeddingbackfill")
+@RequiredArgsConstructor
+public class EmbeddingBackfillEndpoint {
+    private final EmbeddingBackfill embeddingBackfill;
+
+    @ReadOperation
+    public EmbeddingBackfillProgress progress() {
+        return embeddingBackfill.progress();
+    }
+
+    @WriteOperation
+    public EmbeddingBackfillProgress start() {
+        embeddingBackfill.start();
+        return embeddingBackfill.progress();
+    }
+
+    @DeleteOperation
+    public EmbeddingBackfillProgress stop() {
+        embeddingBackfill.stop();
+        return embeddingBackfill.progress();
+    }
+}
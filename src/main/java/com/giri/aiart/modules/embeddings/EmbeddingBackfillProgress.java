@@ -0,0 +1,30 @@
+package com.giri.aiart.modules.embeddings;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/// Progress of the re-embedding backfill, as reported by `/actuator/embeddingbackfill`.
+///
+/// @param state `IDLE`, `RUNNING` or `STOPPING`
+/// @param pending embeddings still marked `NEEDS_UPDATE`, including failed and skipped ones
+/// @param processed embeddings re-embedded by the current (or last) run
+/// @param failed embeddings of the run the embedding model failed for
+/// @param skipped embeddings of the run without a source text, or whose status changed while being embedded
+/// @param lastId keyset position: the run continues after this id
+/// @param startedAt start of the run, `null` if there never was one
+/// @param updatedAt last checkpoint of the run
+/// @param finishedAt end of the run, `null` while it is incomplete
+/// @param embeddingsPerSecond average throughput of the run
+/// @author Giri Pottepalem
+public record EmbeddingBackfillProgress(
+    String state,
+    long pending,
+    long processed,
+    long failed,
+    long skipped,
+    UUID lastId,
+    Instant startedAt,
+    Instant updatedAt,
+    Instant finishedAt,
+    double embeddingsPerSecond
+) {}
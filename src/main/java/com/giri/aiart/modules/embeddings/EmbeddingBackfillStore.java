@@ -0,0 +1,160 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.shared.persistence.pgvector.PgVector;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/// Plain JDBC access of the re-embedding backfill.
+///
+/// The backfill touches hundreds of thousands of rows, so it bypasses the persistence context: rows are read as
+/// `(id, source_text)` keyset pages and the new vectors are written with one JDBC batch per embedding model call.
+///
+/// @author Giri Pottepalem
+@Repository
+@RequiredArgsConstructor
+class EmbeddingBackfillStore {
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+
+    /// An embedding waiting for a new vector
+    ///
+    /// @param id the `artwork_embedding` row
+    /// @param sourceText the text the vector is computed from, `null` for embeddings ingested before it was stored
+    record Pending(UUID id, String sourceText) {}
+
+    /// Persisted progress of a backfill run
+    record Checkpoint(UUID lastId, long processed, long failed, long skipped,
+                      Instant startedAt, Instant updatedAt, Instant finishedAt) {}
+
+    /// Next keyset page of `NEEDS_UPDATE` embeddings, in id order
+    ///
+    /// @param after the last id of the previous page, `null` for the first page
+    List<Pending> nextChunk(UUID after, int limit) {
+        if (after == null) {
+            return jdbcClient.sql("""
+                    SELECT id, source_text FROM artwork_embedding
+                    WHERE status = 'NEEDS_UPDATE'
+                    ORDER BY id LIMIT :limit
+                    """)
+                .param("limit", limit)
+                .query(Pending.class)
+                .list();
+        }
+        return jdbcClient.sql("""
+                SELECT id, source_text FROM artwork_embedding
+                WHERE status = 'NEEDS_UPDATE' AND id > :after
+                ORDER BY id LIMIT :limit
+                """)
+            .param("after", after)
+            .param("limit", limit)
+            .query(Pending.class)
+            .list();
+    }
+
+    long countPending() {
+        return jdbcClient.sql("SELECT count(*) FROM artwork_embedding WHERE status = 'NEEDS_UPDATE'")
+            .query(Long.class)
+            .single();
+    }
+
+    /// Writes the new vectors in one JDBC batch, bound as binary {@link PgVector}s, moves the embeddings into the
+    /// given model's space and activates them. A row whose status changed since it was read (e.g. archived) is left
+    /// alone.
+    ///
+    /// @param model the model that computed the vectors
+    /// @return the number of rows updated
+    int activate(@NonNull List<UUID> ids, @NonNull List<float[]> vectors, @NonNull String model) {
+        int[][] counts = jdbcTemplate.batchUpdate("""
+                UPDATE artwork_embedding
+                SET embedding = ?, model = ?, dimensions = ?, status = 'ACTIVE',
+                    version = version + 1, last_modified_at = now()
+                WHERE id = ? AND status = 'NEEDS_UPDATE'
+                """,
+            IntStream.range(0, ids.size()).boxed().toList(),
+            ids.size(),
+            (statement, i) -> {
+                PgVector.register(statement.getConnection());
+                statement.setObject(1, new PgVector(vectors.get(i)));
+                statement.setString(2, model);
+                statement.setInt(3, vectors.get(i).length);
+                statement.setObject(4, ids.get(i));
+            });
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // the driver may report SUCCESS_NO_INFO (-2) for batched statements
+                updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return updated;
+    }
+
+    Optional<Checkpoint> findCheckpoint(String job) {
+        return jdbcClient.sql("""
+                SELECT last_id, processed, failed, skipped, started_at, updated_at, finished_at
+                FROM embedding_backfill WHERE job = :job
+                """)
+            .param("job", job)
+            .query((rs, rowNum) -> new Checkpoint(
+                rs.getObject("last_id", UUID.class),
+                rs.getLong("processed"),
+                rs.getLong("failed"),
+                rs.getLong("skipped"),
+                instant(rs.getTimestamp("started_at")),
+                instant(rs.getTimestamp("updated_at")),
+                instant(rs.getTimestamp("finished_at"))))
+            .optional();
+    }
+
+    /// Starts a run from the first page, discarding the totals of a finished run
+    void restart(String job, Instant now) {
+        jdbcClient.sql("""
+                INSERT INTO embedding_backfill (job, last_id, processed, failed, skipped, started_at, updated_at)
+                VALUES (:job, NULL, 0, 0, 0, :now, :now)
+                ON CONFLICT (job) DO UPDATE SET last_id = NULL, processed = 0, failed = 0, skipped = 0,
+                    started_at = :now, updated_at = :now, finished_at = NULL
+                """)
+            .param("job", job)
+            .param("now", Timestamp.from(now))
+            .update();
+    }
+
+    /// Moves the checkpoint past a completed chunk
+    void advance(String job, UUID lastId, long processed, long failed, long skipped, Instant now) {
+        jdbcClient.sql("""
+                UPDATE embedding_backfill
+                SET last_id = :lastId, processed = processed + :processed, failed = failed + :failed,
+                    skipped = skipped + :skipped, updated_at = :now
+                WHERE job = :job
+                """)
+            .param("job", job)
+            .param("lastId", lastId)
+            .param("processed", processed)
+            .param("failed", failed)
+            .param("skipped", skipped)
+            .param("now", Timestamp.from(now))
+            .update();
+    }
+
+    void finish(String job, Instant now) {
+        jdbcClient.sql("UPDATE embedding_backfill SET updated_at = :now, finished_at = :now WHERE job = :job")
+            .param("job", job)
+            .param("now", Timestamp.from(now))
+            .update();
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
@@ -0,0 +1,214 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties;
+import com.giri.aiart.shared.util.LogIcons;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/// Groups texts into as few embedding model calls as the model allows, one HTTP round trip each.
+///
+/// - {@link #embedAll} splits a list of texts into batches of at most `aiart.embeddings.batch.max-size` texts and
+///   `max-tokens` estimated tokens
+/// - {@link #embed} is for callers with a single text: requests arriving within `window` of each other (e.g. the
+///   images of a bulk import, embedded on concurrent virtual threads) are merged into one call, at most
+///   `concurrency` calls in flight, and waits at most `timeout` for its vector. With a `0` window, and once shut
+///   down, every text is its own call.
+///
+/// Batch sizes are recorded in the `aiart.embeddings.batch` distribution summary (`source=micro|bulk`).
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class EmbeddingBatcher {
+    static final String METRIC = "aiart.embeddings.batch";
+    /// Rough size of a token for the budget, the embedding models count about four characters per token
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final EmbeddingModel embeddingModel;
+    private final EmbeddingsProperties embeddingsProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+    private ExecutorService executor;
+    private Thread collector;
+    /// Set on shutdown, before the collector stops taking requests
+    private volatile boolean stopped;
+
+    /// A single text waiting for its vector
+    private record Request(String text, CompletableFuture<float[]> vector) {}
+
+    @PostConstruct
+    void start() {
+        if (!isMicroBatching()) {
+            return;
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        collector = Thread.ofVirtual().name("embedding-batcher").start(this::collect);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (collector == null) {
+            return;
+        }
+        stopped = true;
+        collector.interrupt();
+        collector.join();
+        executor.close(); // waits for the micro-batches in flight
+        List<Request> abandoned = new ArrayList<>();
+        requests.drainTo(abandoned);
+        abandoned.forEach(request -> request.vector().completeExceptionally(
+            new IllegalStateException("Embedding batcher is shut down")));
+    }
+
+    /// Embeds one text, sharing the model call with concurrent callers
+    ///
+    /// @return the vector of the text
+    float[] embed(@NonNull String text) {
+        if (collector == null || stopped || !collector.isAlive()) {
+            return embedDirectly(text);
+        }
+        var request = new Request(text, new CompletableFuture<>());
+        requests.add(request);
+        if (stopped && requests.remove(request)) {
+            return embedDirectly(text); // added after the shutdown drained the queue, no one would take it
+        }
+        var timeout = embeddingsProperties.getBatch().getTimeout();
+        try {
+            return request.vector().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            requests.remove(request);
+            throw new IllegalStateException("No embedding within " + timeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an embedding", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private float[] embedDirectly(String text) {
+        recordBatch(List.of(text), "micro");
+        return embeddingModel.embed(text);
+    }
+
+    /// Embeds many texts in as few model calls as the batch limits allow
+    ///
+    /// @return the vectors, in the order of the texts
+    List<float[]> embedAll(@NonNull List<String> texts) {
+        var batch = embeddingsProperties.getBatch();
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        int from = 0;
+        while (from < texts.size()) {
+            int to = from + 1;
+            int tokens = estimateTokens(texts.get(from));
+            while (to < texts.size() && to - from < batch.getMaxSize()
+                && tokens + estimateTokens(texts.get(to)) <= batch.getMaxTokens()) {
+                tokens += estimateTokens(texts.get(to++));
+            }
+            var group = texts.subList(from, to);
+            recordBatch(group, "bulk");
+            vectors.addAll(embeddingModel.embed(group));
+            from = to;
+        }
+        return vectors;
+    }
+
+    /// Collects concurrent requests into micro-batches until shut down
+    private void collect() {
+        var batch = embeddingsProperties.getBatch();
+        var inFlight = new Semaphore(batch.getConcurrency());
+        Request carried = null;
+        List<Request> group = List.of();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                group = new ArrayList<>();
+                group.add(carried != null ? carried : requests.take());
+                carried = null;
+                int tokens = estimateTokens(group.getFirst().text());
+                long deadline = System.nanoTime() + batch.getWindow().toNanos();
+                while (group.size() < batch.getMaxSize()) {
+                    var next = requests.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (tokens + estimateTokens(next.text()) > batch.getMaxTokens()) {
+                        carried = next; // starts the next micro-batch
+                        break;
+                    }
+                    tokens += estimateTokens(next.text());
+                    group.add(next);
+                }
+                inFlight.acquire();
+                var submitted = group;
+                executor.submit(() -> {
+                    try {
+                        send(submitted);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                group = List.of();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // shutting down, whether interrupted while waiting or between micro-batches: fail whatever was taken
+            // from the queue but not sent, stop() only drains the queue
+            var shutdown = new IllegalStateException("Embedding batcher is shut down");
+            group.forEach(request -> request.vector().completeExceptionally(shutdown));
+            if (carried != null) {
+                carried.vector().completeExceptionally(shutdown);
+            }
+        }
+    }
+
+    /// One model call for a micro-batch, completing each request with its vector or the failure
+    private void send(List<Request> group) {
+        try {
+            var texts = group.stream().map(Request::text).toList();
+            recordBatch(texts, "micro");
+            List<float[]> vectors = embeddingModel.embed(texts);
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).vector().complete(vectors.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("{} Embedding a batch of {} texts failed: {}", LogIcons.WARNING, group.size(), e.toString());
+            group.forEach(request -> request.vector().completeExceptionally(e));
+        }
+    }
+
+    private void recordBatch(List<String> texts, String source) {
+        meterRegistry.summary(METRIC, "source", source).record(texts.size());
+    }
+
+    private boolean isMicroBatching() {
+        return !embeddingsProperties.getBatch().getWindow().isZero();
+    }
+
+    private static int estimateTokens(String text) {
+        return text.length() / CHARS_PER_TOKEN + 1;
+    }
+}
@@ -0,0 +1,40 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.ollama.OllamaEmbeddingModel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/// Puts the {@link CachingEmbeddingModel} in front of the auto-configured Ollama embedding model, so every
+/// `EmbeddingModel` consumer (`EmbeddingGeneratorService`, the re-embedding backfill, ...) goes through the cache.
+/// Disabled with `aiart.embeddings.cache.enabled: false`.
+///
+/// @author Giri Pottepalem
+@Configuration
+@ConditionalOnProperty(prefix = "aiart.embeddings.cache", name = "enabled", matchIfMissing = true)
+class EmbeddingCacheConfiguration {
+
+    /// @param ollamaEmbeddingModel the auto-configured model, called on cache misses
+    /// @param embeddingSpaceRegistry provides the model name and dimensions the cache is keyed by
+    @Bean
+    @Primary
+    CachingEmbeddingModel cachingEmbeddingModel(
+        OllamaEmbeddingModel ollamaEmbeddingModel,
+        EmbeddingSpaceRegistry embeddingSpaceRegistry,
+        EmbeddingsProperties embeddingsProperties,
+        EmbeddingCacheStore embeddingCacheStore,
+        MeterRegistry meterRegistry) {
+        var cache = embeddingsProperties.getCache();
+        var space = embeddingSpaceRegistry.current();
+        return new CachingEmbeddingModel(
+            ollamaEmbeddingModel,
+            space.model(),
+            space.dimensions(),
+            cache.getMemory().toBytes(),
+            cache.isPersistent() ? embeddingCacheStore : null,
+            meterRegistry);
+    }
+}
@@ -0,0 +1,78 @@
+package com.giri.aiart.modules.embeddings;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Persistent tier of the embedding cache (`embedding_cache`): vectors survive restarts and are shared by all
+/// instances.
+///
+/// Vectors are stored as little-endian float32 `bytea`, 4 bytes per dimension, which fits any model's dimensions.
+///
+/// @author Giri Pottepalem
+@Repository
+@RequiredArgsConstructor
+class EmbeddingCacheStore {
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+
+    /// @return the cached vectors of the given text hashes, by hash; hashes without a vector are absent
+    Map<String, float[]> findAll(@NonNull String model, int dimensions, @NonNull Collection<String> textHashes) {
+        Map<String, float[]> vectors = new HashMap<>();
+        if (textHashes.isEmpty()) {
+            return vectors;
+        }
+        jdbcClient.sql("""
+                SELECT text_hash, embedding FROM embedding_cache
+                WHERE model = :model AND dimensions = :dimensions AND text_hash IN (:textHashes)
+                """)
+            .param("model", model)
+            .param("dimensions", dimensions)
+            .param("textHashes", textHashes)
+            .query((rs, rowNum) -> vectors.put(rs.getString("text_hash"), decode(rs.getBytes("embedding"))))
+            .list();
+        return vectors;
+    }
+
+    /// Stores vectors, keeping the ones already cached by a concurrent caller
+    void saveAll(@NonNull String model, int dimensions, @NonNull Map<String, float[]> vectors) {
+        if (vectors.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, float[]>> entries = List.copyOf(vectors.entrySet());
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO embedding_cache (model, dimensions, text_hash, embedding)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT DO NOTHING
+                """,
+            entries,
+            entries.size(),
+            (statement, entry) -> {
+                statement.setString(1, model);
+                statement.setInt(2, dimensions);
+                statement.setString(3, entry.getKey());
+                statement.setBytes(4, encode(entry.getValue()));
+            });
+    }
+
+    static byte[] encode(float[] vector) {
+        var buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    static float[] decode(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+}
@@ -0,0 +1,99 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giri.aiart.modules.embeddings.EmbeddingExportStore.Row;
+import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.dto.EncodedVector;
+import com.giri.aiart.shared.dto.VectorEncoding;
+import com.giri.aiart.shared.persistence.pgvector.PgVector;
+import com.giri.aiart.shared.util.LogIcons;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/// Streams `artwork_embedding` to an output stream as {@link EmbeddingExportFormat#BINARY} records or
+/// {@link EmbeddingExportFormat#NDJSON} lines, for offline analytics jobs.
+///
+/// Each row is written as soon as the cursor of {@link EmbeddingExportStore} delivers it; binary records are copied
+/// from pgvector's wire format without decoding the floats. Served by {@link EmbeddingExportController} and
+/// {@link EmbeddingExportRunner}.
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Service
+@RequiredArgsConstructor
+class EmbeddingExport {
+    static final byte[] MAGIC = "AIEV".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    /// Ids and dimensions ahead of the elements of a binary record
+    static final int RECORD_HEADER_BYTES = 2 * 16 + Integer.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EmbeddingExportStore store;
+    private final ObjectMapper objectMapper;
+
+    /// A row of the {@link EmbeddingExportFormat#NDJSON} export
+    record Line(UUID id, UUID artworkId, EmbeddingType type, EmbeddingStatusType status, String model, int dimensions,
+                Instant lastModifiedAt, EncodedVector vector) {}
+
+    /// Writes the rows matching the filter; the output stream is flushed, not closed
+    ///
+    /// @return the number of rows written
+    /// @throws IOException if writing fails, e.g. the client went away
+    long export(@NonNull EmbeddingExportFilter filter, @NonNull EmbeddingExportFormat format,
+                @NonNull OutputStream output) throws IOException {
+        long start = System.nanoTime();
+        var out = new BufferedOutputStream(output, BUFFER_SIZE);
+        long count = switch (format) {
+            case BINARY -> {
+                out.write(ByteBuffer.allocate(MAGIC.length + Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .put(MAGIC).putInt(VERSION).array());
+                long rows = store.forEach(filter, row -> out.write(binaryRecord(row)));
+                out.write(new byte[Integer.BYTES]); // end of stream
+                yield rows;
+            }
+            case NDJSON -> store.forEach(filter, row -> {
+                out.write(objectMapper.writeValueAsBytes(line(row)));
+                out.write('\n');
+            });
+        };
+        out.flush();
+        log.info("{} Exported {} embeddings as {} ({}) in {} ms", LogIcons.DATA, count, format, filter,
+            (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    /// The {@link EmbeddingExportFormat#BINARY} record of a row: the elements are copied bit for bit from the
+    /// big-endian wire format (`int16 dimensions, int16 unused, float32...`) into little-endian order
+    static byte[] binaryRecord(Row row) {
+        var source = ByteBuffer.wrap(row.vector());
+        int dimensions = source.getShort();
+        source.getShort(); // unused
+        int length = RECORD_HEADER_BYTES + dimensions * Float.BYTES;
+        var record = ByteBuffer.allocate(Integer.BYTES + length).order(ByteOrder.LITTLE_ENDIAN);
+        record.putInt(length);
+        record.order(ByteOrder.BIG_ENDIAN)
+            .putLong(row.id().getMostSignificantBits()).putLong(row.id().getLeastSignificantBits())
+            .putLong(row.artworkId().getMostSignificantBits()).putLong(row.artworkId().getLeastSignificantBits())
+            .order(ByteOrder.LITTLE_ENDIAN)
+            .putInt(dimensions);
+        record.asIntBuffer().put(source.asIntBuffer());
+        return record.array();
+    }
+
+    private static Line line(Row row) {
+        return new Line(row.id(), row.artworkId(), row.type(), row.status(), row.model(), row.dimensions(),
+            row.lastModifiedAt(), EncodedVector.of(PgVector.decode(row.vector()), VectorEncoding.FLOAT32));
+    }
+}
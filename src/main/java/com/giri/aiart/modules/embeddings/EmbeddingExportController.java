@@ -0,0 +1,46 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/// **REST API** for dumping `artwork_embedding`, see {@link EmbeddingExport}.
+///
+/// - `GET /api/v1/embeddings/export?format=BINARY|NDJSON&status=ACTIVE&type=IMAGE&modifiedSince=2026-10-01T00:00:00Z`
+///   — every filter is optional, the format defaults to {@link EmbeddingExportFormat#BINARY}
+///
+/// The response is written on the request thread (a virtual thread) while the rows are read, rather than as an async
+/// `StreamingResponseBody`, so a dump of any size is not cut off by `spring.mvc.async.request-timeout`.
+///
+/// @author Giri Pottepalem
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/embeddings")
+public class EmbeddingExportController {
+    private final EmbeddingExport embeddingExport;
+
+    @GetMapping("/export")
+    public void export(
+        @RequestParam(defaultValue = "BINARY") EmbeddingExportFormat format,
+        @RequestParam(required = false) EmbeddingStatusType status,
+        @RequestParam(required = false) EmbeddingType type,
+        @RequestParam(required = false) Instant modifiedSince,
+        HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("artwork_embedding" + format.getExtension()).build().toString());
+        embeddingExport.export(new EmbeddingExportFilter(status, type, modifiedSince), format,
+            response.getOutputStream());
+    }
+}
@@ -0,0 +1,17 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+
+import java.time.Instant;
+
+/// Rows of an embedding export ({@link EmbeddingExport}); `null` components do not filter
+///
+/// @param status only embeddings in this status
+/// @param type only embeddings of this type
+/// @param modifiedSince only embeddings modified after this instant (`last_modified_at`), for incremental dumps
+///
+/// @author Giri Pottepalem
+record EmbeddingExportFilter(EmbeddingStatusType status, EmbeddingType type, Instant modifiedSince) {
+    static final EmbeddingExportFilter ALL = new EmbeddingExportFilter(null, null, null);
+}
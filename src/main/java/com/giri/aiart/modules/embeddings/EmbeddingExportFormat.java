@@ -0,0 +1,31 @@
+package com.giri.aiart.modules.embeddings;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/// Output formats of the embedding export ({@link EmbeddingExport})
+///
+/// @author Giri Pottepalem
+@Getter
+@RequiredArgsConstructor
+public enum EmbeddingExportFormat {
+    /// Length-prefixed records of little-endian float32 vectors. The stream starts with the 4 ASCII bytes `AIEV` and a
+    /// little-endian `int32` format version (`1`), then per row:
+    ///
+    /// | bytes            | content                                                        |
+    /// |------------------|----------------------------------------------------------------|
+    /// | 4                | `int32` length of the rest of the record, `36 + 4 × dimensions` |
+    /// | 16               | embedding id, RFC 4122 byte order                              |
+    /// | 16               | artwork id, RFC 4122 byte order                                |
+    /// | 4                | `int32` dimensions                                             |
+    /// | 4 × dimensions   | `float32` elements                                             |
+    ///
+    /// A record length of `0` ends the stream, so a truncated download is told apart from a complete one.
+    BINARY("application/octet-stream", ".bin"),
+    /// One JSON object per line: id, artwork id, type, status, model, dimensions, `lastModifiedAt` and the vector as
+    /// base64 of little-endian float32 (`EncodedVector`)
+    NDJSON("application/x-ndjson", ".ndjson");
+
+    private final String contentType;
+    private final String extension;
+}
@@ -0,0 +1,65 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.util.LogIcons;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/// Command-line embedding export: writes the dump to a file, then shuts the application down.
+/// ```shell
+/// java -jar ai-art.jar --spring.main.web-application-type=none --export-embeddings=embeddings.bin \
+///     [--export-format=BINARY|NDJSON] [--export-status=ACTIVE] [--export-type=IMAGE] \
+///     [--export-modified-since=2026-10-01T00:00:00Z]
+/// ```
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(EmbeddingExportRunner.FILE)
+class EmbeddingExportRunner implements ApplicationRunner {
+    static final String FILE = "export-embeddings";
+
+    private final EmbeddingExport embeddingExport;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path file = Path.of(option(args, FILE, Function.identity()));
+        var format = option(args, "export-format", value -> EmbeddingExportFormat.valueOf(upper(value)));
+        var filter = new EmbeddingExportFilter(
+            option(args, "export-status", value -> EmbeddingStatusType.valueOf(upper(value))),
+            option(args, "export-type", value -> EmbeddingType.valueOf(upper(value))),
+            option(args, "export-modified-since", Instant::parse));
+        log.info("{} Exporting embeddings to {} ...", LogIcons.FILE, file.toAbsolutePath());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            embeddingExport.export(filter, format != null ? format : EmbeddingExportFormat.BINARY, out);
+        }
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+
+    private static <T> T option(ApplicationArguments args, String name, Function<String, T> parser) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : parser.apply(values.getLast());
+    }
+
+    private static String upper(String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,99 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties;
+import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import jakarta.transaction.Transactional;
+import lombok.NonNull;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/// Plain JDBC reads of the embedding export ({@link EmbeddingExport}).
+///
+/// Rows are read through a server-side cursor, `aiart.embeddings.export.fetch-size` at a time, and handed over one
+/// by one: no persistence context, no result list, so memory use does not grow with the table.
+///
+/// @author Giri Pottepalem
+@Repository
+class EmbeddingExportStore {
+    private final JdbcClient jdbcClient;
+
+    /// An exported row
+    ///
+    /// @param vector the vector in pgvector's binary wire format (`vector_send`), see `PgVector`
+    record Row(UUID id, UUID artworkId, EmbeddingType type, EmbeddingStatusType status, String model, int dimensions,
+               Instant lastModifiedAt, byte[] vector) {}
+
+    /// Consumer of exported rows, typically writing them to a stream
+    @FunctionalInterface
+    interface RowWriter {
+        void write(Row row) throws IOException;
+    }
+
+    EmbeddingExportStore(DataSource dataSource, EmbeddingsProperties embeddingsProperties) {
+        // the PostgreSQL driver only streams with a fetch size, inside a transaction
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(embeddingsProperties.getExport().getFetchSize());
+        this.jdbcClient = JdbcClient.create(jdbcTemplate);
+    }
+
+    /// Hands every row matching the filter to the writer as it is read, in table order
+    ///
+    /// @return the number of rows written
+    /// @throws IOException if the writer fails; the cursor is closed and no more rows are read
+    @Transactional
+    long forEach(@NonNull EmbeddingExportFilter filter, @NonNull RowWriter writer) throws IOException {
+        List<String> conditions = new ArrayList<>(List.of("TRUE"));
+        Map<String, Object> params = new HashMap<>();
+        if (filter.status() != null) {
+            conditions.add("status = CAST(:status AS embedding_status_type_enum)");
+            params.put("status", filter.status().name());
+        }
+        if (filter.type() != null) {
+            conditions.add("type = CAST(:type AS embedding_type_enum)");
+            params.put("type", filter.type().name());
+        }
+        if (filter.modifiedSince() != null) {
+            conditions.add("last_modified_at > :modifiedSince");
+            params.put("modifiedSince", Timestamp.from(filter.modifiedSince()));
+        }
+        var count = new AtomicLong();
+        try {
+            jdbcClient.sql("""
+                    SELECT id, artwork_id, type, status, model, dimensions, last_modified_at,
+                           vector_send(embedding) AS embedding
+                    FROM artwork_embedding
+                    WHERE %s
+                    """.formatted(String.join(" AND ", conditions)))
+                .params(params)
+                .query(rs -> {
+                    try {
+                        writer.write(new Row(rs.getObject("id", UUID.class), rs.getObject("artwork_id", UUID.class),
+                            EmbeddingType.valueOf(rs.getString("type")),
+                            EmbeddingStatusType.valueOf(rs.getString("status")), rs.getString("model"),
+                            rs.getInt("dimensions"), rs.getTimestamp("last_modified_at").toInstant(),
+                            rs.getBytes("embedding")));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    count.incrementAndGet();
+                });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count.get();
+    }
+}
@@ -1,5 +1,6 @@
 package com.giri.aiart.modules.embeddings;
 
+import com.giri.aiart.modules.chat.media.MediaAnalysis;
 import com.giri.aiart.modules.chat.media.MediaChatService;
 import com.giri.aiart.shared.domain.ArtworkEmbedding;
 import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
@@ -8,11 +9,12 @@ import com.giri.aiart.shared.util.EmbeddingUtils;
 import com.giri.aiart.shared.util.LogIcons;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /// Service responsible for generating vector embeddings for artworks and related media content.
 ///
@@ -33,7 +35,11 @@ import java.io.IOException;
 /// The service supports both deterministic embeddings (via AI model inference)
 /// and synthetic/random embeddings (for testing or placeholder data).
 ///
-/// Typical embedding dimensionality is 1536, consistent with modern foundation models such as CLIP, OpenAI, and LLaVA.
+/// Vectors keep the native dimensionality of the embedding model (e.g. 1024 for `mxbai-embed-large`) and are tagged
+/// with its {@link EmbeddingSpace}, so vectors of different models are never compared.
+///
+/// Every embedding model call is one HTTP round trip. {@link #embedAll} and {@link #generateEmbeddings} send many
+/// texts per call, and concurrent {@link #embed} callers are merged into shared calls (see {@link EmbeddingBatcher}).
 ///
 /// @author
 ///     Giri Pottepalem
@@ -45,10 +51,9 @@ import java.io.IOException;
 @Service
 @RequiredArgsConstructor
 public class EmbeddingGeneratorService {
-    private static final int DEFAULT_DIMENSION = 1536;
-
     private final MediaChatService mediaChatService;
-    private final EmbeddingModel embeddingModel;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final EmbeddingSpaceRegistry embeddingSpaceRegistry;
 
     /// Generates an `ArtworkEmbedding` for a given image resource by:
     /// 1. Invoking the `MediaService` to generate a semantic description of the image.
@@ -59,16 +64,69 @@ public class EmbeddingGeneratorService {
     /// @return an `ArtworkEmbedding` containing the generated vector and associated metadata
     /// @throws IOException if reading the image resource fails
     public ArtworkEmbedding generateEmbedding(Resource imageResource, EmbeddingType embeddingType) throws IOException {
-        log.info("{} Generating random embedding for {}", LogIcons.TIMER, embeddingType);
+        return embed(describe(imageResource).text(), embeddingType);
+    }
+
+    /// Batch variant of {@link #generateEmbedding}: describes every image, then embeds all descriptions in as few
+    /// embedding model calls as possible.
+    ///
+    /// @param imageResources the images to embed
+    /// @param embeddingType the type/category of the embeddings
+    /// @return one `ArtworkEmbedding` per image, in input order
+    /// @throws IOException if reading an image resource fails
+    public List<ArtworkEmbedding> generateEmbeddings(List<Resource> imageResources, EmbeddingType embeddingType)
+        throws IOException {
+        List<String> descriptions = new ArrayList<>(imageResources.size());
+        for (Resource imageResource : imageResources) {
+            descriptions.add(describe(imageResource).text());
+        }
+        return embedAll(descriptions, embeddingType);
+    }
 
-        // Use a multimodal LLM to describe the artwork
-        String description = mediaChatService.describeImage(imageResource);
-        float[] vector = embeddingModel.embed(description); // TODO EmbeddingOptions for dimension 1536
+    /// Uses a multimodal LLM to describe the given image, the first half of {@link #generateEmbedding}.
+    ///
+    /// @param imageResource the image or media file to describe
+    /// @return the AI-generated description and the model that produced it
+    /// @throws IOException if reading the image resource fails
+    public MediaAnalysis describe(Resource imageResource) throws IOException {
+        log.info("{} Describing image {}", LogIcons.TIMER, imageResource.getFilename());
+        return mediaChatService.describeImageWithModel(imageResource);
+    }
+
+    /// Converts a description into an `ArtworkEmbedding`, the second half of {@link #generateEmbedding}.
+    ///
+    /// @param description the text to embed
+    /// @param embeddingType the type/category of embedding
+    /// @return an `ArtworkEmbedding` containing the generated vector
+    public ArtworkEmbedding embed(String description, EmbeddingType embeddingType) {
+        log.info("{} Generating embedding for {}", LogIcons.TIMER, embeddingType);
+        float[] vector = embeddingBatcher.embed(description);
+        return toArtworkEmbedding(description, vector, embeddingType);
+    }
+
+    /// Converts many descriptions into `ArtworkEmbedding`s, grouped into embedding model calls of at most
+    /// `aiart.embeddings.batch.max-size` texts and `max-tokens` estimated tokens.
+    ///
+    /// @param descriptions the texts to embed
+    /// @param embeddingType the type/category of the embeddings
+    /// @return one `ArtworkEmbedding` per description, in input order
+    public List<ArtworkEmbedding> embedAll(List<String> descriptions, EmbeddingType embeddingType) {
+        log.info("{} Generating {} embeddings for {}", LogIcons.TIMER, descriptions.size(), embeddingType);
+        List<float[]> vectors = embeddingBatcher.embedAll(descriptions);
+        List<ArtworkEmbedding> embeddings = new ArrayList<>(descriptions.size());
+        for (int i = 0; i < descriptions.size(); i++) {
+            embeddings.add(toArtworkEmbedding(descriptions.get(i), vectors.get(i), embeddingType));
+        }
+        return embeddings;
+    }
 
+    private ArtworkEmbedding toArtworkEmbedding(String description, float[] vector, EmbeddingType embeddingType) {
         return ArtworkEmbedding.builder()
             .type(embeddingType)
             .status(EmbeddingStatusType.ACTIVE)
             .embedding(vector)
+            .model(embeddingSpaceRegistry.current().model())
+            .sourceText(description)
             .build();
     }
 
@@ -81,7 +139,7 @@ public class EmbeddingGeneratorService {
     /// @param embeddingType the embedding type (e.g., ARTWORK, THEME)
     /// @return an `ArtworkEmbedding` initialized with a randomly generated vector
     public ArtworkEmbedding generateRandomEmbedding(EmbeddingType embeddingType) {
-        float[] vector = EmbeddingUtils.generateRandomEmbedding(DEFAULT_DIMENSION);
+        float[] vector = EmbeddingUtils.generateRandomEmbedding(embeddingSpaceRegistry.current().dimensions());
         ArtworkEmbedding artworkEmbedding = ArtworkEmbedding.builder()
             .type(embeddingType)
             .status(EmbeddingStatusType.ACTIVE)
@@ -0,0 +1,377 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties.SnapshotPrecision;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/// Memory-mapped file of the vectors of one {@link EmbeddingSpace}, so that an in-process index starts from local
+/// pages instead of decoding every vector from JDBC text.
+///
+/// Layout, little-endian, each region aligned to 4 KB pages:
+/// ```
+/// header     magic "AIARTVEC", format version, precision, dimensions, capacity, count, live count,
+///            watermark (epoch µs), model name
+/// id table   capacity × 48 bytes: embedding id, artwork id, last_modified_at (epoch µs), flags (1 = deleted)
+/// vectors    capacity × dimensions × float32 (4 bytes) or float16 (2 bytes), contiguous
+/// ```
+/// Changes are written in place: a vector is appended behind the last record, then the count in the header is
+/// advanced, and a delete sets the flag of its record. The file is rewritten, to a temporary file moved over the
+/// old one, only to grow its capacity or drop deleted records ({@link #compact()}). A file of another space,
+/// precision or format is discarded on open.
+///
+/// The watermark is the highest `last_modified_at` applied, the next catch-up with the database starts from it.
+///
+/// Not thread-safe: owned by the single synchronizing thread of {@link HnswSearchTier}.
+///
+/// @author Giri Pottepalem
+final class EmbeddingSnapshot implements AutoCloseable {
+    private static final long MAGIC = 0x4345565452414941L; // "AIARTVEC" read as a little-endian long
+    private static final int FORMAT_VERSION = 1;
+    private static final long PAGE = 4096;
+    private static final int MAX_MODEL_BYTES = 1024;
+    private static final int RECORD_BYTES = 48;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long DELETED = 1;
+
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfFloat FLOAT =
+        ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort SHORT =
+        ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    // header offsets
+    private static final long VERSION_AT = 8;
+    private static final long PRECISION_AT = 12;
+    private static final long DIMENSIONS_AT = 16;
+    private static final long CAPACITY_AT = 20;
+    private static final long COUNT_AT = 24;
+    private static final long LIVE_AT = 28;
+    private static final long WATERMARK_AT = 32;
+    private static final long MODEL_LENGTH_AT = 40;
+    private static final long MODEL_AT = 44;
+
+    private final Path file;
+    private final EmbeddingSpace space;
+    private final SnapshotPrecision precision;
+    private final Map<UUID, Integer> records = new HashMap<>();
+    private Arena arena;
+    private MemorySegment segment;
+    private int capacity;
+
+    /// A live record
+    record Entry(UUID id, UUID artworkId, Instant modifiedAt, float[] vector) {}
+
+    private EmbeddingSnapshot(Path file, EmbeddingSpace space, SnapshotPrecision precision) {
+        this.file = file;
+        this.space = space;
+        this.precision = precision;
+    }
+
+    /// Maps the snapshot of a space, creating an empty one when the file is missing or was written for another
+    /// space, precision or format
+    static EmbeddingSnapshot open(@NonNull Path file, @NonNull EmbeddingSpace space,
+                                  @NonNull SnapshotPrecision precision) {
+        var snapshot = new EmbeddingSnapshot(file, space, precision);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            if (!Files.exists(file) || !snapshot.map(file)) {
+                snapshot.create(INITIAL_CAPACITY);
+            }
+        } catch (IOException e) {
+            snapshot.close();
+            throw new UncheckedIOException(e);
+        }
+        snapshot.indexRecords();
+        return snapshot;
+    }
+
+    /// @return the highest `last_modified_at` applied, the epoch for a new snapshot
+    Instant watermark() {
+        return toInstant(segment.get(LONG, WATERMARK_AT));
+    }
+
+    void watermark(@NonNull Instant watermark) {
+        segment.set(LONG, WATERMARK_AT, toMicros(watermark));
+    }
+
+    /// @return the number of live records
+    int size() {
+        return segment.get(INT, LIVE_AT);
+    }
+
+    /// @return the number of deleted records still taking space
+    int deleted() {
+        return count() - size();
+    }
+
+    /// @return the `last_modified_at` of the live record of an embedding
+    Optional<Instant> modifiedAt(@NonNull UUID id) {
+        Integer record = records.get(id);
+        return record == null ? Optional.empty() : Optional.of(toInstant(segment.get(LONG, recordAt(record) + 32)));
+    }
+
+    /// @return the embeddings with a live record
+    Set<UUID> ids() {
+        return Set.copyOf(records.keySet());
+    }
+
+    /// Reads every live record in file order; vectors are decoded straight from the mapped pages
+    void forEach(@NonNull Consumer<Entry> action) {
+        int count = count();
+        for (int record = 0; record < count; record++) {
+            long at = recordAt(record);
+            if (segment.get(LONG, at + 40) != DELETED) {
+                action.accept(new Entry(uuid(at), uuid(at + 16), toInstant(segment.get(LONG, at + 32)),
+                    vector(record)));
+            }
+        }
+    }
+
+    /// Stores the vector of an embedding, replacing its previous record
+    void put(@NonNull Entry entry) {
+        if (entry.vector().length != space.dimensions()) {
+            throw new IllegalArgumentException("Vector has " + entry.vector().length + " dimensions, snapshot has "
+                + space.dimensions());
+        }
+        delete(entry.id());
+        if (count() == capacity) {
+            rewrite(Math.max(INITIAL_CAPACITY, 2 * size()));
+        }
+        int record = count();
+        long at = recordAt(record);
+        segment.set(LONG, at, entry.id().getMostSignificantBits());
+        segment.set(LONG, at + 8, entry.id().getLeastSignificantBits());
+        segment.set(LONG, at + 16, entry.artworkId().getMostSignificantBits());
+        segment.set(LONG, at + 24, entry.artworkId().getLeastSignificantBits());
+        segment.set(LONG, at + 32, toMicros(entry.modifiedAt()));
+        segment.set(LONG, at + 40, 0L);
+        long vectorAt = vectorAt(record);
+        for (int i = 0; i < space.dimensions(); i++) {
+            if (precision == SnapshotPrecision.FLOAT16) {
+                segment.set(SHORT, vectorAt + (long) i * Short.BYTES, Float.floatToFloat16(entry.vector()[i]));
+            } else {
+                segment.set(FLOAT, vectorAt + (long) i * Float.BYTES, entry.vector()[i]);
+            }
+        }
+        // the record counts only once it is complete
+        segment.set(INT, COUNT_AT, record + 1);
+        segment.set(INT, LIVE_AT, size() + 1);
+        records.put(entry.id(), record);
+    }
+
+    /// @return whether the embedding had a live record
+    boolean delete(@NonNull UUID id) {
+        Integer record = records.remove(id);
+        if (record == null) {
+            return false;
+        }
+        segment.set(LONG, recordAt(record) + 40, DELETED);
+        segment.set(INT, LIVE_AT, size() - 1);
+        return true;
+    }
+
+    /// Rewrites the file without its deleted records
+    void compact() {
+        rewrite(Math.max(INITIAL_CAPACITY, 2 * size()));
+    }
+
+    /// Flushes the mapped pages to the file
+    void force() {
+        segment.force();
+    }
+
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+            arena = null;
+        }
+    }
+
+    /// Maps an existing file
+    ///
+    /// @return `false` if the file is not a snapshot of this space and precision
+    private boolean map(Path path) throws IOException {
+        long size = Files.size(path);
+        if (size < PAGE) {
+            return false;
+        }
+        remap(path, size);
+        byte[] model = space.model().getBytes(StandardCharsets.UTF_8);
+        capacity = segment.get(INT, CAPACITY_AT);
+        boolean compatible = segment.get(LONG, 0) == MAGIC
+            && segment.get(INT, VERSION_AT) == FORMAT_VERSION
+            && segment.get(INT, PRECISION_AT) == precision.ordinal()
+            && segment.get(INT, DIMENSIONS_AT) == space.dimensions()
+            && segment.get(INT, MODEL_LENGTH_AT) == model.length
+            && MemorySegment.mismatch(segment, MODEL_AT, MODEL_AT + model.length,
+                MemorySegment.ofArray(model), 0, model.length) == -1
+            && capacity > 0 && size == fileSize(capacity)
+            && segment.get(INT, COUNT_AT) <= capacity;
+        if (!compatible) {
+            close();
+        }
+        return compatible;
+    }
+
+    /// Replaces the file with an empty snapshot
+    private void create(int newCapacity) throws IOException {
+        close();
+        Path temporary = temporaryFile();
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE); var header = Arena.ofConfined()) {
+            var mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(newCapacity), header);
+            writeHeader(mapped, newCapacity, 0, 0, 0);
+            mapped.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        remap(file, fileSize(newCapacity));
+        capacity = newCapacity;
+    }
+
+    /// Copies the live records into a new file of the given capacity and swaps it in
+    private void rewrite(int newCapacity) {
+        Path temporary = temporaryFile();
+        int live = 0;
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE); var copy = Arena.ofConfined()) {
+            var target = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(newCapacity), copy);
+            int count = count();
+            long vectorBytes = (long) space.dimensions() * elementBytes();
+            for (int record = 0; record < count; record++) {
+                long at = recordAt(record);
+                if (segment.get(LONG, at + 40) == DELETED) {
+                    continue;
+                }
+                MemorySegment.copy(segment, at, target, PAGE + (long) live * RECORD_BYTES, RECORD_BYTES);
+                MemorySegment.copy(segment, vectorAt(record), target, vectorsAt(newCapacity) + live * vectorBytes,
+                    vectorBytes);
+                live++;
+            }
+            writeHeader(target, newCapacity, live, live, segment.get(LONG, WATERMARK_AT));
+            target.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            close();
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            remap(file, fileSize(newCapacity));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        capacity = newCapacity;
+        indexRecords();
+    }
+
+    private void writeHeader(MemorySegment target, int newCapacity, int count, int live, long watermark) {
+        byte[] model = space.model().getBytes(StandardCharsets.UTF_8);
+        if (model.length > MAX_MODEL_BYTES) {
+            throw new IllegalArgumentException("Model name too long for a snapshot: " + space.model());
+        }
+        target.set(LONG, 0, MAGIC);
+        target.set(INT, VERSION_AT, FORMAT_VERSION);
+        target.set(INT, PRECISION_AT, precision.ordinal());
+        target.set(INT, DIMENSIONS_AT, space.dimensions());
+        target.set(INT, CAPACITY_AT, newCapacity);
+        target.set(INT, COUNT_AT, count);
+        target.set(INT, LIVE_AT, live);
+        target.set(LONG, WATERMARK_AT, watermark);
+        target.set(INT, MODEL_LENGTH_AT, model.length);
+        MemorySegment.copy(MemorySegment.ofArray(model), 0, target, MODEL_AT, model.length);
+    }
+
+    private void remap(Path path, long size) throws IOException {
+        arena = Arena.ofShared();
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+        }
+    }
+
+    private void indexRecords() {
+        records.clear();
+        int count = count();
+        for (int record = 0; record < count; record++) {
+            long at = recordAt(record);
+            if (segment.get(LONG, at + 40) != DELETED) {
+                records.put(uuid(at), record);
+            }
+        }
+    }
+
+    private float[] vector(int record) {
+        float[] vector = new float[space.dimensions()];
+        long at = vectorAt(record);
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = precision == SnapshotPrecision.FLOAT16
+                ? Float.float16ToFloat(segment.get(SHORT, at + (long) i * Short.BYTES))
+                : segment.get(FLOAT, at + (long) i * Float.BYTES);
+        }
+        return vector;
+    }
+
+    private UUID uuid(long at) {
+        return new UUID(segment.get(LONG, at), segment.get(LONG, at + 8));
+    }
+
+    private int count() {
+        return segment.get(INT, COUNT_AT);
+    }
+
+    private long recordAt(int record) {
+        return PAGE + (long) record * RECORD_BYTES;
+    }
+
+    private long vectorAt(int record) {
+        return vectorsAt(capacity) + (long) record * space.dimensions() * elementBytes();
+    }
+
+    private long vectorsAt(int capacity) {
+        return align(PAGE + (long) capacity * RECORD_BYTES);
+    }
+
+    private long fileSize(int capacity) {
+        return vectorsAt(capacity) + (long) capacity * space.dimensions() * elementBytes();
+    }
+
+    private int elementBytes() {
+        return precision == SnapshotPrecision.FLOAT16 ? Short.BYTES : Float.BYTES;
+    }
+
+    private Path temporaryFile() {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    private static long align(long offset) {
+        return (offset + PAGE - 1) / PAGE * PAGE;
+    }
+
+    private static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    private static Instant toInstant(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+}
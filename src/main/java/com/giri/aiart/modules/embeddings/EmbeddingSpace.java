@@ -0,0 +1,23 @@
+package com.giri.aiart.modules.embeddings;
+
+import lombok.NonNull;
+
+/// An embedding model and the length of its vectors. Only vectors of the same space are comparable; each space
+/// has its own ANN index over `artwork_embedding`.
+///
+/// @param model name of the embedding model
+/// @param dimensions length of its vectors
+/// @author Giri Pottepalem
+/// @see EmbeddingSpaceRegistry
+public record EmbeddingSpace(@NonNull String model, int dimensions) {
+    public EmbeddingSpace {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("Embedding dimensions must be positive: " + dimensions);
+        }
+    }
+
+    /// The vector column cast to this space's full-precision fixed-length type
+    public String vectorExpression() {
+        return "(embedding::vector(" + dimensions + "))";
+    }
+}
@@ -0,0 +1,140 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties;
+import com.giri.aiart.config.EmbeddingsProperties.IndexMode;
+import com.giri.aiart.shared.util.LogIcons;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/// Knows the {@link EmbeddingSpace} new vectors are computed in, and keeps `embedding_space` and the per-space ANN
+/// indexes in step with the vectors stored.
+///
+/// `artwork_embedding.embedding` is an unconstrained `vector`, so every model stores its native dimensions (1024 for
+/// `mxbai-embed-large`, 768 for `nomic-embed-text`, ...) without padding. pgvector only indexes fixed-length vectors,
+/// hence one partial HNSW expression index per space, at the precision of `aiart.embeddings.index.mode`:
+/// ```sql
+/// CREATE INDEX ... USING hnsw ((embedding::halfvec(1024)) halfvec_cosine_ops)
+///     WHERE model = 'mxbai-embed-large' AND dimensions = 1024
+/// ```
+/// A search filters on the space and orders by the indexed expression (see {@link NearestEmbeddings}), and only
+/// scans the index of its own space. Indexes are built concurrently, on a background thread once the application is
+/// ready, so neither start-up nor ingestion waits for a new space or mode; the index of a previous mode is left for
+/// the operator to drop. An index left invalid by an interrupted build is dropped and built again. Spaces over the
+/// dimensions a mode can index are searched without index.
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Component
+public class EmbeddingSpaceRegistry {
+    private final JdbcClient jdbcClient;
+    private final EmbeddingsProperties embeddingsProperties;
+    private final EmbeddingSpace current;
+
+    /// @param model name of the embedding model new vectors are computed with
+    EmbeddingSpaceRegistry(JdbcClient jdbcClient, EmbeddingsProperties embeddingsProperties,
+                           @Value("${spring.ai.ollama.embedding.options.model:mxbai-embed-large}") String model) {
+        this.jdbcClient = jdbcClient;
+        this.embeddingsProperties = embeddingsProperties;
+        this.current = new EmbeddingSpace(model, embeddingsProperties.getDimensions());
+    }
+
+    /// @return the space new vectors are computed in
+    public EmbeddingSpace current() {
+        return current;
+    }
+
+    /// @return every space vectors were stored for
+    public List<EmbeddingSpace> findAll() {
+        return jdbcClient.sql("SELECT model, dimensions FROM embedding_space ORDER BY id")
+            .query(EmbeddingSpace.class)
+            .list();
+    }
+
+    /// Registers the spaces on a virtual thread once the application is ready, as building an index over a large
+    /// table takes minutes
+    @EventListener(ApplicationReadyEvent.class)
+    void registerSpacesInBackground() {
+        Thread.ofVirtual().name("embedding-space-index").start(this::registerSpaces);
+    }
+
+    /// Registers the current space and the spaces of stored vectors (e.g. seed data), and creates missing indexes
+    void registerSpaces() {
+        try {
+            register(current);
+            jdbcClient.sql("""
+                    INSERT INTO embedding_space (model, dimensions)
+                    SELECT DISTINCT model, dimensions FROM artwork_embedding
+                    ON CONFLICT (model, dimensions) DO NOTHING
+                    """)
+                .update();
+            findAll().forEach(this::register);
+        } catch (RuntimeException e) {
+            log.error("{} Could not register embedding spaces, searches may scan without index", LogIcons.ERROR, e);
+        }
+    }
+
+    /// Records a space and builds its partial HNSW index at the configured precision, unless it exists
+    void register(@NonNull EmbeddingSpace space) {
+        register(space, embeddingsProperties.getIndex().getMode());
+    }
+
+    /// Records a space and builds its partial HNSW index at the given precision, unless a valid one exists or another
+    /// session is building it. An invalid index, left by a failed `CREATE INDEX CONCURRENTLY`, is never used by
+    /// queries and would be skipped by `IF NOT EXISTS`, so it is dropped and built again.
+    void register(@NonNull EmbeddingSpace space, @NonNull IndexMode mode) {
+        jdbcClient.sql("""
+                INSERT INTO embedding_space (model, dimensions) VALUES (:model, :dimensions)
+                ON CONFLICT (model, dimensions) DO NOTHING
+                """)
+            .param("model", space.model())
+            .param("dimensions", space.dimensions())
+            .update();
+        int id = jdbcClient.sql("SELECT id FROM embedding_space WHERE model = :model AND dimensions = :dimensions")
+            .param("model", space.model())
+            .param("dimensions", space.dimensions())
+            .query(Integer.class)
+            .single();
+        var index = new SpaceIndex(space, mode);
+        if (!index.indexable()) {
+            log.warn("{} Embedding space {} has {} dimensions, over the {} pgvector can index as {}; searched without "
+                + "index", LogIcons.WARNING, space.model(), space.dimensions(), index.maxDimensions(), mode);
+            return;
+        }
+        String name = index.name(id);
+        Optional<Boolean> valid = jdbcClient
+            .sql("SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(:name)")
+            .param("name", name)
+            .query(Boolean.class)
+            .optional();
+        if (valid.orElse(false) || valid.isPresent() && building(name)) {
+            return;
+        }
+        if (valid.isPresent()) {
+            log.warn("{} Index {} of embedding space {} is invalid, left by an interrupted build; rebuilding it",
+                LogIcons.WARNING, name, space.model());
+            jdbcClient.sql("DROP INDEX CONCURRENTLY IF EXISTS " + name).update();
+        }
+        long started = System.nanoTime();
+        jdbcClient.sql(index.createSql(id)).update();
+        log.info("{} Embedding space {} ({} dimensions) indexed by {} in {} ms", LogIcons.DATA, space.model(),
+            space.dimensions(), name, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /// @return whether a `CREATE INDEX` of the index is in progress, e.g. by another instance starting up
+    private boolean building(String indexName) {
+        return jdbcClient.sql("""
+                SELECT EXISTS (SELECT 1 FROM pg_stat_progress_create_index WHERE index_relid = to_regclass(:name))
+                """)
+            .param("name", indexName)
+            .query(Boolean.class)
+            .single();
+    }
+}
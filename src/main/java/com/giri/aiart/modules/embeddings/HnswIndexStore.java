@@ -0,0 +1,81 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.modules.embeddings.EmbeddingSnapshot.Entry;
+import com.giri.aiart.shared.persistence.pgvector.PgVector;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/// Reads of the in-process HNSW index ({@link HnswSearchTier}): the active `IMAGE` embeddings of a space
+///
+/// @author Giri Pottepalem
+@Repository
+@RequiredArgsConstructor
+class HnswIndexStore {
+    private final JdbcClient jdbcClient;
+
+    /// A row of the space changed since a watermark
+    ///
+    /// @param active whether it is an active `IMAGE` embedding, i.e. belongs in the index
+    record Change(UUID id, boolean active, Instant modifiedAt) {}
+
+    /// @return the ids of the active `IMAGE` embeddings of the space
+    List<UUID> findActiveIds(@NonNull EmbeddingSpace space) {
+        return jdbcClient.sql("""
+                SELECT id FROM artwork_embedding
+                WHERE model = :model AND dimensions = :dimensions AND type = 'IMAGE' AND status = 'ACTIVE'
+                """)
+            .param("model", space.model())
+            .param("dimensions", space.dimensions())
+            .query((rs, rowNum) -> rs.getObject("id", UUID.class))
+            .list();
+    }
+
+    /// @return the number of active `IMAGE` embeddings of the space
+    long countActive(@NonNull EmbeddingSpace space) {
+        return jdbcClient.sql("""
+                SELECT count(*) FROM artwork_embedding
+                WHERE model = :model AND dimensions = :dimensions AND type = 'IMAGE' AND status = 'ACTIVE'
+                """)
+            .param("model", space.model())
+            .param("dimensions", space.dimensions())
+            .query(Long.class)
+            .single();
+    }
+
+    /// Rows of the space modified after the given instant, without their vectors
+    List<Change> findModifiedSince(@NonNull EmbeddingSpace space, @NonNull Instant since) {
+        return jdbcClient.sql("""
+                SELECT id, type = 'IMAGE' AND status = 'ACTIVE' AS active, last_modified_at FROM artwork_embedding
+                WHERE model = :model AND dimensions = :dimensions AND last_modified_at > :since
+                """)
+            .param("model", space.model())
+            .param("dimensions", space.dimensions())
+            .param("since", Timestamp.from(since))
+            .query((rs, rowNum) -> new Change(rs.getObject("id", UUID.class), rs.getBoolean("active"),
+                rs.getTimestamp("last_modified_at").toInstant()))
+            .list();
+    }
+
+    /// @return the given embeddings with their vectors; ids no longer present are absent
+    List<Entry> findAll(@NonNull Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcClient.sql("""
+                SELECT id, artwork_id, last_modified_at, vector_send(embedding) AS embedding FROM artwork_embedding
+                WHERE id IN (:ids)
+                """)
+            .param("ids", ids)
+            .query((rs, rowNum) -> new Entry(rs.getObject("id", UUID.class), rs.getObject("artwork_id", UUID.class),
+                rs.getTimestamp("last_modified_at").toInstant(), PgVector.decode(rs.getBytes("embedding"))))
+            .list();
+    }
+}
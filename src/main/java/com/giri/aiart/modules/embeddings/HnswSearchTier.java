@@ -0,0 +1,263 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties;
+import com.giri.aiart.modules.embeddings.EmbeddingSnapshot.Entry;
+import com.giri.aiart.modules.embeddings.HnswIndexStore.Change;
+import com.giri.aiart.modules.embeddings.NearestEmbeddings.Filter;
+import com.giri.aiart.modules.embeddings.NearestEmbeddings.Neighbor;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.util.LogIcons;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/// Low-latency tier of {@link NearestEmbeddings}: an {@link OffHeapHnswIndex} of the active `IMAGE` embeddings of
+/// the current space (`aiart.embeddings.hnsw.enabled`).
+///
+/// - Starts in the background once the application is ready, from the space's {@link EmbeddingSnapshot} in
+///   `snapshot-dir`: the vectors come from memory-mapped pages, only rows modified since the snapshot's watermark
+///   are read from the database. Until then, and for every search it cannot answer, pgvector answers
+/// - Answers first pages of `IMAGE` searches with no filter but an excluded artwork and a distance threshold; art
+///   type and artist filters and keyset pages go to pgvector
+/// - Every `sync-interval` it catches up with the rows whose `last_modified_at` passed the watermark (minus
+///   `delta-overlap`): new and re-embedded vectors are inserted concurrently and written to the snapshot, archived
+///   ones deleted from both. When the count of active rows still differs, e.g. after rows were deleted, the ids are
+///   compared in full.
+/// - Once deleted vectors reach `rebuild-ratio` of the index, a new index is built from the snapshot and swapped in
+///   while searches keep running on the old one, and the snapshot is compacted
+///
+/// Vectors beyond `aiart.embeddings.hnsw.memory` are not indexed and such searches may miss them; size the budget to
+/// the space (4 KB per 1024-dimension vector). Gauges: `aiart.embeddings.hnsw.size`, `.deleted` and `.memory`.
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "aiart.embeddings.hnsw", name = "enabled", havingValue = "true")
+class HnswSearchTier implements DisposableBean {
+    static final String METRIC = "aiart.embeddings.hnsw";
+    private static final int CHUNK_SIZE = 500;
+
+    private final HnswIndexStore store;
+    private final EmbeddingSpaceRegistry embeddingSpaceRegistry;
+    private final EmbeddingsProperties embeddingsProperties;
+    private volatile OffHeapHnswIndex index;
+    private EmbeddingSnapshot snapshot;
+
+    HnswSearchTier(HnswIndexStore store, EmbeddingSpaceRegistry embeddingSpaceRegistry,
+                   EmbeddingsProperties embeddingsProperties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.embeddingSpaceRegistry = embeddingSpaceRegistry;
+        this.embeddingsProperties = embeddingsProperties;
+        Gauge.builder(METRIC + ".size", this, tier -> tier.index == null ? 0 : tier.index.size())
+            .register(meterRegistry);
+        Gauge.builder(METRIC + ".deleted", this, tier -> tier.index == null ? 0 : tier.index.deleted())
+            .register(meterRegistry);
+        Gauge.builder(METRIC + ".memory", this, tier -> tier.index == null ? 0 : tier.index.usedBytes())
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void load() {
+        Thread.ofVirtual().name("hnsw-load").start(this::scheduledSync);
+    }
+
+    @Scheduled(fixedDelayString = "#{@embeddingsProperties.hnsw.syncInterval.toMillis()}",
+        initialDelayString = "#{@embeddingsProperties.hnsw.syncInterval.toMillis()}")
+    void scheduledSync() {
+        try {
+            synchronize();
+        } catch (RuntimeException e) {
+            log.warn("{} In-process HNSW index sync failed, searches keep the previous state: {}", LogIcons.WARNING,
+                e.toString());
+        }
+    }
+
+    /// Brings the index and its snapshot in step with the active embeddings of the current space, starting them
+    /// from the snapshot file first and rebuilding them when needed
+    ///
+    /// @return the number of vectors inserted and deleted
+    synchronized int synchronize() {
+        var space = embeddingSpaceRegistry.current();
+        if (index == null) {
+            start(space);
+        }
+        int changed = catchUp(space);
+        if (snapshot.size() != store.countActive(space)) {
+            changed += reconcile(space);
+        }
+        var hnsw = embeddingsProperties.getHnsw();
+        if (index.deleted() > hnsw.getRebuildRatio() * Math.max(1, index.size() + index.deleted())) {
+            if (snapshot.deleted() > 0) {
+                snapshot.compact();
+            }
+            var rebuilt = newIndex(space);
+            insertAll(rebuilt, snapshot::forEach);
+            index = rebuilt;
+            log.info("{} In-process HNSW index of {} rebuilt: {} vectors", LogIcons.DATA, space.model(),
+                rebuilt.size());
+        }
+        snapshot.force();
+        return changed;
+    }
+
+    /// Nearest active `IMAGE` embeddings of the current space, if the index can answer the search. Distances are the
+    /// index's float32 approximation, {@link NearestEmbeddings} has pgvector recompute them before they become keyset
+    /// positions.
+    ///
+    /// @return the neighbors ordered by (distance, id), or empty if pgvector has to answer
+    Optional<List<Neighbor>> find(@NonNull float[] query, @NonNull Filter filter, int limit) {
+        var current = index;
+        if (current == null || query.length != current.dimensions() || filter.type() != EmbeddingType.IMAGE
+            || filter.artType() != null || filter.artistId() != null || filter.after() != null) {
+            return Optional.empty();
+        }
+        int ef = Math.max(embeddingsProperties.getHnsw().getEfSearch(), limit);
+        List<Neighbor> neighbors = current.search(query, limit, ef,
+                artworkId -> !artworkId.equals(filter.excludeArtworkId()))
+            .stream()
+            .filter(match -> filter.maxDistance() == null || match.distance() <= filter.maxDistance())
+            .map(match -> new Neighbor(match.id(), match.artworkId(), match.distance()))
+            .sorted(Comparator.comparingDouble(Neighbor::distance).thenComparing(Neighbor::embeddingId))
+            .toList();
+        return Optional.of(neighbors);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (snapshot != null) {
+            snapshot.force();
+            snapshot.close();
+        }
+    }
+
+    /// Maps the space's snapshot and indexes its vectors
+    private void start(EmbeddingSpace space) {
+        var hnsw = embeddingsProperties.getHnsw();
+        String name = space.model().replaceAll("[^A-Za-z0-9._-]", "_") + "-" + space.dimensions() + ".vectors";
+        long started = System.nanoTime();
+        snapshot = EmbeddingSnapshot.open(hnsw.getSnapshotDir().resolve(name), space, hnsw.getSnapshotPrecision());
+        var loaded = newIndex(space);
+        insertAll(loaded, snapshot::forEach);
+        index = loaded;
+        log.info("{} In-process HNSW index of {} started from its snapshot: {} vectors in {} ms, watermark {}",
+            LogIcons.STARTUP, space.model(), loaded.size(), Duration.ofNanos(System.nanoTime() - started).toMillis(),
+            snapshot.watermark());
+    }
+
+    /// Applies the rows modified since the watermark, less the overlap for late commits
+    private int catchUp(EmbeddingSpace space) {
+        Instant watermark = snapshot.watermark();
+        Instant since = watermark.equals(Instant.EPOCH)
+            ? Instant.EPOCH
+            : watermark.minus(embeddingsProperties.getHnsw().getDeltaOverlap());
+        List<UUID> modified = new ArrayList<>();
+        int deleted = 0;
+        for (Change change : store.findModifiedSince(space, since)) {
+            if (change.modifiedAt().isAfter(watermark)) {
+                watermark = change.modifiedAt();
+            }
+            if (!change.active()) {
+                deleted += delete(change.id());
+            } else if (!snapshot.modifiedAt(change.id()).filter(change.modifiedAt()::equals).isPresent()) {
+                modified.add(change.id());
+            }
+        }
+        int inserted = load(modified);
+        snapshot.watermark(watermark);
+        if (inserted + deleted > 0) {
+            log.debug("{} In-process HNSW index caught up: {} inserted, {} deleted", LogIcons.DATA, inserted, deleted);
+        }
+        return inserted + deleted;
+    }
+
+    /// Compares all ids with the database, for changes the delta cannot see (deleted rows, very late commits)
+    private int reconcile(EmbeddingSpace space) {
+        Set<UUID> active = new HashSet<>(store.findActiveIds(space));
+        int deleted = 0;
+        for (UUID id : snapshot.ids()) {
+            if (!active.remove(id)) {
+                deleted += delete(id);
+            }
+        }
+        int inserted = load(List.copyOf(active));
+        log.info("{} In-process HNSW index reconciled: {} inserted, {} deleted", LogIcons.DATA, inserted, deleted);
+        return inserted + deleted;
+    }
+
+    private int delete(UUID id) {
+        index.delete(id);
+        return snapshot.delete(id) ? 1 : 0;
+    }
+
+    /// Reads vectors in chunks, writes them to the snapshot and inserts them, replacing earlier vectors of the ids
+    private int load(List<UUID> ids) {
+        int loaded = 0;
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Entry> entries = store.findAll(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+            for (Entry entry : entries) {
+                index.delete(entry.id());
+                snapshot.put(entry);
+            }
+            insertAll(index, entries::forEach);
+            loaded += entries.size();
+        }
+        return loaded;
+    }
+
+    /// Inserts entries concurrently, at most twice as many in flight as there are processors
+    ///
+    /// @param source calls its argument with every entry
+    private void insertAll(OffHeapHnswIndex target, Consumer<Consumer<Entry>> source) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        var inFlight = new Semaphore(2 * parallelism);
+        var refused = new AtomicInteger();
+        var threads = Thread.ofVirtual().name("hnsw-insert-", 0).factory();
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism, threads)) {
+            source.accept(entry -> {
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        if (!target.insert(entry.id(), entry.artworkId(), entry.vector())) {
+                            refused.incrementAndGet();
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            });
+        }
+        if (refused.get() > 0) {
+            log.warn("{} In-process HNSW index is full ({} vectors), {} not indexed; raise "
+                + "aiart.embeddings.hnsw.memory", LogIcons.WARNING, target.capacity(), refused.get());
+        }
+    }
+
+    private OffHeapHnswIndex newIndex(EmbeddingSpace space) {
+        var hnsw = embeddingsProperties.getHnsw();
+        return new OffHeapHnswIndex(space.dimensions(), hnsw.getMemory().toBytes(), hnsw.getM(),
+            hnsw.getEfConstruction());
+    }
+}
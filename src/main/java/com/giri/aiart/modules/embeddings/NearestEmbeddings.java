@@ -0,0 +1,228 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties;
+import com.giri.aiart.config.EmbeddingsProperties.IndexMode;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.pgvector.PgHalfVector;
+import com.giri.aiart.shared.persistence.pgvector.PgVector;
+import jakarta.transaction.Transactional;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/// Nearest neighbor search over the active embeddings of one {@link EmbeddingSpace}, in two passes:
+/// 1. **coarse** — `limit × aiart.embeddings.index.rescore-factor` candidates from the space's HNSW index, at the
+///    index's precision (`halfvec` or binary-quantized `bit`, see {@link SpaceIndex})
+/// 2. **rescore** — the candidates are reordered by their exact float32 cosine distance and the best `limit` kept
+///
+/// Quantization only loses the true neighbors that miss the candidate list; the reported distances and the order of
+/// the results are always exact. `hnsw.ef_search` is raised to the candidate count for the query's transaction, the
+/// index could return no more than that many rows otherwise, and filtered queries use pgvector's iterative index
+/// scan so that a selective {@link Filter} still fills the candidate list.
+///
+/// Results are keyset-paginated on (exact distance, embedding id): pass the {@link Position} of the last neighbor
+/// of a page to get the next one. The query vector is bound as a binary {@link PgVector}.
+///
+/// With `aiart.embeddings.hnsw.enabled`, searches of the current space that the in-process {@link HnswSearchTier}
+/// can answer take their neighbors from it, skipping the index scan. Their distances are still computed by pgvector,
+/// by primary key, so that a page's keyset position and the next pages, answered by pgvector, share one arithmetic:
+/// otherwise rows at the boundary of a page could be returned twice or skipped.
+///
+/// @author Giri Pottepalem
+@Repository
+@RequiredArgsConstructor
+public class NearestEmbeddings {
+    /// Upper bound of `hnsw.ef_search` accepted by pgvector
+    private static final int MAX_EF_SEARCH = 1000;
+    private static final RowMapper<Neighbor> NEIGHBOR = (rs, rowNum) -> new Neighbor(
+        rs.getObject("id", UUID.class),
+        rs.getObject("artwork_id", UUID.class),
+        rs.getDouble("distance"));
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final EmbeddingSpaceRegistry embeddingSpaceRegistry;
+    private final EmbeddingsProperties embeddingsProperties;
+    private final ObjectProvider<HnswSearchTier> hnswSearchTier;
+    private final TransactionTemplate transactionTemplate;
+
+    /// A nearest embedding
+    ///
+    /// @param embeddingId the `artwork_embedding` row
+    /// @param artworkId its artwork
+    /// @param distance exact cosine distance to the query, `0` for identical directions
+    public record Neighbor(UUID embeddingId, UUID artworkId, double distance) {
+        public Position position() {
+            return new Position(distance, embeddingId);
+        }
+    }
+
+    /// Keyset position: results strictly after it are returned
+    public record Position(double distance, @NonNull UUID embeddingId) {}
+
+    /// Restrictions of a search, every `null` component is unrestricted
+    ///
+    /// @param type embedding type
+    /// @param artType art type of the artwork
+    /// @param artistId the artwork's artist
+    /// @param excludeArtworkId an artwork left out, e.g. the one similar artworks are searched for
+    /// @param maxDistance largest cosine distance returned
+    /// @param after keyset position of the previous page
+    public record Filter(EmbeddingType type, ArtType artType, UUID artistId, UUID excludeArtworkId,
+                         Double maxDistance, Position after) {
+        public static final Filter NONE = new Filter(null, null, null, null, null, null);
+    }
+
+    /// @param query a vector of the current embedding space
+    /// @param limit the number of neighbors
+    /// @return up to `limit` active embeddings of the current space, nearest first
+    public List<Neighbor> find(@NonNull float[] query, int limit) {
+        return find(query, Filter.NONE, limit);
+    }
+
+    /// @param query a vector of the current embedding space
+    /// @param filter restrictions and keyset position
+    /// @param limit the number of neighbors
+    /// @return up to `limit` active embeddings of the current space matching the filter, nearest first
+    public List<Neighbor> find(@NonNull float[] query, @NonNull Filter filter, int limit) {
+        return Optional.ofNullable(hnswSearchTier.getIfAvailable())
+            .flatMap(tier -> tier.find(query, filter, limit))
+            .map(neighbors -> transactionTemplate.execute(status -> rescore(query, filter, neighbors)))
+            .orElseGet(() -> transactionTemplate.execute(status -> find(embeddingSpaceRegistry.current(),
+                embeddingsProperties.getIndex().getMode(), query, filter, limit)));
+    }
+
+    /// Replaces the distances of the in-process tier's neighbors by pgvector's and drops the rows archived since its
+    /// last sync
+    ///
+    /// @return the neighbors ordered by (distance, id), as {@link #find(float[], Filter, int)} pages them
+    private List<Neighbor> rescore(float[] query, Filter filter, List<Neighbor> neighbors) {
+        if (neighbors.isEmpty()) {
+            return neighbors;
+        }
+        var space = embeddingSpaceRegistry.current();
+        registerTypes();
+        String distance = "%s <=> CAST(:query AS vector(%d))".formatted(space.vectorExpression(), space.dimensions());
+        Map<String, Object> params = new HashMap<>();
+        params.put("query", new PgVector(query));
+        params.put("ids", neighbors.stream().map(Neighbor::embeddingId).toList());
+        String maxDistance = "";
+        if (filter.maxDistance() != null) {
+            maxDistance = " AND " + distance + " <= :maxDistance";
+            params.put("maxDistance", filter.maxDistance());
+        }
+        return jdbcClient.sql("""
+                SELECT id, artwork_id, %s AS distance FROM artwork_embedding
+                WHERE id IN (:ids) AND status = 'ACTIVE'%s
+                ORDER BY distance, id
+                """.formatted(distance, maxDistance))
+            .params(params)
+            .query(NEIGHBOR)
+            .list();
+    }
+
+    @Transactional
+    List<Neighbor> find(@NonNull EmbeddingSpace space, @NonNull IndexMode mode, @NonNull float[] query, int limit) {
+        return find(space, mode, query, Filter.NONE, limit);
+    }
+
+    @Transactional
+    List<Neighbor> find(@NonNull EmbeddingSpace space, @NonNull IndexMode mode, @NonNull float[] query,
+                        @NonNull Filter filter, int limit) {
+        if (query.length != space.dimensions()) {
+            throw new IllegalArgumentException("Query has " + query.length + " dimensions, embedding space "
+                + space.model() + " has " + space.dimensions());
+        }
+        var index = new SpaceIndex(space, mode);
+        int candidates = limit * Math.max(1, embeddingsProperties.getIndex().getRescoreFactor());
+        prepare(Math.min(MAX_EF_SEARCH, Math.max(candidates, embeddingsProperties.getIndex().getEfSearch())));
+
+        String distance = "%s <=> CAST(:query AS vector(%d))".formatted(space.vectorExpression(), space.dimensions());
+        List<String> conditions = new ArrayList<>(List.of(index.predicate(), "status = 'ACTIVE'"));
+        Map<String, Object> params = new HashMap<>();
+        params.put("query", new PgVector(query));
+        if (mode == IndexMode.HALFVEC) {
+            params.put("halfQuery", new PgHalfVector(query));
+        }
+        params.put("candidates", candidates);
+        params.put("limit", limit);
+        if (filter.type() != null) {
+            conditions.add("type = CAST(:type AS embedding_type_enum)");
+            params.put("type", filter.type().name());
+        }
+        if (filter.artType() != null || filter.artistId() != null) {
+            conditions.add("artwork_id IN (SELECT id FROM artwork WHERE "
+                + (filter.artType() != null ? "art_type = CAST(:artType AS art_type_enum)" : "TRUE")
+                + (filter.artistId() != null ? " AND artist_id = :artistId" : "") + ")");
+            if (filter.artType() != null) {
+                params.put("artType", filter.artType().name());
+            }
+            if (filter.artistId() != null) {
+                params.put("artistId", filter.artistId());
+            }
+        }
+        if (filter.excludeArtworkId() != null) {
+            conditions.add("artwork_id <> :excludeArtworkId");
+            params.put("excludeArtworkId", filter.excludeArtworkId());
+        }
+        if (filter.maxDistance() != null) {
+            conditions.add(distance + " <= :maxDistance");
+            params.put("maxDistance", filter.maxDistance());
+        }
+        if (filter.after() != null) {
+            conditions.add("(" + distance + ", id) > (:afterDistance, :afterId)");
+            params.put("afterDistance", filter.after().distance());
+            params.put("afterId", filter.after().embeddingId());
+        }
+        return jdbcClient.sql("""
+                SELECT id, artwork_id, distance
+                FROM (
+                    SELECT id, artwork_id, %s AS distance FROM artwork_embedding
+                    WHERE %s
+                    ORDER BY %s %s %s
+                    LIMIT :candidates
+                ) candidate
+                ORDER BY distance, id
+                LIMIT :limit
+                """.formatted(distance, String.join(" AND ", conditions), index.column(), index.operator(),
+                index.query()))
+            .params(params)
+            .query(NEIGHBOR)
+            .list();
+    }
+
+    /// Sizes the index scan for this transaction and enables binary transfer of the query vectors on its connection
+    private void prepare(int efSearch) {
+        registerTypes();
+        jdbcClient.sql("""
+                SELECT set_config('hnsw.ef_search', :efSearch, true),
+                       set_config('hnsw.iterative_scan', 'relaxed_order', true)
+                """)
+            .param("efSearch", String.valueOf(efSearch))
+            .query((rs, rowNum) -> rowNum)
+            .list();
+    }
+
+    /// Enables binary transfer of the query vectors on the transaction's connection
+    private void registerTypes() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            PgVector.register(connection);
+            PgHalfVector.register(connection);
+            return null;
+        });
+    }
+}
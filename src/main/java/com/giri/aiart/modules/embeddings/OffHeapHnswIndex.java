@@ -0,0 +1,361 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.shared.util.VectorMath;
+import lombok.NonNull;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/// In-process HNSW (hierarchical navigable small world) graph over unit vectors, for cosine nearest neighbor search
+/// without a database round trip.
+///
+/// - **Off-heap vectors** — every vector is normalized and written once into a contiguous native slab of
+///   `capacity × dimensions` floats, allocated up front from the memory budget. The GC never scans or copies them;
+///   only the graph's neighbor lists (`int[]`) and ids live on the heap. Distances are computed in place on the
+///   slab by {@link VectorMath}.
+/// - **Concurrent inserts** — an insert claims the next slot atomically, writes its vector, then links itself into
+///   each layer. A neighbor list is only ever replaced as a whole, under the lock of its node, so inserts only
+///   contend on the few nodes they link to.
+/// - **Non-blocking reads** — a search takes no lock: it reads published, immutable neighbor lists, and a node is
+///   only reachable once its vector is written.
+/// - **Deletes** — a deleted node is tombstoned: it keeps routing searches through the graph but is never returned.
+///   Its slot is not reused; rebuild the index once tombstones pile up (see {@link #deleted()}).
+///
+/// Vectors are released when the index becomes unreachable, so a rebuilt index can replace this one while searches
+/// still run on it.
+///
+/// @author Giri Pottepalem
+final class OffHeapHnswIndex {
+    private static final int[] NO_LINKS = new int[0];
+    private static final long EMPTY = -1;
+
+    private final int dimensions;
+    private final int capacity;
+    private final int m;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final MemorySegment vectors;
+    private final AtomicInteger allocated = new AtomicInteger();
+    private final AtomicInteger deleted = new AtomicInteger();
+    private final AtomicReferenceArray<Node> nodes;
+    private final ConcurrentHashMap<UUID, Integer> slots = new ConcurrentHashMap<>();
+    /// level of the entry point in the upper 32 bits, its slot in the lower ones; {@link #EMPTY} for none
+    private final AtomicLong entryPoint = new AtomicLong(EMPTY);
+
+    /// A search result
+    ///
+    /// @param id the embedding
+    /// @param artworkId its artwork
+    /// @param distance cosine distance to the query
+    record Match(UUID id, UUID artworkId, double distance) {}
+
+    /// A graph node: its ids and, per layer from 0 to its level, the slots of its neighbors
+    private static final class Node {
+        final UUID id;
+        final UUID artworkId;
+        final AtomicReferenceArray<int[]> links;
+        volatile boolean deleted;
+
+        Node(UUID id, UUID artworkId, int level) {
+            this.id = id;
+            this.artworkId = artworkId;
+            this.links = new AtomicReferenceArray<>(level + 1);
+            for (int layer = 0; layer <= level; layer++) {
+                links.set(layer, NO_LINKS);
+            }
+        }
+
+        int level() {
+            return links.length() - 1;
+        }
+    }
+
+    private record Candidate(int slot, float distance) {}
+
+    private static final Comparator<Candidate> NEAREST_FIRST = Comparator.comparingDouble(Candidate::distance);
+
+    /// @param dimensions length of every vector
+    /// @param maxBytes off-heap memory of the vectors, rounded down to whole vectors
+    /// @param m neighbors per node and layer, twice as many on layer 0
+    /// @param efConstruction breadth of the neighbor search of an insert
+    OffHeapHnswIndex(int dimensions, long maxBytes, int m, int efConstruction) {
+        long vectorBytes = dimensions * ValueLayout.JAVA_FLOAT.byteSize();
+        this.dimensions = dimensions;
+        this.capacity = (int) Math.min(Integer.MAX_VALUE - 8, maxBytes / vectorBytes);
+        this.m = Math.max(2, m);
+        this.efConstruction = Math.max(this.m, efConstruction);
+        this.levelFactor = 1 / Math.log(this.m);
+        this.vectors = Arena.ofAuto().allocate(Math.max(1, capacity * vectorBytes),
+            ValueLayout.JAVA_FLOAT.byteAlignment());
+        this.nodes = new AtomicReferenceArray<>(capacity);
+    }
+
+    /// Adds a vector. An id is inserted by one thread at a time; a deleted id can be inserted again.
+    ///
+    /// @return `false` if the memory budget is used up, the vector is not indexed then
+    boolean insert(@NonNull UUID id, @NonNull UUID artworkId, @NonNull float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Vector has " + vector.length + " dimensions, index has " + dimensions);
+        }
+        Integer existing = slots.get(id);
+        if (existing != null && !nodes.get(existing).deleted) {
+            return true;
+        }
+        int slot = allocated.getAndUpdate(count -> count < capacity ? count + 1 : count);
+        if (slot >= capacity) {
+            return false;
+        }
+        float[] unit = VectorMath.normalize(vector);
+        MemorySegment.copy(unit, 0, vectors, ValueLayout.JAVA_FLOAT, offset(slot), dimensions);
+        int level = (int) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * levelFactor);
+        var node = new Node(id, artworkId, level);
+        nodes.set(slot, node);
+        link(slot, node, unit);
+        slots.put(id, slot);
+        return true;
+    }
+
+    /// Tombstones a vector
+    ///
+    /// @return whether the id was indexed and not deleted yet
+    boolean delete(@NonNull UUID id) {
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            return false;
+        }
+        var node = nodes.get(slot);
+        synchronized (node) {
+            if (node.deleted) {
+                return false;
+            }
+            node.deleted = true;
+        }
+        deleted.incrementAndGet();
+        return true;
+    }
+
+    /// The `k` nearest live vectors accepted by the filter, nearest first
+    ///
+    /// @param ef search breadth, raised to `k`; larger is slower with better recall
+    /// @param filter the artworks that may be returned
+    List<Match> search(@NonNull float[] query, int k, int ef, @NonNull Predicate<UUID> filter) {
+        long entry = entryPoint.get();
+        if (entry == EMPTY || query.length != dimensions) {
+            return List.of();
+        }
+        float[] unit = VectorMath.normalize(query);
+        int current = (int) entry;
+        for (int layer = (int) (entry >>> 32); layer > 0; layer--) {
+            current = greedy(unit, current, layer);
+        }
+        List<Match> matches = new ArrayList<>(k);
+        for (Candidate candidate : searchLayer(unit, current, Math.max(ef, k), 0)) {
+            var node = nodes.get(candidate.slot());
+            if (!node.deleted && filter.test(node.artworkId)) {
+                matches.add(new Match(node.id, node.artworkId, candidate.distance()));
+                if (matches.size() == k) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /// @return the ids of the live vectors
+    Set<UUID> ids() {
+        Set<UUID> ids = new HashSet<>();
+        slots.forEach((id, slot) -> {
+            if (!nodes.get(slot).deleted) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    /// @return the number of live vectors
+    int size() {
+        return allocated.get() - deleted.get();
+    }
+
+    /// @return the number of tombstoned vectors, whose slots stay used until the index is rebuilt
+    int deleted() {
+        return deleted.get();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    /// Off-heap bytes held by vectors, deleted ones included
+    long usedBytes() {
+        return (long) allocated.get() * dimensions * ValueLayout.JAVA_FLOAT.byteSize();
+    }
+
+    /// Connects a new node on each of its layers, and makes it the entry point if it is the highest node
+    private void link(int slot, Node node, float[] unit) {
+        long entry = entryPoint.get();
+        while (entry == EMPTY) {
+            if (entryPoint.compareAndSet(EMPTY, pack(node.level(), slot))) {
+                return;
+            }
+            entry = entryPoint.get();
+        }
+        int entryLevel = (int) (entry >>> 32);
+        int current = (int) entry;
+        for (int layer = entryLevel; layer > node.level(); layer--) {
+            current = greedy(unit, current, layer);
+        }
+        for (int layer = Math.min(node.level(), entryLevel); layer >= 0; layer--) {
+            List<Candidate> candidates = searchLayer(unit, current, efConstruction, layer);
+            int[] neighbors = selectNeighbors(candidates, m);
+            synchronized (node) {
+                node.links.set(layer, neighbors);
+            }
+            for (int neighbor : neighbors) {
+                addLink(neighbor, slot, layer);
+            }
+            current = candidates.getFirst().slot();
+        }
+        while (node.level() > (int) (entry >>> 32) && !entryPoint.compareAndSet(entry, pack(node.level(), slot))) {
+            entry = entryPoint.get();
+        }
+    }
+
+    /// Adds a back link to a neighbor, keeping its closest links when it has too many
+    private void addLink(int slot, int link, int layer) {
+        var node = nodes.get(slot);
+        int maxLinks = layer == 0 ? 2 * m : m;
+        synchronized (node) {
+            int[] links = node.links.get(layer);
+            int[] updated;
+            if (links.length < maxLinks) {
+                updated = new int[links.length + 1];
+                System.arraycopy(links, 0, updated, 0, links.length);
+                updated[links.length] = link;
+            } else {
+                float[] unit = vector(slot);
+                List<Candidate> candidates = new ArrayList<>(links.length + 1);
+                for (int existing : links) {
+                    candidates.add(new Candidate(existing, distance(unit, existing)));
+                }
+                candidates.add(new Candidate(link, distance(unit, link)));
+                candidates.sort(NEAREST_FIRST);
+                updated = selectNeighbors(candidates, maxLinks);
+            }
+            node.links.set(layer, updated);
+        }
+    }
+
+    /// HNSW neighbor heuristic: a candidate is kept if it is closer to the new node than to every neighbor kept so
+    /// far, so that links spread in all directions; remaining places are filled with the nearest candidates left
+    private int[] selectNeighbors(List<Candidate> nearestFirst, int max) {
+        List<Candidate> selected = new ArrayList<>(max);
+        List<Candidate> pruned = new ArrayList<>();
+        for (Candidate candidate : nearestFirst) {
+            if (selected.size() == max) {
+                break;
+            }
+            float[] unit = vector(candidate.slot());
+            boolean diverse = selected.stream().allMatch(kept -> distance(unit, kept.slot()) > candidate.distance());
+            (diverse ? selected : pruned).add(candidate);
+        }
+        for (int i = 0; selected.size() < max && i < pruned.size(); i++) {
+            selected.add(pruned.get(i));
+        }
+        return selected.stream().mapToInt(Candidate::slot).toArray();
+    }
+
+    /// Walks a layer towards the query while a neighbor is closer
+    private int greedy(float[] unit, int start, int layer) {
+        int current = start;
+        float best = distance(unit, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbor : nodes.get(current).links.get(layer)) {
+                float distance = distance(unit, neighbor);
+                if (distance < best) {
+                    best = distance;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /// Best-first search of one layer
+    ///
+    /// @return up to `ef` nearest nodes, tombstoned ones included, nearest first
+    private List<Candidate> searchLayer(float[] unit, int entry, int ef, int layer) {
+        var visited = new BitSet(allocated.get());
+        var start = new Candidate(entry, distance(unit, entry));
+        var candidates = new PriorityQueue<>(NEAREST_FIRST);
+        var nearest = new PriorityQueue<>(NEAREST_FIRST.reversed());
+        visited.set(entry);
+        candidates.add(start);
+        nearest.add(start);
+        while (!candidates.isEmpty()) {
+            var candidate = candidates.poll();
+            if (candidate.distance() > nearest.peek().distance() && nearest.size() >= ef) {
+                break;
+            }
+            for (int neighbor : nodes.get(candidate.slot()).links.get(layer)) {
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float distance = distance(unit, neighbor);
+                if (nearest.size() < ef || distance < nearest.peek().distance()) {
+                    var next = new Candidate(neighbor, distance);
+                    candidates.add(next);
+                    nearest.add(next);
+                    if (nearest.size() > ef) {
+                        nearest.poll();
+                    }
+                }
+            }
+        }
+        List<Candidate> result = new ArrayList<>(nearest);
+        result.sort(NEAREST_FIRST);
+        return result;
+    }
+
+    /// Cosine distance of a unit query to an indexed vector: `1 - dot product`, both being unit vectors
+    private float distance(float[] unit, int slot) {
+        return 1 - VectorMath.dot(unit, vectors, offset(slot));
+    }
+
+    private float[] vector(int slot) {
+        float[] vector = new float[dimensions];
+        MemorySegment.copy(vectors, ValueLayout.JAVA_FLOAT, offset(slot), vector, 0, dimensions);
+        return vector;
+    }
+
+    private long offset(int slot) {
+        return (long) slot * dimensions * ValueLayout.JAVA_FLOAT.byteSize();
+    }
+
+    private static long pack(int level, int slot) {
+        return (long) level << 32 | slot;
+    }
+}
@@ -0,0 +1,104 @@
+package com.giri.aiart.modules.embeddings;
+
+import lombok.NonNull;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/// In-process tier of the embedding cache: a least-recently-used map from text hash to vector whose vectors live
+/// off the Java heap.
+///
+/// All vectors of one embedding model have the same length, so a single native slab is carved into fixed-size
+/// slots of `dimensions` floats. A vector costs exactly `4 × dimensions` bytes (6 KB at 1536 dimensions) instead of
+/// a `float[]` with its header on the heap, and tens of thousands of cached vectors add nothing to GC work.
+/// Evicting an entry frees its slot for the next vector; the slab itself is released on {@link #close()}.
+///
+/// Thread-safe, every operation is short and runs under the instance lock.
+///
+/// @author Giri Pottepalem
+final class OffHeapVectorCache implements AutoCloseable {
+    private final int dimensions;
+    private final Arena arena = Arena.ofShared();
+    private final MemorySegment slab;
+    private final int capacity;
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final LinkedHashMap<String, Integer> slots;
+    private final LongConsumer onEviction;
+    private int nextUnusedSlot;
+
+    /// @param dimensions length of every cached vector
+    /// @param maxBytes off-heap memory to reserve, rounded down to whole vectors
+    /// @param onEviction called with the number of entries evicted
+    OffHeapVectorCache(int dimensions, long maxBytes, @NonNull LongConsumer onEviction) {
+        long slotBytes = dimensions * ValueLayout.JAVA_FLOAT.byteSize();
+        this.dimensions = dimensions;
+        this.capacity = (int) Math.min(Integer.MAX_VALUE, maxBytes / slotBytes);
+        this.slab = arena.allocate(Math.max(1, capacity * slotBytes), ValueLayout.JAVA_FLOAT.byteAlignment());
+        this.slots = new LinkedHashMap<>(16, 0.75f, true); // access order: eldest is least recently used
+        this.onEviction = onEviction;
+    }
+
+    /// @return a copy of the cached vector, or `null`
+    synchronized float[] get(String key) {
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            return null;
+        }
+        float[] vector = new float[dimensions];
+        MemorySegment.copy(slab, ValueLayout.JAVA_FLOAT, offset(slot), vector, 0, dimensions);
+        return vector;
+    }
+
+    /// Caches a copy of the vector, evicting the least recently used one when full. Vectors of another length than
+    /// the cache's are not cached.
+    synchronized void put(String key, float[] vector) {
+        if (capacity == 0 || vector.length != dimensions) {
+            return;
+        }
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            slot = allocate();
+            slots.put(key, slot);
+        }
+        MemorySegment.copy(vector, 0, slab, ValueLayout.JAVA_FLOAT, offset(slot), dimensions);
+    }
+
+    synchronized int size() {
+        return slots.size();
+    }
+
+    /// Off-heap bytes held by cached vectors
+    synchronized long usedBytes() {
+        return (long) slots.size() * dimensions * ValueLayout.JAVA_FLOAT.byteSize();
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private int allocate() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (nextUnusedSlot < capacity) {
+            return nextUnusedSlot++;
+        }
+        Iterator<Map.Entry<String, Integer>> eldest = slots.entrySet().iterator();
+        int slot = eldest.next().getValue();
+        eldest.remove();
+        onEviction.accept(1);
+        return slot;
+    }
+
+    private long offset(int slot) {
+        return (long) slot * dimensions * ValueLayout.JAVA_FLOAT.byteSize();
+    }
+}
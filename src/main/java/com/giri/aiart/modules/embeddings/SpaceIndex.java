@@ -0,0 +1,87 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties.IndexMode;
+import lombok.NonNull;
+
+/// SQL of the ANN index of one {@link EmbeddingSpace} at one {@link IndexMode}.
+///
+/// All modes index an expression over the float32 `embedding` column, so the table keeps full precision for
+/// rescoring and switching modes needs no data migration, only a new index:
+///
+/// | mode      | indexed expression                       | bytes per vector (1024 d) | operator      |
+/// |-----------|------------------------------------------|---------------------------|---------------|
+/// | `VECTOR`  | `embedding::vector(N)`                   | 4096                      | cosine `<=>`  |
+/// | `HALFVEC` | `embedding::halfvec(N)`                  | 2048                      | cosine `<=>`  |
+/// | `BIT`     | `binary_quantize(embedding)::bit(N)`     | 128                       | hamming `<~>` |
+///
+/// The space's model is inlined as a quoted literal rather than bound: the planner only uses a partial index when
+/// it can prove the query's predicate implies the index's, which a generic plan with parameters cannot.
+///
+/// @author Giri Pottepalem
+record SpaceIndex(@NonNull EmbeddingSpace space, @NonNull IndexMode mode) {
+
+    /// Maximum dimensions pgvector's HNSW can index in this mode
+    int maxDimensions() {
+        return switch (mode) {
+            case VECTOR -> 2000;
+            case HALFVEC -> 4000;
+            case BIT -> 64000;
+        };
+    }
+
+    boolean indexable() {
+        return space.dimensions() <= maxDimensions();
+    }
+
+    String name(int spaceId) {
+        return switch (mode) {
+            case VECTOR -> "idx_artwork_embedding_hnsw_" + spaceId;
+            case HALFVEC -> "idx_artwork_embedding_halfvec_" + spaceId;
+            case BIT -> "idx_artwork_embedding_bit_" + spaceId;
+        };
+    }
+
+    /// The indexed expression over the `embedding` column
+    String column() {
+        int n = space.dimensions();
+        return switch (mode) {
+            case VECTOR -> "(embedding::vector(" + n + "))";
+            case HALFVEC -> "(embedding::halfvec(" + n + "))";
+            case BIT -> "(binary_quantize(embedding)::bit(" + n + "))";
+        };
+    }
+
+    /// The query vector in the column's type: `:query` bound as a binary `vector`, or `:halfQuery` bound as a
+    /// binary `halfvec` in `HALFVEC` mode
+    String query() {
+        int n = space.dimensions();
+        return switch (mode) {
+            case VECTOR -> "CAST(:query AS vector(" + n + "))";
+            case HALFVEC -> "CAST(:halfQuery AS halfvec(" + n + "))";
+            case BIT -> "binary_quantize(CAST(:query AS vector(" + n + ")))::bit(" + n + ")";
+        };
+    }
+
+    /// The distance operator the index orders by
+    String operator() {
+        return mode == IndexMode.BIT ? "<~>" : "<=>";
+    }
+
+    /// Restricts rows to the space, in the form of the index predicate
+    String predicate() {
+        return "model = '" + space.model().replace("'", "''") + "' AND dimensions = " + space.dimensions();
+    }
+
+    String createSql(int spaceId) {
+        String opclass = switch (mode) {
+            case VECTOR -> "vector_cosine_ops";
+            case HALFVEC -> "halfvec_cosine_ops";
+            case BIT -> "bit_hamming_ops";
+        };
+        return """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS %s ON artwork_embedding
+            USING hnsw (%s %s)
+            WHERE %s
+            """.formatted(name(spaceId), column(), opclass, predicate());
+    }
+}
@@ -0,0 +1,175 @@
+package com.giri.aiart.modules.imaging;
+
+import com.giri.aiart.config.ImagingProperties;
+import com.giri.aiart.shared.util.LogIcons;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+
+/// Decodes an image **once** and derives the renditions the ingestion pipeline needs from it:
+/// - a **vision input** capped at `aiart.imaging.vision.max-edge`, so the vision model does not have to process a
+///   20+ megapixel scan (prompt processing time and memory grow with the pixel count)
+/// - a **thumbnail** capped at `aiart.imaging.thumbnail.max-edge`, derived from the vision input
+///
+/// Large images are subsampled while decoding, so the full resolution raster is never held on the heap.
+/// Anything ImageIO cannot decode (e.g. WebP) is passed through unchanged, without a thumbnail.
+///
+/// Preprocessing time is recorded in the `aiart.imaging.preprocess` timer, tagged `outcome=processed|undecoded`.
+///
+/// @author Giri Pottepalem
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ImagePreprocessor {
+    static final String TIMER_NAME = "aiart.imaging.preprocess";
+    private static final String FORMAT = "jpeg";
+
+    private final ImagingProperties imagingProperties;
+    private final MeterRegistry meterRegistry;
+
+    /// @param image the original image
+    /// @return its renditions, never `null`
+    public PreprocessedImage preprocess(@NonNull Resource image) {
+        var sample = Timer.start(meterRegistry);
+        PreprocessedImage preprocessed;
+        try {
+            preprocessed = decodeAndScale(image);
+        } catch (IOException | RuntimeException e) {
+            log.warn("{} Could not preprocess image {}: {}", LogIcons.WARNING, image.getFilename(), e.toString());
+            preprocessed = null;
+        }
+        if (preprocessed == null) {
+            sample.stop(meterRegistry.timer(TIMER_NAME, "outcome", "undecoded"));
+            return PreprocessedImage.undecoded(image);
+        }
+        sample.stop(meterRegistry.timer(TIMER_NAME, "outcome", "processed"));
+        return preprocessed;
+    }
+
+    /// @return the renditions, `null` if there is no reader for the image format
+    private PreprocessedImage decodeAndScale(Resource image) throws IOException {
+        var vision = imagingProperties.getVision();
+        var thumbnail = imagingProperties.getThumbnail();
+        try (InputStream inputStream = image.getInputStream();
+             ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = imageInputStream != null
+                ? ImageIO.getImageReaders(imageInputStream)
+                : Collections.<ImageReader>emptyIterator();
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                // decode at no less than twice the vision size, enough for a clean downscale
+                int subsampling = Math.max(1, Math.max(width, height) / (vision.getMaxEdge() * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                Resource visionInput = image;
+                BufferedImage visionImage = decoded;
+                if (Math.max(width, height) > vision.getMaxEdge()) {
+                    visionImage = scale(decoded, vision.getMaxEdge());
+                    visionInput = new JpegResource(encode(visionImage, vision.getQuality()), image.getFilename());
+                }
+                byte[] thumbnailBytes = encode(scale(visionImage, thumbnail.getMaxEdge()), thumbnail.getQuality());
+                log.debug("{} Preprocessed {} ({}x{}, subsampling {}): vision input {} bytes, thumbnail {} bytes",
+                    LogIcons.FILE, image.getFilename(), width, height, subsampling,
+                    visionInput.contentLength(), thumbnailBytes.length);
+                return new PreprocessedImage(visionInput, thumbnailBytes, width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /// Scales the image down to the given longest edge (never up), as opaque RGB. Alpha is flattened onto white.
+    ///
+    /// Halves the image repeatedly before the final bilinear step: a single bilinear step over a large factor
+    /// skips most source pixels and aliases.
+    static BufferedImage scale(BufferedImage source, int maxEdge) {
+        int longEdge = Math.max(source.getWidth(), source.getHeight());
+        double factor = Math.min(1.0, (double) maxEdge / longEdge);
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * factor));
+
+        BufferedImage current = source;
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(targetHeight, current.getHeight() / 2);
+            current = draw(current, width, height);
+        } while (current.getWidth() > targetWidth || current.getHeight() > targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        var target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encode(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(FORMAT).next();
+        var bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream outputStream = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(outputStream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    /// In-memory JPEG rendition; keeps a file name because media types are derived from the extension
+    private static final class JpegResource extends ByteArrayResource {
+        private final String filename;
+
+        JpegResource(byte[] bytes, String originalFilename) {
+            super(bytes, "JPEG rendition of " + originalFilename);
+            this.filename = (originalFilename != null ? FilenameUtils.getBaseName(originalFilename) : "image") + ".jpg";
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.giri.aiart.modules.imaging;
+
+import org.springframework.core.io.Resource;
+
+/// Renditions of an image produced by {@link ImagePreprocessor}.
+///
+/// @param visionInput image to send to the vision model: a downscaled JPEG, or the original when the image is small
+///                    enough or could not be decoded
+/// @param thumbnail JPEG thumbnail, `null` when the image could not be decoded
+/// @param width width of the original in pixels, `0` when unknown
+/// @param height height of the original in pixels, `0` when unknown
+/// @author Giri Pottepalem
+public record PreprocessedImage(Resource visionInput, byte[] thumbnail, int width, int height) {
+    public static final String CONTENT_TYPE = "image/jpeg";
+
+    /// An image that could not be decoded: the original is passed on as is and there is no thumbnail
+    static PreprocessedImage undecoded(Resource original) {
+        return new PreprocessedImage(original, null, 0, 0);
+    }
+
+    public boolean hasThumbnail() {
+        return thumbnail != null;
+    }
+}
@@ -0,0 +1,112 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.event.ArtworkIngested;
+import com.giri.aiart.shared.persistence.ArtWorkRepository;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import com.giri.aiart.shared.persistence.IngestionCheckpointRepository;
+import jakarta.transaction.Transactional;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/// Short write transaction of the ingestion pipeline.
+///
+/// The slow stages (MinIO upload, vision model, embedding model) run outside any transaction. Only the final
+/// insert of the `Artwork` and its `ArtworkEmbedding`s checks out a pooled connection, so a JDBC connection is
+/// held for milliseconds instead of for the duration of the model calls.
+///
+/// A new artwork persisted without embeddings (event mode, or reused content whose embeddings are still pending)
+/// publishes an {@link ArtworkIngested} event in the same transaction, so it is embedded after the commit.
+/// The ingestion checkpoint of the artwork is removed in the same transaction as well.
+///
+/// @author Giri Pottepalem
+@Component
+@RequiredArgsConstructor
+class ArtworkWriter {
+    private final ArtistRepository artistRepository;
+    private final ArtWorkRepository artWorkRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IngestionCheckpointRepository checkpointRepository;
+
+    /// Attaches the artwork to its artist and persists it along with its embeddings (cascaded).
+    /// If the artist already owns an artwork with the same image content, that artwork is returned instead and the
+    /// given one is not persisted.
+    ///
+    /// @param artistId the owning artist, already validated
+    /// @param artwork the fully built, not yet persisted artwork
+    /// @return the persisted artwork, or the artist's existing artwork with the same content
+    @Transactional
+    public Artwork persist(@NonNull UUID artistId, @NonNull Artwork artwork) {
+        if (artwork.getContentHash() != null) {
+            checkpointRepository.deleteByArtistIdAndContentHash(artistId, artwork.getContentHash());
+            var existing = artWorkRepository.findByArtist_IdAndContentHash(artistId, artwork.getContentHash());
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+        }
+        artwork.setArtist(artistRepository.getReferenceById(artistId));
+        var saved = artWorkRepository.save(artwork);
+        publishIfNotEmbedded(artistId, saved);
+        return saved;
+    }
+
+    /// Persists a batch of artworks of one artist in a single transaction. With `hibernate.jdbc.batch_size` and
+    /// `order_inserts` the artwork and embedding rows are sent as JDBC batches rather than one statement per row.
+    ///
+    /// Like {@link #persist}, an artwork whose image content the artist already owns — from before, or earlier in
+    /// the same batch — is not persisted; the owning artwork takes its place in the result.
+    ///
+    /// @param artistId the owning artist, already validated
+    /// @param artworks fully built, not yet persisted artworks
+    /// @return for each given artwork, in order, the persisted artwork or the existing one with the same content
+    @Transactional
+    public List<Artwork> persistAll(@NonNull UUID artistId, @NonNull List<Artwork> artworks) {
+        var contentHashes = artworks.stream()
+            .map(Artwork::getContentHash)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<String, Artwork> byContentHash = new HashMap<>();
+        if (!contentHashes.isEmpty()) {
+            artWorkRepository.findByArtist_IdAndContentHashIn(artistId, contentHashes)
+                .forEach(existing -> byContentHash.put(existing.getContentHash(), existing));
+        }
+
+        var artist = artistRepository.getReferenceById(artistId);
+        List<Artwork> result = new ArrayList<>(artworks.size());
+        List<Artwork> toSave = new ArrayList<>(artworks.size());
+        for (Artwork artwork : artworks) {
+            if (artwork.getContentHash() != null) {
+                checkpointRepository.deleteByArtistIdAndContentHash(artistId, artwork.getContentHash());
+            }
+            var existing = artwork.getContentHash() != null ? byContentHash.get(artwork.getContentHash()) : null;
+            if (existing != null) {
+                result.add(existing);
+                continue;
+            }
+            artwork.setArtist(artist);
+            if (artwork.getContentHash() != null) {
+                byContentHash.put(artwork.getContentHash(), artwork);
+            }
+            toSave.add(artwork);
+            result.add(artwork);
+        }
+        artWorkRepository.saveAll(toSave).forEach(saved -> publishIfNotEmbedded(artistId, saved));
+        return result;
+    }
+
+    private void publishIfNotEmbedded(UUID artistId, Artwork artwork) {
+        if (artwork.getEmbeddings() == null || artwork.getEmbeddings().isEmpty()) {
+            eventPublisher.publishEvent(new ArtworkIngested(artwork.getId(), artistId, artwork.getMinioKey()));
+        }
+    }
+}
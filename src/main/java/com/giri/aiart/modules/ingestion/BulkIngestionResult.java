@@ -0,0 +1,34 @@
+package com.giri.aiart.modules.ingestion;
+
+import java.util.UUID;
+
+/// Outcome of one image of a bulk ingestion, streamed to the client as one NDJSON line as soon as it is known.
+///
+/// @param index position of the image in the request (or archive), zero based
+/// @param filename original file name of the image
+/// @param title artwork title derived from the file name
+/// @param status whether the artwork was ingested
+/// @param artworkId id of the persisted artwork, `null` on failure
+/// @param error failure message, `null` on success
+/// @param durationMillis time from the start of the bulk ingestion until the outcome of this image was known
+/// @author Giri Pottepalem
+public record BulkIngestionResult(
+    int index,
+    String filename,
+    String title,
+    Status status,
+    UUID artworkId,
+    String error,
+    long durationMillis
+) {
+    public enum Status { INGESTED, FAILED }
+
+    static BulkIngestionResult ingested(int index, String filename, String title, UUID artworkId, long durationMillis) {
+        return new BulkIngestionResult(index, filename, title, Status.INGESTED, artworkId, null, durationMillis);
+    }
+
+    static BulkIngestionResult failed(int index, String filename, String title, Throwable cause, long durationMillis) {
+        var error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        return new BulkIngestionResult(index, filename, title, Status.FAILED, null, error, durationMillis);
+    }
+}
@@ -0,0 +1,239 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.giri.aiart.config.IngestionProperties;
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import com.giri.aiart.shared.util.LogIcons;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/// **Bulk mode** of the ingestion workflow, for onboarding a whole portfolio of one artist in a single request.
+///
+/// - The images (multipart files and/or the image entries of a zip archive) are spooled to temporary files first,
+///   so they outlive the request and the archive is read only once
+/// - Every image runs through {@link IngestionService#prepareArtwork} (upload ∥ describe → embed) on its own virtual
+///   thread; a semaphore bounds how many do so at once (`aiart.ingestion.bulk.parallelism`)
+/// - Prepared artworks are persisted in batches of up to `aiart.ingestion.bulk.batch-size` per transaction: whatever
+///   has completed while the previous batch was being written forms the next batch, so a quiet pipeline still
+///   persists each artwork right away while a busy one amortizes its transactions
+/// - One {@link BulkIngestionResult} per image is handed to the caller as soon as the image is persisted or failed
+///
+/// Images the artist already owns are reported with the id of the existing artwork.
+/// A failing image never fails the request. If a batch insert fails, every artwork of that batch is reported as
+/// failed; like any failed image it keeps its ingestion checkpoint and is resumed later.
+///
+/// @author Giri Pottepalem
+/// @see IngestionController
+@Slf4j
+@RequiredArgsConstructor
+@Service
+class BulkIngestionService {
+    private final ArtistRepository artistRepository;
+    private final IngestionService ingestionService;
+    private final ArtworkWriter artworkWriter;
+    private final IngestionProperties ingestionProperties;
+
+    /// Validates a bulk request and spools its images to temporary files.
+    ///
+    /// @param artistId the owning artist
+    /// @param files individually uploaded images, may be `null`
+    /// @param archive a zip archive of images, may be `null`; directories and non-image entries are skipped
+    /// @return the spooled images, in request order, each to be deleted once ingested
+    /// @throws IllegalArgumentException if the artist does not exist, or there are no or too many images
+    /// @throws IOException if the images cannot be spooled to disk
+    List<SpooledMultipartFile> spool(@NonNull UUID artistId, List<MultipartFile> files, MultipartFile archive)
+        throws IOException {
+        if (!artistRepository.existsById(artistId)) {
+            throw new IllegalArgumentException(String.format("Artist with id %s not found", artistId));
+        }
+        int maxItems = ingestionProperties.getBulk().getMaxItems();
+        List<SpooledMultipartFile> images = new ArrayList<>();
+        try {
+            if (files != null) {
+                for (MultipartFile file : files) {
+                    if (!file.isEmpty()) {
+                        images.add(SpooledMultipartFile.spool(file));
+                        checkMaxItems(images, maxItems);
+                    }
+                }
+            }
+            if (archive != null && !archive.isEmpty()) {
+                spoolArchive(archive, images, maxItems);
+            }
+        } catch (IOException | RuntimeException e) {
+            images.forEach(SpooledMultipartFile::delete);
+            throw e;
+        }
+        if (images.isEmpty()) {
+            throw new IllegalArgumentException("No images found in the bulk request");
+        }
+        log.info("{} Spooled {} images for bulk ingestion of artistId={}", LogIcons.DATA, images.size(), artistId);
+        return images;
+    }
+
+    /// Ingests the spooled images, blocking until every image has an outcome. Spooled files are deleted as they are
+    /// processed.
+    ///
+    /// @param artistId the owning artist, already validated by {@link #spool}
+    /// @param description description applied to every artwork
+    /// @param artType art type applied to every artwork
+    /// @param images the images returned by {@link #spool}
+    /// @param results receives exactly one result per image, always from the calling thread; must not throw
+    void ingest(@NonNull UUID artistId,
+                @NonNull String description,
+                @NonNull ArtType artType,
+                @NonNull List<SpooledMultipartFile> images,
+                @NonNull Consumer<BulkIngestionResult> results) {
+        var bulk = ingestionProperties.getBulk();
+        log.info("{} Starting bulk ingestion of {} images for artistId={}", LogIcons.STARTUP, images.size(), artistId);
+        BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+        var permits = new Semaphore(bulk.getParallelism());
+        int ingested = 0;
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < images.size(); i++) {
+                var item = new Item(i, images.get(i));
+                executor.submit(() -> outcomes.add(prepare(artistId, item, description, artType, permits)));
+            }
+
+            int remaining = images.size();
+            List<Outcome> batch = new ArrayList<>(bulk.getBatchSize());
+            while (remaining > 0) {
+                batch.add(outcomes.take());
+                outcomes.drainTo(batch, bulk.getBatchSize() - 1);
+                remaining -= batch.size();
+                ingested += persist(artistId, batch, results);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("{} Bulk ingestion for artistId={} interrupted", LogIcons.WARNING, artistId);
+        }
+        log.info("{} Bulk ingestion for artistId={} finished: {} of {} images ingested",
+            LogIcons.SUCCESS, artistId, ingested, images.size());
+    }
+
+    /// Runs the transaction-free stages of one image, never throws
+    private Outcome prepare(UUID artistId, Item item, String description, ArtType artType, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            item.image().delete();
+            return new Outcome(item, null, e);
+        }
+        try {
+            var artwork = ingestionService.prepareArtwork(
+                item.title(), description, artType, item.image(), new IngestionJob(artistId, item.title())
+            );
+            return new Outcome(item, artwork, null);
+        } catch (Exception e) {
+            log.warn("{} Bulk ingestion of {} failed: {}", LogIcons.WARNING, item.filename(), e.toString());
+            return new Outcome(item, null, e);
+        } finally {
+            permits.release();
+            item.image().delete();
+        }
+    }
+
+    /// Persists the prepared artworks of a batch in one transaction and reports every outcome of the batch
+    ///
+    /// @return the number of artworks persisted
+    private int persist(UUID artistId, List<Outcome> batch, Consumer<BulkIngestionResult> results) {
+        List<Outcome> prepared = batch.stream().filter(outcome -> outcome.artwork() != null).toList();
+        List<Artwork> saved = List.of();
+        Exception batchFailure = null;
+        if (!prepared.isEmpty()) {
+            try {
+                saved = artworkWriter.persistAll(artistId, prepared.stream().map(Outcome::artwork).toList());
+                log.debug("{} Persisted batch of {} artworks for artistId={}", LogIcons.DATA, saved.size(), artistId);
+                // images the artist already owned: the existing artwork stands in for the prepared one
+                for (int i = 0; i < prepared.size(); i++) {
+                    if (saved.get(i) != prepared.get(i).artwork()) {
+                        ingestionService.discardArtwork(prepared.get(i).artwork());
+                    }
+                }
+            } catch (Exception e) {
+                log.error("{} Persisting batch of {} artworks failed", LogIcons.ERROR, prepared.size(), e);
+                prepared.forEach(outcome -> ingestionService.failArtwork(artistId, outcome.artwork(), e));
+                batchFailure = e;
+            }
+        }
+
+        int savedIndex = 0;
+        for (Outcome outcome : batch) {
+            var item = outcome.item();
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - item.createdNanos());
+            if (outcome.artwork() == null) {
+                results.accept(BulkIngestionResult.failed(
+                    item.index(), item.filename(), item.title(), outcome.failure(), durationMillis));
+            } else if (batchFailure != null) {
+                results.accept(BulkIngestionResult.failed(
+                    item.index(), item.filename(), item.title(), batchFailure, durationMillis));
+            } else {
+                results.accept(BulkIngestionResult.ingested(
+                    item.index(), item.filename(), item.title(), saved.get(savedIndex++).getId(), durationMillis));
+            }
+        }
+        return batchFailure == null ? prepared.size() : 0;
+    }
+
+    private void spoolArchive(MultipartFile archive, List<SpooledMultipartFile> images, int maxItems)
+        throws IOException {
+        try (InputStream inputStream = archive.getInputStream();
+             var zip = new ZipInputStream(inputStream)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                var filename = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+                var mediaType = MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+                // skip folders, macOS resource forks and anything that is not an image
+                if (entry.isDirectory() || filename.startsWith(".") || !"image".equals(mediaType.getType())) {
+                    continue;
+                }
+                images.add(SpooledMultipartFile.spool(archive.getName(), filename, mediaType.toString(), zip));
+                checkMaxItems(images, maxItems);
+            }
+        }
+    }
+
+    private static void checkMaxItems(List<SpooledMultipartFile> images, int maxItems) {
+        if (images.size() > maxItems) {
+            throw new IllegalArgumentException("A bulk request accepts at most %d images".formatted(maxItems));
+        }
+    }
+
+    /// One image of a bulk request
+    private record Item(int index, SpooledMultipartFile image, String filename, String title, long createdNanos) {
+        Item(int index, SpooledMultipartFile image) {
+            this(index, image, image.getOriginalFilename(), titleOf(image.getOriginalFilename()), System.nanoTime());
+        }
+
+        /// `blue_hour.png` → `blue_hour`
+        private static String titleOf(String filename) {
+            int extension = filename.lastIndexOf('.');
+            return extension > 0 ? filename.substring(0, extension) : filename;
+        }
+    }
+
+    /// A prepared (not yet persisted) artwork, or the failure that prevented it
+    private record Outcome(Item item, Artwork artwork, Exception failure) {}
+}
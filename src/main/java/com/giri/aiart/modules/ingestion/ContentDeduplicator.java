@@ -0,0 +1,54 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.persistence.ArtWorkRepository;
+import jakarta.transaction.Transactional;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/// Finds already ingested content for an image, by the SHA-256 of its bytes.
+///
+/// Describing and embedding an image is by far the most expensive part of ingestion. When the same image has been
+/// ingested before (by any artist), its MinIO object, thumbnail, AI-generated description and embedding vectors are
+/// reused instead of being computed again.
+///
+/// @author Giri Pottepalem
+@Component
+@RequiredArgsConstructor
+class ContentDeduplicator {
+    private final ArtWorkRepository artWorkRepository;
+
+    /// Reusable results of an earlier ingestion of the same image
+    ///
+    /// @param artworkId the artwork the content was first ingested for
+    /// @param minioKey the stored image
+    /// @param thumbnailKey the stored thumbnail, `null` if there is none
+    /// @param embeddings detached copies of its embeddings, ready to be attached to a new artwork
+    record ReusableContent(UUID artworkId, String minioKey, String thumbnailKey, List<ArtworkEmbedding> embeddings) {}
+
+    /// @param contentHash SHA-256 (hex) of the image bytes
+    /// @return the content of the oldest artwork with the same image, if any
+    @Transactional
+    public Optional<ReusableContent> find(@NonNull String contentHash) {
+        return artWorkRepository.findFirstByContentHashOrderByCreatedAtAsc(contentHash)
+            .map(artwork -> new ReusableContent(
+                artwork.getId(),
+                artwork.getMinioKey(),
+                artwork.getThumbnailKey(),
+                artwork.getEmbeddings().stream()
+                    .map(embedding -> ArtworkEmbedding.builder()
+                        .type(embedding.getType())
+                        .status(embedding.getStatus())
+                        .embedding(embedding.getEmbedding().clone())
+                        .model(embedding.getModel())
+                        .sourceText(embedding.getSourceText())
+                        .build())
+                    .toList()
+            ));
+    }
+}
@@ -0,0 +1,96 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.giri.aiart.modules.chat.media.MediaAnalysis;
+import com.giri.aiart.shared.domain.IngestionCheckpoint;
+import com.giri.aiart.shared.domain.IngestionCheckpoint.Status;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.persistence.IngestionCheckpointRepository;
+import com.giri.aiart.shared.util.LogIcons;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/// Records the progress of an ingestion in its {@link IngestionCheckpoint}, so that the work of completed stages
+/// (stored image, thumbnail, AI-generated description) survives a failed attempt or a crash.
+///
+/// Every method is a short transaction of its own; none is held across a stage.
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class IngestionCheckpoints {
+    private final IngestionCheckpointRepository checkpointRepository;
+
+    /// Starts an attempt: creates the checkpoint of the artist's image, or continues the existing one.
+    ///
+    /// @return the checkpoint, carrying the results of the stages completed by earlier attempts
+    IngestionCheckpoint begin(@NonNull UUID artistId, @NonNull String contentHash, String title, String description,
+                              @NonNull ArtType artType) {
+        var existing = checkpointRepository.findByArtistIdAndContentHash(artistId, contentHash);
+        if (existing.isEmpty()) {
+            try {
+                return checkpointRepository.save(IngestionCheckpoint.builder()
+                    .artistId(artistId)
+                    .contentHash(contentHash)
+                    .title(title)
+                    .description(description)
+                    .artType(artType)
+                    .stageReachedAt(Instant.now())
+                    .attempts(1)
+                    .build());
+            } catch (DataIntegrityViolationException e) {
+                // a concurrent attempt for the same image created it first
+                existing = checkpointRepository.findByArtistIdAndContentHash(artistId, contentHash);
+                if (existing.isEmpty()) {
+                    throw e;
+                }
+            }
+        }
+        var checkpoint = existing.get();
+        checkpointRepository.startAttempt(checkpoint.getId(), Status.IN_PROGRESS, Instant.now());
+        log.info("{} Resuming ingestion of {} (attempt {}), last completed stage: {}",
+            LogIcons.ART_WORK, title, checkpoint.getAttempts() + 1, checkpoint.getStage());
+        return checkpoint;
+    }
+
+    void recordUpload(UUID checkpointId, String minioKey) {
+        checkpointRepository.recordUpload(checkpointId, minioKey, IngestionStage.UPLOADED.name(), Instant.now());
+    }
+
+    void recordThumbnail(UUID checkpointId, String thumbnailKey) {
+        checkpointRepository.recordThumbnail(checkpointId, thumbnailKey);
+    }
+
+    void recordDescription(UUID checkpointId, MediaAnalysis analysis) {
+        checkpointRepository.recordDescription(checkpointId, analysis.text(), analysis.model(),
+            IngestionStage.DESCRIBED.name(), Instant.now());
+    }
+
+    /// Marks the attempt as failed, keeping the results of its completed stages
+    void fail(UUID checkpointId, Exception cause) {
+        try {
+            var error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+            checkpointRepository.recordFailure(checkpointId, Status.FAILED, error, Instant.now());
+        } catch (RuntimeException e) {
+            log.error("{} Could not record failure of ingestion checkpoint {}", LogIcons.ERROR, checkpointId, e);
+        }
+    }
+
+    /// Same as {@link #fail(UUID, Exception)}, by the artist and image of the checkpoint
+    ///
+    /// @return whether there is a checkpoint to resume from
+    boolean fail(@NonNull UUID artistId, String contentHash, Exception cause) {
+        if (contentHash == null) {
+            return false;
+        }
+        var checkpoint = checkpointRepository.findByArtistIdAndContentHash(artistId, contentHash);
+        checkpoint.ifPresent(found -> fail(found.getId(), cause));
+        return checkpoint.isPresent();
+    }
+}
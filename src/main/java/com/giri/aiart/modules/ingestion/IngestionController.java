@@ -1,18 +1,30 @@
 package com.giri.aiart.modules.ingestion;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giri.aiart.config.IngestionProperties;
 import com.giri.aiart.shared.domain.Artwork;
 import com.giri.aiart.shared.domain.type.ArtType;
 import com.giri.aiart.shared.dto.ArtworkDTO;
 import com.giri.aiart.shared.util.LogIcons;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 /// **REST API** for ingesting artwork images and generating embeddings.
@@ -24,19 +36,35 @@ import java.util.UUID;
 /// - Accept multipart file uploads for artworks
 /// - Delegate ingestion flow to `IngestionService`
 /// - Return persisted `Artwork` entity with metadata and embeddings
+/// - Queue asynchronous ingestion jobs and report their progress
+/// - Stream per-image results of bulk (portfolio) ingestion
 ///
 /// **Example Flow:**
 /// 1. Client uploads an image via `POST /api/v1/ingest/{artistId}`
 /// 2. The controller forwards it to `IngestionService`
 /// 3. The image is stored in MinIO, analyzed by AI, and embedded in PostgreSQL
 ///
+/// **Asynchronous Flow:**
+/// 1. Client uploads an image via `POST /api/v1/ingest/{artistId}/async` and gets `202 Accepted` with a job
+/// 2. Client polls `GET /api/v1/ingest/jobs/{jobId}` until the job is `COMPLETED` or `FAILED`
+///
+/// **Bulk Flow:**
+/// 1. Client uploads a portfolio via `POST /api/v1/ingest/{artistId}/bulk` (many `files` and/or a zip `archive`)
+/// 2. The response streams one NDJSON line per image as it is ingested or fails
+///
 /// @author Giri Pottepalem
 @Slf4j
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("api/v1/ingest")
 public class IngestionController {
+    private static final String RETRY_AFTER_SECONDS = "30";
+
     private final IngestionService ingestionService;
+    private final IngestionJobService ingestionJobService;
+    private final BulkIngestionService bulkIngestionService;
+    private final IngestionProperties ingestionProperties;
+    private final ObjectMapper objectMapper;
 
     /// Uploads an image and triggers embeddings
     @PostMapping("/{artistId}")
@@ -55,4 +83,80 @@ public class IngestionController {
         return ResponseEntity.ok(artworkDTO);
     }
 
+    /// Uploads an image and queues its ingestion, returns `202 Accepted` with the job to poll.
+    /// Returns `503 Service Unavailable` when the ingestion queue is full.
+    @PostMapping("/{artistId}/async")
+    public ResponseEntity<IngestionJobDTO> ingestArtWorkAsync(
+        @PathVariable UUID artistId,
+        @RequestParam String title,
+        @RequestParam String description,
+        @RequestParam ArtType artType,
+        @RequestParam MultipartFile imageFile
+    ) throws IOException {
+        log.info("{} Queueing Artwork upload...", LogIcons.DATA);
+        try {
+            var job = ingestionJobService.submit(artistId, title, description, artType, imageFile);
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/ingest/jobs/" + job.getId()))
+                .body(IngestionJobDTO.from(job));
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+        }
+    }
+
+    /// Ingests many images of one artist — individual `files`, a zip `archive`, or both — and streams one
+    /// {@link BulkIngestionResult} per image as newline-delimited JSON as soon as that image is done.
+    /// The artwork title is derived from each file name; `description` and `artType` apply to all of them.
+    /// Returns `400 Bad Request` for an unknown artist, or when there are no or too many images.
+    @PostMapping(value = "/{artistId}/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> ingestArtWorksBulk(
+        @PathVariable UUID artistId,
+        @RequestParam ArtType artType,
+        @RequestParam(defaultValue = "") String description,
+        @RequestParam(required = false) List<MultipartFile> files,
+        @RequestParam(required = false) MultipartFile archive
+    ) throws IOException {
+        log.info("{} Receiving bulk Artwork upload...", LogIcons.DATA);
+        List<SpooledMultipartFile> images;
+        try {
+            images = bulkIngestionService.spool(artistId, files, archive);
+        } catch (IllegalArgumentException e) {
+            log.warn("{} Rejecting bulk upload: {}", LogIcons.WARNING, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        var emitter = new ResponseBodyEmitter(ingestionProperties.getBulk().getTimeout().toMillis());
+        Thread.ofVirtual().name("bulk-ingest-" + artistId).start(() -> {
+            try {
+                bulkIngestionService.ingest(artistId, description, artType, images, result -> send(emitter, result));
+                emitter.complete();
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(emitter);
+    }
+
+    /// Reports the status and per-stage timings of an ingestion job
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<IngestionJobDTO> getJob(@PathVariable UUID jobId) {
+        return ingestionJobService.findJob(jobId)
+            .map(IngestionJobDTO::from)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /// Writes one NDJSON line. A client that went away does not stop the ingestion, its results are just dropped.
+    private void send(ResponseBodyEmitter emitter, BulkIngestionResult result) {
+        try {
+            emitter.send(objectMapper.writeValueAsString(result) + "\n", MediaType.APPLICATION_NDJSON);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("{} Could not stream bulk result for {}: {}", LogIcons.WARNING, result.filename(), e.toString());
+        }
+    }
+
 }
@@ -0,0 +1,90 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.giri.aiart.shared.util.LogIcons;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/// Tracks the progress of a single artwork ingestion: its overall status and the timing of each completed
+/// {@link IngestionStage}.
+///
+/// Jobs are written by the thread running the pipeline and read concurrently by status polling requests,
+/// so all mutable state is either volatile or held in a concurrent collection.
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+public class IngestionJob {
+    /// Lifecycle of an ingestion job
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    /// Timing of a completed stage
+    public record StageTiming(IngestionStage stage, Instant startedAt, Duration duration) {}
+
+    @ToString.Include
+    private final UUID id;
+    private final UUID artistId;
+    @ToString.Include
+    private final String title;
+    private final Instant submittedAt;
+    private final List<StageTiming> stages = new CopyOnWriteArrayList<>();
+
+    @ToString.Include
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile UUID artworkId;
+    private volatile String error;
+
+    public IngestionJob(UUID artistId, String title) {
+        this.id = UUID.randomUUID();
+        this.artistId = artistId;
+        this.title = title;
+        this.submittedAt = Instant.now();
+    }
+
+    /// Runs the given stage and records how long it took.
+    ///
+    /// @param stage the pipeline stage being executed
+    /// @param work the stage work
+    /// @return the result of the stage
+    /// @throws Exception if the stage fails, in which case no timing is recorded
+    public <T> T track(IngestionStage stage, Callable<T> work) throws Exception {
+        var stageStartedAt = Instant.now();
+        T result = work.call();
+        var duration = Duration.between(stageStartedAt, Instant.now());
+        stages.add(new StageTiming(stage, stageStartedAt, duration));
+        log.info("{} Ingestion job {} stage {} took {} ms", LogIcons.TIMER, id, stage, duration.toMillis());
+        return result;
+    }
+
+    void markRunning() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void markCompleted(UUID artworkId) {
+        this.artworkId = artworkId;
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void markFailed(Throwable cause) {
+        error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    /// @return `true` once the job has either completed or failed
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,44 @@
+package com.giri.aiart.modules.ingestion;
+
+import lombok.NonNull;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/// DTO for {@link IngestionJob} — a point-in-time view of the job returned to pollers
+///
+/// @author Giri Pottepalem
+public record IngestionJobDTO(
+    UUID id,
+    UUID artistId,
+    String title,
+    IngestionJob.Status status,
+    Instant submittedAt,
+    Instant startedAt,
+    Instant finishedAt,
+    List<StageDTO> stages,
+    UUID artworkId,
+    String error
+) {
+    /// Timing of a completed stage, duration in milliseconds
+    public record StageDTO(IngestionStage stage, Instant startedAt, long durationMillis) {}
+
+    /// Create DTO from the tracked job
+    public static IngestionJobDTO from(@NonNull IngestionJob job) {
+        return new IngestionJobDTO(
+            job.getId(),
+            job.getArtistId(),
+            job.getTitle(),
+            job.getStatus(),
+            job.getSubmittedAt(),
+            job.getStartedAt(),
+            job.getFinishedAt(),
+            job.getStages().stream()
+                .map(timing -> new StageDTO(timing.stage(), timing.startedAt(), timing.duration().toMillis()))
+                .toList(),
+            job.getArtworkId(),
+            job.getError()
+        );
+    }
+}
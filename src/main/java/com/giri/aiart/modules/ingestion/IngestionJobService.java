@@ -0,0 +1,110 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.giri.aiart.config.IngestionProperties;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.util.LogIcons;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// **Asynchronous mode** of the ingestion workflow.
+///
+/// Instead of holding the HTTP request open for the full upload → describe → embed → persist pipeline,
+/// the upload is spooled to a temporary file, an {@link IngestionJob} is returned right away and the pipeline
+/// runs on the bounded `ingestionExecutor`. Clients poll the job for per-stage progress and timings.
+///
+/// Jobs are kept in memory; the oldest finished jobs are evicted once `aiart.ingestion.max-retained-jobs`
+/// is exceeded.
+///
+/// @author Giri Pottepalem
+/// @see IngestionService
+@Slf4j
+@Service
+public class IngestionJobService {
+    private final IngestionService ingestionService;
+    private final TaskExecutor ingestionExecutor;
+    private final int maxRetainedJobs;
+    private final Map<UUID, IngestionJob> jobs = new ConcurrentHashMap<>();
+
+    IngestionJobService(IngestionService ingestionService,
+                        @Qualifier("ingestionExecutor") TaskExecutor ingestionExecutor,
+                        IngestionProperties ingestionProperties) {
+        this.ingestionService = ingestionService;
+        this.ingestionExecutor = ingestionExecutor;
+        this.maxRetainedJobs = ingestionProperties.getMaxRetainedJobs();
+    }
+
+    /// Queues a new artwork ingestion and returns immediately.
+    ///
+    /// @return the queued job, to be polled with {@link #findJob(UUID)}
+    /// @throws IOException if the upload cannot be spooled to disk
+    /// @throws TaskRejectedException if the ingestion queue is full
+    public IngestionJob submit(@NonNull UUID artistId,
+                               @NonNull String title,
+                               @NonNull String description,
+                               @NonNull ArtType artType,
+                               @NonNull MultipartFile imageFile) throws IOException {
+        var spooledFile = SpooledMultipartFile.spool(imageFile);
+        var job = new IngestionJob(artistId, title);
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+
+        try {
+            ingestionExecutor.execute(() -> run(job, description, artType, spooledFile));
+        } catch (TaskRejectedException e) {
+            log.warn("{} Ingestion queue full, rejecting job for artistId={}, title={}", LogIcons.WARNING, artistId, title);
+            jobs.remove(job.getId());
+            spooledFile.delete();
+            throw e;
+        }
+        log.info("{} Queued ingestion job {} for artistId={}, title={}", LogIcons.DATA, job.getId(), artistId, title);
+        return job;
+    }
+
+    /// @param jobId the job id returned on submission
+    /// @return the job, if it is still retained
+    public Optional<IngestionJob> findJob(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(IngestionJob job, String description, ArtType artType, SpooledMultipartFile spooledFile) {
+        job.markRunning();
+        try {
+            var artwork = ingestionService.ingestArtwork(
+                job.getArtistId(), job.getTitle(), description, artType, spooledFile, job
+            );
+            job.markCompleted(artwork.getId());
+            log.info("{} Ingestion job {} completed, artworkId={}", LogIcons.SUCCESS, job.getId(), artwork.getId());
+        } catch (Exception e) {
+            job.markFailed(e);
+            log.error("{} Ingestion job {} failed", LogIcons.ERROR, job.getId(), e);
+        } finally {
+            spooledFile.delete();
+        }
+    }
+
+    /// Drops the oldest finished jobs once the retention limit is reached. Running jobs are never evicted.
+    private void evictFinishedJobs() {
+        int excess = jobs.size() - maxRetainedJobs + 1;
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+            .filter(IngestionJob::isFinished)
+            .sorted(Comparator.comparing(IngestionJob::getFinishedAt, Comparator.nullsFirst(Instant::compareTo)))
+            .limit(excess)
+            .forEach(job -> jobs.remove(job.getId()));
+    }
+}
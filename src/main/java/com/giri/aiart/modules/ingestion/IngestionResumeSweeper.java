@@ -0,0 +1,163 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.giri.aiart.config.IngestionProperties;
+import com.giri.aiart.modules.storage.MinioStorageService;
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.domain.IngestionCheckpoint;
+import com.giri.aiart.shared.domain.IngestionCheckpoint.Status;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import com.giri.aiart.shared.persistence.IngestionCheckpointRepository;
+import com.giri.aiart.shared.util.LogIcons;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// Resumes ingestions that did not finish, from their {@link IngestionCheckpoint}.
+///
+/// Every `aiart.ingestion.resume.interval`:
+/// - checkpoints out of attempts (`max-attempts`) and idle for `stale-after` are abandoned: their stored images are
+///   removed unless an artwork references them, and the row is deleted
+/// - checkpoints without a stored original cannot be resumed (the image only ever existed in the failed request),
+///   they are abandoned as well
+/// - up to `batch-size` checkpoints that failed at least `retry-after` ago, or are still running without progress
+///   for `stale-after` (the JVM running them is gone), are claimed and resumed on virtual threads, at most
+///   `concurrency` at a time
+///
+/// A resume downloads the stored original and runs it through {@link IngestionService#ingestArtwork}, which skips
+/// the stages the checkpoint already has results for. Claims are a compare-and-set on the checkpoint's progress
+/// timestamp, so several instances can sweep the same table without resuming a checkpoint twice.
+/// Outcomes are counted in `aiart.ingestion.resume` (`outcome=resumed|failed|abandoned`).
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class IngestionResumeSweeper {
+    static final String RESUME_METRIC = "aiart.ingestion.resume";
+
+    private final IngestionCheckpointRepository checkpointRepository;
+    private final ArtistRepository artistRepository;
+    private final IngestionService ingestionService;
+    private final MinioStorageService minioStorageService;
+    private final IngestionProperties ingestionProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(fixedDelayString = "#{@ingestionProperties.resume.interval.toMillis()}",
+        initialDelayString = "#{@ingestionProperties.resume.interval.toMillis()}")
+    void scheduledSweep() {
+        if (ingestionProperties.getResume().isEnabled()) {
+            sweep();
+        }
+    }
+
+    /// Runs one sweep, blocking until the resumed ingestions have finished
+    ///
+    /// @return the number of ingestions resumed successfully
+    int sweep() {
+        var resume = ingestionProperties.getResume();
+        var now = Instant.now();
+        var page = PageRequest.of(0, resume.getBatchSize());
+
+        checkpointRepository.findExhausted(resume.getMaxAttempts(), now.minus(resume.getStaleAfter()), page)
+            .forEach(checkpoint -> abandon(checkpoint, "out of attempts"));
+
+        List<IngestionCheckpoint> resumable = checkpointRepository.findResumable(
+            Status.IN_PROGRESS, now.minus(resume.getStaleAfter()),
+            Status.FAILED, now.minus(resume.getRetryAfter()),
+            resume.getMaxAttempts(), page);
+        if (resumable.isEmpty()) {
+            return 0;
+        }
+        log.info("{} Resuming {} interrupted ingestions", LogIcons.STARTUP, resumable.size());
+
+        var resumed = new AtomicInteger();
+        var permits = new Semaphore(resume.getConcurrency());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (IngestionCheckpoint checkpoint : resumable) {
+                if (checkpoint.getMinioKey() == null || !artistRepository.existsById(checkpoint.getArtistId())) {
+                    // nothing to resume from without the original, or nobody to resume for
+                    abandon(checkpoint, checkpoint.getMinioKey() == null ? "image never stored" : "artist removed");
+                    continue;
+                }
+                if (checkpointRepository.claim(checkpoint.getId(), Status.IN_PROGRESS,
+                    checkpoint.getStageReachedAt(), Instant.now()) == 0) {
+                    continue; // claimed by another instance
+                }
+                executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        if (resume(checkpoint)) {
+                            resumed.incrementAndGet();
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                });
+            }
+        }
+        return resumed.get();
+    }
+
+    /// Re-runs the ingestion of a claimed checkpoint from its stored original, never throws
+    private boolean resume(IngestionCheckpoint checkpoint) {
+        String minioKey = checkpoint.getMinioKey();
+        String filename = originalFilename(minioKey);
+        String contentType = MediaTypeFactory.getMediaType(filename)
+            .orElse(MediaType.APPLICATION_OCTET_STREAM)
+            .toString();
+        SpooledMultipartFile image = null;
+        try {
+            try (InputStream inputStream = minioStorageService.downloadFile(minioKey)) {
+                image = SpooledMultipartFile.spool("imageFile", filename, contentType, inputStream);
+            }
+            var artwork = ingestionService.ingestArtwork(checkpoint.getArtistId(), checkpoint.getTitle(),
+                checkpoint.getDescription(), checkpoint.getArtType(), image);
+            log.info("{} Resumed ingestion of {} from stage {} as artwork {}",
+                LogIcons.SUCCESS, checkpoint.getTitle(), checkpoint.getStage(), artwork.getId());
+            meterRegistry.counter(RESUME_METRIC, "outcome", "resumed").increment();
+            return true;
+        } catch (Exception e) {
+            // the ingestion has recorded the failure on the checkpoint, it is retried on a later sweep
+            log.warn("{} Resuming ingestion of {} failed: {}", LogIcons.WARNING, checkpoint.getTitle(), e.toString());
+            meterRegistry.counter(RESUME_METRIC, "outcome", "failed").increment();
+            return false;
+        } finally {
+            if (image != null) {
+                image.delete();
+            }
+        }
+    }
+
+    /// Removes a checkpoint along with the stored images no artwork references
+    private void abandon(IngestionCheckpoint checkpoint, String reason) {
+        log.warn("{} Abandoning ingestion of {} for artistId={} ({}), last error: {}", LogIcons.WARNING,
+            checkpoint.getTitle(), checkpoint.getArtistId(), reason, checkpoint.getLastError());
+        checkpointRepository.deleteById(checkpoint.getId());
+        ingestionService.discardArtwork(Artwork.builder()
+            .minioKey(checkpoint.getMinioKey())
+            .thumbnailKey(checkpoint.getThumbnailKey())
+            .build());
+        meterRegistry.counter(RESUME_METRIC, "outcome", "abandoned").increment();
+    }
+
+    /// `artworks/<uuid>_blue_hour.png` → `blue_hour.png`, see `MinioStorageService#uploadFile`
+    private static String originalFilename(String minioKey) {
+        String name = FilenameUtils.getName(minioKey);
+        int separator = name.indexOf('_');
+        return separator >= 0 ? name.substring(separator + 1) : name;
+    }
+}
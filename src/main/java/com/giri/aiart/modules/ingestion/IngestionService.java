@@ -22,6 +22,8 @@ import java.util.UUID;
 /// - Uploading digital paintings, hand-drawn sketches, or AI-generated art
 /// - Enabling semantic search and discovery within an artist’s portfolio
 ///
+/// For the asynchronous (`202 Accepted`) variant see {@link IngestionJobService}.
+///
 /// @author Giri Pottepalem
 public interface IngestionService {
     /// Ingests a new artwork, uploading the image, analyzing it with AI, generating embeddings,
@@ -48,4 +50,50 @@ public interface IngestionService {
         MultipartFile imageFile
     ) throws Exception;
 
+    /// Same as {@link #ingestArtwork(UUID, String, String, ArtType, MultipartFile)}, recording the timing of
+    /// every completed {@link IngestionStage} on the given job.
+    ///
+    /// @param job the job tracking this ingestion
+    /// @return a persisted `Artwork` instance containing its embeddings and metadata
+    /// @throws Exception if an error occurs during upload, analysis, or persistence
+    Artwork ingestArtwork(
+        UUID artistId,
+        String title,
+        String description,
+        ArtType artType,
+        MultipartFile imageFile,
+        IngestionJob job
+    ) throws Exception;
+
+    /// Runs the slow, transaction-free part of the ingestion — upload, description and embedding — and returns the
+    /// artwork **without persisting it**, so that callers ingesting many images can persist them in batches.
+    ///
+    /// The image is already uploaded when this returns: the caller must either persist the artwork or
+    /// {@link #failArtwork fail} it. The artist is neither validated nor attached.
+    ///
+    /// @param job the job tracking the ingestion, also identifies the artist whose checkpoint is resumed
+    /// @return a transient `Artwork` carrying its minio key and embeddings
+    /// @throws Exception if an error occurs during upload or analysis; the results of the completed stages are kept
+    ///                   in the ingestion checkpoint for a retry
+    Artwork prepareArtwork(
+        String title,
+        String description,
+        ArtType artType,
+        MultipartFile imageFile,
+        IngestionJob job
+    ) throws Exception;
+
+    /// Records that a prepared artwork could not be persisted. Its stored images are kept in its ingestion
+    /// checkpoint for a retry or a resume; without a checkpoint they are {@link #discardArtwork discarded}.
+    ///
+    /// @param artistId the artist the artwork was prepared for
+    /// @param artwork an artwork returned by {@link #prepareArtwork}
+    /// @param cause why it could not be persisted
+    void failArtwork(UUID artistId, Artwork artwork, Exception cause);
+
+    /// Removes the uploaded images of a prepared artwork, unless another artwork references them.
+    ///
+    /// @param artwork an artwork returned by {@link #prepareArtwork}
+    void discardArtwork(Artwork artwork);
+
 }
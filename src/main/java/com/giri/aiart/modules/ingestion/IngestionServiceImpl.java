@@ -1,93 +1,338 @@
 package com.giri.aiart.modules.ingestion;
 
+import com.giri.aiart.config.IngestionProperties;
+import com.giri.aiart.config.IngestionProperties.EmbeddingMode;
+import com.giri.aiart.modules.chat.media.MediaAnalysis;
 import com.giri.aiart.modules.embeddings.EmbeddingGeneratorService;
+import com.giri.aiart.modules.imaging.ImagePreprocessor;
+import com.giri.aiart.modules.imaging.PreprocessedImage;
 import com.giri.aiart.modules.storage.MinioStorageService;
-import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.modules.storage.StorageBucket;
 import com.giri.aiart.shared.domain.Artwork;
 import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.IngestionCheckpoint;
 import com.giri.aiart.shared.domain.type.ArtType;
 import com.giri.aiart.shared.domain.type.EmbeddingType;
 import com.giri.aiart.shared.persistence.ArtWorkRepository;
 import com.giri.aiart.shared.persistence.ArtistRepository;
-import com.giri.aiart.shared.persistence.ArtworkEmbeddingRepository;
+import com.giri.aiart.shared.util.ContentHashUtils;
 import com.giri.aiart.shared.util.LogIcons;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 /// **Implementation** of the {@link IngestionService} responsible for orchestrating
 /// the complete artwork ingestion workflow.
 ///
 /// Combines several modules:
-/// - **MinIO Storage** → securely uploads and stores artwork images
+/// - **MinIO Storage** → securely uploads and stores artwork images and their thumbnails
+/// - **ImagePreprocessor** → derives a thumbnail and a downscaled vision model input from the image
 /// - **MediaService** → uses AI to describe visual content
 /// - **EmbeddingGeneratorService** → creates vector embeddings from AI-generated text
 /// - **JPA Repositories** → persists artists, artworks, and embeddings into PostgreSQL (with pgvector)
 ///
 /// **Workflow Overview:**
-/// 1. Retrieve the `Artist` entity for the given `artistId`
-/// 2. Upload the artwork image to MinIO storage
-/// 3. Use the `MediaService` to generate a textual description of the image
-/// 4. Generate embeddings using Spring AI’s `EmbeddingModel` through `EmbeddingGeneratorService`
-/// 5. Persist the `Artwork` and its embeddings in the relational and vector stores
+/// 1. Verify the `Artist` exists for the given `artistId`
+/// 2. Fingerprint the image (SHA-256); if the same image was ingested before, reuse its MinIO object, thumbnail,
+///    description and embeddings and go straight to step 4 (see {@link ContentDeduplicator})
+/// 3. Otherwise, concurrently, on virtual threads:
+///    - upload the artwork image to MinIO storage
+///    - decode the image once into a thumbnail and a size-capped vision input (see {@link ImagePreprocessor}), then
+///      - upload the thumbnail under `thumbnails/`
+///      - use the `MediaService` to describe the vision input, then generate its embedding through
+///        `EmbeddingGeneratorService`
+/// 4. Persist the `Artwork` and its embeddings in the relational and vector stores; an artist re-uploading an image
+///    they already own gets the existing artwork back
 ///
-/// All operations are executed within a transactional boundary to ensure consistency.
+/// In **event mode** (`aiart.ingestion.embedding-mode: event`, the default) step 3 stops after preprocessing: the
+/// artwork is persisted without embeddings, and an `ArtworkIngested` event published in the same transaction has it
+/// described and embedded after the commit (see `ArtworkEmbeddingListener`). Uploads then neither wait for nor fail
+/// with the models.
+///
+/// The upload and the description do not depend on each other, so ingestion latency is roughly that of the slowest
+/// branch rather than the sum of all stages. Both branches share one deadline (`aiart.ingestion.deadline`); the first
+/// failure cancels the other branches (see {@link StageScope}).
+///
+/// Step 3 is **checkpointed** (see {@link IngestionCheckpoints}): the stored image, thumbnail and AI-generated
+/// description (with the model that produced it) are recorded as each stage completes, and kept when a later stage
+/// fails. A retry of the same image by the same artist, or the {@link IngestionResumeSweeper}, only runs the missing
+/// stages. The checkpoint is removed when the artwork is persisted.
+/// Vision model latency is recorded in the `aiart.ingestion.describe` timer, tagged by whether the model got the
+/// downscaled image or the original (`input=downscaled|original`).
+///
+/// Step 3 is network and model calls that can take tens of seconds, so it deliberately runs **outside** any
+/// transaction. Only step 4 opens a short write transaction (see {@link ArtworkWriter}), which keeps pooled JDBC
+/// connections available for other requests while many uploads are in flight.
+/// Each completed stage is timed on the {@link IngestionJob} tracking the ingestion.
 ///
 /// @author Giri Pottepalem
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class IngestionServiceImpl implements IngestionService {
+    static final String DEDUP_METRIC = "aiart.ingestion.dedup";
+    static final String DESCRIBE_METRIC = "aiart.ingestion.describe";
+    private static final String THUMBNAIL_PREFIX = "thumbnails/";
+
     private final ArtistRepository artistRepository;
-    private final ArtWorkRepository artWorkRepository;
-    private final ArtworkEmbeddingRepository artworkEmbeddingRepository;
+    private final ArtworkWriter artworkWriter;
     private final MinioStorageService minioStorageService;
     private final EmbeddingGeneratorService  embeddingGeneratorService;
+    private final ImagePreprocessor imagePreprocessor;
+    private final IngestionProperties ingestionProperties;
+    private final ContentDeduplicator contentDeduplicator;
+    private final ArtWorkRepository artWorkRepository;
+    private final MeterRegistry meterRegistry;
+    private final IngestionCheckpoints checkpoints;
 
     /// {@inheritDoc}
     @Override
-    @Transactional
     public Artwork ingestArtwork(@NonNull UUID artistId,
                                  @NonNull String title,
                                  @NonNull String description,
                                  @NonNull ArtType artType,
                                  @NonNull MultipartFile imageFile) throws Exception {
+        return ingestArtwork(artistId, title, description, artType, imageFile, new IngestionJob(artistId, title));
+    }
+
+    /// {@inheritDoc}
+    @Override
+    public Artwork ingestArtwork(@NonNull UUID artistId,
+                                 @NonNull String title,
+                                 @NonNull String description,
+                                 @NonNull ArtType artType,
+                                 @NonNull MultipartFile imageFile,
+                                 @NonNull IngestionJob job) throws Exception {
         log.info("{} Starting ingestion for artistId={}, title={}", LogIcons.STARTUP, artistId, title);
-        // 1. Validate artist
-        Artist artist = artistRepository.findById(artistId)
-            .orElseThrow(() -> new IllegalArgumentException(String.format("Artist with id %s not found", artistId)));
+        // 1. Validate artist (short read, the connection goes back to the pool right away)
+        if (!artistRepository.existsById(artistId)) {
+            throw new IllegalArgumentException(String.format("Artist with id %s not found", artistId));
+        }
+
+        // 2./3. Reuse an identical image, or upload image to MinIO || describe and embed the image
+        Artwork artwork = prepareArtwork(title, description, artType, imageFile, job);
+
+        // 4. Persist Artwork and embeddings
+        Artwork savedArtwork;
+        try {
+            savedArtwork = job.track(IngestionStage.PERSISTED, () -> artworkWriter.persist(artistId, artwork));
+        } catch (Exception e) {
+            failArtwork(artistId, artwork, e);
+            throw e;
+        }
+        if (savedArtwork != artwork) {
+            log.info("{} Artist {} already owns this image as artwork {}", LogIcons.ART_WORK, artistId, savedArtwork.getId());
+            discardArtwork(artwork);
+        }
+        log.info("{} Artwork (id={}, title={}) set with minioKey({}) and embeddings persisted...",
+            LogIcons.SUCCESS, savedArtwork.getId(), savedArtwork.getTitle(), savedArtwork.getMinioKey());
+
+        return savedArtwork;
+    }
+
+    /// {@inheritDoc}
+    @Override
+    public Artwork prepareArtwork(@NonNull String title,
+                                  @NonNull String description,
+                                  @NonNull ArtType artType,
+                                  @NonNull MultipartFile imageFile,
+                                  @NonNull IngestionJob job) throws Exception {
+        var contentHash = job.track(IngestionStage.FINGERPRINTED, () -> fingerprint(imageFile));
+        var reusable = contentDeduplicator.find(contentHash);
+        meterRegistry.counter(DEDUP_METRIC, "result", reusable.isPresent() ? "hit" : "miss").increment();
+        if (reusable.isPresent()) {
+            log.info("{} Image {} was ingested before as artwork {}, skipping upload, description and embedding",
+                LogIcons.SUCCESS, imageFile.getOriginalFilename(), reusable.get().artworkId());
+            Artwork artwork = Artwork.builder()
+                .title(title)
+                .description(description)
+                .artType(artType)
+                .minioKey(reusable.get().minioKey())
+                .thumbnailKey(reusable.get().thumbnailKey())
+                .contentHash(contentHash)
+                .build();
+            artwork.addEmbeddings(reusable.get().embeddings());
+            return artwork;
+        }
+
+        var checkpoint = checkpoints.begin(job.getArtistId(), contentHash, title, description, artType);
+        try {
+            return resume(checkpoint, title, description, artType, imageFile, job);
+        } catch (Exception e) {
+            checkpoints.fail(checkpoint.getId(), e);
+            throw e;
+        }
+    }
 
-        // 2. Upload image to MinIO
-        log.info("{} Uploading image: {} to MinIO...", LogIcons.ART_WORK, imageFile);
-        String minioKey = minioStorageService.uploadFile(imageFile, "artworks/");
-        log.info("{} Uploaded image to MinIO: {}", LogIcons.ART_WORK, minioKey);
+    /// Runs the stages the checkpoint has no result for yet
+    private Artwork resume(IngestionCheckpoint checkpoint,
+                           String title,
+                           String description,
+                           ArtType artType,
+                           MultipartFile imageFile,
+                           IngestionJob job) throws Exception {
+        String minioKey;
+        String thumbnailKey;
+        ArtworkEmbedding artworkEmbedding;
+        try (var scope = new StageScope(ingestionProperties.getDeadline())) {
+            Future<String> upload = checkpoint.getMinioKey() != null
+                ? CompletableFuture.completedFuture(checkpoint.getMinioKey())
+                : scope.fork(() -> job.track(IngestionStage.UPLOADED, () -> uploadImage(checkpoint, imageFile)));
+            Future<Analysis> analysis = scope.fork(() -> analyze(checkpoint, imageFile, job, scope));
+            scope.join();
+            minioKey = upload.resultNow();
+            thumbnailKey = analysis.resultNow().thumbnail().resultNow();
+            artworkEmbedding = analysis.resultNow().embedding();
+        }
+        log.info("{} Uploaded image to MinIO: {}{}", LogIcons.OLLAMA, minioKey,
+            artworkEmbedding != null ? " and generated embeddings for artwork..." : ", embeddings follow after commit");
 
-        // 3. Build Artwork entity
         Artwork artwork = Artwork.builder()
-            .artist(artist)
             .title(title)
             .description(description)
             .artType(artType)
             .minioKey(minioKey)
+            .thumbnailKey(thumbnailKey)
+            .contentHash(checkpoint.getContentHash())
             .build();
+        if (artworkEmbedding != null) {
+            artwork.addEmbeddings(List.of(artworkEmbedding));
+        }
+        return artwork;
+    }
 
-        // 4. Generate embeddings using AI
-        ArtworkEmbedding artworkEmbedding = embeddingGeneratorService.generateEmbedding(imageFile.getResource(), EmbeddingType.IMAGE);
-        log.info("{} Generated embeddings for artwork...", LogIcons.OLLAMA);
+    /// The preprocess → describe → embed branch, skipping what the checkpoint already has
+    private Analysis analyze(IngestionCheckpoint checkpoint, MultipartFile imageFile, IngestionJob job,
+                             StageScope scope) throws Exception {
+        boolean inline = ingestionProperties.getEmbeddingMode() == EmbeddingMode.INLINE;
+        boolean needsThumbnail = checkpoint.getThumbnailKey() == null;
+        boolean needsDescription = inline && checkpoint.getImageDescription() == null;
 
-        // 5. Persist Artwork and embeddings
-        artwork.addEmbeddings(List.of(artworkEmbedding));
+        Future<String> thumbnail = CompletableFuture.completedFuture(checkpoint.getThumbnailKey());
+        Resource original = imageFile.getResource();
+        PreprocessedImage image = null;
+        if (needsThumbnail || needsDescription) {
+            image = job.track(IngestionStage.PREPROCESSED, () -> imagePreprocessor.preprocess(original));
+            if (needsThumbnail && image.hasThumbnail()) {
+                byte[] thumbnailBytes = image.thumbnail();
+                thumbnail = scope.fork(() -> uploadThumbnail(checkpoint, thumbnailBytes));
+            }
+        }
+        if (!inline) {
+            return new Analysis(thumbnail, null);
+        }
 
-        Artwork savedArtwork = artWorkRepository.save(artwork);
-        log.info("{} Artwork (id={}, title={}) set with minioKey({}) and embeddings persisted...",
-            LogIcons.SUCCESS, savedArtwork.getId(), savedArtwork.getTitle(), minioKey);
+        String imageDescription = checkpoint.getImageDescription();
+        if (needsDescription) {
+            PreprocessedImage preprocessed = image;
+            MediaAnalysis mediaAnalysis = job.track(IngestionStage.DESCRIBED, () -> describe(preprocessed, original));
+            checkpoints.recordDescription(checkpoint.getId(), mediaAnalysis);
+            imageDescription = mediaAnalysis.text();
+        }
+        String text = imageDescription;
+        ArtworkEmbedding embedding = job.track(IngestionStage.EMBEDDED,
+            () -> embeddingGeneratorService.embed(text, EmbeddingType.IMAGE));
+        return new Analysis(thumbnail, embedding);
+    }
 
-        return savedArtwork;
+    /// {@inheritDoc}
+    @Override
+    public void failArtwork(@NonNull UUID artistId, @NonNull Artwork artwork, @NonNull Exception cause) {
+        if (!checkpoints.fail(artistId, artwork.getContentHash(), cause)) {
+            discardArtwork(artwork);
+        }
+    }
+
+    /// {@inheritDoc}
+    @Override
+    public void discardArtwork(@NonNull Artwork artwork) {
+        // a reused image belongs to the artwork(s) it was first ingested for
+        if (artwork.getMinioKey() != null && !artWorkRepository.existsByMinioKey(artwork.getMinioKey())) {
+            deleteUploadedImage(artwork.getMinioKey());
+        }
+        if (artwork.getThumbnailKey() != null && !artWorkRepository.existsByThumbnailKey(artwork.getThumbnailKey())) {
+            deleteThumbnail(artwork.getThumbnailKey());
+        }
+    }
+
+    /// Output of the preprocess → describe → embed branch
+    ///
+    /// @param thumbnail the thumbnail key: from the checkpoint, forked upload or `null` if the image has none
+    /// @param embedding the embedding of the description, `null` in event mode
+    private record Analysis(Future<String> thumbnail, ArtworkEmbedding embedding) {}
+
+    /// Describes the downscaled vision input, timing the vision model call
+    private MediaAnalysis describe(PreprocessedImage image, Resource original) throws IOException {
+        boolean downscaled = image.visionInput() != original;
+        var sample = Timer.start(meterRegistry);
+        try {
+            return embeddingGeneratorService.describe(image.visionInput());
+        } finally {
+            sample.stop(meterRegistry.timer(DESCRIBE_METRIC, "input", downscaled ? "downscaled" : "original"));
+        }
+    }
+
+    /// Uploads the original and records it on the checkpoint; a retry reuses it from there
+    private String uploadImage(IngestionCheckpoint checkpoint, MultipartFile imageFile) throws Exception {
+        var minioKey = minioStorageService.uploadFile(imageFile, "artworks/");
+        try {
+            checkpoints.recordUpload(checkpoint.getId(), minioKey);
+        } catch (RuntimeException e) {
+            deleteUploadedImage(minioKey);
+            throw e;
+        }
+        return minioKey;
+    }
+
+    private String uploadThumbnail(IngestionCheckpoint checkpoint, byte[] thumbnail) throws Exception {
+        var thumbnailKey = THUMBNAIL_PREFIX + UUID.randomUUID() + ".jpg";
+        minioStorageService.uploadFile(StorageBucket.THUMBNAILS, thumbnailKey,
+            new ByteArrayInputStream(thumbnail), thumbnail.length, PreprocessedImage.CONTENT_TYPE);
+        try {
+            checkpoints.recordThumbnail(checkpoint.getId(), thumbnailKey);
+        } catch (RuntimeException e) {
+            deleteThumbnail(thumbnailKey);
+            throw e;
+        }
+        return thumbnailKey;
+    }
+
+    /// SHA-256 of the image, streamed so the image is never fully buffered on the heap
+    private static String fingerprint(MultipartFile imageFile) throws IOException {
+        try (InputStream inputStream = imageFile.getInputStream()) {
+            return ContentHashUtils.sha256Hex(inputStream);
+        }
+    }
+
+    /// Removes a thumbnail no artwork or checkpoint references
+    private void deleteThumbnail(String thumbnailKey) {
+        try {
+            minioStorageService.deleteFile(StorageBucket.THUMBNAILS, thumbnailKey);
+        } catch (Exception e) {
+            log.error("{} Could not remove thumbnail {} of failed ingestion", LogIcons.ERROR, thumbnailKey, e);
+        }
+    }
+
+    /// Removes an uploaded image no artwork or checkpoint references
+    private void deleteUploadedImage(String minioKey) {
+        try {
+            minioStorageService.deleteFile(minioKey);
+            log.info("{} Removed uploaded image {} of failed ingestion", LogIcons.WARNING, minioKey);
+        } catch (Exception e) {
+            log.error("{} Could not remove uploaded image {} of failed ingestion", LogIcons.ERROR, minioKey, e);
+        }
     }
 }
@@ -0,0 +1,15 @@
+package com.giri.aiart.modules.ingestion;
+
+/// Stages of the artwork ingestion pipeline. Upload runs concurrently with preprocess → describe → embed, and all
+/// four are skipped when the fingerprint matches an image that was ingested before. In event mode describe and embed
+/// happen after the commit and are not stages of the ingestion.
+///
+/// @author Giri Pottepalem
+public enum IngestionStage {
+    FINGERPRINTED, // SHA-256 of the image computed and looked up
+    UPLOADED,      // image stored in MinIO
+    PREPROCESSED,  // image decoded once into a thumbnail and a downscaled vision input
+    DESCRIBED,     // vision input described by the vision model
+    EMBEDDED,      // description converted into a vector
+    PERSISTED      // artwork and embeddings saved in PostgreSQL
+}
@@ -0,0 +1,110 @@
+package com.giri.aiart.modules.ingestion;
+
+import lombok.NonNull;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/// A {@link MultipartFile} backed by a temporary file.
+///
+/// The servlet container deletes multipart uploads once the request completes, so an upload that is processed
+/// after the HTTP response has been sent must first be copied somewhere that outlives the request. The copy is
+/// streamed to disk, never buffered on the heap, and must be removed with {@link #delete()} when done.
+///
+/// @author Giri Pottepalem
+class SpooledMultipartFile implements MultipartFile {
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final Path path;
+    private final long size;
+
+    private SpooledMultipartFile(String name, String originalFilename, String contentType, Path path, long size) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.path = path;
+        this.size = size;
+    }
+
+    /// Copies the given upload into a temporary file.
+    /// The original file extension is kept, since media type detection relies on it.
+    ///
+    /// @param file the request-scoped upload
+    /// @return a copy that remains readable after the request completes
+    static SpooledMultipartFile spool(@NonNull MultipartFile file) throws IOException {
+        var originalFilename = file.getOriginalFilename() != null ? file.getOriginalFilename() : file.getName();
+        try (InputStream inputStream = file.getInputStream()) {
+            return spool(file.getName(), originalFilename, file.getContentType(), inputStream);
+        }
+    }
+
+    /// Copies the given stream, e.g. an entry of an uploaded archive, into a temporary file.
+    /// The stream is read to its end but not closed.
+    ///
+    /// @param name the form field name
+    /// @param originalFilename the file name, its extension is kept
+    /// @param contentType the content type, may be `null`
+    /// @param inputStream the content
+    /// @return a copy that remains readable after the request completes
+    static SpooledMultipartFile spool(String name, @NonNull String originalFilename, String contentType,
+                                      @NonNull InputStream inputStream) throws IOException {
+        Path path = Files.createTempFile("ingest-", "_" + Path.of(originalFilename).getFileName());
+        Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING);
+        return new SpooledMultipartFile(name, originalFilename, contentType, path, Files.size(path));
+    }
+
+    /// Removes the temporary file, ignoring failures.
+    void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // temp directory is cleaned up by the OS eventually
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
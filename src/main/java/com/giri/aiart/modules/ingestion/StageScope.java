@@ -0,0 +1,169 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.giri.aiart.shared.util.LogIcons;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/// Structured fan-out of independent ingestion stages on virtual threads, with **one deadline** and
+/// **fail-fast cancellation** across all of them.
+///
+/// Semantics follow `StructuredTaskScope.ShutdownOnFailure`: the first failing subtask cancels its siblings and
+/// becomes the exception thrown by {@link #join()}. In addition, a subtask may register a *compensation* for its
+/// result (e.g. deleting an uploaded object), which runs if the scope fails — whether the failure happens before or
+/// after that subtask completed. A subtask may fork further subtasks into the same scope; {@link #join()} waits for
+/// those as well.
+///
+/// `StructuredTaskScope` itself is still a preview API in Java 25; this class gives the same guarantees without
+/// compiling and running the whole application with `--enable-preview`.
+///
+/// ```java
+/// try (var scope = new StageScope(Duration.ofMinutes(4))) {
+///     Future<String> key = scope.fork(() -> upload(file), key -> delete(key));
+///     Future<String> text = scope.fork(() -> describe(file));
+///     scope.join(); // throws the first failure, or TimeoutException
+/// }
+/// ```
+///
+/// @author Giri Pottepalem
+@Slf4j
+final class StageScope implements AutoCloseable {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Future<?>> forks = new CopyOnWriteArrayList<>();
+    private final List<Runnable> compensations = new ArrayList<>(); // guarded by this
+    private final Instant deadline;
+    private final Duration timeout;
+    private Throwable failure; // guarded by this
+
+    StageScope(Duration timeout) {
+        this.timeout = timeout;
+        this.deadline = Instant.now().plus(timeout);
+    }
+
+    /// Starts a subtask with no compensation
+    <T> Future<T> fork(Callable<T> task) {
+        return fork(task, null);
+    }
+
+    /// Starts a subtask on its own virtual thread.
+    ///
+    /// @param task the stage work
+    /// @param compensation undoes the subtask's result if the scope fails, may be `null`
+    /// @return the future result, only read it after a successful {@link #join()}
+    <T> Future<T> fork(Callable<T> task, Consumer<T> compensation) {
+        Future<T> future = executor.submit(() -> {
+            T result;
+            try {
+                result = task.call();
+            } catch (Exception e) {
+                fail(e);
+                throw e;
+            }
+            if (compensation != null) {
+                registerCompensation(() -> compensation.accept(result));
+            }
+            return result;
+        });
+        forks.add(future);
+        if (isFailed()) {
+            future.cancel(true);
+        }
+        return future;
+    }
+
+    /// Waits for all subtasks until the deadline.
+    ///
+    /// @throws TimeoutException if the deadline passes first, all subtasks are then cancelled
+    /// @throws Exception the first subtask failure
+    void join() throws Exception {
+        // indexed, not iterated: subtasks may fork more subtasks while we wait
+        for (int i = 0; i < forks.size(); i++) {
+            Future<?> fork = forks.get(i);
+            long remainingNanos = Math.max(Duration.between(Instant.now(), deadline).toNanos(), 0);
+            try {
+                fork.get(remainingNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                fail(new TimeoutException("Ingestion did not complete within " + timeout));
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+                break;
+            } catch (CancellationException | ExecutionException e) {
+                // the failure has already been recorded by the failing subtask
+            }
+        }
+        Throwable cause;
+        synchronized (this) {
+            cause = failure;
+        }
+        if (cause instanceof Exception exception) {
+            throw exception;
+        }
+        if (cause != null) {
+            throw new ExecutionException(cause);
+        }
+    }
+
+    /// Fails the scope: cancels running subtasks and runs the compensations of completed ones.
+    /// Also used when a stage that runs after {@link #join()} fails. Only the first failure is kept.
+    void fail(Throwable cause) {
+        List<Runnable> toCompensate;
+        synchronized (this) {
+            if (failure != null) {
+                return;
+            }
+            failure = cause;
+            toCompensate = List.copyOf(compensations);
+            compensations.clear();
+        }
+        log.warn("{} Ingestion stage failed, cancelling sibling stages: {}", LogIcons.WARNING, cause.toString());
+        forks.forEach(fork -> fork.cancel(true));
+        toCompensate.forEach(StageScope::runQuietly);
+    }
+
+    private synchronized boolean isFailed() {
+        return failure != null;
+    }
+
+    private void registerCompensation(Runnable compensation) {
+        boolean alreadyFailed;
+        synchronized (this) {
+            alreadyFailed = failure != null;
+            if (!alreadyFailed) {
+                compensations.add(compensation);
+            }
+        }
+        if (alreadyFailed) {
+            runQuietly(compensation);
+        }
+    }
+
+    private static void runQuietly(Runnable compensation) {
+        try {
+            compensation.run();
+        } catch (RuntimeException e) {
+            log.error("{} Compensation of a failed ingestion stage failed", LogIcons.ERROR, e);
+        }
+    }
+
+    /// Cancels any subtask still running. Does not wait for them, so a stage stuck in I/O cannot hold the caller
+    /// past the deadline; its compensation still runs whenever it completes.
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+package com.giri.aiart.modules.search;
+
+import com.giri.aiart.shared.domain.type.ArtType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/// **REST API** for similarity search over artwork embeddings.
+///
+/// - `GET /api/v1/artworks/{id}/similar` — artworks similar to an artwork
+/// - `POST /api/v1/search` — artworks matching a text, body {@link SearchRequest}; `"mode": "HYBRID"` fuses keyword
+///   and vector matches into a single page
+///
+/// Both take a page size (`limit`, 10 by default, at most 100), a `maxDistance`, `artType` and `artistId` filters,
+/// and the `after` cursor of the previous page; both return a {@link SearchPage}, best first.
+///
+/// @author Giri Pottepalem
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1")
+public class ArtworkSearchController {
+    private final ArtworkSearchService artworkSearchService;
+
+    /// Artworks similar to the given one
+    @GetMapping("/artworks/{id}/similar")
+    public ResponseEntity<SearchPage> similar(
+        @PathVariable UUID id,
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(required = false) Double maxDistance,
+        @RequestParam(required = false) ArtType artType,
+        @RequestParam(required = false) UUID artistId,
+        @RequestParam(required = false) String after
+    ) {
+        try {
+            return artworkSearchService.similar(id, limit, maxDistance, artType, artistId, after)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /// Artworks matching a text
+    @PostMapping("/search")
+    public ResponseEntity<SearchPage> search(@RequestBody SearchRequest request) {
+        try {
+            return ResponseEntity.ok(artworkSearchService.search(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
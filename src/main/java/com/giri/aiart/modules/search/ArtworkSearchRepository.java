@@ -0,0 +1,101 @@
+package com.giri.aiart.modules.search;
+
+import com.giri.aiart.modules.embeddings.EmbeddingSpace;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.pgvector.PgVector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/// Plain JDBC reads of the search: the few columns a result needs instead of `Artwork` entities with their
+/// embeddings
+///
+/// @author Giri Pottepalem
+@Repository
+@RequiredArgsConstructor
+class ArtworkSearchRepository {
+    private final JdbcClient jdbcClient;
+
+    /// Listing columns of an artwork
+    record ArtworkRow(UUID id, String title, ArtType artType, UUID artistId, String artistName, String thumbnailKey) {}
+
+    /// @return the listing columns of the given artworks, by id
+    Map<UUID, ArtworkRow> findAll(Collection<UUID> artworkIds) {
+        Map<UUID, ArtworkRow> rows = new HashMap<>();
+        if (artworkIds.isEmpty()) {
+            return rows;
+        }
+        jdbcClient.sql("""
+                SELECT a.id, a.title, a.art_type, a.artist_id, ar.first_name || ' ' || ar.last_name AS artist_name,
+                       a.thumbnail_key
+                FROM artwork a JOIN artist ar ON ar.id = a.artist_id
+                WHERE a.id IN (:artworkIds)
+                """)
+            .param("artworkIds", artworkIds)
+            .query((rs, rowNum) -> new ArtworkRow(
+                rs.getObject("id", UUID.class),
+                rs.getString("title"),
+                ArtType.valueOf(rs.getString("art_type")),
+                rs.getObject("artist_id", UUID.class),
+                rs.getString("artist_name"),
+                rs.getString("thumbnail_key")))
+            .list()
+            .forEach(row -> rows.put(row.id(), row));
+        return rows;
+    }
+
+    /// Full-text search over title, artist name and description (`artwork.search_vector`, GIN indexed), ranked by
+    /// `ts_rank_cd` with title matches weighted above artist name above description
+    ///
+    /// @param query web search syntax: words, `"quoted phrases"`, `or`, `-excluded`
+    /// @return the ids of up to `limit` matching artworks, best first
+    List<UUID> findMatching(String query, ArtType artType, UUID artistId, int limit) {
+        List<String> conditions = new ArrayList<>(List.of("a.search_vector @@ q"));
+        Map<String, Object> params = new HashMap<>();
+        params.put("query", query);
+        params.put("limit", limit);
+        if (artType != null) {
+            conditions.add("a.art_type = CAST(:artType AS art_type_enum)");
+            params.put("artType", artType.name());
+        }
+        if (artistId != null) {
+            conditions.add("a.artist_id = :artistId");
+            params.put("artistId", artistId);
+        }
+        return jdbcClient.sql("""
+                SELECT a.id FROM artwork a, websearch_to_tsquery('english', :query) q
+                WHERE %s
+                ORDER BY ts_rank_cd(a.search_vector, q) DESC, a.id
+                LIMIT :limit
+                """.formatted(String.join(" AND ", conditions)))
+            .params(params)
+            .query((rs, rowNum) -> rs.getObject("id", UUID.class))
+            .list();
+    }
+
+    /// @return the active vector of the given artwork in the given space, if it has one
+    Optional<float[]> findVector(UUID artworkId, EmbeddingSpace space, EmbeddingType type) {
+        return jdbcClient.sql("""
+                SELECT vector_send(embedding) FROM artwork_embedding
+                WHERE artwork_id = :artworkId AND model = :model AND dimensions = :dimensions
+                  AND type = CAST(:type AS embedding_type_enum) AND status = 'ACTIVE'
+                ORDER BY created_at DESC
+                LIMIT 1
+                """)
+            .param("artworkId", artworkId)
+            .param("model", space.model())
+            .param("dimensions", space.dimensions())
+            .param("type", type.name())
+            .query((rs, rowNum) -> PgVector.decode(rs.getBytes(1)))
+            .optional();
+    }
+}
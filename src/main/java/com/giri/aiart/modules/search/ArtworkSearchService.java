@@ -0,0 +1,173 @@
+package com.giri.aiart.modules.search;
+
+import com.giri.aiart.config.SearchProperties;
+import com.giri.aiart.modules.embeddings.EmbeddingGeneratorService;
+import com.giri.aiart.modules.embeddings.EmbeddingSpaceRegistry;
+import com.giri.aiart.modules.embeddings.NearestEmbeddings;
+import com.giri.aiart.modules.embeddings.NearestEmbeddings.Filter;
+import com.giri.aiart.modules.embeddings.NearestEmbeddings.Neighbor;
+import com.giri.aiart.modules.search.ArtworkSearchRepository.ArtworkRow;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.util.LogIcons;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/// Similarity search over artwork embeddings.
+///
+/// Vector searches rank the `IMAGE` embeddings (vectors of the AI-generated descriptions) of the current embedding
+/// space with {@link NearestEmbeddings}, then read the listing columns of the page's artworks in one query. Pages
+/// are keyset-paginated on (distance, embedding id) through an opaque cursor.
+///
+/// Hybrid searches run a full-text search (title, artist name, description) and the vector search concurrently,
+/// `aiart.search.hybrid.candidates` artworks each, and merge them with {@link ReciprocalRankFusion}: exact title or
+/// artist name lookups, which embeddings rank poorly, reach the top through the keyword side. Each side's latency is
+/// recorded in the `aiart.search.leg` timer (`leg=text|vector`, the vector side including the query embedding).
+///
+/// @author Giri Pottepalem
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArtworkSearchService {
+    static final String LEG_METRIC = "aiart.search.leg";
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 100;
+
+    private final NearestEmbeddings nearestEmbeddings;
+    private final EmbeddingSpaceRegistry embeddingSpaceRegistry;
+    private final EmbeddingGeneratorService embeddingGeneratorService;
+    private final ArtworkSearchRepository artworkSearchRepository;
+    private final SearchProperties searchProperties;
+    private final MeterRegistry meterRegistry;
+
+    /// Artworks similar to the given one, itself excluded
+    ///
+    /// @return a page of similar artworks, or empty if the artwork has no active embedding of the current model
+    /// @throws IllegalArgumentException if the cursor is invalid
+    public Optional<SearchPage> similar(@NonNull UUID artworkId, Integer limit, Double maxDistance, ArtType artType,
+                                        UUID artistId, String after) {
+        log.info("{} Searching artworks similar to {}", LogIcons.SEARCH, artworkId);
+        return artworkSearchRepository.findVector(artworkId, embeddingSpaceRegistry.current(), EmbeddingType.IMAGE)
+            .map(vector -> page(vector, new Filter(EmbeddingType.IMAGE, artType, artistId, artworkId, maxDistance,
+                after != null ? SearchCursor.decode(after) : null), limit));
+    }
+
+    /// Artworks matching a text, by vector or hybrid search
+    ///
+    /// @throws IllegalArgumentException if the query is blank, the cursor is invalid, or a hybrid search is paged
+    public SearchPage search(@NonNull SearchRequest request) {
+        if (request.query() == null || request.query().isBlank()) {
+            throw new IllegalArgumentException("A search query is required");
+        }
+        if (request.mode() == SearchMode.HYBRID) {
+            if (request.after() != null) {
+                throw new IllegalArgumentException("Hybrid search returns a single page, raise the limit instead");
+            }
+            return hybrid(request);
+        }
+        log.info("{} Searching artworks for '{}'", LogIcons.SEARCH, request.query());
+        var filter = new Filter(EmbeddingType.IMAGE, request.artType(), request.artistId(), null,
+            request.maxDistance(), request.after() != null ? SearchCursor.decode(request.after()) : null);
+        return page(embed(request.query()), filter, request.limit());
+    }
+
+    private SearchPage page(float[] vector, Filter filter, Integer limit) {
+        int pageSize = pageSize(limit);
+        List<Neighbor> neighbors = nearestEmbeddings.find(vector, filter, pageSize);
+        var artworks = artworkSearchRepository.findAll(neighbors.stream().map(Neighbor::artworkId).toList());
+        List<SimilarArtwork> results = neighbors.stream()
+            .filter(neighbor -> artworks.containsKey(neighbor.artworkId()))
+            .map(neighbor -> result(artworks.get(neighbor.artworkId()), neighbor.distance(), null))
+            .toList();
+        String next = neighbors.size() == pageSize ? SearchCursor.encode(neighbors.getLast().position()) : null;
+        return new SearchPage(results, next);
+    }
+
+    private SearchPage hybrid(SearchRequest request) {
+        log.info("{} Hybrid search of artworks for '{}'", LogIcons.SEARCH, request.query());
+        int pageSize = pageSize(request.limit());
+        int candidates = Math.max(pageSize, searchProperties.getHybrid().getCandidates());
+        List<UUID> textRanking;
+        Map<UUID, Double> vectorRanking;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<UUID>> text = executor.submit(() -> timed("text", () -> artworkSearchRepository
+                .findMatching(request.query(), request.artType(), request.artistId(), candidates)));
+            Future<Map<UUID, Double>> vector = executor.submit(() -> timed("vector", () -> nearestArtworks(
+                embed(request.query()),
+                new Filter(EmbeddingType.IMAGE, request.artType(), request.artistId(), null, request.maxDistance(),
+                    null),
+                candidates)));
+            textRanking = await(text);
+            vectorRanking = await(vector);
+        }
+
+        var fused = ReciprocalRankFusion.fuse(searchProperties.getHybrid().getRrfK(),
+            List.of(textRanking, List.copyOf(vectorRanking.keySet())));
+        List<UUID> page = fused.keySet().stream().limit(pageSize).toList();
+        var artworks = artworkSearchRepository.findAll(page);
+        List<SimilarArtwork> results = page.stream()
+            .filter(artworks::containsKey)
+            .map(id -> result(artworks.get(id), vectorRanking.get(id), fused.get(id)))
+            .toList();
+        return new SearchPage(results, null);
+    }
+
+    /// @return the nearest artworks with the distance of their nearest embedding, nearest first
+    private Map<UUID, Double> nearestArtworks(float[] vector, Filter filter, int limit) {
+        Map<UUID, Double> artworks = new LinkedHashMap<>();
+        for (Neighbor neighbor : nearestEmbeddings.find(vector, filter, limit)) {
+            artworks.putIfAbsent(neighbor.artworkId(), neighbor.distance());
+        }
+        return artworks;
+    }
+
+    private float[] embed(String query) {
+        return embeddingGeneratorService.embed(query, EmbeddingType.TEXT).getEmbedding();
+    }
+
+    private <T> T timed(String leg, Supplier<T> search) {
+        var sample = Timer.start(meterRegistry);
+        try {
+            return search.get();
+        } finally {
+            sample.stop(meterRegistry.timer(LEG_METRIC, "leg", leg));
+        }
+    }
+
+    private static <T> T await(Future<T> leg) {
+        try {
+            return leg.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hybrid search interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+    }
+
+    private static SimilarArtwork result(ArtworkRow artwork, Double distance, Double score) {
+        return new SimilarArtwork(artwork.id(), artwork.title(), artwork.artType(), artwork.artistId(),
+            artwork.artistName(), artwork.thumbnailKey(), distance, score);
+    }
+}
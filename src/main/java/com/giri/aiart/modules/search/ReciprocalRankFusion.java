@@ -0,0 +1,34 @@
+package com.giri.aiart.modules.search;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Reciprocal-rank fusion: merges rankings of incomparable scores (full-text rank, cosine distance) by position
+/// alone. An item at 1-based rank `r` of a ranking scores `1 / (k + r)`, summed over the rankings it appears in.
+///
+/// @author Giri Pottepalem
+@UtilityClass
+class ReciprocalRankFusion {
+
+    /// @param k the rank constant, 60 in the original paper
+    /// @param rankings rankings without duplicates, best first
+    /// @return every ranked item with its fused score, best first; ties keep the order of first appearance
+    <T> Map<T, Double> fuse(int k, List<List<T>> rankings) {
+        Map<T, Double> scores = new LinkedHashMap<>();
+        for (List<T> ranking : rankings) {
+            for (int i = 0; i < ranking.size(); i++) {
+                scores.merge(ranking.get(i), 1.0 / (k + i + 1), Double::sum);
+            }
+        }
+        List<Map.Entry<T, Double>> entries = new ArrayList<>(scores.entrySet());
+        entries.sort(Map.Entry.<T, Double>comparingByValue(Comparator.reverseOrder())); // stable
+        Map<T, Double> fused = new LinkedHashMap<>();
+        entries.forEach(entry -> fused.put(entry.getKey(), entry.getValue()));
+        return fused;
+    }
+}
@@ -0,0 +1,32 @@
+package com.giri.aiart.modules.search;
+
+import com.giri.aiart.modules.embeddings.NearestEmbeddings.Position;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/// Opaque keyset cursor of search pages: the exact distance and embedding id of the last result, base64url encoded
+///
+/// @author Giri Pottepalem
+@UtilityClass
+class SearchCursor {
+
+    String encode(Position position) {
+        String raw = position.distance() + "|" + position.embeddingId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /// @throws IllegalArgumentException if the cursor was not produced by {@link #encode}
+    Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Position(Double.parseDouble(raw.substring(0, separator)),
+                UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.giri.aiart.modules.search;
+
+/// How a text search ranks artworks
+///
+/// @author Giri Pottepalem
+public enum SearchMode {
+    /// nearest description embeddings of the embedded query, keyset-paginated
+    VECTOR,
+    /// full-text matches of title, artist name and description fused with the nearest embeddings, a single page
+    HYBRID
+}
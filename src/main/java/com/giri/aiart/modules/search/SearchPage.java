@@ -0,0 +1,10 @@
+package com.giri.aiart.modules.search;
+
+import java.util.List;
+
+/// One page of search results, nearest first
+///
+/// @param results the artworks of the page
+/// @param next cursor of the next page (`after`), `null` on the last page
+/// @author Giri Pottepalem
+public record SearchPage(List<SimilarArtwork> results, String next) {}
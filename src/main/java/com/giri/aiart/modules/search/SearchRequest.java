@@ -0,0 +1,19 @@
+package com.giri.aiart.modules.search;
+
+import com.giri.aiart.shared.domain.type.ArtType;
+
+import java.util.UUID;
+
+/// Body of a text search (`POST /api/v1/search`); every component but `query` is optional
+///
+/// @param query the text to search artworks for, embedded with the current embedding model; web search syntax
+///              (`"phrase"`, `or`, `-word`) for the keyword side of a hybrid search
+/// @param mode `VECTOR` by default
+/// @param limit the number of results per page, 10 by default, at most 100
+/// @param maxDistance largest cosine distance returned
+/// @param artType only artworks of this art type
+/// @param artistId only artworks of this artist
+/// @param after the `next` cursor of the previous page, vector mode only
+/// @author Giri Pottepalem
+public record SearchRequest(String query, SearchMode mode, Integer limit, Double maxDistance, ArtType artType,
+                            UUID artistId, String after) {}
@@ -0,0 +1,20 @@
+package com.giri.aiart.modules.search;
+
+import com.giri.aiart.shared.domain.type.ArtType;
+
+import java.util.UUID;
+
+/// A search result: the columns of an artwork needed to list it, read without loading the `Artwork` entity graph
+///
+/// @param artworkId the artwork
+/// @param title its title
+/// @param artType its art type
+/// @param artistId its artist
+/// @param artistName the artist's first and last name
+/// @param thumbnailKey object store key of its thumbnail, `null` if none was generated
+/// @param distance cosine distance of its embedding to the query, `0` for identical directions; `null` for a hybrid
+///                 result found by the keyword search only
+/// @param score reciprocal-rank fusion score of a hybrid result, `null` otherwise
+/// @author Giri Pottepalem
+public record SimilarArtwork(UUID artworkId, String title, ArtType artType, UUID artistId, String artistName,
+                             String thumbnailKey, Double distance, Double score) {}
@@ -3,15 +3,32 @@ package com.giri.aiart.modules.storage;
 import com.giri.aiart.config.MinioProperties;
 import com.giri.aiart.shared.util.LogIcons;
 import io.minio.*;
+import io.minio.errors.ErrorResponseException;
 import io.minio.errors.MinioException;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /// Implementation of [`StorageService`](./StorageService.java) backed by **MinIO**.
 ///
@@ -21,8 +38,13 @@ import java.util.UUID;
 /// for other parts of the application.
 ///
 /// ### Features
-/// - Automatically creates the target bucket if it does not exist
-/// - Supports streaming uploads and downloads
+/// - Creates missing buckets once — at startup, or on first use if MinIO was not reachable then — and remembers
+///   them, so the upload path does not pay a `bucketExists` round trip per object
+/// - Optional multi-bucket layout: originals and thumbnails in separate buckets (see {@link StorageBucket})
+/// - Supports streaming uploads and downloads: uploads are never buffered on the heap as a whole, at most one part
+///   (`minio.part-size`) per concurrently uploading part
+/// - Uploads large objects (`minio.parallel-upload-threshold`) as parallel parts composed server side
+/// - Records every MinIO call in the `aiart.storage.minio` timer, tagged by `operation` and `outcome`
 /// - Can be easily replaced with other `StorageService` implementations (e.g., AWS S3)
 ///
 /// ### Example
@@ -34,20 +56,41 @@ import java.util.UUID;
 @Slf4j
 @Service
 public class MinioStorageService implements StorageService {
+    static final String TIMER_NAME = "aiart.storage.minio";
+    private static final long UNKNOWN_SIZE = -1;
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024; // S3/MinIO minimum for all but the last part
+    private static final String PARTS_PREFIX = ".uploads/";
+
     private final MinioClient minioClient;
-    private final String bucketName;
+    private final MeterRegistry meterRegistry;
+    private final Map<StorageBucket, String> bucketNames = new EnumMap<>(StorageBucket.class);
+    private final Set<String> provisionedBuckets = ConcurrentHashMap.newKeySet();
+    private final long partSize;
+    private final long parallelUploadThreshold;
+    private final int uploadParallelism;
 
-    MinioStorageService(MinioClient minioClient, MinioProperties minioProperties) {
+    MinioStorageService(MinioClient minioClient, MinioProperties minioProperties, MeterRegistry meterRegistry) {
         this.minioClient = minioClient;
-        this.bucketName = minioProperties.getBucketName();
-        log.info("{} MinIO Properties loaded: endpoint={}, bucketName={}", LogIcons.TEXT, minioProperties.getEndpoint(), bucketName);
+        this.meterRegistry = meterRegistry;
+        var buckets = minioProperties.getBuckets();
+        bucketNames.put(StorageBucket.ORIGINALS, orDefault(buckets.getOriginals(), minioProperties.getBucketName()));
+        bucketNames.put(StorageBucket.THUMBNAILS, orDefault(buckets.getThumbnails(), minioProperties.getBucketName()));
+        this.partSize = Math.max(minioProperties.getPartSize().toBytes(), MIN_PART_SIZE);
+        this.parallelUploadThreshold = minioProperties.getParallelUploadThreshold().toBytes();
+        this.uploadParallelism = minioProperties.getUploadParallelism();
+        log.info("{} MinIO Properties loaded: endpoint={}, buckets={}", LogIcons.TEXT, minioProperties.getEndpoint(), bucketNames);
     }
 
+    /// Verifies the connection and provisions all buckets. A failure is only logged: buckets that could not be
+    /// provisioned now are provisioned on first use.
     @PostConstruct
     public void verifyConnection() {
         try {
-            var buckets = minioClient.listBuckets();
+            var buckets = timed("list-buckets", minioClient::listBuckets);
             log.info("{} Connected to MinIO, buckets: {}...", LogIcons.SUCCESS, buckets);
+            for (String bucket : Set.copyOf(bucketNames.values())) {
+                ensureBucket(bucket);
+            }
         } catch (Exception e) {
             log.error("{} Could not connect to MinIO...", LogIcons.ERROR, e);
         }
@@ -56,43 +99,204 @@ public class MinioStorageService implements StorageService {
     @Override
     public String uploadFile(MultipartFile file, String prefix) throws Exception {
         var objectKey = prefix + UUID.randomUUID() + "_" + file.getOriginalFilename();
-        uploadFile(objectKey, file.getInputStream(), file.getContentType());
+        try (InputStream inputStream = file.getInputStream()) {
+            uploadFile(objectKey, inputStream, file.getSize(), file.getContentType());
+        }
         log.info("🖼️ Uploaded file to MinIO: {}", objectKey);
         return objectKey;
     }
 
     @Override
     public void uploadFile(String objectName, InputStream inputStream, String contentType) throws Exception {
+        uploadFile(objectName, inputStream, UNKNOWN_SIZE, contentType);
+    }
+
+    @Override
+    public void uploadFile(StorageBucket bucket, String objectName, InputStream inputStream, long size,
+                           String contentType) throws Exception {
+        var bucketName = bucketNames.get(bucket);
         try {
-            boolean found = minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
-            if (!found) {
-                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+            ensureBucket(bucketName);
+            if (size >= parallelUploadThreshold && uploadParallelism > 1) {
+                uploadInParallel(bucketName, objectName, inputStream, contentType);
+            } else {
+                putObject(bucketName, objectName, inputStream, size, contentType);
             }
-            byte[] bytes = inputStream.readAllBytes();
-            try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(bytes)) {
-                minioClient.putObject(
-                    PutObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(objectName)
-                        .stream(byteArrayInputStream, bytes.length, 5 * 1024 * 1024) // part size 5MB
-                        .contentType(contentType)
-                        .build()
-                );
-            }
-
         } catch(MinioException e) {
             log.error("{} Error uploading file to MinIO", LogIcons.ERROR, e);
             throw new RuntimeException("Error uploading file to MinIO", e);
         }
     }
 
-    @Override
-    public InputStream downloadFile(String objectName) throws Exception {
-        return minioClient.getObject(
-            GetObjectArgs.builder()
+    /// Creates the bucket unless it is known to exist. Only the first call per bucket talks to MinIO.
+    private void ensureBucket(String bucketName) throws Exception {
+        if (provisionedBuckets.contains(bucketName)) {
+            return;
+        }
+        boolean found = timed("bucket-exists",
+            () -> minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build()));
+        if (!found) {
+            try {
+                timed("make-bucket", () -> {
+                    minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+                    return null;
+                });
+                log.info("{} Created MinIO bucket {}", LogIcons.SUCCESS, bucketName);
+            } catch (ErrorResponseException e) {
+                // another instance created it in the meantime
+                if (!"BucketAlreadyOwnedByYou".equals(e.errorResponse().code())) {
+                    throw e;
+                }
+            }
+        }
+        provisionedBuckets.add(bucketName);
+    }
+
+    /// Streams the object with a single (internally multipart) `putObject`. The client reads the stream one part at
+    /// a time: with a known size it picks the part size itself, otherwise parts of `minio.part-size` are used.
+    private void putObject(String bucketName, String objectName, InputStream inputStream, long size,
+                           String contentType) throws Exception {
+        timed("put", () -> minioClient.putObject(
+            PutObjectArgs.builder()
                 .bucket(bucketName)
                 .object(objectName)
+                .stream(inputStream, size, size == UNKNOWN_SIZE ? partSize : -1)
+                .contentType(contentType)
+                .build()
+        ));
+    }
+
+    /// Uploads a large object as `minio.part-size` parts, `minio.upload-parallelism` at a time, and lets MinIO
+    /// compose them into the target object server side (no data is copied back through the client).
+    ///
+    /// Parts need random access to the content, so only this path spools the stream to a temporary file first.
+    private void uploadInParallel(String bucketName, String objectName, InputStream inputStream, String contentType)
+        throws Exception {
+        Path spooled = Files.createTempFile("minio-upload-", ".tmp");
+        var partPrefix = PARTS_PREFIX + UUID.randomUUID() + "/";
+        List<String> partNames = new ArrayList<>();
+        try {
+            Files.copy(inputStream, spooled, StandardCopyOption.REPLACE_EXISTING);
+            long spooledSize = Files.size(spooled);
+            for (long offset = 0; offset < spooledSize; offset += partSize) {
+                partNames.add(partPrefix + partNames.size());
+            }
+            log.debug("{} Uploading {} ({} bytes) as {} parts", LogIcons.FILE, objectName, spooledSize, partNames.size());
+
+            try (var executor = Executors.newFixedThreadPool(uploadParallelism, Thread.ofVirtual().factory())) {
+                List<Future<?>> parts = new ArrayList<>();
+                for (int part = 0; part < partNames.size(); part++) {
+                    long offset = part * partSize;
+                    long length = Math.min(partSize, spooledSize - offset);
+                    var partName = partNames.get(part);
+                    parts.add(executor.submit(() -> {
+                        try (InputStream partStream = Files.newInputStream(spooled)) {
+                            partStream.skipNBytes(offset);
+                            putObject(bucketName, partName, partStream, length, "application/octet-stream");
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> part : parts) {
+                    try {
+                        part.get();
+                    } catch (ExecutionException e) {
+                        parts.forEach(pending -> pending.cancel(true));
+                        throw e.getCause() instanceof Exception cause ? cause : e;
+                    }
+                }
+            }
+
+            timed("compose", () -> minioClient.composeObject(
+                ComposeObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .sources(partNames.stream()
+                        .map(partName -> ComposeSource.builder().bucket(bucketName).object(partName).build())
+                        .toList())
+                    .headers(Map.of("Content-Type", contentType != null ? contentType : "application/octet-stream"))
+                    .build()
+            ));
+        } finally {
+            Files.deleteIfExists(spooled);
+            removeParts(bucketName, partNames);
+        }
+    }
+
+    /// Best effort removal of the temporary part objects of a parallel upload
+    private void removeParts(String bucketName, List<String> partNames) {
+        if (partNames.isEmpty()) {
+            return;
+        }
+        var sample = Timer.start(meterRegistry);
+        var results = minioClient.removeObjects(
+            RemoveObjectsArgs.builder()
+                .bucket(bucketName)
+                .objects(partNames.stream().map(DeleteObject::new).toList())
                 .build()
         );
+        // removal is lazy, it happens while iterating the results
+        var outcome = "success";
+        for (Result<DeleteError> result : results) {
+            outcome = "error";
+            try {
+                var error = result.get();
+                log.warn("{} Could not remove upload part {}: {}", LogIcons.WARNING, error.objectName(), error.message());
+            } catch (Exception e) {
+                log.warn("{} Could not remove upload parts", LogIcons.WARNING, e);
+            }
+        }
+        sample.stop(timer("remove-parts", outcome));
+    }
+
+    /// The timer covers the request until the response headers arrive, not the reading of the returned stream
+    @Override
+    public InputStream downloadFile(StorageBucket bucket, String objectName) throws Exception {
+        return timed("get", () -> minioClient.getObject(
+            GetObjectArgs.builder()
+                .bucket(bucketNames.get(bucket))
+                .object(objectName)
+                .build()
+        ));
+    }
+
+    @Override
+    public void deleteFile(StorageBucket bucket, String objectName) throws Exception {
+        timed("delete", () -> {
+            minioClient.removeObject(
+                RemoveObjectArgs.builder()
+                    .bucket(bucketNames.get(bucket))
+                    .object(objectName)
+                    .build()
+            );
+            return null;
+        });
+        log.info("{} Deleted file from MinIO: {}", LogIcons.SUCCESS, objectName);
+    }
+
+    /// Runs a MinIO call, recording its latency
+    private <T> T timed(String operation, Callable<T> call) throws Exception {
+        var sample = Timer.start(meterRegistry);
+        var outcome = "success";
+        try {
+            return call.call();
+        } catch (Exception e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(timer(operation, outcome));
+        }
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder(TIMER_NAME)
+            .description("Latency of MinIO calls")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static String orDefault(String bucketName, String defaultBucketName) {
+        return bucketName != null && !bucketName.isBlank() ? bucketName : defaultBucketName;
     }
 }
@@ -0,0 +1,10 @@
+package com.giri.aiart.modules.storage;
+
+/// Logical buckets of the object store. With `minio.buckets.*` each can be mapped to its own physical bucket
+/// (e.g. for separate lifecycle or replication rules); by default all of them share `minio.bucket-name`.
+///
+/// @author Giri Pottepalem
+public enum StorageBucket {
+    ORIGINALS,  // uploaded artwork images, as received
+    THUMBNAILS  // derived, downscaled renditions
+}
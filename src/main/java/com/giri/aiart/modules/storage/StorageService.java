@@ -24,7 +24,8 @@ public interface StorageService {
     /// @return the generated MinIO object key
     String uploadFile(MultipartFile file, String prefix) throws Exception;
 
-    /// Uploads a file (object) to the configured storage bucket.
+    /// Uploads a file (object) of unknown size to the originals bucket.
+    /// The stream is consumed incrementally, never buffered as a whole.
     ///
     /// ### Parameters
     /// - `objectName` – the key or file name under which the object will be stored.
@@ -32,7 +33,32 @@ public interface StorageService {
     /// - `contentType` – the MIME type of the object (e.g., `image/png`, `application/pdf`).
     void uploadFile(String objectName, InputStream inputStream, String contentType) throws Exception;
 
-    /// Downloads a file (object) from the storage bucket.
+    /// Uploads a file (object) of known size to the originals bucket.
+    /// The stream is consumed incrementally, never buffered as a whole.
+    ///
+    /// ### Parameters
+    /// - `objectName` – the key or file name under which the object will be stored.
+    /// - `inputStream` – the input stream containing exactly `size` bytes.
+    /// - `size` – the object size in bytes.
+    /// - `contentType` – the MIME type of the object (e.g., `image/png`, `application/pdf`).
+    default void uploadFile(String objectName, InputStream inputStream, long size, String contentType)
+        throws Exception {
+        uploadFile(StorageBucket.ORIGINALS, objectName, inputStream, size, contentType);
+    }
+
+    /// Uploads a file (object) of known size to the given logical bucket.
+    /// The stream is consumed incrementally, never buffered as a whole.
+    ///
+    /// ### Parameters
+    /// - `bucket` – the logical bucket, see {@link StorageBucket}.
+    /// - `objectName` – the key or file name under which the object will be stored.
+    /// - `inputStream` – the input stream containing exactly `size` bytes, or any number of bytes if `size` is `-1`.
+    /// - `size` – the object size in bytes, `-1` if unknown.
+    /// - `contentType` – the MIME type of the object (e.g., `image/png`, `application/pdf`).
+    void uploadFile(StorageBucket bucket, String objectName, InputStream inputStream, long size, String contentType)
+        throws Exception;
+
+    /// Downloads a file (object) from the originals bucket.
     ///
     /// ### Parameters
     /// - `objectName` – the key or file name of the object to retrieve.
@@ -49,5 +75,21 @@ public interface StorageService {
     ///     Files.copy(in, Path.of("downloaded.png"));
     /// }
     /// ```
-    InputStream downloadFile(String objectName) throws Exception;
+    default InputStream downloadFile(String objectName) throws Exception {
+        return downloadFile(StorageBucket.ORIGINALS, objectName);
+    }
+
+    /// Downloads a file (object) from the given logical bucket.
+    InputStream downloadFile(StorageBucket bucket, String objectName) throws Exception;
+
+    /// Deletes a file (object) from the originals bucket. Deleting a missing object is not an error.
+    ///
+    /// ### Parameters
+    /// - `objectName` – the key or file name of the object to delete.
+    default void deleteFile(String objectName) throws Exception {
+        deleteFile(StorageBucket.ORIGINALS, objectName);
+    }
+
+    /// Deletes a file (object) from the given logical bucket. Deleting a missing object is not an error.
+    void deleteFile(StorageBucket bucket, String objectName) throws Exception;
 }
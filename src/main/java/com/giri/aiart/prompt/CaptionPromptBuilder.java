@@ -13,6 +13,11 @@ import java.util.Map;
 /// @author Giri Pottepalem
 public class CaptionPromptBuilder implements PromptBuilder {
 
+    @Override
+    public int version() {
+        return 1;
+    }
+
     @Override
     public SystemMessage buildSystemMessage(@NonNull Map<String, Object> parameters) {
         int maxWords = (int) parameters.getOrDefault("maxWords", 8);
@@ -16,6 +16,11 @@ import java.util.Map;
 public class DescriptionPromptBuilder implements PromptBuilder {
     public static final Map<String, Object> DEFAULT_PARAMS = Map.of();
 
+    @Override
+    public int version() {
+        return 1;
+    }
+
     @Override
     public SystemMessage buildSystemMessage(@NonNull Map<String, Object> parameters) {
         int maxWords = (int) parameters.getOrDefault("maxWords", 100);
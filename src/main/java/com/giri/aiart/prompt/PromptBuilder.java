@@ -16,6 +16,10 @@ public interface PromptBuilder {
     "style", "expert"
     );
 
+    /// Version of this builder's prompt text, part of the key of cached analyses: bump it whenever the system or user
+    /// message changes, so that analyses made with the previous prompt are no longer served.
+    int version();
+
     /// Given a map of parameters, it builds and returns system message
     SystemMessage buildSystemMessage(Map<String, Object> parameters);
 
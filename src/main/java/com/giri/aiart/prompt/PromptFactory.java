@@ -59,6 +59,13 @@ public class PromptFactory {
         );
     }
 
+    /// Returns the version of the prompt built for the given prompt type
+    /// @param promptType the prompt type
+    /// @return the prompt version, see {@link PromptBuilder#version()}
+    public int versionOf(PromptType promptType) {
+        return buildFor(promptType).version();
+    }
+
     /// Helper, returns the builder for the given prompt type
     /// @param promptType the prompt type
     /// @return the prompt builder
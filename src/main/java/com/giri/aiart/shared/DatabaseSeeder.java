@@ -84,7 +84,7 @@ public class DatabaseSeeder {
             // set entities references
             artists.forEach(artist -> {
                 artist.getArtworks().forEach(artwork -> {
-                    // Replace 5 element float[] from JSON with 1536 random float elements array, DB column vector(1536) requires exactly 1536
+                    // Replace 5 element float[] from JSON with 1536 random float elements array, stored as the "unknown" model
                     artwork.getEmbeddings().forEach(embedding ->
                         embedding.setEmbedding(EmbeddingUtils.generateRandomEmbedding(1536))
                     );
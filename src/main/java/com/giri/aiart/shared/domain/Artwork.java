@@ -18,7 +18,11 @@ import java.util.UUID;
 @Entity
 @Table(name = "artwork",
     indexes = {
-        @Index(name = "idx_artwork_artist_id", columnList = "artist_id")
+        @Index(name = "idx_artwork_artist_id", columnList = "artist_id"),
+        @Index(name = "idx_artwork_content_hash", columnList = "content_hash")
+    },
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uq_artwork_artist_content_hash", columnNames = {"artist_id", "content_hash"})
     }
 )
 
@@ -56,6 +60,11 @@ public class Artwork extends BaseAuditEntity{
     @ToString.Include
     private String thumbnailKey;
 
+    /// SHA-256 (hex) of the image bytes, identifies re-uploads of the same image
+    @Column(name = "content_hash", length = 64)
+    @ToString.Include
+    private String contentHash;
+
     @Column(name = "metadata")
     @JdbcTypeCode(SqlTypes.JSON)
     @ToString.Include
@@ -3,7 +3,7 @@ package com.giri.aiart.shared.domain;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
 import com.giri.aiart.shared.domain.type.EmbeddingType;
-import io.hypersistence.utils.hibernate.type.array.FloatArrayType;
+import com.giri.aiart.shared.persistence.pgvector.PgVectorType;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -16,7 +16,8 @@ import org.hibernate.type.SqlTypes;
 @Entity
 @Table(name = "artwork_embedding",
     indexes = {
-        @Index(name = "idx_artwork_embedding_artwork_id", columnList = "artwork_id")
+        @Index(name = "idx_artwork_embedding_artwork_id", columnList = "artwork_id"),
+        @Index(name = "idx_artwork_embedding_space", columnList = "model, dimensions")
     }
 )
 
@@ -26,6 +27,9 @@ import org.hibernate.type.SqlTypes;
 @AllArgsConstructor
 @ToString(onlyExplicitlyIncluded = true)
 public class ArtworkEmbedding extends BaseAuditEntity {
+    /// Model of vectors whose origin was not recorded: legacy rows, seed data and synthetic vectors
+    public static final String UNKNOWN_MODEL = "unknown";
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "artwork_id",  nullable = false)
     @ToString.Exclude // avoid recursion
@@ -46,18 +50,42 @@ public class ArtworkEmbedding extends BaseAuditEntity {
     @ToString.Include
     private EmbeddingStatusType status = EmbeddingStatusType.ACTIVE; // default
 
-    /// The embedding vector. Using PgVector extension, stored in a column "vector(N)".
-    /// Hibernate 6 requires a custom JdbcType for VECTOR, typically via hibernate-vector module.
-    @Column(name = "embedding", columnDefinition = "vector(1536)", nullable = false)
-//    @JdbcTypeCode(value = SqlTypes.VECTOR)
-    @Type(value = FloatArrayType.class)
+    /// The embedding vector. Using PgVector extension, stored in an unconstrained "vector" column at the native
+    /// length of its model: rows of different models live side by side, told apart by `model` and `dimensions`.
+    /// Transferred in pgvector's binary format by {@link PgVectorType}. Never serialized with the entity: APIs return it
+    /// on request only, encoded (see `ArtworkEmbeddingDTO`).
+    @Column(name = "embedding", columnDefinition = "vector", nullable = false)
+    @Type(PgVectorType.class)
+    @JsonIgnore
     @Builder.Default
     private float[] embedding = new float[0];
 
+    /// Name of the embedding model that computed the vector; together with `dimensions` its embedding space, only
+    /// vectors of the same space are comparable
+    @Column(name = "model", nullable = false)
+    @Builder.Default
+    @ToString.Include
+    private String model = UNKNOWN_MODEL;
+
+    /// Length of the vector, kept in sync with it on every write
+    @Column(name = "dimensions", nullable = false)
+    @ToString.Include
+    private int dimensions;
+
+    /// The text the vector was computed from (e.g. the AI-generated image description)
+    @Column(name = "source_text", length = Integer.MAX_VALUE)
+    private String sourceText;
+
+    @PrePersist
+    @PreUpdate
+    void syncDimensions() {
+        dimensions = embedding.length;
+    }
+
 /*
  TODO [Reverse Engineering] create field to map the 'embedding' column
  Available actions: Define target Java type | Uncomment as is | Remove column mapping
-    @Column(name = "embedding", columnDefinition = "vector(1536)")
+    @Column(name = "embedding", columnDefinition = "vector")
     private Object embedding;
 */
 }
\ No newline at end of file
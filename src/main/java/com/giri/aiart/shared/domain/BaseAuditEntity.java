@@ -30,7 +30,7 @@ public abstract class BaseAuditEntity extends BaseEntity {
     protected Instant createdAt;
 
     @LastModifiedDate
-    @Column(name = "last_modified_at", updatable = false, columnDefinition = "TIMESTAMP WITH TIMEZONE")
+    @Column(name = "last_modified_at", columnDefinition = "TIMESTAMP WITH TIMEZONE")
     @ToString.Include
     protected Instant lastModifiedAt;
 }
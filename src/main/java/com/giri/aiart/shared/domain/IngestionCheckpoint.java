@@ -0,0 +1,102 @@
+package com.giri.aiart.shared.domain;
+
+import com.giri.aiart.shared.domain.type.ArtType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/// Pipeline state of an artwork ingestion that has not been persisted yet, so that a retried or resumed ingestion
+/// of the same image by the same artist continues from the last completed stage instead of starting over.
+///
+/// The row is deleted in the transaction that persists the artwork.
+///
+/// @author Giri Pottepalem
+@Entity
+@Table(name = "ingestion_checkpoint",
+    indexes = {
+        @Index(name = "idx_ingestion_checkpoint_status", columnList = "status, stage_reached_at")
+    },
+    uniqueConstraints = {
+        @UniqueConstraint(
+            name = "uq_ingestion_checkpoint_artist_content_hash", columnNames = {"artist_id", "content_hash"}
+        )
+    }
+)
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(onlyExplicitlyIncluded = true)
+public class IngestionCheckpoint extends BaseAuditEntity {
+    /// Whether an ingestion is running for the checkpoint, or the last one failed
+    public enum Status { IN_PROGRESS, FAILED }
+
+    @Column(name = "artist_id", nullable = false)
+    @ToString.Include
+    private UUID artistId;
+
+    /// SHA-256 (hex) of the image bytes
+    @Column(name = "content_hash", nullable = false, length = 64)
+    @ToString.Include
+    private String contentHash;
+
+    // the ingestion request, needed to resume it without the caller
+
+    @Column(name = "title", length = Integer.MAX_VALUE)
+    @ToString.Include
+    private String title;
+
+    @Column(name = "description", length = Integer.MAX_VALUE)
+    private String description;
+
+    @Column(name = "art_type", nullable = false, length = 32)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Builder.Default
+    private ArtType artType = ArtType.PAINTING;
+
+    // progress
+
+    @Column(name = "status", nullable = false, length = 32)
+    @Enumerated(EnumType.STRING)
+    @ToString.Include
+    @Builder.Default
+    private Status status = Status.IN_PROGRESS;
+
+    /// Last completed `IngestionStage`
+    @Column(name = "stage", length = 32)
+    @ToString.Include
+    private String stage;
+
+    /// When the last stage completed or the last attempt started, whichever is later
+    @Column(name = "stage_reached_at", nullable = false)
+    private Instant stageReachedAt;
+
+    /// Number of ingestion attempts so far, including the running one
+    @Column(name = "attempts", nullable = false)
+    @ToString.Include
+    private int attempts;
+
+    @Column(name = "last_error", length = Integer.MAX_VALUE)
+    private String lastError;
+
+    // results of the completed stages
+
+    @Column(name = "minio_key", length = Integer.MAX_VALUE)
+    private String minioKey;
+
+    @Column(name = "thumbnail_key", length = Integer.MAX_VALUE)
+    private String thumbnailKey;
+
+    /// AI-generated description of the image
+    @Column(name = "image_description", length = Integer.MAX_VALUE)
+    private String imageDescription;
+
+    /// Vision model that generated {@link #imageDescription}
+    @Column(name = "model", length = 255)
+    private String model;
+}
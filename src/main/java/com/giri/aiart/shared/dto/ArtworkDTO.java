@@ -7,7 +7,8 @@ import lombok.NonNull;
 import java.util.List;
 import java.util.UUID;
 
-/// DTO for {@link Artwork} entity — includes selected attributes and embedding summary
+/// DTO for {@link Artwork} entity — includes selected attributes and embedding summary. Vectors are left out unless
+/// asked for with a {@link VectorEncoding}.
 ///
 /// @author Giri Pottepalem
 public record ArtworkDTO(
@@ -19,7 +20,23 @@ public record ArtworkDTO(
     UUID artistId,
     List<ArtworkEmbeddingDTO> embeddings
 ) {
+    /// DTO of an artwork whose embeddings are loaded, without their vectors
     public static ArtworkDTO fromEntity(@NonNull Artwork artwork) {
+        return of(artwork, artwork.getEmbeddings() != null
+            ? artwork.getEmbeddings().stream().map(ArtworkEmbeddingDTO::fromEntity).toList()
+            : List.of());
+    }
+
+    /// DTO of an artwork whose embeddings are loaded, with their vectors in the given encoding
+    public static ArtworkDTO fromEntity(@NonNull Artwork artwork, @NonNull VectorEncoding encoding) {
+        return of(artwork, artwork.getEmbeddings() != null
+            ? artwork.getEmbeddings().stream().map(embedding -> ArtworkEmbeddingDTO.fromEntity(embedding, encoding))
+                .toList()
+            : List.of());
+    }
+
+    /// DTO of an artwork with the given embeddings, e.g. from projections; `artwork.getEmbeddings()` is not touched
+    public static ArtworkDTO of(@NonNull Artwork artwork, @NonNull List<ArtworkEmbeddingDTO> embeddings) {
         return new ArtworkDTO(
             artwork.getId(),
             artwork.getTitle(),
@@ -27,11 +44,7 @@ public record ArtworkDTO(
             artwork.getArtType(),
             artwork.getMinioKey(),
             artwork.getArtist() != null ? artwork.getArtist().getId() : null,
-            artwork.getEmbeddings() != null
-                ? artwork.getEmbeddings().stream()
-                    .map(ArtworkEmbeddingDTO::fromEntity)
-                    .toList()
-                : List.of()
+            embeddings
         );
     }
 }
@@ -1,23 +1,45 @@
 package com.giri.aiart.shared.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.giri.aiart.shared.domain.ArtworkEmbedding;
 import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
 import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.ArtworkEmbeddingSummary;
 import lombok.NonNull;
 
 import java.util.UUID;
 
-/// DTO for ArtworkEmbedding — omits full Artwork reference
+/// DTO for ArtworkEmbedding — omits full Artwork reference, and the vector unless it was asked for
+///
+/// @param model embedding model that computed the vector
+/// @param dimensions length of the vector
+/// @param vector the vector in a compact encoding, `null` (and left out of the JSON) unless requested
 ///
 /// @author Giri Pottepalem
-public record ArtworkEmbeddingDTO(UUID id, EmbeddingType type, EmbeddingStatusType status, float[] embedding) {
-    /// Create DTO from Domain object
+public record ArtworkEmbeddingDTO(
+    UUID id,
+    EmbeddingType type,
+    EmbeddingStatusType status,
+    String model,
+    int dimensions,
+    @JsonInclude(JsonInclude.Include.NON_NULL) EncodedVector vector
+) {
+    /// Create DTO from Domain object, without the vector
     public static ArtworkEmbeddingDTO fromEntity(@NonNull ArtworkEmbedding embedding) {
-        return new ArtworkEmbeddingDTO(
-            embedding.getId(),
-            embedding.getType(),
-            embedding.getStatus(),
-            embedding.getEmbedding()
-        );
+        return new ArtworkEmbeddingDTO(embedding.getId(), embedding.getType(), embedding.getStatus(),
+            embedding.getModel(), embedding.getDimensions(), null);
+    }
+
+    /// Create DTO from Domain object, with the vector in the given encoding
+    public static ArtworkEmbeddingDTO fromEntity(@NonNull ArtworkEmbedding embedding,
+                                                 @NonNull VectorEncoding encoding) {
+        return new ArtworkEmbeddingDTO(embedding.getId(), embedding.getType(), embedding.getStatus(),
+            embedding.getModel(), embedding.getDimensions(), EncodedVector.of(embedding.getEmbedding(), encoding));
+    }
+
+    /// Create DTO from a projection that never loaded the vector
+    public static ArtworkEmbeddingDTO fromSummary(@NonNull ArtworkEmbeddingSummary summary) {
+        return new ArtworkEmbeddingDTO(summary.id(), summary.type(), summary.status(), summary.model(),
+            summary.dimensions(), null);
     }
 }
@@ -0,0 +1,22 @@
+package com.giri.aiart.shared.dto;
+
+import lombok.NonNull;
+
+/// An embedding vector in a {@link VectorEncoding}, as returned on request instead of an array of JSON numbers
+///
+/// @param encoding how `data` encodes the elements
+/// @param dimensions number of elements
+/// @param data base64 of the encoded elements
+///
+/// @author Giri Pottepalem
+public record EncodedVector(@NonNull VectorEncoding encoding, int dimensions, @NonNull String data) {
+
+    public static EncodedVector of(@NonNull float[] vector, @NonNull VectorEncoding encoding) {
+        return new EncodedVector(encoding, vector.length, encoding.encode(vector));
+    }
+
+    /// @return the elements, widened to float32
+    public float[] toArray() {
+        return encoding.decode(data);
+    }
+}
@@ -0,0 +1,59 @@
+package com.giri.aiart.shared.dto;
+
+import com.giri.aiart.shared.util.VectorMath;
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+
+/// Compact JSON form of an embedding vector: base64 (RFC 4648, with padding) of its elements as little-endian IEEE 754
+/// values, e.g. `new Float32Array(Uint8Array.from(atob(data), c => c.charCodeAt(0)).buffer)` in a browser.
+///
+/// | encoding  | bytes per element | 1536 dimensions | vs. JSON numbers (~10 bytes each) |
+/// |-----------|-------------------|-----------------|-----------------------------------|
+/// | `FLOAT32` | 4                 | 8 KB base64     | exact                             |
+/// | `FLOAT16` | 2                 | 4 KB base64     | rounded to 11 significant bits    |
+///
+/// @author Giri Pottepalem
+public enum VectorEncoding {
+    FLOAT32(Float.BYTES),
+    FLOAT16(Short.BYTES);
+
+    private final int bytesPerElement;
+
+    VectorEncoding(int bytesPerElement) {
+        this.bytesPerElement = bytesPerElement;
+    }
+
+    /// @return the base64 of the vector's elements in this encoding
+    public String encode(@NonNull float[] vector) {
+        var buffer = ByteBuffer.allocate(vector.length * bytesPerElement).order(ByteOrder.LITTLE_ENDIAN);
+        if (this == FLOAT16) {
+            short[] half = new short[vector.length];
+            VectorMath.toHalf(vector, half);
+            buffer.asShortBuffer().put(half);
+        } else {
+            buffer.asFloatBuffer().put(vector);
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    /// @return the vector encoded in `data`, widened to float32
+    /// @throws IllegalArgumentException if `data` is not base64 of whole elements
+    public float[] decode(@NonNull String data) {
+        var buffer = ByteBuffer.wrap(Base64.getDecoder().decode(data)).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() % bytesPerElement != 0) {
+            throw new IllegalArgumentException(buffer.remaining() + " bytes are no " + name() + " vector");
+        }
+        float[] vector = new float[buffer.remaining() / bytesPerElement];
+        if (this == FLOAT16) {
+            short[] half = new short[vector.length];
+            buffer.asShortBuffer().get(half);
+            VectorMath.fromHalf(half, vector);
+        } else {
+            buffer.asFloatBuffer().get(vector);
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,16 @@
+package com.giri.aiart.shared.event;
+
+import java.util.UUID;
+
+/// Published when an artwork without embeddings has been committed, e.g. one ingested while
+/// `aiart.ingestion.embedding-mode` is `event`.
+///
+/// The event is recorded in the `event_publication` table in the same transaction as the artwork, so it is
+/// delivered even if the application stops before the listener has run: incomplete publications are republished on
+/// restart.
+///
+/// @param artworkId the committed artwork
+/// @param artistId its artist
+/// @param minioKey the stored original image
+/// @author Giri Pottepalem
+public record ArtworkIngested(UUID artworkId, UUID artistId, String minioKey) {}
@@ -0,0 +1,8 @@
+/// Exposes this sub-module package (shared::event) to other modules: domain events published between modules.
+/// Modules that need access this package needs to add the following to their package-info.java
+/// ```java
+/// @ApplicationModule(
+///     allowedDependencies = "shared::event" // Grants access to the named interface
+/// )```
+@org.springframework.modulith.NamedInterface("event")
+package com.giri.aiart.shared.event;
@@ -3,10 +3,27 @@ package com.giri.aiart.shared.persistence;
 import com.giri.aiart.shared.domain.Artwork;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /// JPA repository interface for {@link com.giri.aiart.shared.domain.Artwork}
 ///
 /// @author Giri Pottepalem
 public interface ArtWorkRepository extends JpaRepository<Artwork, UUID> {
+    /// Oldest artwork of any artist with the given image content
+    Optional<Artwork> findFirstByContentHashOrderByCreatedAtAsc(String contentHash);
+
+    /// The artwork of the given artist with the given image content, unique per artist
+    Optional<Artwork> findByArtist_IdAndContentHash(UUID artistId, String contentHash);
+
+    /// Artworks of the given artist with any of the given image contents
+    List<Artwork> findByArtist_IdAndContentHashIn(UUID artistId, Collection<String> contentHashes);
+
+    /// Whether any artwork references the given MinIO object
+    boolean existsByMinioKey(String minioKey);
+
+    /// Whether any artwork references the given thumbnail
+    boolean existsByThumbnailKey(String thumbnailKey);
 }
@@ -1,12 +1,32 @@
 package com.giri.aiart.shared.persistence;
 
 import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /// JPA repository interface for {@link ArtworkEmbedding}
 ///
 /// @author Giri Pottepalem
 public interface ArtworkEmbeddingRepository extends JpaRepository<ArtworkEmbedding, UUID> {
+    /// Embeddings of the given artwork
+    List<ArtworkEmbedding> findByArtwork_Id(UUID artworkId);
+
+    /// Embeddings of the given artworks without their vectors, oldest first
+    @Query("""
+        SELECT new com.giri.aiart.shared.persistence.ArtworkEmbeddingSummary(
+            e.id, e.artwork.id, e.type, e.status, e.model, e.dimensions)
+        FROM ArtworkEmbedding e
+        WHERE e.artwork.id IN :artworkIds
+        ORDER BY e.createdAt, e.id
+        """)
+    List<ArtworkEmbeddingSummary> findSummariesByArtworkIds(@Param("artworkIds") Collection<UUID> artworkIds);
+
+    /// Whether the given artwork already has an embedding of the given type
+    boolean existsByArtwork_IdAndType(UUID artworkId, EmbeddingType type);
 }
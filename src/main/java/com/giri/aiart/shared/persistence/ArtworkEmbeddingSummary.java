@@ -0,0 +1,19 @@
+package com.giri.aiart.shared.persistence;
+
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+
+import java.util.UUID;
+
+/// Projection of an {@link ArtworkEmbedding} without its vector, for listings that do not need it
+///
+/// @author Giri Pottepalem
+public record ArtworkEmbeddingSummary(
+    UUID id,
+    UUID artworkId,
+    EmbeddingType type,
+    EmbeddingStatusType status,
+    String model,
+    int dimensions
+) {}
@@ -0,0 +1,110 @@
+package com.giri.aiart.shared.persistence;
+
+import com.giri.aiart.shared.domain.IngestionCheckpoint;
+import com.giri.aiart.shared.domain.IngestionCheckpoint.Status;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/// JPA repository interface for {@link IngestionCheckpoint}
+///
+/// Stage results are recorded with targeted updates rather than entity saves: concurrent stages of one ingestion
+/// (upload ∥ describe) write to the same row and must not fail each other's optimistic lock.
+///
+/// @author Giri Pottepalem
+public interface IngestionCheckpointRepository extends JpaRepository<IngestionCheckpoint, UUID> {
+    Optional<IngestionCheckpoint> findByArtistIdAndContentHash(UUID artistId, String contentHash);
+
+    void deleteByArtistIdAndContentHash(UUID artistId, String contentHash);
+
+    /// Starts another attempt of an existing checkpoint
+    @Transactional
+    @Modifying
+    @Query("""
+        update IngestionCheckpoint c
+        set c.status = :inProgress, c.attempts = c.attempts + 1, c.stageReachedAt = :now
+        where c.id = :id
+        """)
+    int startAttempt(@Param("id") UUID id, @Param("inProgress") Status inProgress, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        update IngestionCheckpoint c
+        set c.minioKey = :minioKey, c.stage = :stage, c.stageReachedAt = :now
+        where c.id = :id
+        """)
+    int recordUpload(@Param("id") UUID id, @Param("minioKey") String minioKey,
+                     @Param("stage") String stage, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update IngestionCheckpoint c set c.thumbnailKey = :thumbnailKey where c.id = :id")
+    int recordThumbnail(@Param("id") UUID id, @Param("thumbnailKey") String thumbnailKey);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        update IngestionCheckpoint c
+        set c.imageDescription = :imageDescription, c.model = :model, c.stage = :stage, c.stageReachedAt = :now
+        where c.id = :id
+        """)
+    int recordDescription(@Param("id") UUID id, @Param("imageDescription") String imageDescription,
+                          @Param("model") String model, @Param("stage") String stage, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        update IngestionCheckpoint c
+        set c.status = :status, c.lastError = :lastError, c.stageReachedAt = :now
+        where c.id = :id
+        """)
+    int recordFailure(@Param("id") UUID id, @Param("status") Status status,
+                      @Param("lastError") String lastError, @Param("now") Instant now);
+
+    /// Checkpoints to resume: running ones whose last progress is older than `staleBefore` (the JVM running them
+    /// is presumably gone) and failed ones older than `failedBefore`, oldest first
+    @Query("""
+        select c from IngestionCheckpoint c
+        where c.attempts < :maxAttempts
+          and ((c.status = :inProgress and c.stageReachedAt < :staleBefore)
+            or (c.status = :failed and c.stageReachedAt < :failedBefore))
+        order by c.stageReachedAt
+        """)
+    List<IngestionCheckpoint> findResumable(@Param("inProgress") Status inProgress,
+                                            @Param("staleBefore") Instant staleBefore,
+                                            @Param("failed") Status failed,
+                                            @Param("failedBefore") Instant failedBefore,
+                                            @Param("maxAttempts") int maxAttempts,
+                                            Pageable pageable);
+
+    /// Checkpoints out of attempts, no longer progressing since `before`
+    @Query("""
+        select c from IngestionCheckpoint c
+        where c.attempts >= :maxAttempts and c.stageReachedAt < :before
+        order by c.stageReachedAt
+        """)
+    List<IngestionCheckpoint> findExhausted(@Param("maxAttempts") int maxAttempts, @Param("before") Instant before,
+                                            Pageable pageable);
+
+    /// Claims a checkpoint for a resume, unless another sweeper claimed it since it was read
+    ///
+    /// @return `1` if claimed
+    @Transactional
+    @Modifying
+    @Query("""
+        update IngestionCheckpoint c
+        set c.status = :inProgress, c.stageReachedAt = :now
+        where c.id = :id and c.stageReachedAt = :seen
+        """)
+    int claim(@Param("id") UUID id, @Param("inProgress") Status inProgress,
+              @Param("seen") Instant seen, @Param("now") Instant now);
+}
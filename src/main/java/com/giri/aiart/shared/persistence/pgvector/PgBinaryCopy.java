@@ -0,0 +1,174 @@
+package com.giri.aiart.shared.persistence.pgvector;
+
+import lombok.NonNull;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/// Bulk insert through `COPY table (columns) FROM STDIN (FORMAT binary)`: rows are streamed to the server in
+/// PostgreSQL's binary copy format, without statements, parameters or per-row round trips.
+///
+/// ```java
+/// try (var copy = new PgBinaryCopy(connection, "artist", "id", "version", "first_name")) {
+///     copy.row().uuid(id).int64(0).text("Bapu");
+///     copy.finish();
+/// }
+/// ```
+///
+/// Every row must set exactly the given columns, in order. Enum columns take their label as {@link #text}, `vector`
+/// columns a {@link #vector}. Closing the copy without {@link #finish()} cancels it, nothing is inserted.
+///
+/// @author Giri Pottepalem
+public final class PgBinaryCopy implements AutoCloseable {
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final Instant POSTGRES_EPOCH = Instant.parse("2000-01-01T00:00:00Z");
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final PGCopyOutputStream copy;
+    private final DataOutputStream out;
+    private final int columns;
+    private byte[] scratch = new byte[0];
+    private int column;
+    private long rows;
+    private boolean finished;
+
+    /// Starts the copy; the connection is busy with it until {@link #finish()} or {@link #close()}
+    ///
+    /// @throws SQLException if the connection is not a PostgreSQL one or the statement is rejected
+    public PgBinaryCopy(@NonNull Connection connection, @NonNull String table, @NonNull String... columns)
+        throws SQLException {
+        this.columns = columns.length;
+        this.copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+            "COPY %s (%s) FROM STDIN (FORMAT binary)".formatted(table, String.join(", ", columns)), BUFFER_SIZE);
+        this.out = new DataOutputStream(copy);
+        this.column = this.columns;
+        try {
+            out.write(SIGNATURE);
+            out.writeInt(0); // flags
+            out.writeInt(0); // header extension length
+        } catch (IOException e) {
+            throw new SQLException("Could not start " + table + " copy", e);
+        }
+    }
+
+    /// Starts the next row
+    ///
+    /// @throws IllegalStateException if the previous row is incomplete
+    public PgBinaryCopy row() throws IOException {
+        checkRowComplete();
+        out.writeShort(columns);
+        column = 0;
+        rows++;
+        return this;
+    }
+
+    public PgBinaryCopy uuid(UUID value) throws IOException {
+        if (value == null) {
+            return nul();
+        }
+        field(16);
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+        return this;
+    }
+
+    /// A `bigint`
+    public PgBinaryCopy int64(long value) throws IOException {
+        field(Long.BYTES);
+        out.writeLong(value);
+        return this;
+    }
+
+    /// An `integer`
+    public PgBinaryCopy int32(int value) throws IOException {
+        field(Integer.BYTES);
+        out.writeInt(value);
+        return this;
+    }
+
+    /// A `text` or `varchar`, or the label of an enum
+    public PgBinaryCopy text(String value) throws IOException {
+        if (value == null) {
+            return nul();
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        field(bytes.length);
+        out.write(bytes);
+        return this;
+    }
+
+    /// A `timestamptz`, to the microsecond
+    public PgBinaryCopy timestamp(Instant value) throws IOException {
+        if (value == null) {
+            return nul();
+        }
+        field(Long.BYTES);
+        out.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, value));
+        return this;
+    }
+
+    /// A pgvector `vector`, in its binary wire format ({@link PgVector})
+    public PgBinaryCopy vector(float[] value) throws IOException {
+        if (value == null) {
+            return nul();
+        }
+        var vector = new PgVector(value);
+        int length = vector.lengthInBytes();
+        if (scratch.length < length) {
+            scratch = new byte[length];
+        }
+        vector.toBytes(scratch, 0);
+        field(length);
+        out.write(scratch, 0, length);
+        return this;
+    }
+
+    /// SQL `NULL`
+    public PgBinaryCopy nul() throws IOException {
+        field(-1);
+        return this;
+    }
+
+    /// Ends the copy: the rows become visible with the connection's transaction
+    ///
+    /// @return the number of rows copied
+    public long finish() throws IOException, SQLException {
+        checkRowComplete();
+        out.writeShort(-1);
+        out.flush();
+        finished = true;
+        copy.endCopy();
+        return rows;
+    }
+
+    /// Cancels the copy unless it was finished
+    @Override
+    public void close() throws SQLException {
+        if (!finished && copy.isActive()) {
+            finished = true;
+            copy.cancelCopy();
+        }
+    }
+
+    private void field(int length) throws IOException {
+        if (column == columns) {
+            throw new IllegalStateException("Row " + rows + " has only " + columns + " columns");
+        }
+        column++;
+        out.writeInt(length);
+    }
+
+    private void checkRowComplete() {
+        if (column != columns) {
+            throw new IllegalStateException("Row " + rows + " has " + column + " of " + columns + " columns");
+        }
+    }
+}
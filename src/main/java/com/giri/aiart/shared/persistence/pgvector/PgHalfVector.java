@@ -0,0 +1,140 @@
+package com.giri.aiart.shared.persistence.pgvector;
+
+import com.giri.aiart.shared.util.EmbeddingUtils;
+import com.giri.aiart.shared.util.VectorMath;
+import lombok.NonNull;
+import org.postgresql.PGConnection;
+import org.postgresql.util.PGBinaryObject;
+import org.postgresql.util.PGobject;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/// A pgvector `halfvec` as a JDBC parameter or result, in pgvector's binary wire format:
+/// `int16 dimensions`, `int16 unused`, then `dimensions × float16`, all big-endian.
+///
+/// Half the bytes of a {@link PgVector}; values are rounded to float16 when bound, so bind it only where the column
+/// or expression is a `halfvec` anyway. Registration and the text fallback work as for {@link PgVector}; read in
+/// binary with `halfvec_send(...)` and {@link #decode}.
+///
+/// @author Giri Pottepalem
+public final class PgHalfVector extends PGobject implements PGBinaryObject {
+    public static final String TYPE = "halfvec";
+    private static final int HEADER_BYTES = 2 * Short.BYTES;
+
+    private float[] vector;
+
+    /// For the driver, which instantiates registered types reflectively
+    public PgHalfVector() {
+        setType(TYPE);
+    }
+
+    public PgHalfVector(@NonNull float[] vector) {
+        this();
+        this.vector = vector;
+    }
+
+    /// Registers the type on the connection, so that the driver transfers it in binary
+    ///
+    /// @param connection a PostgreSQL connection, possibly wrapped by the pool
+    /// @throws SQLException if the connection is not a PostgreSQL one
+    public static void register(@NonNull Connection connection) throws SQLException {
+        connection.unwrap(PGConnection.class).addDataType(TYPE, PgHalfVector.class);
+    }
+
+    /// @return the vector widened to float32, `null` for SQL `NULL`
+    public float[] toArray() {
+        return vector;
+    }
+
+    /// @param bytes a halfvec in binary wire format, e.g. selected with `halfvec_send(...)`
+    /// @return its elements, `null` for SQL `NULL`
+    public static float[] decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        var vector = new PgHalfVector();
+        vector.setByteValue(bytes, 0);
+        return vector.vector;
+    }
+
+    /// Elements of a `halfvec` column as returned by `ResultSet.getObject`, see {@link PgVector#read}
+    ///
+    /// @return the vector, `null` for SQL `NULL`
+    /// @throws IllegalArgumentException if the value is not a pgvector `halfvec`
+    public static float[] read(Object value) {
+        return switch (value) {
+            case null -> null;
+            case PgHalfVector vector -> vector.vector;
+            case PGobject object when TYPE.equals(object.getType()) -> {
+                var vector = new PgHalfVector();
+                vector.setValue(object.getValue());
+                yield vector.vector;
+            }
+            default -> throw new IllegalArgumentException("Not a pgvector halfvec: " + value.getClass().getName());
+        };
+    }
+
+    @Override
+    public void setByteValue(byte[] bytes, int offset) {
+        var buffer = ByteBuffer.wrap(bytes, offset, bytes.length - offset);
+        int dimensions = buffer.getShort();
+        buffer.getShort(); // unused
+        short[] half = new short[dimensions];
+        buffer.asShortBuffer().get(half);
+        vector = new float[dimensions];
+        VectorMath.fromHalf(half, vector);
+    }
+
+    @Override
+    public int lengthInBytes() {
+        return vector == null ? 0 : HEADER_BYTES + vector.length * Short.BYTES;
+    }
+
+    @Override
+    public void toBytes(byte[] bytes, int offset) {
+        var buffer = ByteBuffer.wrap(bytes, offset, lengthInBytes());
+        buffer.putShort((short) vector.length);
+        buffer.putShort((short) 0);
+        short[] half = new short[vector.length];
+        VectorMath.toHalf(vector, half);
+        buffer.asShortBuffer().put(half);
+    }
+
+    @Override
+    public void setValue(String value) {
+        if (value == null) {
+            vector = null;
+            return;
+        }
+        String[] elements = value.substring(1, value.length() - 1).split(",");
+        vector = new float[value.length() > 2 ? elements.length : 0];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = Float.parseFloat(elements[i].trim());
+        }
+    }
+
+    @Override
+    public String getValue() {
+        return vector == null ? null : EmbeddingUtils.toVectorLiteral(vector);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PgHalfVector that && Arrays.equals(vector, that.vector);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(vector);
+    }
+
+    @Override
+    public PgHalfVector clone() throws CloneNotSupportedException {
+        var copy = (PgHalfVector) super.clone();
+        copy.vector = vector == null ? null : vector.clone();
+        return copy;
+    }
+}
@@ -0,0 +1,139 @@
+package com.giri.aiart.shared.persistence.pgvector;
+
+import com.giri.aiart.shared.util.EmbeddingUtils;
+import lombok.NonNull;
+import org.postgresql.PGConnection;
+import org.postgresql.util.PGBinaryObject;
+import org.postgresql.util.PGobject;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/// A pgvector `vector` as a JDBC parameter or result, in pgvector's binary wire format:
+/// `int16 dimensions`, `int16 unused`, then `dimensions × float4`, all big-endian.
+///
+/// Bound in binary, a 1024-dimension query vector travels as 4 KB instead of ~10 KB of decimal text, and the server
+/// skips parsing it. The driver only sends binary for types registered on the connection, see {@link #register}; on
+/// an unregistered connection the parameter falls back to the text form `[0.25,-1.0]`. Results arrive in binary once
+/// the driver has server-prepared the statement; select `vector_send(embedding)` and {@link #decode} the `bytea` to
+/// read them in binary from the first execution.
+///
+/// @author Giri Pottepalem
+public final class PgVector extends PGobject implements PGBinaryObject {
+    public static final String TYPE = "vector";
+    private static final int HEADER_BYTES = 2 * Short.BYTES;
+
+    private float[] vector;
+
+    /// For the driver, which instantiates registered types reflectively
+    public PgVector() {
+        setType(TYPE);
+    }
+
+    public PgVector(@NonNull float[] vector) {
+        this();
+        this.vector = vector;
+    }
+
+    /// Registers the type on the connection, so that the driver transfers it in binary. Cheap to repeat: the type's
+    /// oid is cached per connection.
+    ///
+    /// @param connection a PostgreSQL connection, possibly wrapped by the pool
+    /// @throws SQLException if the connection is not a PostgreSQL one
+    public static void register(@NonNull Connection connection) throws SQLException {
+        connection.unwrap(PGConnection.class).addDataType(TYPE, PgVector.class);
+    }
+
+    /// @return the vector, `null` for SQL `NULL`
+    public float[] toArray() {
+        return vector;
+    }
+
+    /// @param bytes a vector in binary wire format, e.g. selected with `vector_send(embedding)`
+    /// @return its elements, `null` for SQL `NULL`
+    public static float[] decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        var vector = new PgVector();
+        vector.setByteValue(bytes, 0);
+        return vector.vector;
+    }
+
+    /// Elements of a `vector` column as returned by `ResultSet.getObject`: a `PgVector` on connections it is
+    /// registered on, a plain `PGobject` holding the text form on others
+    ///
+    /// @return the vector, `null` for SQL `NULL`
+    /// @throws IllegalArgumentException if the value is not a pgvector `vector`
+    public static float[] read(Object value) {
+        return switch (value) {
+            case null -> null;
+            case PgVector vector -> vector.vector;
+            case PGobject object when TYPE.equals(object.getType()) -> {
+                var vector = new PgVector();
+                vector.setValue(object.getValue());
+                yield vector.vector;
+            }
+            default -> throw new IllegalArgumentException("Not a pgvector vector: " + value.getClass().getName());
+        };
+    }
+
+    @Override
+    public void setByteValue(byte[] bytes, int offset) {
+        var buffer = ByteBuffer.wrap(bytes, offset, bytes.length - offset);
+        int dimensions = buffer.getShort();
+        buffer.getShort(); // unused
+        vector = new float[dimensions];
+        buffer.asFloatBuffer().get(vector);
+    }
+
+    @Override
+    public int lengthInBytes() {
+        return vector == null ? 0 : HEADER_BYTES + vector.length * Float.BYTES;
+    }
+
+    @Override
+    public void toBytes(byte[] bytes, int offset) {
+        var buffer = ByteBuffer.wrap(bytes, offset, lengthInBytes());
+        buffer.putShort((short) vector.length);
+        buffer.putShort((short) 0);
+        buffer.asFloatBuffer().put(vector);
+    }
+
+    @Override
+    public void setValue(String value) {
+        if (value == null) {
+            vector = null;
+            return;
+        }
+        String[] elements = value.substring(1, value.length() - 1).split(",");
+        vector = new float[value.length() > 2 ? elements.length : 0];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = Float.parseFloat(elements[i].trim());
+        }
+    }
+
+    @Override
+    public String getValue() {
+        return vector == null ? null : EmbeddingUtils.toVectorLiteral(vector);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PgVector that && Arrays.equals(vector, that.vector);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(vector);
+    }
+
+    @Override
+    public PgVector clone() throws CloneNotSupportedException {
+        var copy = (PgVector) super.clone();
+        copy.vector = vector == null ? null : vector.clone();
+        return copy;
+    }
+}
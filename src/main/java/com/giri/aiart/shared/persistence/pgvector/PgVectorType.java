@@ -0,0 +1,114 @@
+package com.giri.aiart.shared.persistence.pgvector;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.ParameterizedType;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Properties;
+
+/// Hibernate mapping of a `float[]` attribute to a pgvector `vector` column, or a `halfvec` one with
+/// `@Parameter(name = "type", value = "halfvec")`, transferred in pgvector's binary wire format.
+///
+/// ```java
+/// @Column(name = "embedding", columnDefinition = "vector")
+/// @Type(PgVectorType.class)
+/// private float[] embedding;
+/// ```
+///
+/// Registers {@link PgVector} / {@link PgHalfVector} on every connection it touches: parameters are sent in binary
+/// right away, results once the driver has server-prepared the statement (from its 5th execution on a connection,
+/// `prepareThreshold`); before that they arrive as text and are parsed.
+///
+/// @author Giri Pottepalem
+public class PgVectorType implements UserType<float[]>, ParameterizedType {
+    /// Name of the parameter selecting the column type, `vector` (default) or `halfvec`
+    public static final String TYPE = "type";
+
+    private boolean half;
+
+    @Override
+    public void setParameterValues(Properties parameters) {
+        String type = parameters == null ? PgVector.TYPE : parameters.getProperty(TYPE, PgVector.TYPE);
+        half = switch (type) {
+            case PgVector.TYPE -> false;
+            case PgHalfVector.TYPE -> true;
+            default -> throw new IllegalArgumentException("Unsupported pgvector type: " + type);
+        };
+    }
+
+    @Override
+    public int getSqlType() {
+        return Types.OTHER;
+    }
+
+    @Override
+    public Class<float[]> returnedClass() {
+        return float[].class;
+    }
+
+    @Override
+    public float[] nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+        throws SQLException {
+        if (rs.getStatement() != null) {
+            register(rs.getStatement().getConnection());
+        }
+        Object value = rs.getObject(position);
+        return half ? PgHalfVector.read(value) : PgVector.read(value);
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, float[] value, int index, SharedSessionContractImplementor session)
+        throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.OTHER);
+            return;
+        }
+        register(st.getConnection());
+        st.setObject(index, half ? new PgHalfVector(value) : new PgVector(value));
+    }
+
+    @Override
+    public boolean equals(float[] x, float[] y) {
+        return Arrays.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(float[] x) {
+        return Arrays.hashCode(x);
+    }
+
+    @Override
+    public float[] deepCopy(float[] value) {
+        return value == null ? null : value.clone();
+    }
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public Serializable disassemble(float[] value) {
+        return deepCopy(value);
+    }
+
+    @Override
+    public float[] assemble(Serializable cached, Object owner) {
+        return deepCopy((float[]) cached);
+    }
+
+    private void register(Connection connection) throws SQLException {
+        if (half) {
+            PgHalfVector.register(connection);
+        } else {
+            PgVector.register(connection);
+        }
+    }
+}
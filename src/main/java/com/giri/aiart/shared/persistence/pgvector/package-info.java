@@ -0,0 +1,3 @@
+/// Binary JDBC codec of the pgvector `vector` type, and binary `COPY` of rows holding it
+@org.springframework.modulith.NamedInterface("pgvector")
+package com.giri.aiart.shared.persistence.pgvector;
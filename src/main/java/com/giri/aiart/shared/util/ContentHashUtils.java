@@ -0,0 +1,51 @@
+package com.giri.aiart.shared.util;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/// Utility methods for content fingerprints, used to recognize re-uploads of identical media
+///
+/// @author Giri Pottepalem
+@UtilityClass
+public class ContentHashUtils {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /// Computes the SHA-256 of the given stream, reading it in fixed-size chunks so the content is never held on
+    /// the heap as a whole. The stream is read to its end but not closed.
+    ///
+    /// @param inputStream the content
+    /// @return the lowercase hex digest, 64 characters
+    /// @throws IOException if reading the stream fails
+    public String sha256Hex(@NonNull InputStream inputStream) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /// Computes the SHA-256 of the UTF-8 bytes of a text, e.g. to key cached embeddings of it.
+    ///
+    /// @param text the content
+    /// @return the lowercase hex digest, 64 characters
+    public String sha256Hex(@NonNull String text) {
+        return HexFormat.of().formatHex(sha256().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every Java platform", e);
+        }
+    }
+}
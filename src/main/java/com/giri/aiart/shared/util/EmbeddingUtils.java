@@ -2,24 +2,52 @@ package com.giri.aiart.shared.util;
 
 import lombok.experimental.UtilityClass;
 
-import java.util.Random;
-import java.util.stream.IntStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /// Utility methods for Embeddings
 ///
 /// @author Giri Pottepalem
 @UtilityClass
 public class EmbeddingUtils {
-    private final Random random = new Random();
 
-    /// Generates a 1536-dimensional float array with random values between -1.0 and 1.0,
-    /// each rounded to six decimal places.
+    /// Generates a placeholder vector with uniformly random values in `[-1, 1)`, from the calling thread's
+    /// `ThreadLocalRandom` so that concurrent callers do not contend.
     ///
-    /// @return A float array of size 1536 with random values.
+    /// @param dimensions the length of the vector
+    /// @return the vector
     public float[] generateRandomEmbedding(int dimensions) {
+        return generateRandomEmbedding(dimensions, ThreadLocalRandom.current());
+    }
+
+    /// Generates a vector with uniformly random values in `[-1, 1)` drawn from the given generator, e.g. a seeded
+    /// `SplittableRandom` for reproducible vectors. For vectors with realistic neighbors see the synthetic corpus
+    /// generator (`aiart.corpus.*`).
+    ///
+    /// @param dimensions the length of the vector
+    /// @param random the source of the values
+    /// @return the vector
+    public float[] generateRandomEmbedding(int dimensions, RandomGenerator random) {
         float[] embedding = new float[dimensions];
-        IntStream.range(0, embedding.length)
-            .forEach(i -> embedding[i] = Math.round((random.nextFloat() * 2 - 1) * 1_000_000.0) / 1_000_000.0f);
+        for (int i = 0; i < dimensions; i++) {
+            embedding[i] = random.nextFloat(-1, 1);
+        }
         return embedding;
     }
+
+    /// Formats a vector as a pgvector text literal, e.g. `[0.25,-1.0]`, to be bound with `CAST(? AS vector)` where
+    /// JDBC has no vector type.
+    ///
+    /// @param embedding the vector
+    /// @return the literal
+    public String toVectorLiteral(float[] embedding) {
+        var literal = new StringBuilder(embedding.length * 10 + 2).append('[');
+        for (int i = 0; i < embedding.length; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append(embedding[i]);
+        }
+        return literal.append(']').toString();
+    }
 }
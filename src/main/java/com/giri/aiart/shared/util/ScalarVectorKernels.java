@@ -0,0 +1,114 @@
+package com.giri.aiart.shared.util;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/// Plain-loop {@link VectorKernels}: used when the `jdk.incubator.vector` module is not resolved (the JVM was
+/// started without `--add-modules jdk.incubator.vector`, native images) and as the reference the SIMD kernels are
+/// tested and benchmarked against.
+///
+/// @author Giri Pottepalem
+final class ScalarVectorKernels implements VectorKernels {
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED;
+
+    @Override
+    public String description() {
+        return "scalar";
+    }
+
+    @Override
+    public float dot(float[] a, float[] b) {
+        float dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+
+    @Override
+    public float dot(float[] a, MemorySegment b, long offset) {
+        float dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b.get(FLOAT, offset + (long) i * Float.BYTES);
+        }
+        return dot;
+    }
+
+    @Override
+    public float cosine(float[] a, float[] b) {
+        float dot = 0;
+        float normA = 0;
+        float normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return VectorMath.cosineOf(dot, normA, normB);
+    }
+
+    @Override
+    public float cosine(float[] a, MemorySegment b, long offset) {
+        float dot = 0;
+        float normA = 0;
+        float normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            float value = b.get(FLOAT, offset + (long) i * Float.BYTES);
+            dot += a[i] * value;
+            normA += a[i] * a[i];
+            normB += value * value;
+        }
+        return VectorMath.cosineOf(dot, normA, normB);
+    }
+
+    @Override
+    public float squaredL2(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            float difference = a[i] - b[i];
+            sum += difference * difference;
+        }
+        return sum;
+    }
+
+    @Override
+    public float squaredL2(float[] a, MemorySegment b, long offset) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            float difference = a[i] - b.get(FLOAT, offset + (long) i * Float.BYTES);
+            sum += difference * difference;
+        }
+        return sum;
+    }
+
+    @Override
+    public void scale(float[] source, float factor, float[] target) {
+        for (int i = 0; i < source.length; i++) {
+            target[i] = source[i] * factor;
+        }
+    }
+
+    @Override
+    public float maxAbs(float[] a) {
+        float max = 0;
+        for (float value : a) {
+            max = Math.max(max, Math.abs(value));
+        }
+        return max;
+    }
+
+    @Override
+    public void dotAll(float[] query, float[][] vectors, float[] scores) {
+        for (int row = 0; row < vectors.length; row++) {
+            scores[row] = dot(query, vectors[row]);
+        }
+    }
+
+    @Override
+    public void dotAll(float[] query, MemorySegment vectors, long offset, int count, float[] scores) {
+        long stride = (long) query.length * Float.BYTES;
+        for (int row = 0; row < count; row++) {
+            scores[row] = dot(query, vectors, offset + row * stride);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.giri.aiart.shared.util;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/// {@link VectorKernels} on the Java Vector API (`jdk.incubator.vector`), in the widest species the CPU supports
+/// (`SPECIES_PREFERRED`: 8 floats with AVX2, 16 with AVX-512, 4 with NEON).
+///
+/// - Sums are accumulated lane-wise with fused multiply-add and reduced once at the end, so results may differ from
+///   the scalar kernels in the last bits
+/// - `dot` keeps four independent accumulators to hide the FMA latency
+/// - `dotAll` scores four vectors per pass over the query, each query lane being loaded once for all four
+/// - Lanes left over at the end of a vector are handled by a scalar tail
+///
+/// Only loaded when the module is resolved, see {@link VectorMath}.
+///
+/// @author Giri Pottepalem
+final class SimdVectorKernels implements VectorKernels {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final ByteOrder ORDER = ByteOrder.nativeOrder();
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED;
+
+    @Override
+    public String description() {
+        return "SIMD " + SPECIES.vectorBitSize() + "-bit (" + LANES + " lanes)";
+    }
+
+    /// @return whether the platform has vectors of at least four floats; below that the scalar loops are faster
+    static boolean supported() {
+        return LANES >= 4;
+    }
+
+    @Override
+    public float dot(float[] a, float[] b) {
+        var sum1 = FloatVector.zero(SPECIES);
+        var sum2 = FloatVector.zero(SPECIES);
+        var sum3 = FloatVector.zero(SPECIES);
+        var sum4 = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = a.length - 4 * LANES; i <= bound; i += 4 * LANES) {
+            sum1 = FloatVector.fromArray(SPECIES, a, i).fma(FloatVector.fromArray(SPECIES, b, i), sum1);
+            sum2 = FloatVector.fromArray(SPECIES, a, i + LANES)
+                .fma(FloatVector.fromArray(SPECIES, b, i + LANES), sum2);
+            sum3 = FloatVector.fromArray(SPECIES, a, i + 2 * LANES)
+                .fma(FloatVector.fromArray(SPECIES, b, i + 2 * LANES), sum3);
+            sum4 = FloatVector.fromArray(SPECIES, a, i + 3 * LANES)
+                .fma(FloatVector.fromArray(SPECIES, b, i + 3 * LANES), sum4);
+        }
+        for (int bound = SPECIES.loopBound(a.length); i < bound; i += LANES) {
+            sum1 = FloatVector.fromArray(SPECIES, a, i).fma(FloatVector.fromArray(SPECIES, b, i), sum1);
+        }
+        float dot = sum1.add(sum2).add(sum3.add(sum4)).reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+
+    @Override
+    public float dot(float[] a, MemorySegment b, long offset) {
+        var sum1 = FloatVector.zero(SPECIES);
+        var sum2 = FloatVector.zero(SPECIES);
+        var sum3 = FloatVector.zero(SPECIES);
+        var sum4 = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = a.length - 4 * LANES; i <= bound; i += 4 * LANES) {
+            sum1 = FloatVector.fromArray(SPECIES, a, i).fma(load(b, offset, i), sum1);
+            sum2 = FloatVector.fromArray(SPECIES, a, i + LANES).fma(load(b, offset, i + LANES), sum2);
+            sum3 = FloatVector.fromArray(SPECIES, a, i + 2 * LANES).fma(load(b, offset, i + 2 * LANES), sum3);
+            sum4 = FloatVector.fromArray(SPECIES, a, i + 3 * LANES).fma(load(b, offset, i + 3 * LANES), sum4);
+        }
+        for (int bound = SPECIES.loopBound(a.length); i < bound; i += LANES) {
+            sum1 = FloatVector.fromArray(SPECIES, a, i).fma(load(b, offset, i), sum1);
+        }
+        float dot = sum1.add(sum2).add(sum3.add(sum4)).reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            dot += a[i] * b.get(FLOAT, offset + (long) i * Float.BYTES);
+        }
+        return dot;
+    }
+
+    @Override
+    public float cosine(float[] a, float[] b) {
+        var dot = FloatVector.zero(SPECIES);
+        var normA = FloatVector.zero(SPECIES);
+        var normB = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(a.length); i < bound; i += LANES) {
+            var va = FloatVector.fromArray(SPECIES, a, i);
+            var vb = FloatVector.fromArray(SPECIES, b, i);
+            dot = va.fma(vb, dot);
+            normA = va.fma(va, normA);
+            normB = vb.fma(vb, normB);
+        }
+        float sumDot = dot.reduceLanes(VectorOperators.ADD);
+        float sumA = normA.reduceLanes(VectorOperators.ADD);
+        float sumB = normB.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            sumDot += a[i] * b[i];
+            sumA += a[i] * a[i];
+            sumB += b[i] * b[i];
+        }
+        return VectorMath.cosineOf(sumDot, sumA, sumB);
+    }
+
+    @Override
+    public float cosine(float[] a, MemorySegment b, long offset) {
+        var dot = FloatVector.zero(SPECIES);
+        var normA = FloatVector.zero(SPECIES);
+        var normB = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(a.length); i < bound; i += LANES) {
+            var va = FloatVector.fromArray(SPECIES, a, i);
+            var vb = load(b, offset, i);
+            dot = va.fma(vb, dot);
+            normA = va.fma(va, normA);
+            normB = vb.fma(vb, normB);
+        }
+        float sumDot = dot.reduceLanes(VectorOperators.ADD);
+        float sumA = normA.reduceLanes(VectorOperators.ADD);
+        float sumB = normB.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            float value = b.get(FLOAT, offset + (long) i * Float.BYTES);
+            sumDot += a[i] * value;
+            sumA += a[i] * a[i];
+            sumB += value * value;
+        }
+        return VectorMath.cosineOf(sumDot, sumA, sumB);
+    }
+
+    @Override
+    public float squaredL2(float[] a, float[] b) {
+        var sum = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(a.length); i < bound; i += LANES) {
+            var difference = FloatVector.fromArray(SPECIES, a, i).sub(FloatVector.fromArray(SPECIES, b, i));
+            sum = difference.fma(difference, sum);
+        }
+        float squared = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            float difference = a[i] - b[i];
+            squared += difference * difference;
+        }
+        return squared;
+    }
+
+    @Override
+    public float squaredL2(float[] a, MemorySegment b, long offset) {
+        var sum = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(a.length); i < bound; i += LANES) {
+            var difference = FloatVector.fromArray(SPECIES, a, i).sub(load(b, offset, i));
+            sum = difference.fma(difference, sum);
+        }
+        float squared = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            float difference = a[i] - b.get(FLOAT, offset + (long) i * Float.BYTES);
+            squared += difference * difference;
+        }
+        return squared;
+    }
+
+    @Override
+    public void scale(float[] source, float factor, float[] target) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(source.length); i < bound; i += LANES) {
+            FloatVector.fromArray(SPECIES, source, i).mul(factor).intoArray(target, i);
+        }
+        for (; i < source.length; i++) {
+            target[i] = source[i] * factor;
+        }
+    }
+
+    @Override
+    public float maxAbs(float[] a) {
+        var max = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(a.length); i < bound; i += LANES) {
+            max = max.max(FloatVector.fromArray(SPECIES, a, i).abs());
+        }
+        float result = max.reduceLanes(VectorOperators.MAX);
+        for (; i < a.length; i++) {
+            result = Math.max(result, Math.abs(a[i]));
+        }
+        return result;
+    }
+
+    @Override
+    public void dotAll(float[] query, float[][] vectors, float[] scores) {
+        int row = 0;
+        int bound = SPECIES.loopBound(query.length);
+        for (; row + 4 <= vectors.length; row += 4) {
+            float[] v1 = vectors[row];
+            float[] v2 = vectors[row + 1];
+            float[] v3 = vectors[row + 2];
+            float[] v4 = vectors[row + 3];
+            var sum1 = FloatVector.zero(SPECIES);
+            var sum2 = FloatVector.zero(SPECIES);
+            var sum3 = FloatVector.zero(SPECIES);
+            var sum4 = FloatVector.zero(SPECIES);
+            int i = 0;
+            for (; i < bound; i += LANES) {
+                var q = FloatVector.fromArray(SPECIES, query, i);
+                sum1 = q.fma(FloatVector.fromArray(SPECIES, v1, i), sum1);
+                sum2 = q.fma(FloatVector.fromArray(SPECIES, v2, i), sum2);
+                sum3 = q.fma(FloatVector.fromArray(SPECIES, v3, i), sum3);
+                sum4 = q.fma(FloatVector.fromArray(SPECIES, v4, i), sum4);
+            }
+            float dot1 = sum1.reduceLanes(VectorOperators.ADD);
+            float dot2 = sum2.reduceLanes(VectorOperators.ADD);
+            float dot3 = sum3.reduceLanes(VectorOperators.ADD);
+            float dot4 = sum4.reduceLanes(VectorOperators.ADD);
+            for (; i < query.length; i++) {
+                dot1 += query[i] * v1[i];
+                dot2 += query[i] * v2[i];
+                dot3 += query[i] * v3[i];
+                dot4 += query[i] * v4[i];
+            }
+            scores[row] = dot1;
+            scores[row + 1] = dot2;
+            scores[row + 2] = dot3;
+            scores[row + 3] = dot4;
+        }
+        for (; row < vectors.length; row++) {
+            scores[row] = dot(query, vectors[row]);
+        }
+    }
+
+    @Override
+    public void dotAll(float[] query, MemorySegment vectors, long offset, int count, float[] scores) {
+        long stride = (long) query.length * Float.BYTES;
+        int row = 0;
+        int bound = SPECIES.loopBound(query.length);
+        for (; row + 4 <= count; row += 4) {
+            long at1 = offset + row * stride;
+            long at2 = at1 + stride;
+            long at3 = at2 + stride;
+            long at4 = at3 + stride;
+            var sum1 = FloatVector.zero(SPECIES);
+            var sum2 = FloatVector.zero(SPECIES);
+            var sum3 = FloatVector.zero(SPECIES);
+            var sum4 = FloatVector.zero(SPECIES);
+            int i = 0;
+            for (; i < bound; i += LANES) {
+                var q = FloatVector.fromArray(SPECIES, query, i);
+                sum1 = q.fma(load(vectors, at1, i), sum1);
+                sum2 = q.fma(load(vectors, at2, i), sum2);
+                sum3 = q.fma(load(vectors, at3, i), sum3);
+                sum4 = q.fma(load(vectors, at4, i), sum4);
+            }
+            float dot1 = sum1.reduceLanes(VectorOperators.ADD);
+            float dot2 = sum2.reduceLanes(VectorOperators.ADD);
+            float dot3 = sum3.reduceLanes(VectorOperators.ADD);
+            float dot4 = sum4.reduceLanes(VectorOperators.ADD);
+            for (; i < query.length; i++) {
+                long at = (long) i * Float.BYTES;
+                dot1 += query[i] * vectors.get(FLOAT, at1 + at);
+                dot2 += query[i] * vectors.get(FLOAT, at2 + at);
+                dot3 += query[i] * vectors.get(FLOAT, at3 + at);
+                dot4 += query[i] * vectors.get(FLOAT, at4 + at);
+            }
+            scores[row] = dot1;
+            scores[row + 1] = dot2;
+            scores[row + 2] = dot3;
+            scores[row + 3] = dot4;
+        }
+        for (; row < count; row++) {
+            scores[row] = dot(query, vectors, offset + row * stride);
+        }
+    }
+
+    /// Lanes `index ..` of the float32 vector at byte `offset`
+    private static FloatVector load(MemorySegment segment, long offset, int index) {
+        return FloatVector.fromMemorySegment(SPECIES, segment, offset + (long) index * Float.BYTES, ORDER);
+    }
+}
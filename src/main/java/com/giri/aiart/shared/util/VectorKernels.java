@@ -0,0 +1,42 @@
+package com.giri.aiart.shared.util;
+
+import java.lang.foreign.MemorySegment;
+
+/// The loops behind {@link VectorMath}, implemented once with the Java Vector API ({@link SimdVectorKernels}) and
+/// once as plain loops ({@link ScalarVectorKernels}).
+///
+/// Segment arguments hold native-order float32 values starting at a byte offset; lengths are checked by
+/// {@link VectorMath}, not here.
+///
+/// @author Giri Pottepalem
+interface VectorKernels {
+
+    /// @return a human-readable name, e.g. `SIMD 256-bit (8 lanes)`
+    String description();
+
+    float dot(float[] a, float[] b);
+
+    float dot(float[] a, MemorySegment b, long offset);
+
+    /// @return the dot product of `a` and `b` divided by the product of their norms, `0` if either is zero
+    float cosine(float[] a, float[] b);
+
+    float cosine(float[] a, MemorySegment b, long offset);
+
+    /// @return the squared Euclidean distance of `a` and `b`
+    float squaredL2(float[] a, float[] b);
+
+    float squaredL2(float[] a, MemorySegment b, long offset);
+
+    /// Writes `source[i] * factor` to `target[i]`
+    void scale(float[] source, float factor, float[] target);
+
+    /// @return the largest absolute value of `a`
+    float maxAbs(float[] a);
+
+    /// Writes the dot product of `query` and `vectors[i]` to `scores[i]`
+    void dotAll(float[] query, float[][] vectors, float[] scores);
+
+    /// Writes the dot product of `query` and the `i`-th of `count` contiguous vectors at `offset` to `scores[i]`
+    void dotAll(float[] query, MemorySegment vectors, long offset, int count, float[] scores);
+}
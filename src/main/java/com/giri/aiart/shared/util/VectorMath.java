@@ -0,0 +1,210 @@
+package com.giri.aiart.shared.util;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+/// Vector math on embeddings: dot product, cosine, L2, normalization, float16 and int8 conversion, and scoring one
+/// query against many vectors.
+///
+/// Runs on SIMD kernels (Java Vector API) when the JVM was started with `--add-modules jdk.incubator.vector` and the
+/// CPU has vectors of at least four floats, on plain loops otherwise; the choice is logged once at first use and
+/// reported by {@link #implementation()}. Both give the same results up to float rounding.
+///
+/// Every operation accepts heap `float[]` vectors; the ones reading stored vectors also accept a `MemorySegment`
+/// holding native-order float32 values at a byte offset (off-heap slabs, memory-mapped files), read in place without
+/// copying.
+///
+/// @author Giri Pottepalem
+@Slf4j
+@UtilityClass
+public class VectorMath {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final ValueLayout.OfShort HALF = ValueLayout.JAVA_SHORT_UNALIGNED;
+
+    private final VectorKernels kernels = select();
+
+    /// @return the kernels in use, e.g. `SIMD 256-bit (8 lanes)` or `scalar`
+    public String implementation() {
+        return kernels.description();
+    }
+
+    /// @return the dot product of two vectors of the same length
+    public float dot(@NonNull float[] a, @NonNull float[] b) {
+        checkLength(a, b.length);
+        return kernels.dot(a, b);
+    }
+
+    /// @param b holds `a.length` floats at byte `offset`
+    /// @return the dot product of `a` and the vector in `b`
+    public float dot(@NonNull float[] a, @NonNull MemorySegment b, long offset) {
+        return kernels.dot(a, b, offset);
+    }
+
+    /// @return the cosine similarity of two vectors of the same length, in `[-1, 1]`; `0` if either is zero
+    public float cosine(@NonNull float[] a, @NonNull float[] b) {
+        checkLength(a, b.length);
+        return kernels.cosine(a, b);
+    }
+
+    /// @param b holds `a.length` floats at byte `offset`
+    /// @return the cosine similarity of `a` and the vector in `b`
+    public float cosine(@NonNull float[] a, @NonNull MemorySegment b, long offset) {
+        return kernels.cosine(a, b, offset);
+    }
+
+    /// @return the Euclidean distance of two vectors of the same length
+    public float l2(@NonNull float[] a, @NonNull float[] b) {
+        return (float) Math.sqrt(squaredL2(a, b));
+    }
+
+    /// @return the squared Euclidean distance of two vectors of the same length, for comparisons that need no root
+    public float squaredL2(@NonNull float[] a, @NonNull float[] b) {
+        checkLength(a, b.length);
+        return kernels.squaredL2(a, b);
+    }
+
+    /// @param b holds `a.length` floats at byte `offset`
+    /// @return the Euclidean distance of `a` and the vector in `b`
+    public float l2(@NonNull float[] a, @NonNull MemorySegment b, long offset) {
+        return (float) Math.sqrt(kernels.squaredL2(a, b, offset));
+    }
+
+    /// @return the Euclidean length of a vector
+    public float norm(@NonNull float[] vector) {
+        return (float) Math.sqrt(kernels.dot(vector, vector));
+    }
+
+    /// @return a new unit vector of the same direction, all zeros for a zero vector
+    public float[] normalize(@NonNull float[] vector) {
+        float[] unit = new float[vector.length];
+        float norm = norm(vector);
+        if (norm > 0) {
+            kernels.scale(vector, 1 / norm, unit);
+        }
+        return unit;
+    }
+
+    /// Scores a query against many vectors: `scores[i]` becomes the dot product of `query` and `vectors[i]`. On unit
+    /// vectors the score is the cosine similarity.
+    ///
+    /// @param vectors vectors of the query's length
+    /// @param scores receives one score per vector
+    public void dotAll(@NonNull float[] query, @NonNull float[][] vectors, @NonNull float[] scores) {
+        if (scores.length < vectors.length) {
+            throw new IllegalArgumentException("Room for " + scores.length + " scores, " + vectors.length + " needed");
+        }
+        for (float[] vector : vectors) {
+            checkLength(query, vector.length);
+        }
+        kernels.dotAll(query, vectors, scores);
+    }
+
+    /// Scores a query against `count` contiguous vectors of the query's length starting at byte `offset` of
+    /// `vectors`, e.g. a slab of an off-heap index
+    ///
+    /// @param scores receives one score per vector
+    public void dotAll(@NonNull float[] query, @NonNull MemorySegment vectors, long offset, int count,
+                       @NonNull float[] scores) {
+        if (scores.length < count) {
+            throw new IllegalArgumentException("Room for " + scores.length + " scores, " + count + " needed");
+        }
+        kernels.dotAll(query, vectors, offset, count, scores);
+    }
+
+    /// Converts to IEEE 754 half precision (float16), rounding to nearest even; values beyond ±65504 become infinite.
+    /// `Float.floatToFloat16` is a HotSpot intrinsic that C2 vectorizes in this loop where the CPU converts in
+    /// hardware (F16C, AVX-512, ARMv8.2), so it needs no Vector API kernel.
+    ///
+    /// @param target receives `source.length` float16 values
+    public void toHalf(@NonNull float[] source, @NonNull short[] target) {
+        checkLength(source, target.length);
+        for (int i = 0; i < source.length; i++) {
+            target[i] = Float.floatToFloat16(source[i]);
+        }
+    }
+
+    /// Writes `source` as native-order float16 values at byte `offset` of `target`
+    public void toHalf(@NonNull float[] source, @NonNull MemorySegment target, long offset) {
+        for (int i = 0; i < source.length; i++) {
+            target.set(HALF, offset + (long) i * Short.BYTES, Float.floatToFloat16(source[i]));
+        }
+    }
+
+    /// @param target receives `source.length` floats
+    public void fromHalf(@NonNull short[] source, @NonNull float[] target) {
+        checkLength(target, source.length);
+        for (int i = 0; i < source.length; i++) {
+            target[i] = Float.float16ToFloat(source[i]);
+        }
+    }
+
+    /// Reads `target.length` native-order float16 values at byte `offset` of `source`
+    public void fromHalf(@NonNull MemorySegment source, long offset, @NonNull float[] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = Float.float16ToFloat(source.get(HALF, offset + (long) i * Short.BYTES));
+        }
+    }
+
+    /// Quantizes symmetrically to int8: the largest absolute value maps to `±127`, so that
+    /// `vector[i] ≈ target[i] * scale`
+    ///
+    /// @param target receives `vector.length` values in `[-127, 127]`
+    /// @return the scale, `0` for a zero vector
+    public float quantizeInt8(@NonNull float[] vector, @NonNull byte[] target) {
+        checkLength(vector, target.length);
+        float max = kernels.maxAbs(vector);
+        if (max == 0) {
+            Arrays.fill(target, (byte) 0);
+            return 0;
+        }
+        float inverse = Byte.MAX_VALUE / max;
+        for (int i = 0; i < vector.length; i++) {
+            target[i] = (byte) Math.round(vector[i] * inverse);
+        }
+        return max / Byte.MAX_VALUE;
+    }
+
+    /// Reverses {@link #quantizeInt8(float[], byte[])}
+    ///
+    /// @param target receives `quantized.length` floats
+    public void dequantizeInt8(@NonNull byte[] quantized, float scale, @NonNull float[] target) {
+        checkLength(target, quantized.length);
+        for (int i = 0; i < quantized.length; i++) {
+            target[i] = quantized[i] * scale;
+        }
+    }
+
+    /// Cosine similarity from a dot product and the squared norms of both vectors
+    float cosineOf(float dot, float squaredNormA, float squaredNormB) {
+        double norms = Math.sqrt((double) squaredNormA * squaredNormB);
+        return norms > 0 ? (float) (dot / norms) : 0;
+    }
+
+    private void checkLength(float[] vector, int length) {
+        if (vector.length != length) {
+            throw new IllegalArgumentException("Vectors of " + vector.length + " and " + length + " dimensions");
+        }
+    }
+
+    /// SIMD kernels if the module is resolved and the CPU is wide enough, scalar otherwise. `SimdVectorKernels` is
+    /// only loaded in the first case, so the class never links against a missing module.
+    private VectorKernels select() {
+        VectorKernels selected = new ScalarVectorKernels();
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                if (SimdVectorKernels.supported()) {
+                    selected = new SimdVectorKernels();
+                }
+            } catch (LinkageError e) {
+                log.warn("{} Vector API unavailable, using scalar vector math: {}", LogIcons.WARNING, e.toString());
+            }
+        }
+        log.info("{} Vector math kernels: {}", LogIcons.STARTUP, selected.description());
+        return selected;
+    }
+}
@@ -0,0 +1,15 @@
+-- Content-hash deduplication of re-uploaded images
+-- Author: Giri Pottepalem
+-- Created: 2026-10-18
+
+-- 1. SHA-256 (hex) of the uploaded image bytes, NULL for artworks ingested before deduplication
+ALTER TABLE artwork ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+-- 2. An artist owns an image at most once; other artists may share it
+ALTER TABLE artwork ADD CONSTRAINT uq_artwork_artist_content_hash UNIQUE (artist_id, content_hash);
+
+-- 3. Cross-artist lookup of reusable content
+CREATE INDEX IF NOT EXISTS idx_artwork_content_hash ON artwork (content_hash);
+
+-- 4. The text an embedding was computed from (the AI-generated description), so that it can be reused
+ALTER TABLE artwork_embedding ADD COLUMN IF NOT EXISTS source_text TEXT;
@@ -0,0 +1,21 @@
+-- Spring Modulith JDBC event publication registry (spring-modulith-events-jdbc 1.4 schema for PostgreSQL)
+-- Author: Giri Pottepalem
+-- Created: 2026-10-18
+
+-- 1. One row per event and listener; completion_date stays NULL until the listener succeeded
+CREATE TABLE IF NOT EXISTS event_publication
+(
+    id               UUID                     NOT NULL,
+    listener_id      TEXT                     NOT NULL,
+    event_type       TEXT                     NOT NULL,
+    serialized_event TEXT                     NOT NULL,
+    publication_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    completion_date  TIMESTAMP WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+-- 2. Completion looks publications up by their serialized event
+CREATE INDEX IF NOT EXISTS event_publication_serialized_event_hash_idx ON event_publication USING hash (serialized_event);
+
+-- 3. Republishing incomplete publications on restart
+CREATE INDEX IF NOT EXISTS event_publication_by_completion_date_idx ON event_publication (completion_date);
@@ -0,0 +1,36 @@
+-- Resumable ingestion: per-artwork pipeline state until the artwork is persisted
+-- Author: Giri Pottepalem
+-- Created: 2026-10-18
+
+CREATE TABLE IF NOT EXISTS ingestion_checkpoint (
+    id                  uuid PRIMARY KEY,
+    version             bigint NOT NULL,
+    created_at          timestamptz DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    last_modified_at    timestamptz DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    -- 1. the ingestion request
+    artist_id           uuid NOT NULL,
+    content_hash        VARCHAR(64) NOT NULL,
+    title               text,
+    description         text,
+    art_type            art_type_enum NOT NULL,
+
+    -- 2. progress
+    status              VARCHAR(32) NOT NULL,   -- IN_PROGRESS, FAILED
+    stage               VARCHAR(32),            -- last completed IngestionStage
+    stage_reached_at    timestamptz NOT NULL,
+    attempts            int NOT NULL DEFAULT 0,
+    last_error          text,
+
+    -- 3. results of the completed stages
+    minio_key           text,
+    thumbnail_key       text,
+    image_description   text,
+    model               VARCHAR(255),
+
+    CONSTRAINT fk_ingestion_checkpoint_artist FOREIGN KEY (artist_id) REFERENCES artist(id),
+    CONSTRAINT uq_ingestion_checkpoint_artist_content_hash UNIQUE (artist_id, content_hash)
+);
+
+-- 4. The resume sweeper looks for stale and failed checkpoints
+CREATE INDEX IF NOT EXISTS idx_ingestion_checkpoint_status ON ingestion_checkpoint (status, stage_reached_at);
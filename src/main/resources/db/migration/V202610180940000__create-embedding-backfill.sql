@@ -0,0 +1,19 @@
+-- Re-embedding backfill of NEEDS_UPDATE embeddings
+-- Author: Giri Pottepalem
+-- Created: 2026-10-18
+
+-- 1. Keyset position and totals of a backfill run, so that a restarted run continues where it stopped
+CREATE TABLE IF NOT EXISTS embedding_backfill (
+    job                 VARCHAR(64) PRIMARY KEY,
+    last_id             uuid,                   -- last artwork_embedding.id of the last completed chunk
+    processed           bigint NOT NULL DEFAULT 0,
+    failed              bigint NOT NULL DEFAULT 0,
+    skipped             bigint NOT NULL DEFAULT 0,
+    started_at          timestamptz NOT NULL,
+    updated_at          timestamptz NOT NULL,
+    finished_at         timestamptz             -- NULL while the run is incomplete
+);
+
+-- 2. Keyset scan over the embeddings waiting for a new vector, without touching the ACTIVE majority
+CREATE INDEX IF NOT EXISTS idx_artwork_embedding_needs_update
+    ON artwork_embedding (id) WHERE status = 'NEEDS_UPDATE';
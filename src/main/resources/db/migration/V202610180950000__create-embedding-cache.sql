@@ -0,0 +1,14 @@
+-- Persistent tier of the embedding cache
+-- Author: Giri Pottepalem
+-- Created: 2026-10-18
+
+-- 1. Vectors of embedded texts, little-endian float32, keyed by the model that computed them
+CREATE TABLE IF NOT EXISTS embedding_cache (
+    model               VARCHAR(255) NOT NULL,
+    dimensions          int NOT NULL,
+    text_hash           VARCHAR(64) NOT NULL,  -- SHA-256 (hex) of the UTF-8 text
+    embedding           bytea NOT NULL,
+    created_at          timestamptz DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    CONSTRAINT pk_embedding_cache PRIMARY KEY (model, dimensions, text_hash)
+);
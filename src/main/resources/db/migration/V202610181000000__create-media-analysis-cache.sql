@@ -0,0 +1,17 @@
+-- Persistent cache of vision model analyses, keyed by image content, prompt and model
+-- Author: Giri Pottepalem
+-- Created: 2026-10-18
+CREATE TABLE IF NOT EXISTS media_analysis_cache (
+    content_hash     VARCHAR(64)  NOT NULL,  -- SHA-256 of the analyzed image
+    prompt_type      VARCHAR(32)  NOT NULL,
+    prompt_version   INT          NOT NULL,
+    model            VARCHAR(255) NOT NULL,
+    analysis         TEXT         NOT NULL,
+    created_at       timestamptz  DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    expires_at       timestamptz  NOT NULL,
+
+    PRIMARY KEY (content_hash, prompt_type, prompt_version, model)
+);
+
+-- purge of expired analyses
+CREATE INDEX IF NOT EXISTS idx_media_analysis_cache_expires_at ON media_analysis_cache(expires_at);
@@ -0,0 +1,32 @@
+-- Embedding spaces: vectors stored at the native dimensions of their model instead of a fixed vector(1536)
+-- Author: Giri Pottepalem
+-- Created: 2026-10-18
+
+-- 1. Registry of the (model, dimensions) pairs vectors were stored for; each gets its own ANN index
+CREATE TABLE IF NOT EXISTS embedding_space (
+    id                  int GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    model               VARCHAR(255) NOT NULL,
+    dimensions          int NOT NULL CHECK (dimensions > 0),
+    created_at          timestamptz DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    CONSTRAINT uq_embedding_space UNIQUE (model, dimensions)
+);
+
+-- 2. Unconstrained vector column, tagged with the space of each row
+--    (the ivfflat index over all rows only works for a single, fixed dimension)
+DROP INDEX IF EXISTS artwork_embedding_embedding_idx;
+ALTER TABLE artwork_embedding ALTER COLUMN embedding TYPE vector;
+ALTER TABLE artwork_embedding ADD COLUMN IF NOT EXISTS model VARCHAR(255) NOT NULL DEFAULT 'unknown';
+ALTER TABLE artwork_embedding ADD COLUMN IF NOT EXISTS dimensions int;
+UPDATE artwork_embedding SET dimensions = vector_dims(embedding) WHERE dimensions IS NULL;
+ALTER TABLE artwork_embedding ALTER COLUMN dimensions SET NOT NULL;
+ALTER TABLE artwork_embedding
+    ADD CONSTRAINT ck_artwork_embedding_dimensions CHECK (vector_dims(embedding) = dimensions);
+
+CREATE INDEX IF NOT EXISTS idx_artwork_embedding_space ON artwork_embedding (model, dimensions);
+
+-- 3. Spaces of existing rows; their partial HNSW indexes are created by the application
+--    (EmbeddingSpaceRegistry), one per space: USING hnsw ((embedding::vector(N))) WHERE model = .. AND dimensions = N
+INSERT INTO embedding_space (model, dimensions)
+SELECT DISTINCT model, dimensions FROM artwork_embedding
+ON CONFLICT (model, dimensions) DO NOTHING;
@@ -0,0 +1,45 @@
+-- Full-text search over artworks: a tsvector of title, artist name and description, kept current by triggers
+-- Author: Giri Pottepalem
+-- Created: 2026-10-18
+--
+-- A generated column cannot read the artist's name from another table, so the column is maintained by triggers
+-- on both tables. Weights rank title matches above artist name matches above description matches.
+ALTER TABLE artwork ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION artwork_search_vector(p_title text, p_description text, p_artist_id uuid)
+RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('english', coalesce(p_title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(
+               (SELECT first_name || ' ' || last_name FROM artist WHERE id = p_artist_id), '')), 'B')
+        || setweight(to_tsvector('english', coalesce(p_description, '')), 'C');
+$$ LANGUAGE sql STABLE;
+
+CREATE OR REPLACE FUNCTION artwork_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector := artwork_search_vector(NEW.title, NEW.description, NEW.artist_id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_artwork_search_vector
+    BEFORE INSERT OR UPDATE OF title, description, artist_id ON artwork
+    FOR EACH ROW EXECUTE FUNCTION artwork_search_vector_update();
+
+-- a renamed artist re-indexes its artworks
+CREATE OR REPLACE FUNCTION artist_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    UPDATE artwork SET search_vector = artwork_search_vector(title, description, artist_id)
+    WHERE artist_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_artist_search_vector
+    AFTER UPDATE OF first_name, last_name ON artist
+    FOR EACH ROW
+    WHEN (OLD.first_name IS DISTINCT FROM NEW.first_name OR OLD.last_name IS DISTINCT FROM NEW.last_name)
+    EXECUTE FUNCTION artist_search_vector_update();
+
+UPDATE artwork SET search_vector = artwork_search_vector(title, description, artist_id);
+
+CREATE INDEX IF NOT EXISTS idx_artwork_search_vector ON artwork USING gin (search_vector);
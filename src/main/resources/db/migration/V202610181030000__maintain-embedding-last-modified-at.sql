@@ -0,0 +1,17 @@
+-- artwork_embedding.last_modified_at follows every update, for delta catch-ups of in-process indexes
+-- Author: Giri Pottepalem
+-- Created: 2026-10-18
+--
+-- JPA now writes it on update, but JDBC writers (backfill, manual archiving) may not: the trigger sets it for all.
+CREATE OR REPLACE FUNCTION touch_last_modified_at() RETURNS trigger AS $$
+BEGIN
+    NEW.last_modified_at := now();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_artwork_embedding_last_modified_at
+    BEFORE UPDATE ON artwork_embedding
+    FOR EACH ROW EXECUTE FUNCTION touch_last_modified_at();
+
+CREATE INDEX IF NOT EXISTS idx_artwork_embedding_last_modified_at ON artwork_embedding (last_modified_at);
@@ -0,0 +1,130 @@
+package com.giri.aiart.modules.artwork;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.modules.embeddings.EmbeddingGeneratorService;
+import com.giri.aiart.modules.embeddings.EmbeddingSpaceRegistry;
+import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.dto.ArtworkDTO;
+import com.giri.aiart.shared.dto.VectorEncoding;
+import com.giri.aiart.shared.persistence.ArtWorkRepository;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/// MockMvc Integration test for {@link ArtworkController}: vectors are left out of artworks unless asked for, and
+/// then returned as base64
+///
+/// @author Giri Pottepalem
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Import(TestcontainersConfig.class)
+public class ArtworkMockMvcIntegrationTest {
+    private static final int DIMENSIONS = 1536;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private ArtistRepository artistRepository;
+    @Autowired private ArtWorkRepository artWorkRepository;
+    @Autowired private EmbeddingSpaceRegistry embeddingSpaceRegistry;
+
+    @MockitoBean EmbeddingGeneratorService embeddingGeneratorService;
+
+    private float[] vector;
+    private Artwork artwork;
+
+    @BeforeEach
+    void setup() {
+        Artist artist = artistRepository.save(
+            Artist.builder().firstName("Giri").lastName("Pottepalem").bio("Artwork test artist").build()
+        );
+        vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) Math.sin(i) / 3;
+        }
+        artwork = Artwork.builder().title("Vectors").artType(ArtType.PAINTING).artist(artist).build();
+        artwork.addEmbeddings(List.of(ArtworkEmbedding.builder()
+            .model(embeddingSpaceRegistry.current().model())
+            .type(EmbeddingType.IMAGE)
+            .embedding(vector)
+            .build()));
+        artwork = artWorkRepository.save(artwork);
+    }
+
+    @Test
+    void artworks_are_listed_without_vectors() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/artworks").param("size", "100"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].embeddings[*].dimensions").isNotEmpty())
+            .andExpect(jsonPath("$[*].embeddings[*].vector").doesNotExist());
+    }
+
+    @Test
+    void artwork_leaves_out_vectors_by_default() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/artworks/{id}", artwork.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Vectors"))
+            .andExpect(jsonPath("$.embeddings[0].model").value(embeddingSpaceRegistry.current().model()))
+            .andExpect(jsonPath("$.embeddings[0].dimensions").value(DIMENSIONS))
+            .andExpect(jsonPath("$.embeddings[0].vector").doesNotExist());
+    }
+
+    @Test
+    void artwork_returns_exact_float32_vectors_on_request() throws Exception {
+        // when
+        var embedding = get(VectorEncoding.FLOAT32).embeddings().getFirst();
+
+        // then
+        assertThat(embedding.vector().encoding()).isEqualTo(VectorEncoding.FLOAT32);
+        assertThat(embedding.vector().dimensions()).isEqualTo(DIMENSIONS);
+        assertThat(embedding.vector().toArray()).containsExactly(vector);
+    }
+
+    @Test
+    void artwork_returns_float16_vectors_in_half_the_size() throws Exception {
+        // when
+        var half = get(VectorEncoding.FLOAT16).embeddings().getFirst().vector();
+        var full = get(VectorEncoding.FLOAT32).embeddings().getFirst().vector();
+
+        // then: float16 keeps 11 significant bits
+        assertThat(half.data().length()).isLessThanOrEqualTo(full.data().length() / 2 + 4);
+        assertThat(half.toArray()).containsExactly(vector, within(1f / 3 / 1024));
+    }
+
+    @Test
+    void unknown_artwork_is_not_found_and_bad_requests_are_rejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/artworks/{id}", UUID.randomUUID()))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/artworks/{id}", artwork.getId()).param("vectors", "INT4"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/artworks").param("size", "1000"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private ArtworkDTO get(VectorEncoding encoding) throws Exception {
+        String json = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/artworks/{id}", artwork.getId())
+                .param("vectors", encoding.name()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(json, ArtworkDTO.class);
+    }
+}
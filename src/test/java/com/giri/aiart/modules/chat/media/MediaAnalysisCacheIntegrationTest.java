@@ -0,0 +1,97 @@
+package com.giri.aiart.modules.chat.media;
+
+import com.giri.aiart.config.MediaAnalysisProperties;
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.prompt.PromptType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/// Integration test for {@link MediaAnalysisCache}
+///
+/// @author Giri Pottepalem
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+public class MediaAnalysisCacheIntegrationTest {
+    private static final String MODEL = "test-vision-model";
+
+    @Autowired private MediaAnalysisCache mediaAnalysisCache;
+    @Autowired private MediaAnalysisProperties mediaAnalysisProperties;
+
+    private final Duration ttl = new MediaAnalysisProperties.Cache().getTtl();
+    // a distinct image per test, so that tests never see each other's analyses
+    private final ByteArrayResource image = new ByteArrayResource(UUID.randomUUID().toString().getBytes());
+
+    @AfterEach
+    void tearDown() {
+        mediaAnalysisProperties.getCache().setTtl(ttl);
+    }
+
+    @Test
+    void saved_analysis_is_found_by_image_content_prompt_and_model() {
+        // given: an analysis of an image
+        var key = mediaAnalysisCache.keyOf(image, PromptType.DESCRIPTION, MODEL).orElseThrow();
+        mediaAnalysisCache.save(key, new MediaAnalysis("A red barn in a field", MODEL));
+
+        // when: the same bytes are analyzed again, from another resource
+        var sameImage = mediaAnalysisCache.keyOf(copyOf(image), PromptType.DESCRIPTION, MODEL).orElseThrow();
+
+        // then
+        assertThat(mediaAnalysisCache.find(sameImage))
+            .contains(new MediaAnalysis("A red barn in a field", MODEL));
+
+        // and: another prompt or another model is a miss
+        assertThat(mediaAnalysisCache.find(mediaAnalysisCache.keyOf(image, PromptType.CAPTION, MODEL).orElseThrow()))
+            .isEmpty();
+        assertThat(mediaAnalysisCache.find(mediaAnalysisCache.keyOf(image, PromptType.DESCRIPTION, "other-model")
+            .orElseThrow()))
+            .isEmpty();
+    }
+
+    @Test
+    void expired_analysis_is_not_served_and_purged() {
+        // given: an analysis cached with no time to live
+        mediaAnalysisProperties.getCache().setTtl(Duration.ZERO);
+        var key = mediaAnalysisCache.keyOf(image, PromptType.CAPTION, MODEL).orElseThrow();
+        mediaAnalysisCache.save(key, new MediaAnalysis("A red barn", MODEL));
+
+        // then
+        assertThat(mediaAnalysisCache.find(key)).isEmpty();
+        assertThat(mediaAnalysisCache.purgeExpired()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void older_prompt_versions_are_not_served() {
+        // given: an analysis made with an earlier version of the prompt
+        var key = mediaAnalysisCache.keyOf(image, PromptType.DESCRIPTION, MODEL).orElseThrow();
+        var outdated = new MediaAnalysisCache.Key(key.contentHash(), key.promptType(), key.promptVersion() - 1, MODEL);
+        mediaAnalysisCache.save(outdated, new MediaAnalysis("An outdated description", MODEL));
+
+        // then
+        assertThat(mediaAnalysisCache.find(key)).isEmpty();
+    }
+
+    @Test
+    void single_use_resources_are_not_cached() {
+        // given: a stream that would be consumed by fingerprinting it
+        Resource stream = new InputStreamResource(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+
+        // then
+        assertThat(mediaAnalysisCache.keyOf(stream, PromptType.DESCRIPTION, MODEL)).isEmpty();
+    }
+
+    private static Resource copyOf(ByteArrayResource resource) {
+        return new ByteArrayResource(resource.getByteArray());
+    }
+}
@@ -0,0 +1,59 @@
+package com.giri.aiart.modules.corpus;
+
+import com.giri.aiart.shared.util.VectorMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/// Unit test for {@link ClusteredVectors}
+///
+/// @author Giri Pottepalem
+class ClusteredVectorsTest {
+    private final ClusteredVectors vectors = new ClusteredVectors(16, 768, 0.5, 1, 42);
+
+    @Test
+    void vectors_are_unit_length_and_reproducible() {
+        // given
+        var random = new SplittableRandom(7);
+        var again = new SplittableRandom(7);
+
+        // when
+        float[] vector = vectors.next(3, random);
+
+        // then
+        assertThat(VectorMath.norm(vector)).isCloseTo(1, within(1e-5f));
+        assertThat(new ClusteredVectors(16, 768, 0.5, 1, 42).next(3, again)).containsExactly(vector);
+    }
+
+    @Test
+    void vectors_of_a_topic_are_neighbors_and_unrelated_to_other_topics() {
+        // given
+        var random = new SplittableRandom(7);
+
+        // when
+        float[] a = vectors.next(5, random);
+        float[] b = vectors.next(5, random);
+        float[] other = vectors.next(6, random);
+
+        // then: cosine ≈ 1 / (1 + spread²) = 0.8 within a topic, ≈ 0 across topics
+        assertThat(VectorMath.dot(a, b)).isCloseTo(0.8f, within(0.1f));
+        assertThat(VectorMath.dot(a, other)).isCloseTo(0, within(0.2f));
+    }
+
+    @Test
+    void skew_favors_the_first_topics() {
+        var skewed = new ClusteredVectors(16, 8, 0.5, 3, 42);
+        var random = new SplittableRandom(7);
+        int[] counts = new int[16];
+        for (int i = 0; i < 10_000; i++) {
+            counts[skewed.nextCluster(random)]++;
+        }
+
+        assertThat(counts[0]).isGreaterThan(5 * counts[15]);
+        assertThatThrownBy(() -> new ClusteredVectors(0, 8, 0.5, 1, 42)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.giri.aiart.modules.corpus;
+
+import com.giri.aiart.config.CorpusProperties;
+import com.giri.aiart.config.TestcontainersConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/// Integration test for {@link SyntheticCorpusGenerator}: a small corpus copied in parallel chunks
+///
+/// @author Giri Pottepalem
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+public class SyntheticCorpusGeneratorIntegrationTest {
+    private static final String MODEL = "synthetic-corpus-test";
+
+    @Autowired private SyntheticCorpusGenerator syntheticCorpusGenerator;
+    @Autowired private JdbcClient jdbcClient;
+
+    @Test
+    void corpus_is_copied_with_unit_vectors_and_searchable_texts() {
+        // given: 23 artists of 3 artworks, in uneven chunks of 5 on 3 connections
+        var corpus = new CorpusProperties();
+        corpus.setArtists(23);
+        corpus.setArtworksPerArtist(3);
+        corpus.setClusters(4);
+        corpus.setChunkSize(5);
+        corpus.setParallelism(3);
+        corpus.setModel(MODEL);
+        corpus.setDimensions(64);
+        long artistsBefore = count("SELECT count(*) FROM artist");
+
+        // when
+        var result = syntheticCorpusGenerator.generate(corpus);
+
+        // then
+        assertThat(result.artists()).isEqualTo(23);
+        assertThat(result.artworks()).isEqualTo(69);
+        assertThat(result.embeddings()).isEqualTo(69);
+        assertThat(count("SELECT count(*) FROM artist")).isEqualTo(artistsBefore + 23);
+        assertThat(jdbcClient.sql("""
+                SELECT count(*) FROM artwork_embedding e JOIN artwork a ON a.id = e.artwork_id
+                WHERE e.model = :model AND e.dimensions = 64 AND e.type = 'IMAGE' AND e.status = 'ACTIVE'
+                  AND e.source_text = a.description AND a.search_vector IS NOT NULL
+                """)
+            .param("model", MODEL)
+            .query(Long.class)
+            .single()).isEqualTo(69);
+
+        // and: every vector is unit length, as binary COPY sent it
+        double maxError = jdbcClient.sql("SELECT max(abs(vector_norm(embedding) - 1)) FROM artwork_embedding "
+                + "WHERE model = :model")
+            .param("model", MODEL)
+            .query(Double.class)
+            .single();
+        assertThat(maxError).isCloseTo(0, within(1e-5));
+    }
+
+    private long count(String sql) {
+        return jdbcClient.sql(sql).query(Long.class).single();
+    }
+}
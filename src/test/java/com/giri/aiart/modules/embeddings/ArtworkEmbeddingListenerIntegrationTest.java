@@ -0,0 +1,130 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.modules.chat.media.MediaAnalysis;
+import com.giri.aiart.modules.ingestion.IngestionService;
+import com.giri.aiart.modules.storage.MinioStorageService;
+import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import com.giri.aiart.shared.persistence.ArtworkEmbeddingRepository;
+import com.giri.aiart.shared.util.EmbeddingUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+
+/// Integration test for event-driven embedding: ingestion in event mode, {@link ArtworkEmbeddingListener} and the
+/// JDBC event publication registry.
+///
+/// @author Giri Pottepalem
+@SpringBootTest(properties = "aiart.ingestion.embedding-mode=event")
+@Import(TestcontainersConfig.class)
+public class ArtworkEmbeddingListenerIntegrationTest {
+
+    @Autowired private IngestionService ingestionService;
+    @Autowired private ArtistRepository artistRepository;
+    @Autowired private ArtworkEmbeddingRepository artworkEmbeddingRepository;
+    @Autowired private JdbcClient jdbcClient;
+
+    @MockitoBean MinioStorageService minioStorageService;
+    @MockitoBean EmbeddingGeneratorService embeddingGeneratorService;
+
+    private Artist artist;
+    private byte[] imageBytes;
+
+    @BeforeEach
+    void setup() throws Exception {
+        artist = artistRepository.save(
+            Artist.builder().firstName("Giri").lastName("Pottepalem").bio("Event test artist").build()
+        );
+        imageBytes = "fake-image-data-%s".formatted(UUID.randomUUID()).getBytes();
+
+        given(minioStorageService.uploadFile(any(), any()))
+            .willAnswer(invocation -> "artworks/" + UUID.randomUUID() + "_sample.png");
+        given(minioStorageService.downloadFile(anyString()))
+            .willAnswer(invocation -> new ByteArrayInputStream(imageBytes));
+        given(embeddingGeneratorService.embed(any(), eq(EmbeddingType.IMAGE)))
+            .willAnswer(invocation -> ArtworkEmbedding.builder()
+                .embedding(EmbeddingUtils.generateRandomEmbedding(1536))
+                .type(EmbeddingType.IMAGE)
+                .sourceText(invocation.getArgument(0))
+                .build());
+    }
+
+    @Test
+    void artwork_is_persisted_right_away_and_embedded_after_commit() throws Exception {
+        // given: a vision model that is available
+        given(embeddingGeneratorService.describe(any())).willReturn(new MediaAnalysis("A test description", "test-model"));
+
+        // when: ingesting an image
+        Artwork artwork = ingestionService.ingestArtwork(
+            artist.getId(), "Evented", "Event mode upload", ArtType.PAINTING, image());
+
+        // then: the artwork is persisted without embeddings
+        assertThat(artwork.getId()).isNotNull();
+        assertThat(artwork.getEmbeddings()).isEmpty();
+
+        // and: the listener embeds it shortly after and completes the event publication
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+            assertThat(artworkEmbeddingRepository.findByArtwork_Id(artwork.getId()))
+                .singleElement()
+                .satisfies(embedding -> assertThat(embedding.getSourceText()).isEqualTo("A test description")));
+        await().atMost(Duration.ofSeconds(10)).until(() -> incompletePublications(artwork) == 0);
+    }
+
+    @Test
+    void model_outage_does_not_fail_the_upload_and_leaves_the_event_incomplete() throws Exception {
+        // given: the vision model is down
+        given(embeddingGeneratorService.describe(any())).willThrow(new IllegalStateException("vision model down"));
+
+        // when: ingesting an image
+        Artwork artwork = ingestionService.ingestArtwork(
+            artist.getId(), "Outage", "Event mode upload", ArtType.PAINTING, image());
+
+        // then: the upload succeeds
+        assertThat(artwork.getId()).isNotNull();
+
+        // and: the publication stays incomplete, to be delivered again on restart
+        then(embeddingGeneratorService).should(timeout(10_000)).describe(any());
+        await().during(Duration.ofMillis(500)).atMost(Duration.ofSeconds(5))
+            .until(() -> incompletePublications(artwork) == 1);
+        then(embeddingGeneratorService).should(never()).embed(any(), any());
+        assertThat(artworkEmbeddingRepository.findByArtwork_Id(artwork.getId())).isEmpty();
+    }
+
+    private long incompletePublications(Artwork artwork) {
+        return jdbcClient.sql("""
+                SELECT count(*) FROM event_publication
+                WHERE completion_date IS NULL AND serialized_event LIKE :artworkId
+                """)
+            .param("artworkId", "%" + artwork.getId() + "%")
+            .query(Long.class)
+            .single();
+    }
+
+    private MockMultipartFile image() {
+        return new MockMultipartFile("imageFile", "sample.png", "image/png", imageBytes);
+    }
+}
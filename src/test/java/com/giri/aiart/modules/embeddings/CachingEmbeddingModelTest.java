@@ -0,0 +1,155 @@
+package com.giri.aiart.modules.embeddings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+/// Unit test for {@link CachingEmbeddingModel}
+///
+/// @author Giri Pottepalem
+class CachingEmbeddingModelTest {
+    private static final String MODEL = "test-model";
+    private static final int DIMENSIONS = 4;
+    private static final long VECTOR_BYTES = DIMENSIONS * Float.BYTES;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmbeddingModel delegate;
+    private CachingEmbeddingModel cachingEmbeddingModel;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        delegate = mock(EmbeddingModel.class);
+        // each vector carries the length of its text, so results can be matched to their input
+        given(delegate.embed(anyList()))
+            .willAnswer(invocation -> invocation.<List<String>>getArgument(0).stream()
+                .map(text -> new float[] {text.length(), 0, 0, 0})
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cachingEmbeddingModel != null) {
+            cachingEmbeddingModel.destroy();
+        }
+    }
+
+    @Test
+    void repeated_texts_are_embedded_once() {
+        // given
+        cachingEmbeddingModel = new CachingEmbeddingModel(delegate, MODEL, DIMENSIONS, 100 * VECTOR_BYTES, null,
+            meterRegistry);
+
+        // when: the same text twice in one call, then again in a later call
+        List<float[]> first = cachingEmbeddingModel.embed(List.of("a", "bb", "a"));
+        float[] second = cachingEmbeddingModel.embed("bb");
+
+        // then: the model only saw each distinct text once
+        then(delegate).should(times(1)).embed(List.of("a", "bb"));
+        then(delegate).should(times(1)).embed(anyList());
+        assertThat(first).extracting(vector -> (int) vector[0]).containsExactly(1, 2, 1);
+        assertThat(second[0]).isEqualTo(2);
+        assertThat(hits("memory")).isEqualTo(1);
+        assertThat(misses("memory")).isEqualTo(3);
+    }
+
+    @Test
+    void least_recently_used_vectors_are_evicted() {
+        // given: room for two vectors
+        cachingEmbeddingModel = new CachingEmbeddingModel(delegate, MODEL, DIMENSIONS, 2 * VECTOR_BYTES, null,
+            meterRegistry);
+        cachingEmbeddingModel.embed("a");
+        cachingEmbeddingModel.embed("bb");
+        cachingEmbeddingModel.embed("a");  // "bb" is now the least recently used
+
+        // when
+        cachingEmbeddingModel.embed("ccc");
+        cachingEmbeddingModel.embed("a");
+        cachingEmbeddingModel.embed("bb");
+
+        // then: "a" stayed cached, "bb" was evicted and embedded again
+        then(delegate).should(times(1)).embed(List.of("a"));
+        then(delegate).should(times(2)).embed(List.of("bb"));
+        assertThat(meterRegistry.counter(CachingEmbeddingModel.METRIC + ".evictions").count()).isEqualTo(2);
+        assertThat(meterRegistry.get(CachingEmbeddingModel.METRIC + ".size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void persisted_vectors_survive_a_new_instance() {
+        // given: a persistent tier backed by a map
+        Map<String, float[]> table = new HashMap<>();
+        var store = mock(EmbeddingCacheStore.class);
+        given(store.findAll(eq(MODEL), eq(DIMENSIONS), anyCollection())).willAnswer(invocation -> {
+            Map<String, float[]> found = new HashMap<>();
+            invocation.<Collection<String>>getArgument(2).forEach(hash -> {
+                if (table.containsKey(hash)) {
+                    found.put(hash, table.get(hash));
+                }
+            });
+            return found;
+        });
+        willAnswer(invocation -> {
+            table.putAll(invocation.getArgument(2));
+            return null;
+        }).given(store).saveAll(eq(MODEL), eq(DIMENSIONS), anyMap());
+        var previous = new CachingEmbeddingModel(delegate, MODEL, DIMENSIONS, VECTOR_BYTES, store, meterRegistry);
+        previous.embed("a");
+        previous.destroy();
+
+        // when: a fresh instance, i.e. an empty memory tier
+        cachingEmbeddingModel = new CachingEmbeddingModel(delegate, MODEL, DIMENSIONS, VECTOR_BYTES, store,
+            new SimpleMeterRegistry());
+        float[] vector = cachingEmbeddingModel.embed("a");
+
+        // then
+        assertThat(vector[0]).isEqualTo(1);
+        then(delegate).should(times(1)).embed(anyList());
+    }
+
+    @Test
+    void failing_persistent_tier_falls_back_to_the_model() {
+        // given: the database is down
+        var store = mock(EmbeddingCacheStore.class);
+        given(store.findAll(anyString(), anyInt(), anyCollection())).willThrow(new IllegalStateException("db down"));
+        willThrow(new IllegalStateException("db down")).given(store).saveAll(anyString(), anyInt(), any());
+        cachingEmbeddingModel = new CachingEmbeddingModel(delegate, MODEL, DIMENSIONS, VECTOR_BYTES, store,
+            meterRegistry);
+
+        // when
+        float[] vector = cachingEmbeddingModel.embed("a");
+
+        // then: the embedding is still served
+        assertThat(vector[0]).isEqualTo(1);
+        then(delegate).should(times(1)).embed(List.of("a"));
+    }
+
+    private double hits(String tier) {
+        return meterRegistry.counter(CachingEmbeddingModel.METRIC, "tier", tier, "result", "hit").count();
+    }
+
+    private double misses(String tier) {
+        return meterRegistry.counter(CachingEmbeddingModel.METRIC, "tier", tier, "result", "miss").count();
+    }
+}
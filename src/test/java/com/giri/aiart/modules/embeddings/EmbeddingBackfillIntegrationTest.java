@@ -0,0 +1,129 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.ArtWorkRepository;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import com.giri.aiart.shared.persistence.ArtworkEmbeddingRepository;
+import com.giri.aiart.shared.util.EmbeddingUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+/// Integration test for the re-embedding backfill ({@link EmbeddingBackfill})
+///
+/// @author Giri Pottepalem
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+public class EmbeddingBackfillIntegrationTest {
+    private static final float NEW_VALUE = 0.5f;
+
+    @Autowired private EmbeddingBackfill embeddingBackfill;
+    @Autowired private EmbeddingSpaceRegistry embeddingSpaceRegistry;
+    @Autowired private ArtistRepository artistRepository;
+    @Autowired private ArtWorkRepository artWorkRepository;
+    @Autowired private ArtworkEmbeddingRepository artworkEmbeddingRepository;
+
+    @MockitoBean EmbeddingModel embeddingModel;
+
+    private Artist artist;
+
+    @BeforeEach
+    void setup() {
+        artist = artistRepository.save(
+            Artist.builder().firstName("Giri").lastName("Pottepalem").bio("Backfill test artist").build()
+        );
+    }
+
+    @Test
+    void backfill_reembeds_source_texts_and_activates_the_embeddings() throws Exception {
+        // given: embeddings of an outdated model, one of them without the text it was computed from
+        var outdated = List.of(embedding("A red barn"), embedding("A blue sea"), embedding("A green field"));
+        var withoutText = embedding(null);
+        saveArtwork(outdated, withoutText);
+
+        // and: the new embedding model
+        given(embeddingModel.embed(anyList()))
+            .willAnswer(invocation -> invocation.<List<String>>getArgument(0).stream()
+                .map(text -> newVector())
+                .toList());
+
+        // when: the backfill runs
+        embeddingBackfill.run();
+
+        // then: the embeddings with a source text carry the new vector and are active again
+        assertThat(artworkEmbeddingRepository.findAllById(outdated.stream().map(ArtworkEmbedding::getId).toList()))
+            .hasSize(3)
+            .allSatisfy(embedding -> {
+                assertThat(embedding.getStatus()).isEqualTo(EmbeddingStatusType.ACTIVE);
+                assertThat(embedding.getEmbedding()).containsOnly(NEW_VALUE);
+                assertThat(embedding.getModel()).isEqualTo(embeddingSpaceRegistry.current().model());
+            });
+
+        // and: the one without a source text is left for another run
+        assertThat(artworkEmbeddingRepository.findById(withoutText.getId()).orElseThrow().getStatus())
+            .isEqualTo(EmbeddingStatusType.NEEDS_UPDATE);
+
+        // and: the run is checkpointed as finished
+        var progress = embeddingBackfill.progress();
+        assertThat(progress.state()).isEqualTo("IDLE");
+        assertThat(progress.finishedAt()).isNotNull();
+        assertThat(progress.processed()).isGreaterThanOrEqualTo(3);
+        assertThat(progress.skipped()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void backfill_keeps_needs_update_when_the_model_fails() throws Exception {
+        // given: an outdated embedding
+        var outdated = embedding("A stormy night");
+        saveArtwork(List.of(outdated));
+
+        // and: the embedding model is down
+        given(embeddingModel.embed(anyList())).willThrow(new IllegalStateException("embedding model unavailable"));
+
+        // when: the backfill runs
+        embeddingBackfill.run();
+
+        // then: the embedding still needs an update and the failure is counted
+        var embedding = artworkEmbeddingRepository.findById(outdated.getId()).orElseThrow();
+        assertThat(embedding.getStatus()).isEqualTo(EmbeddingStatusType.NEEDS_UPDATE);
+        assertThat(embeddingBackfill.progress().failed()).isGreaterThanOrEqualTo(1);
+    }
+
+    private void saveArtwork(List<ArtworkEmbedding> embeddings, ArtworkEmbedding... more) {
+        Artwork artwork = Artwork.builder().title("Backfill").artist(artist).build();
+        artwork.addEmbeddings(embeddings);
+        artwork.addEmbeddings(List.of(more));
+        artWorkRepository.save(artwork);
+    }
+
+    private static ArtworkEmbedding embedding(String sourceText) {
+        return ArtworkEmbedding.builder()
+            .type(EmbeddingType.IMAGE)
+            .status(EmbeddingStatusType.NEEDS_UPDATE)
+            .embedding(EmbeddingUtils.generateRandomEmbedding(1536))
+            .sourceText(sourceText)
+            .build();
+    }
+
+    private static float[] newVector() {
+        float[] vector = new float[1536];
+        Arrays.fill(vector, NEW_VALUE);
+        return vector;
+    }
+}
@@ -0,0 +1,201 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+/// Unit test for {@link EmbeddingBatcher}
+///
+/// @author Giri Pottepalem
+class EmbeddingBatcherTest {
+    private EmbeddingsProperties embeddingsProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private EmbeddingModel embeddingModel;
+    private EmbeddingBatcher embeddingBatcher;
+
+    @BeforeEach
+    void setup() {
+        embeddingsProperties = new EmbeddingsProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        embeddingModel = mock(EmbeddingModel.class);
+        // each vector carries the length of its text, so results can be matched to their input
+        given(embeddingModel.embed(anyList()))
+            .willAnswer(invocation -> invocation.<List<String>>getArgument(0).stream()
+                .map(text -> new float[] {text.length()})
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (embeddingBatcher != null) {
+            embeddingBatcher.stop();
+        }
+    }
+
+    @Test
+    void embedAll_splits_by_max_size_and_keeps_input_order() {
+        // given: at most 3 texts per call
+        embeddingsProperties.getBatch().setMaxSize(3);
+        embeddingBatcher = new EmbeddingBatcher(embeddingModel, embeddingsProperties, meterRegistry);
+        List<String> texts = IntStream.rangeClosed(1, 7).mapToObj("x"::repeat).toList();
+
+        // when
+        List<float[]> vectors = embeddingBatcher.embedAll(texts);
+
+        // then: 3 + 3 + 1 texts in three calls, vectors in input order
+        then(embeddingModel).should(times(3)).embed(anyList());
+        assertThat(vectors).extracting(vector -> (int) vector[0]).containsExactly(1, 2, 3, 4, 5, 6, 7);
+        assertThat(meterRegistry.summary(EmbeddingBatcher.METRIC, "source", "bulk").count()).isEqualTo(3);
+    }
+
+    @Test
+    void embedAll_splits_by_token_budget() {
+        // given: a budget of about 100 tokens (400 characters) per call
+        embeddingsProperties.getBatch().setMaxTokens(100);
+        embeddingBatcher = new EmbeddingBatcher(embeddingModel, embeddingsProperties, meterRegistry);
+        String longText = "x".repeat(240);   // ~61 tokens
+        String tooLong = "y".repeat(1000);   // over the budget on its own
+
+        // when
+        List<float[]> vectors = embeddingBatcher.embedAll(List.of(longText, longText, tooLong, "short"));
+
+        // then: every long text goes alone, the short one is never dropped
+        then(embeddingModel).should(times(4)).embed(anyList());
+        assertThat(vectors).extracting(vector -> (int) vector[0]).containsExactly(240, 240, 1000, 5);
+    }
+
+    @Test
+    void concurrent_embeds_are_merged_into_micro_batches() throws Exception {
+        // given: a window long enough for concurrent callers to meet
+        embeddingsProperties.getBatch().setWindow(Duration.ofMillis(200));
+        embeddingBatcher = new EmbeddingBatcher(embeddingModel, embeddingsProperties, meterRegistry);
+        embeddingBatcher.start();
+
+        // when: 20 callers embed one text each at the same time
+        List<Future<float[]>> vectors = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 1; i <= 20; i++) {
+                String text = "z".repeat(i);
+                vectors.add(executor.submit(() -> embeddingBatcher.embed(text)));
+            }
+        }
+
+        // then: every caller gets the vector of its own text
+        for (int i = 0; i < vectors.size(); i++) {
+            assertThat(vectors.get(i).get()[0]).isEqualTo(i + 1);
+        }
+
+        // and: the model was called far fewer times than once per text
+        then(embeddingModel).should(atMost(4)).embed(anyList());
+    }
+
+    @Test
+    void failed_micro_batch_fails_each_caller() {
+        // given: the embedding model is down
+        embeddingsProperties.getBatch().setWindow(Duration.ofMillis(5));
+        embeddingBatcher = new EmbeddingBatcher(embeddingModel, embeddingsProperties, meterRegistry);
+        embeddingBatcher.start();
+        given(embeddingModel.embed(anyList())).willThrow(new IllegalStateException("embedding model unavailable"));
+
+        // then
+        assertThatThrownBy(() -> embeddingBatcher.embed("A red barn"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("embedding model unavailable");
+    }
+
+    @Test
+    void stop_fails_a_request_carried_over_to_the_next_micro_batch() throws Exception {
+        // given: one micro-batch in flight on a model that hangs, and a 10-token budget
+        embeddingsProperties.getBatch().setWindow(Duration.ofSeconds(1));
+        embeddingsProperties.getBatch().setMaxTokens(10);
+        embeddingsProperties.getBatch().setConcurrency(1);
+        var release = new CountDownLatch(1);
+        given(embeddingModel.embed(anyList())).willAnswer(invocation -> {
+            release.await();
+            return invocation.<List<String>>getArgument(0).stream().map(text -> new float[] {text.length()}).toList();
+        });
+        embeddingBatcher = new EmbeddingBatcher(embeddingModel, embeddingsProperties, meterRegistry);
+        embeddingBatcher.start();
+        var executor = Executors.newVirtualThreadPerTaskExecutor();
+        executor.submit(() -> embeddingBatcher.embed("x"));
+        Thread.sleep(1200);
+
+        // and: a short text followed by one over the budget, which the collector holds for the next micro-batch
+        executor.submit(() -> embeddingBatcher.embed("short"));
+        Thread.sleep(100);
+        Future<float[]> carried = executor.submit(() -> embeddingBatcher.embed("y".repeat(100)));
+        Thread.sleep(200);
+
+        // when: shut down while the model call returns
+        Future<?> stopped = executor.submit(() -> {
+            embeddingBatcher.stop();
+            return null;
+        });
+        release.countDown();
+        stopped.get(5, TimeUnit.SECONDS);
+
+        // then: the carried request fails at once with the shutdown, not after the timeout
+        assertThatThrownBy(() -> carried.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasMessageContaining("Embedding batcher is shut down");
+        executor.close();
+    }
+
+    @Test
+    void embed_after_stop_calls_the_model_directly() throws Exception {
+        // given: a batcher that was shut down
+        embeddingsProperties.getBatch().setWindow(Duration.ofMillis(5));
+        embeddingBatcher = new EmbeddingBatcher(embeddingModel, embeddingsProperties, meterRegistry);
+        embeddingBatcher.start();
+        embeddingBatcher.stop();
+        given(embeddingModel.embed(anyString())).willReturn(new float[] {42});
+
+        // when
+        float[] vector = embeddingBatcher.embed("A red barn");
+
+        // then: the caller is served rather than left waiting on a queue no one takes from
+        assertThat(vector).containsExactly(42);
+        then(embeddingModel).should().embed("A red barn");
+    }
+
+    @Test
+    void embed_fails_when_its_micro_batch_takes_longer_than_the_timeout() {
+        // given: an embedding model slower than the timeout
+        embeddingsProperties.getBatch().setWindow(Duration.ofMillis(5));
+        embeddingsProperties.getBatch().setTimeout(Duration.ofMillis(50));
+        embeddingBatcher = new EmbeddingBatcher(embeddingModel, embeddingsProperties, meterRegistry);
+        embeddingBatcher.start();
+        given(embeddingModel.embed(anyList())).willAnswer(invocation -> {
+            Thread.sleep(500);
+            return List.of(new float[] {1});
+        });
+
+        // then
+        assertThatThrownBy(() -> embeddingBatcher.embed("A red barn"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("No embedding within");
+    }
+}
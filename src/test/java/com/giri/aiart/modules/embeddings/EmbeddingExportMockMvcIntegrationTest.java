@@ -0,0 +1,140 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.ArtWorkRepository;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/// MockMvc Integration test for {@link EmbeddingExportController}: both formats and the filters
+///
+/// @author Giri Pottepalem
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Import(TestcontainersConfig.class)
+public class EmbeddingExportMockMvcIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private ArtistRepository artistRepository;
+    @Autowired private ArtWorkRepository artWorkRepository;
+
+    @MockitoBean EmbeddingGeneratorService embeddingGeneratorService;
+
+    private Instant since;
+    private Artwork artwork;
+    private ArtworkEmbedding image;
+    private ArtworkEmbedding archivedText;
+
+    @BeforeEach
+    void setup() {
+        since = Instant.now().minus(1, ChronoUnit.SECONDS);
+        Artist artist = artistRepository.save(
+            Artist.builder().firstName("Giri").lastName("Pottepalem").bio("Export test artist").build()
+        );
+        image = ArtworkEmbedding.builder().type(EmbeddingType.IMAGE).embedding(new float[] {0.25f, -1.5f, 3e-3f})
+            .build();
+        archivedText = ArtworkEmbedding.builder().type(EmbeddingType.TEXT).status(EmbeddingStatusType.ARCHIVED)
+            .embedding(new float[] {1, 2}).build();
+        artwork = Artwork.builder().title("Export").artType(ArtType.PAINTING).artist(artist).build();
+        artwork.addEmbeddings(List.of(image, archivedText));
+        artwork = artWorkRepository.save(artwork);
+    }
+
+    @Test
+    void binary_export_writes_length_prefixed_little_endian_records() throws Exception {
+        // when
+        byte[] bytes = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/embeddings/export")
+                .param("modifiedSince", since.toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/octet-stream"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // then: the header, then records up to the end marker
+        var buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[4];
+        buffer.get(magic);
+        assertThat(new String(magic, StandardCharsets.US_ASCII)).isEqualTo("AIEV");
+        assertThat(buffer.getInt()).isEqualTo(1);
+        Map<UUID, float[]> vectors = new HashMap<>();
+        int length;
+        while ((length = buffer.getInt()) != 0) {
+            var id = new UUID(buffer.order(ByteOrder.BIG_ENDIAN).getLong(), buffer.getLong());
+            var artworkId = new UUID(buffer.getLong(), buffer.getLong());
+            int dimensions = buffer.order(ByteOrder.LITTLE_ENDIAN).getInt();
+            assertThat(length).isEqualTo(EmbeddingExport.RECORD_HEADER_BYTES + dimensions * Float.BYTES);
+            float[] vector = new float[dimensions];
+            buffer.asFloatBuffer().get(vector);
+            buffer.position(buffer.position() + dimensions * Float.BYTES);
+            if (artworkId.equals(artwork.getId())) {
+                vectors.put(id, vector);
+            }
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+        assertThat(vectors).containsOnlyKeys(image.getId(), archivedText.getId());
+        assertThat(vectors.get(image.getId())).containsExactly(0.25f, -1.5f, 3e-3f);
+        assertThat(vectors.get(archivedText.getId())).containsExactly(1, 2);
+    }
+
+    @Test
+    void ndjson_export_is_filtered_by_status_type_and_modification() throws Exception {
+        // when
+        String body = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/embeddings/export")
+                .param("format", "NDJSON")
+                .param("status", "ARCHIVED")
+                .param("type", "TEXT")
+                .param("modifiedSince", since.toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andReturn().getResponse().getContentAsString();
+
+        // then: one line per row, each with its vector as base64
+        var lines = body.lines().map(this::read).toList();
+        assertThat(lines).isNotEmpty().allSatisfy(line -> {
+            assertThat(line.status()).isEqualTo(EmbeddingStatusType.ARCHIVED);
+            assertThat(line.type()).isEqualTo(EmbeddingType.TEXT);
+            assertThat(line.lastModifiedAt()).isAfter(since);
+        });
+        var exported = lines.stream().filter(line -> line.id().equals(archivedText.getId())).findFirst().orElseThrow();
+        assertThat(exported.artworkId()).isEqualTo(artwork.getId());
+        assertThat(exported.dimensions()).isEqualTo(2);
+        assertThat(exported.vector().toArray()).containsExactly(1, 2);
+        assertThat(lines).noneMatch(line -> line.id().equals(image.getId()));
+    }
+
+    private EmbeddingExport.Line read(String line) {
+        try {
+            return objectMapper.readValue(line, EmbeddingExport.Line.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
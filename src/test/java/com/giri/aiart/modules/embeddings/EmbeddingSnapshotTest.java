@@ -0,0 +1,137 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties.SnapshotPrecision;
+import com.giri.aiart.modules.embeddings.EmbeddingSnapshot.Entry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/// Unit test for {@link EmbeddingSnapshot}
+///
+/// @author Giri Pottepalem
+class EmbeddingSnapshotTest {
+    private static final EmbeddingSpace SPACE = new EmbeddingSpace("snapshot-test", 4);
+    private static final Instant MODIFIED = Instant.parse("2026-10-18T10:15:30.123456Z");
+
+    @TempDir Path directory;
+
+    @Test
+    void records_and_watermark_survive_reopening() {
+        // given
+        Path file = directory.resolve("space.vectors");
+        var kept = entry(1, 2, 3, 4);
+        var deleted = entry(5, 6, 7, 8);
+        try (var snapshot = EmbeddingSnapshot.open(file, SPACE, SnapshotPrecision.FLOAT32)) {
+            snapshot.put(kept);
+            snapshot.put(deleted);
+            snapshot.delete(deleted.id());
+            snapshot.watermark(MODIFIED);
+            snapshot.force();
+        }
+
+        // when
+        try (var snapshot = EmbeddingSnapshot.open(file, SPACE, SnapshotPrecision.FLOAT32)) {
+            // then: the live record only, with microsecond timestamps
+            List<Entry> entries = read(snapshot);
+            assertThat(entries).singleElement().satisfies(entry -> {
+                assertThat(entry.id()).isEqualTo(kept.id());
+                assertThat(entry.artworkId()).isEqualTo(kept.artworkId());
+                assertThat(entry.modifiedAt()).isEqualTo(MODIFIED);
+                assertThat(entry.vector()).containsExactly(1, 2, 3, 4);
+            });
+            assertThat(snapshot.watermark()).isEqualTo(MODIFIED);
+            assertThat(snapshot.modifiedAt(kept.id())).contains(MODIFIED);
+            assertThat(snapshot.modifiedAt(deleted.id())).isEmpty();
+            assertThat(snapshot.deleted()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void put_replaces_the_record_of_an_id() {
+        try (var snapshot = EmbeddingSnapshot.open(directory.resolve("space.vectors"), SPACE,
+            SnapshotPrecision.FLOAT32)) {
+            var entry = entry(1, 0, 0, 0);
+            snapshot.put(entry);
+            snapshot.put(new Entry(entry.id(), entry.artworkId(), MODIFIED.plusSeconds(1), new float[] {0, 1, 0, 0}));
+
+            assertThat(read(snapshot)).singleElement()
+                .satisfies(read -> assertThat(read.vector()).containsExactly(0, 1, 0, 0));
+            assertThat(snapshot.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void grows_and_compacts_by_rewriting_the_file() {
+        Path file = directory.resolve("space.vectors");
+        List<UUID> ids = new ArrayList<>();
+        try (var snapshot = EmbeddingSnapshot.open(file, SPACE, SnapshotPrecision.FLOAT32)) {
+            // when: past the initial capacity, then half deleted and compacted
+            for (int i = 0; i < 3000; i++) {
+                var entry = entry(i, i, i, i);
+                ids.add(entry.id());
+                snapshot.put(entry);
+            }
+            ids.subList(0, 1500).forEach(snapshot::delete);
+            snapshot.compact();
+
+            // then
+            assertThat(snapshot.size()).isEqualTo(1500);
+            assertThat(snapshot.deleted()).isZero();
+            assertThat(read(snapshot)).extracting(Entry::id).containsExactlyElementsOf(ids.subList(1500, 3000));
+        }
+        try (var snapshot = EmbeddingSnapshot.open(file, SPACE, SnapshotPrecision.FLOAT32)) {
+            assertThat(snapshot.size()).isEqualTo(1500);
+        }
+    }
+
+    @Test
+    void float16_keeps_about_three_significant_digits() {
+        try (var snapshot = EmbeddingSnapshot.open(directory.resolve("half.vectors"), SPACE,
+            SnapshotPrecision.FLOAT16)) {
+            snapshot.put(entry(0.123456f, -0.5f, 0.987654f, 0));
+
+            float[] vector = read(snapshot).getFirst().vector();
+            assertThat(vector[0]).isCloseTo(0.123456f, within(1e-3f));
+            assertThat(vector[1]).isEqualTo(-0.5f);
+            assertThat(vector[2]).isCloseTo(0.987654f, within(1e-3f));
+        }
+    }
+
+    @Test
+    void a_snapshot_of_another_space_or_precision_is_discarded() {
+        // given
+        Path file = directory.resolve("space.vectors");
+        try (var snapshot = EmbeddingSnapshot.open(file, SPACE, SnapshotPrecision.FLOAT32)) {
+            snapshot.put(entry(1, 2, 3, 4));
+        }
+
+        // then
+        try (var snapshot = EmbeddingSnapshot.open(file, SPACE, SnapshotPrecision.FLOAT16)) {
+            assertThat(snapshot.size()).isZero();
+            assertThat(snapshot.watermark()).isEqualTo(Instant.EPOCH);
+        }
+        try (var snapshot = EmbeddingSnapshot.open(file, new EmbeddingSpace("other-model", 4),
+            SnapshotPrecision.FLOAT16)) {
+            assertThat(snapshot.size()).isZero();
+        }
+    }
+
+    private static Entry entry(float... vector) {
+        return new Entry(UUID.randomUUID(), UUID.randomUUID(), MODIFIED.truncatedTo(ChronoUnit.MICROS), vector);
+    }
+
+    private static List<Entry> read(EmbeddingSnapshot snapshot) {
+        List<Entry> entries = new ArrayList<>();
+        snapshot.forEach(entries::add);
+        return entries;
+    }
+}
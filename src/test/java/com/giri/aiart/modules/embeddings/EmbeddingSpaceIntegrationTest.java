@@ -0,0 +1,127 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties.IndexMode;
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.persistence.ArtWorkRepository;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import com.giri.aiart.shared.persistence.ArtworkEmbeddingRepository;
+import com.giri.aiart.shared.util.EmbeddingUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+/// Integration test for embedding spaces ({@link EmbeddingSpaceRegistry}): vectors of several models and dimensions
+/// in one table, each space with its own index
+///
+/// @author Giri Pottepalem
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+public class EmbeddingSpaceIntegrationTest {
+    @Autowired private EmbeddingSpaceRegistry embeddingSpaceRegistry;
+    @Autowired private ArtistRepository artistRepository;
+    @Autowired private ArtWorkRepository artWorkRepository;
+    @Autowired private ArtworkEmbeddingRepository artworkEmbeddingRepository;
+    @Autowired private JdbcClient jdbcClient;
+
+    @Test
+    void current_space_is_registered_and_indexed_at_startup() {
+        // then: once the background registration is done
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+            assertThat(embeddingSpaceRegistry.findAll()).contains(embeddingSpaceRegistry.current());
+            assertThat(indexDefinitions()).anySatisfy(definition -> assertThat(definition)
+                .contains("hnsw")
+                .contains("dimensions = " + embeddingSpaceRegistry.current().dimensions()));
+        });
+    }
+
+    @Test
+    void vectors_are_stored_at_their_native_dimensions() {
+        // given: vectors of two models with different dimensions
+        Artist artist = artistRepository.save(
+            Artist.builder().firstName("Giri").lastName("Pottepalem").bio("Embedding space test artist").build()
+        );
+        Artwork artwork = Artwork.builder().title("Spaces").artist(artist).build();
+        artwork.addEmbeddings(List.of(
+            ArtworkEmbedding.builder().model("nomic-embed-text").embedding(EmbeddingUtils.generateRandomEmbedding(768))
+                .build(),
+            ArtworkEmbedding.builder().model("mxbai-embed-large").embedding(EmbeddingUtils.generateRandomEmbedding(1024))
+                .build()
+        ));
+
+        // when
+        artWorkRepository.save(artwork);
+
+        // then: neither is padded nor truncated, and each carries its space
+        assertThat(artworkEmbeddingRepository.findByArtwork_Id(artwork.getId()))
+            .extracting(ArtworkEmbedding::getModel, ArtworkEmbedding::getDimensions, e -> e.getEmbedding().length)
+            .containsExactlyInAnyOrder(
+                tuple("nomic-embed-text", 768, 768),
+                tuple("mxbai-embed-large", 1024, 1024));
+    }
+
+    @Test
+    void registering_a_space_creates_its_partial_index() {
+        // given
+        var space = new EmbeddingSpace("it's-a-test-model", 8);
+
+        // when: registered twice, e.g. by two instances
+        embeddingSpaceRegistry.register(space, IndexMode.HALFVEC);
+        embeddingSpaceRegistry.register(space, IndexMode.HALFVEC);
+
+        // then: one space, one partial index limited to its rows
+        assertThat(embeddingSpaceRegistry.findAll()).containsOnlyOnce(space);
+        assertThat(indexDefinitions())
+            .filteredOn(definition -> definition.contains("it''s-a-test-model"))
+            .singleElement()
+            .asString()
+            .contains("halfvec(8)")
+            .contains("dimensions = 8");
+    }
+
+    @Test
+    void an_invalid_index_is_rebuilt() {
+        // given: the index of a space left invalid, as by a failed CREATE INDEX CONCURRENTLY
+        var space = new EmbeddingSpace("invalid-index-test-model", 8);
+        embeddingSpaceRegistry.register(space, IndexMode.HALFVEC);
+        String name = new SpaceIndex(space, IndexMode.HALFVEC).name(spaceId(space));
+        jdbcClient.sql("UPDATE pg_index SET indisvalid = false WHERE indexrelid = to_regclass(:name)")
+            .param("name", name)
+            .update();
+
+        // when
+        embeddingSpaceRegistry.register(space, IndexMode.HALFVEC);
+
+        // then
+        assertThat(jdbcClient.sql("SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(:name)")
+            .param("name", name)
+            .query(Boolean.class)
+            .single())
+            .isTrue();
+    }
+
+    private int spaceId(EmbeddingSpace space) {
+        return jdbcClient.sql("SELECT id FROM embedding_space WHERE model = :model AND dimensions = :dimensions")
+            .param("model", space.model())
+            .param("dimensions", space.dimensions())
+            .query(Integer.class)
+            .single();
+    }
+
+    private List<String> indexDefinitions() {
+        return jdbcClient.sql("SELECT indexdef FROM pg_indexes WHERE tablename = 'artwork_embedding'")
+            .query(String.class)
+            .list();
+    }
+}
@@ -0,0 +1,200 @@
+package com.giri.aiart.modules.embeddings;
+
+import com.giri.aiart.config.EmbeddingsProperties;
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.modules.embeddings.NearestEmbeddings.Filter;
+import com.giri.aiart.modules.embeddings.NearestEmbeddings.Neighbor;
+import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.ArtWorkRepository;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import com.giri.aiart.shared.util.EmbeddingUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+
+/// Integration test for {@link HnswSearchTier}: the in-process index is cross-checked against exact pgvector search,
+/// and restarts from its snapshot
+///
+/// @author Giri Pottepalem
+@SpringBootTest(properties = {
+    "aiart.embeddings.hnsw.enabled=true",
+    "aiart.embeddings.hnsw.snapshot-dir=target/hnsw-snapshots/${random.uuid}"
+})
+@Import(TestcontainersConfig.class)
+public class HnswSearchTierIntegrationTest {
+    private static final Filter IMAGES = new Filter(EmbeddingType.IMAGE, null, null, null, null, null);
+
+    @Autowired private HnswSearchTier hnswSearchTier;
+    @Autowired private NearestEmbeddings nearestEmbeddings;
+    @Autowired private EmbeddingSpaceRegistry embeddingSpaceRegistry;
+    @Autowired private ArtistRepository artistRepository;
+    @Autowired private ArtWorkRepository artWorkRepository;
+    @Autowired private JdbcClient jdbcClient;
+    @Autowired private EmbeddingsProperties embeddingsProperties;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private final Random random = new Random(7);
+    private Artwork artwork;
+
+    /// 300 random vectors of the current space, on one artwork
+    @BeforeEach
+    void setup() {
+        Artist artist = artistRepository.save(
+            Artist.builder().firstName("Giri").lastName("Pottepalem").bio("HNSW tier test artist").build()
+        );
+        artwork = Artwork.builder().title("Random vectors").artist(artist).build();
+        List<ArtworkEmbedding> embeddings = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            embeddings.add(ArtworkEmbedding.builder()
+                .model(embeddingSpaceRegistry.current().model())
+                .embedding(randomVector())
+                .build());
+        }
+        artwork.addEmbeddings(embeddings);
+        artwork = artWorkRepository.save(artwork);
+        hnswSearchTier.synchronize();
+    }
+
+    @Test
+    void recall_against_exact_pgvector_search() {
+        int found = 0;
+        int expected = 0;
+        for (int q = 0; q < 20; q++) {
+            // given
+            float[] query = randomVector();
+            List<UUID> exact = exactNearest(query, 10);
+
+            // when
+            var neighbors = hnswSearchTier.find(query, IMAGES, 10).orElseThrow();
+
+            // then
+            found += (int) neighbors.stream().map(Neighbor::embeddingId).filter(exact::contains).count();
+            expected += exact.size();
+        }
+        assertThat((double) found / expected).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void archived_embeddings_leave_the_index_on_sync() {
+        // given: the nearest embedding of a query is archived
+        float[] query = randomVector();
+        UUID nearest = exactNearest(query, 1).getFirst();
+        jdbcClient.sql("UPDATE artwork_embedding SET status = 'ARCHIVED' WHERE id = :id").param("id", nearest).update();
+
+        // when
+        hnswSearchTier.synchronize();
+
+        // then
+        assertThat(hnswSearchTier.find(query, IMAGES, 10).orElseThrow())
+            .extracting(Neighbor::embeddingId)
+            .doesNotContain(nearest);
+    }
+
+    @Test
+    void restart_reads_vectors_from_the_snapshot_not_the_database() {
+        // given: a second tier, as after a restart, on the same snapshot directory
+        var store = spy(new HnswIndexStore(jdbcClient));
+        var restarted = new HnswSearchTier(store, embeddingSpaceRegistry, embeddingsProperties, meterRegistry);
+        try {
+            // when
+            restarted.synchronize();
+
+            // then: no vector was read over JDBC, yet every vector is found
+            then(store).should(never()).findAll(anyCollection());
+            var stored = artwork.getEmbeddings().getFirst();
+            assertThat(restarted.find(stored.getEmbedding(), IMAGES, 1).orElseThrow())
+                .extracting(Neighbor::embeddingId)
+                .containsExactly(stored.getId());
+        } finally {
+            restarted.destroy();
+        }
+    }
+
+    @Test
+    void pages_continue_where_the_tier_left_off() {
+        // given: 30 vectors around a query, at distances well apart from each other and from the random vectors
+        float[] query = randomVector();
+        Artwork cluster = Artwork.builder().title("Cluster").artist(artwork.getArtist()).build();
+        List<ArtworkEmbedding> embeddings = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            float[] noise = randomVector();
+            float[] vector = new float[query.length];
+            for (int d = 0; d < vector.length; d++) {
+                vector[d] = query[d] + (0.05f + 0.01f * i) * noise[d];
+            }
+            embeddings.add(ArtworkEmbedding.builder()
+                .model(embeddingSpaceRegistry.current().model())
+                .embedding(vector)
+                .build());
+        }
+        cluster.addEmbeddings(embeddings);
+        artWorkRepository.save(cluster);
+        hnswSearchTier.synchronize();
+
+        // when: the first page comes from the tier, the next ones from pgvector
+        List<Neighbor> walked = new ArrayList<>();
+        Filter filter = IMAGES;
+        for (int page = 0; page < 3; page++) {
+            var neighbors = nearestEmbeddings.find(query, filter, 10);
+            walked.addAll(neighbors);
+            var last = neighbors.getLast().position();
+            filter = new Filter(EmbeddingType.IMAGE, null, null, null, null, last);
+        }
+
+        // then: every vector of the cluster once, in exact order
+        assertThat(walked).extracting(Neighbor::embeddingId)
+            .doesNotHaveDuplicates()
+            .containsExactlyElementsOf(exactNearest(query, 30));
+    }
+
+    @Test
+    void filtered_and_paged_searches_are_left_to_pgvector() {
+        var byArtist = new Filter(EmbeddingType.IMAGE, null, artwork.getArtist().getId(), null, null, null);
+
+        assertThat(hnswSearchTier.find(randomVector(), byArtist, 10)).isEmpty();
+        assertThat(hnswSearchTier.find(randomVector(), Filter.NONE, 10)).isEmpty();
+    }
+
+    /// Exact top-k by a sequential scan: the unconstrained column matches none of the per-space index expressions
+    private List<UUID> exactNearest(float[] query, int k) {
+        var space = embeddingSpaceRegistry.current();
+        return jdbcClient.sql("""
+                SELECT id FROM artwork_embedding
+                WHERE model = :model AND dimensions = :dimensions AND type = 'IMAGE' AND status = 'ACTIVE'
+                ORDER BY embedding <=> CAST(:query AS vector), id
+                LIMIT :k
+                """)
+            .param("model", space.model())
+            .param("dimensions", space.dimensions())
+            .param("query", EmbeddingUtils.toVectorLiteral(query))
+            .param("k", k)
+            .query((rs, rowNum) -> rs.getObject("id", UUID.class))
+            .list();
+    }
+
+    private float[] randomVector() {
+        float[] vector = new float[embeddingSpaceRegistry.current().dimensions()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,135 @@
+package com.giri.aiart.modules.embeddings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/// Unit test for {@link OffHeapHnswIndex}
+///
+/// @author Giri Pottepalem
+class OffHeapHnswIndexTest {
+    private static final int DIMENSIONS = 32;
+    private final Random random = new Random(42);
+
+    @Test
+    void concurrent_inserts_keep_recall_against_brute_force() {
+        // given: 2000 vectors inserted from 8 threads
+        var index = new OffHeapHnswIndex(DIMENSIONS, 1 << 20, 16, 100);
+        List<UUID> ids = IntStream.range(0, 2000).mapToObj(i -> UUID.randomUUID()).toList();
+        List<float[]> vectors = ids.stream().map(id -> randomVector()).toList();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < ids.size(); i++) {
+                int n = i;
+                executor.submit(() -> index.insert(ids.get(n), ids.get(n), vectors.get(n)));
+            }
+        }
+        assertThat(index.size()).isEqualTo(2000);
+
+        // when: 50 queries for their 10 nearest vectors
+        int found = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomVector();
+            List<UUID> exact = IntStream.range(0, ids.size()).boxed()
+                .sorted(Comparator.comparingDouble(i -> cosineDistance(query, vectors.get(i))))
+                .limit(10)
+                .map(ids::get)
+                .toList();
+            found += (int) index.search(query, 10, 64, artworkId -> true).stream()
+                .filter(match -> exact.contains(match.id()))
+                .count();
+        }
+
+        // then
+        assertThat(found / 500.0).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void results_are_nearest_first_with_cosine_distances() {
+        var index = new OffHeapHnswIndex(DIMENSIONS, 1 << 20, 16, 100);
+        UUID same = UUID.randomUUID();
+        UUID opposite = UUID.randomUUID();
+        float[] vector = randomVector();
+        index.insert(opposite, opposite, negate(vector));
+        index.insert(same, same, scale(vector, 3));
+
+        var matches = index.search(vector, 2, 10, artworkId -> true);
+
+        assertThat(matches).extracting(OffHeapHnswIndex.Match::id).containsExactly(same, opposite);
+        assertThat(matches.get(0).distance()).isCloseTo(0, within(1e-5));
+        assertThat(matches.get(1).distance()).isCloseTo(2, within(1e-5));
+    }
+
+    @Test
+    void deleted_and_filtered_vectors_are_never_returned() {
+        // given
+        var index = new OffHeapHnswIndex(DIMENSIONS, 1 << 20, 16, 100);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(UUID.randomUUID());
+            index.insert(ids.getLast(), ids.getLast(), randomVector());
+        }
+        UUID excluded = ids.get(1);
+
+        // when: the first ten are deleted
+        ids.subList(0, 10).forEach(index::delete);
+        var matches = index.search(randomVector(), 90, 200, artworkId -> !artworkId.equals(excluded));
+
+        // then
+        assertThat(matches).extracting(OffHeapHnswIndex.Match::id).doesNotContainAnyElementsOf(ids.subList(0, 10));
+        assertThat(index.size()).isEqualTo(90);
+        assertThat(index.deleted()).isEqualTo(10);
+        assertThat(index.ids()).hasSize(90);
+    }
+
+    @Test
+    void inserts_beyond_the_memory_budget_are_refused() {
+        // given: room for 3 vectors
+        var index = new OffHeapHnswIndex(DIMENSIONS, 3L * DIMENSIONS * Float.BYTES, 16, 100);
+
+        // then
+        for (int i = 0; i < 3; i++) {
+            assertThat(index.insert(UUID.randomUUID(), UUID.randomUUID(), randomVector())).isTrue();
+        }
+        assertThat(index.insert(UUID.randomUUID(), UUID.randomUUID(), randomVector())).isFalse();
+        assertThat(index.usedBytes()).isEqualTo(3L * DIMENSIONS * Float.BYTES);
+    }
+
+    private float[] randomVector() {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static float[] negate(float[] vector) {
+        return scale(vector, -1);
+    }
+
+    private static float[] scale(float[] vector, float factor) {
+        float[] scaled = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            scaled[i] = vector[i] * factor;
+        }
+        return scaled;
+    }
+
+    private static double cosineDistance(float[] a, float[] b) {
+        double dot = 0, normA = 0, normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return 1 - dot / Math.sqrt(normA * normB);
+    }
+}
@@ -0,0 +1,118 @@
+package com.giri.aiart.modules.imaging;
+
+import com.giri.aiart.config.ImagingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/// Unit test for {@link ImagePreprocessor}
+///
+/// @author Giri Pottepalem
+class ImagePreprocessorTest {
+    private ImagingProperties imagingProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private ImagePreprocessor imagePreprocessor;
+
+    @BeforeEach
+    void setup() {
+        imagingProperties = new ImagingProperties();
+        imagingProperties.getThumbnail().setMaxEdge(64);
+        imagingProperties.getVision().setMaxEdge(200);
+        meterRegistry = new SimpleMeterRegistry();
+        imagePreprocessor = new ImagePreprocessor(imagingProperties, meterRegistry);
+    }
+
+    @Test
+    void preprocess_large_image_produces_capped_vision_input_and_thumbnail() throws Exception {
+        // given: a real photo larger than the vision max edge
+        Resource original = new ClassPathResource("images/london-boris.jpg");
+        BufferedImage decoded = read(original.getInputStream());
+
+        // when
+        PreprocessedImage image = imagePreprocessor.preprocess(original);
+
+        // then: the original dimensions are reported
+        assertThat(image.width()).isEqualTo(decoded.getWidth());
+        assertThat(image.height()).isEqualTo(decoded.getHeight());
+
+        // and: the vision input is a JPEG capped at the vision max edge, keeping the aspect ratio
+        assertThat(image.visionInput()).isNotSameAs(original);
+        assertThat(image.visionInput().getFilename()).isEqualTo("london-boris.jpg");
+        BufferedImage vision = read(image.visionInput().getInputStream());
+        assertThat(Math.max(vision.getWidth(), vision.getHeight())).isEqualTo(200);
+        assertThat((double) vision.getWidth() / vision.getHeight())
+            .isCloseTo((double) decoded.getWidth() / decoded.getHeight(), offset(0.02));
+
+        // and: the thumbnail is capped at the thumbnail max edge
+        assertThat(image.hasThumbnail()).isTrue();
+        BufferedImage thumbnail = read(new ByteArrayInputStream(image.thumbnail()));
+        assertThat(Math.max(thumbnail.getWidth(), thumbnail.getHeight())).isEqualTo(64);
+
+        // and: the stage is timed
+        assertThat(meterRegistry.get(ImagePreprocessor.TIMER_NAME).tag("outcome", "processed").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void preprocess_small_image_keeps_original_as_vision_input() throws Exception {
+        // given: a transparent PNG smaller than the vision max edge
+        var png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(120, 80, BufferedImage.TYPE_INT_ARGB), "png", png);
+        Resource original = named(png.toByteArray(), "small.png");
+
+        // when
+        PreprocessedImage image = imagePreprocessor.preprocess(original);
+
+        // then: the original is not re-encoded, but still gets a thumbnail
+        assertThat(image.visionInput()).isSameAs(original);
+        assertThat(image.hasThumbnail()).isTrue();
+        BufferedImage thumbnail = read(new ByteArrayInputStream(image.thumbnail()));
+        assertThat(thumbnail.getWidth()).isEqualTo(64);
+        assertThat(thumbnail.getHeight()).isEqualTo(43);
+    }
+
+    @Test
+    void preprocess_undecodable_image_passes_original_through() {
+        // given: bytes that are not an image
+        Resource original = named("fake-image-data".getBytes(), "fake.png");
+
+        // when
+        PreprocessedImage image = imagePreprocessor.preprocess(original);
+
+        // then
+        assertThat(image.visionInput()).isSameAs(original);
+        assertThat(image.hasThumbnail()).isFalse();
+        assertThat(meterRegistry.get(ImagePreprocessor.TIMER_NAME).tag("outcome", "undecoded").timer().count())
+            .isEqualTo(1);
+    }
+
+    private static BufferedImage read(InputStream inputStream) throws IOException {
+        try (inputStream) {
+            BufferedImage image = ImageIO.read(inputStream);
+            assertThat(image).isNotNull();
+            return image;
+        }
+    }
+
+    private static Resource named(byte[] bytes, String filename) {
+        return new ByteArrayResource(bytes) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+    }
+}
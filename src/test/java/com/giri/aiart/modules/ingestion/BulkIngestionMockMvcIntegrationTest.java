@@ -0,0 +1,169 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.modules.chat.media.MediaAnalysis;
+import com.giri.aiart.modules.embeddings.EmbeddingGeneratorService;
+import com.giri.aiart.modules.storage.MinioStorageService;
+import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.ArtWorkRepository;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import com.giri.aiart.shared.util.EmbeddingUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/// MockMvc Integration test for the bulk ingestion endpoint of {@link IngestionController}.
+///
+/// @author Giri Pottepalem
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Import(TestcontainersConfig.class)
+public class BulkIngestionMockMvcIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private ArtistRepository artistRepository;
+    @Autowired private ArtWorkRepository artWorkRepository;
+
+    @MockitoBean MinioStorageService minioStorageService;
+    @MockitoBean EmbeddingGeneratorService embeddingGeneratorService;
+
+    private Artist artist;
+
+    /// Creates and persists a dummy artist before each test.
+    @BeforeEach
+    void setup() {
+        artist = artistRepository.save(
+            Artist.builder()
+                .firstName("Giri")
+                .lastName("Pottepalem")
+                .bio("Bulk ingestion test artist")
+                .build()
+        );
+    }
+
+    @Test
+    void ingestArtworksBulk_streams_one_ndjson_line_per_image() throws Exception {
+        // given: three images and a zip archive with two more images and a non-image entry
+        var files = List.of(
+            new MockMultipartFile("files", "sunrise.png", "image/png", "fake-image-data-%s".formatted(UUID.randomUUID()).getBytes()),
+            new MockMultipartFile("files", "broken.png", "image/png", "fake-image-data-%s".formatted(UUID.randomUUID()).getBytes()),
+            new MockMultipartFile("files", "sunset.jpg", "image/jpeg", "fake-image-data-%s".formatted(UUID.randomUUID()).getBytes())
+        );
+        var archive = new MockMultipartFile("archive", "portfolio.zip", "application/zip",
+            zip("portfolio/night.png", "portfolio/dawn.gif", "portfolio/README.txt"));
+
+        // and: mock dependencies, the vision model fails for broken.png
+        given(minioStorageService.uploadFile(any(), any()))
+            .willAnswer(invocation -> "artworks/" + UUID.randomUUID());
+        given(embeddingGeneratorService.describe(any()))
+            .willAnswer(invocation -> {
+                if ("broken.png".equals(invocation.getArgument(0, Resource.class).getFilename())) {
+                    throw new IllegalStateException("vision model unavailable");
+                }
+                return new MediaAnalysis("A test description", "test-model");
+            });
+        given(embeddingGeneratorService.embed(any(), eq(EmbeddingType.IMAGE)))
+            .willAnswer(invocation -> ArtworkEmbedding.builder()
+                .embedding(EmbeddingUtils.generateRandomEmbedding(1536))
+                .type(EmbeddingType.IMAGE)
+                .build());
+        long artworksBefore = artWorkRepository.count();
+
+        // when: performing multipart POST to the bulk endpoint
+        var bulkRequest = MockMvcRequestBuilders.multipart("/api/v1/ingest/%s/bulk".formatted(artist.getId()))
+            .file(archive)
+            .param("artType", ArtType.DIGITAL.name())
+            .contentType(MediaType.MULTIPART_FORM_DATA);
+        files.forEach(bulkRequest::file);
+        var mvcResult = mockMvc.perform(bulkRequest)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then: the response is newline-delimited JSON
+        var body = mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn().getResponse().getContentAsString();
+        List<BulkIngestionResult> results = Arrays.stream(body.split("\n"))
+            .map(this::readResult)
+            .toList();
+
+        // and: every image got exactly one result, the non-image entry is skipped
+        assertThat(results).extracting(BulkIngestionResult::filename)
+            .containsExactlyInAnyOrder("sunrise.png", "broken.png", "sunset.jpg", "night.png", "dawn.gif");
+        assertThat(results).filteredOn(result -> result.status() == BulkIngestionResult.Status.INGESTED)
+            .hasSize(4)
+            .allSatisfy(result -> assertThat(result.artworkId()).isNotNull());
+        assertThat(results).filteredOn(result -> result.status() == BulkIngestionResult.Status.FAILED)
+            .singleElement()
+            .satisfies(result -> {
+                assertThat(result.filename()).isEqualTo("broken.png");
+                assertThat(result.error()).contains("vision model unavailable");
+            });
+
+        // and: the ingested artworks are persisted with titles derived from their file names
+        assertThat(artWorkRepository.count()).isEqualTo(artworksBefore + 4);
+        assertThat(results).extracting(BulkIngestionResult::title).contains("sunrise", "night");
+    }
+
+    @Test
+    void ingestArtworksBulk_for_unknown_artist_returns_400() throws Exception {
+        mockMvc.perform(
+            MockMvcRequestBuilders.multipart("/api/v1/ingest/%s/bulk".formatted(UUID.randomUUID()))
+                .file(new MockMultipartFile("files", "sunrise.png", "image/png", "fake-image-data-%s".formatted(UUID.randomUUID()).getBytes()))
+                .param("artType", ArtType.DIGITAL.name())
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+        )
+        .andExpect(status().isBadRequest());
+    }
+
+    private BulkIngestionResult readResult(String line) {
+        try {
+            return objectMapper.readValue(line, BulkIngestionResult.class);
+        } catch (Exception e) {
+            throw new AssertionError("Not a JSON line: " + line, e);
+        }
+    }
+
+    private static byte[] zip(String... entryNames) throws Exception {
+        var bytes = new ByteArrayOutputStream();
+        try (var zip = new ZipOutputStream(bytes)) {
+            for (String entryName : entryNames) {
+                zip.putNextEntry(new ZipEntry(entryName));
+                zip.write("fake-image-data-%s".formatted(UUID.randomUUID()).getBytes());
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
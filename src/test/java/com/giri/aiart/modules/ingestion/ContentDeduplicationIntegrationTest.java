@@ -0,0 +1,125 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.modules.chat.media.MediaAnalysis;
+import com.giri.aiart.modules.embeddings.EmbeddingGeneratorService;
+import com.giri.aiart.modules.storage.MinioStorageService;
+import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import com.giri.aiart.shared.persistence.ArtworkEmbeddingRepository;
+import com.giri.aiart.shared.util.EmbeddingUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+/// Integration test for the content-hash deduplication of {@link IngestionServiceImpl}
+///
+/// @author Giri Pottepalem
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+public class ContentDeduplicationIntegrationTest {
+
+    @Autowired private IngestionService ingestionService;
+    @Autowired private ArtistRepository artistRepository;
+    @Autowired private ArtworkEmbeddingRepository artworkEmbeddingRepository;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @MockitoBean MinioStorageService minioStorageService;
+    @MockitoBean EmbeddingGeneratorService embeddingGeneratorService;
+
+    private Artist artist;
+    private Artist otherArtist;
+    private byte[] imageBytes;
+
+    @BeforeEach
+    void setup() throws Exception {
+        artist = artistRepository.save(
+            Artist.builder().firstName("Giri").lastName("Pottepalem").bio("Dedup test artist").build()
+        );
+        otherArtist = artistRepository.save(
+            Artist.builder().firstName("Other").lastName("Artist").bio("Dedup test artist").build()
+        );
+        imageBytes = "fake-image-data-%s".formatted(UUID.randomUUID()).getBytes();
+
+        given(minioStorageService.uploadFile(any(), any()))
+            .willAnswer(invocation -> "artworks/" + UUID.randomUUID());
+        given(embeddingGeneratorService.describe(any()))
+            .willReturn(new MediaAnalysis("A test description", "test-model"));
+        given(embeddingGeneratorService.embed(any(), eq(EmbeddingType.IMAGE)))
+            .willAnswer(invocation -> ArtworkEmbedding.builder()
+                .embedding(EmbeddingUtils.generateRandomEmbedding(1536))
+                .type(EmbeddingType.IMAGE)
+                .sourceText(invocation.getArgument(0))
+                .build());
+    }
+
+    @Test
+    void same_image_for_another_artist_reuses_object_description_and_vector() throws Exception {
+        // given: the image was ingested once
+        double hitsBefore = dedupCount("hit");
+        Artwork first = ingestionService.ingestArtwork(artist.getId(), "Original", "First upload", ArtType.PAINTING, image());
+
+        // when: another artist uploads the identical image
+        Artwork second = ingestionService.ingestArtwork(otherArtist.getId(), "Copy", "Second upload", ArtType.PAINTING, image());
+
+        // then: a new artwork is created for the other artist, pointing at the same stored image
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(second.getMinioKey()).isEqualTo(first.getMinioKey());
+        assertThat(second.getContentHash()).isEqualTo(first.getContentHash()).hasSize(64);
+
+        // and: its embedding is a copy of the first one, with the same vector and description
+        var firstEmbedding = artworkEmbeddingRepository.findById(first.getEmbeddings().getFirst().getId()).orElseThrow();
+        var secondEmbedding = artworkEmbeddingRepository.findById(second.getEmbeddings().getFirst().getId()).orElseThrow();
+        assertThat(secondEmbedding.getId()).isNotEqualTo(firstEmbedding.getId());
+        assertThat(secondEmbedding.getEmbedding()).containsExactly(firstEmbedding.getEmbedding());
+        assertThat(secondEmbedding.getSourceText()).isEqualTo("A test description");
+
+        // and: upload, vision model and embedding model ran only once
+        then(minioStorageService).should(times(1)).uploadFile(any(), any());
+        then(embeddingGeneratorService).should(times(1)).describe(any());
+        then(embeddingGeneratorService).should(times(1)).embed(any(), any());
+
+        // and: the hit is counted
+        assertThat(dedupCount("hit")).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void same_image_for_the_same_artist_returns_the_existing_artwork() throws Exception {
+        // given: the image was ingested once
+        Artwork first = ingestionService.ingestArtwork(artist.getId(), "Original", "First upload", ArtType.PAINTING, image());
+
+        // when: the same artist uploads it again
+        Artwork again = ingestionService.ingestArtwork(artist.getId(), "Again", "Second upload", ArtType.PAINTING, image());
+
+        // then: the existing artwork is returned and its stored image is kept
+        assertThat(again.getId()).isEqualTo(first.getId());
+        then(minioStorageService).should(never()).deleteFile(any());
+    }
+
+    private MockMultipartFile image() {
+        return new MockMultipartFile("imageFile", "sample.png", "image/png", imageBytes);
+    }
+
+    private double dedupCount(String result) {
+        return meterRegistry.counter(IngestionServiceImpl.DEDUP_METRIC, "result", result).count();
+    }
+}
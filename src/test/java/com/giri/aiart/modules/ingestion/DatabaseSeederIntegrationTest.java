@@ -1,6 +1,7 @@
 package com.giri.aiart.modules.ingestion;
 
 import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.modules.chat.media.MediaAnalysis;
 import com.giri.aiart.modules.embeddings.EmbeddingGeneratorService;
 import com.giri.aiart.modules.storage.MinioStorageService;
 import com.giri.aiart.shared.domain.Artist;
@@ -20,6 +21,8 @@ import org.springframework.context.annotation.Import;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -73,7 +76,7 @@ public class DatabaseSeederIntegrationTest {
             "file",
             "test.png",
             "image/png",
-            "fake-image-content".getBytes()
+            "fake-image-content-%s".formatted(UUID.randomUUID()).getBytes()
         );
 
         // and: a mocked minioStorageService call to upload file
@@ -86,8 +89,10 @@ public class DatabaseSeederIntegrationTest {
             .type(EmbeddingType.IMAGE)
             .build();
 
-        // and: a mocked embeddingGeneratorService call
-        given(embeddingGeneratorService.generateEmbedding(any(), eq(EmbeddingType.IMAGE)))
+        // and: mocked embeddingGeneratorService describe and embed calls
+        given(embeddingGeneratorService.describe(any()))
+            .willReturn(new MediaAnalysis("A test description", "test-model"));
+        given(embeddingGeneratorService.embed(any(), eq(EmbeddingType.IMAGE)))
             .willReturn(mockedArtWorkEmbedding);
 
         // when: the service method under test is called
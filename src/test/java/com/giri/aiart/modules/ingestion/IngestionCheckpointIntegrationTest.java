@@ -0,0 +1,190 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.modules.chat.media.MediaAnalysis;
+import com.giri.aiart.modules.embeddings.EmbeddingGeneratorService;
+import com.giri.aiart.modules.storage.MinioStorageService;
+import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.IngestionCheckpoint;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.ArtWorkRepository;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import com.giri.aiart.shared.persistence.IngestionCheckpointRepository;
+import com.giri.aiart.shared.util.EmbeddingUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+/// Integration test for the checkpointed ingestion of {@link IngestionServiceImpl} and the
+/// {@link IngestionResumeSweeper}
+///
+/// @author Giri Pottepalem
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+public class IngestionCheckpointIntegrationTest {
+
+    @Autowired private IngestionService ingestionService;
+    @Autowired private IngestionResumeSweeper ingestionResumeSweeper;
+    @Autowired private ArtistRepository artistRepository;
+    @Autowired private ArtWorkRepository artWorkRepository;
+    @Autowired private IngestionCheckpointRepository checkpointRepository;
+    @Autowired private JdbcClient jdbcClient;
+
+    @MockitoBean MinioStorageService minioStorageService;
+    @MockitoBean EmbeddingGeneratorService embeddingGeneratorService;
+
+    private Artist artist;
+    private byte[] imageBytes;
+
+    @BeforeEach
+    void setup() throws Exception {
+        // checkpoints left behind by other tests would be swept as well
+        checkpointRepository.deleteAll();
+        artist = artistRepository.save(
+            Artist.builder().firstName("Giri").lastName("Pottepalem").bio("Checkpoint test artist").build()
+        );
+        imageBytes = "fake-image-data-%s".formatted(UUID.randomUUID()).getBytes();
+
+        given(minioStorageService.uploadFile(any(), any()))
+            .willAnswer(invocation -> "artworks/%s_sample.png".formatted(UUID.randomUUID()));
+        given(embeddingGeneratorService.describe(any()))
+            .willReturn(new MediaAnalysis("A test description", "test-model"));
+        // the embedding model is down for the first attempt, which fails once the concurrent upload is recorded
+        given(embeddingGeneratorService.embed(any(), eq(EmbeddingType.IMAGE)))
+            .willAnswer(invocation -> {
+                await().atMost(Duration.ofSeconds(10)).until(() -> checkpoint().getMinioKey() != null);
+                throw new IllegalStateException("embedding model unavailable");
+            })
+            .willAnswer(invocation -> ArtworkEmbedding.builder()
+                .embedding(EmbeddingUtils.generateRandomEmbedding(1536))
+                .type(EmbeddingType.IMAGE)
+                .sourceText(invocation.getArgument(0))
+                .build());
+    }
+
+    @Test
+    void failed_ingestion_keeps_completed_stages_in_its_checkpoint() {
+        // when: the embedding stage fails
+        assertThatThrownBy(() -> ingestArtwork())
+            .hasMessageContaining("embedding model unavailable");
+
+        // then: the upload and the description are recorded, along with the failure
+        IngestionCheckpoint checkpoint = checkpoint();
+        assertThat(checkpoint.getStatus()).isEqualTo(IngestionCheckpoint.Status.FAILED);
+        assertThat(checkpoint.getAttempts()).isEqualTo(1);
+        assertThat(checkpoint.getMinioKey()).startsWith("artworks/");
+        assertThat(checkpoint.getImageDescription()).isEqualTo("A test description");
+        assertThat(checkpoint.getModel()).isEqualTo("test-model");
+        assertThat(checkpoint.getLastError()).contains("embedding model unavailable");
+
+        // and: the uploaded image is kept for a retry
+        then(minioStorageService).should(never()).deleteFile(any());
+    }
+
+    @Test
+    void retry_resumes_from_the_last_completed_stage() throws Exception {
+        // given: a first attempt that failed after describing the image
+        assertThatThrownBy(() -> ingestArtwork()).isInstanceOf(IllegalStateException.class);
+        String minioKey = checkpoint().getMinioKey();
+
+        // when: the same image is ingested again
+        Artwork artwork = ingestArtwork();
+
+        // then: the stored image and description of the first attempt are reused
+        assertThat(artwork.getMinioKey()).isEqualTo(minioKey);
+        assertThat(artwork.getEmbeddings()).singleElement()
+            .satisfies(embedding -> assertThat(embedding.getSourceText()).isEqualTo("A test description"));
+        then(minioStorageService).should(times(1)).uploadFile(any(), any());
+        then(embeddingGeneratorService).should(times(1)).describe(any());
+        then(embeddingGeneratorService).should(times(2)).embed(any(), any());
+
+        // and: the checkpoint is removed along with persisting the artwork
+        assertThat(checkpointRepository.findByArtistIdAndContentHash(artist.getId(), artwork.getContentHash())).isEmpty();
+    }
+
+    @Test
+    void sweeper_resumes_a_failed_ingestion_from_its_stored_image() throws Exception {
+        // given: a failed attempt, past its retry delay
+        assertThatThrownBy(() -> ingestArtwork()).isInstanceOf(IllegalStateException.class);
+        String minioKey = checkpoint().getMinioKey();
+        String contentHash = checkpoint().getContentHash();
+        ageCheckpoints();
+
+        // and: the stored original can be downloaded
+        given(minioStorageService.downloadFile(anyString()))
+            .willAnswer(invocation -> new ByteArrayInputStream(imageBytes));
+
+        // when: the sweeper runs
+        int resumed = ingestionResumeSweeper.sweep();
+
+        // then: the artwork is persisted from the stored image without uploading or describing it again
+        assertThat(resumed).isEqualTo(1);
+        assertThat(artWorkRepository.findByArtist_IdAndContentHash(artist.getId(), contentHash))
+            .hasValueSatisfying(artwork -> {
+                assertThat(artwork.getTitle()).isEqualTo("Checkpointed");
+                assertThat(artwork.getMinioKey()).isEqualTo(minioKey);
+            });
+        then(minioStorageService).should(times(1)).downloadFile(minioKey);
+        then(minioStorageService).should(times(1)).uploadFile(any(), any());
+        then(embeddingGeneratorService).should(times(1)).describe(any());
+        assertThat(checkpointRepository.count()).isZero();
+    }
+
+    @Test
+    void sweeper_abandons_a_checkpoint_out_of_attempts() {
+        // given: a failed attempt that used up all attempts
+        assertThatThrownBy(() -> ingestArtwork()).isInstanceOf(IllegalStateException.class);
+        String minioKey = checkpoint().getMinioKey();
+        jdbcClient.sql("UPDATE ingestion_checkpoint SET attempts = 99").update();
+        ageCheckpoints();
+
+        // when: the sweeper runs
+        int resumed = ingestionResumeSweeper.sweep();
+
+        // then: the checkpoint is removed along with its stored image
+        assertThat(resumed).isZero();
+        assertThat(checkpointRepository.count()).isZero();
+        then(minioStorageService).should().deleteFile(minioKey);
+    }
+
+    private Artwork ingestArtwork() throws Exception {
+        return ingestionService.ingestArtwork(artist.getId(), "Checkpointed", "Resumable upload", ArtType.PAINTING,
+            new MockMultipartFile("imageFile", "sample.png", "image/png", imageBytes));
+    }
+
+    private IngestionCheckpoint checkpoint() {
+        return checkpointRepository.findAll().stream()
+            .filter(checkpoint -> checkpoint.getArtistId().equals(artist.getId()))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    /// Moves the progress of all checkpoints an hour back, past any retry or stale delay
+    private void ageCheckpoints() {
+        jdbcClient.sql("UPDATE ingestion_checkpoint SET stage_reached_at = stage_reached_at - INTERVAL '1 hour'")
+            .update();
+    }
+}
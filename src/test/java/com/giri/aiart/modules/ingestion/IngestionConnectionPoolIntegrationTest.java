@@ -0,0 +1,112 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.modules.chat.media.MediaAnalysis;
+import com.giri.aiart.modules.embeddings.EmbeddingGeneratorService;
+import com.giri.aiart.modules.storage.MinioStorageService;
+import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import com.giri.aiart.shared.util.EmbeddingUtils;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+/// Concurrency test for {@link IngestionServiceImpl}: verifies that no pooled JDBC connection is held while
+/// uploads are waiting on the (slow) vision and embedding models.
+///
+/// The test pool has only 2 connections (see `application-test.yml`). Far more uploads than that are kept
+/// in flight inside the describe stage; if the pipeline held a connection across model calls, the pool would be
+/// exhausted and the uploads would time out.
+///
+/// @author Giri Pottepalem
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+public class IngestionConnectionPoolIntegrationTest {
+    private static final int CONCURRENT_UPLOADS = 12;
+
+    @Autowired private IngestionService ingestionService;
+    @Autowired private ArtistRepository artistRepository;
+    @Autowired private DataSource dataSource;
+
+    @MockitoBean MinioStorageService minioStorageService;
+    @MockitoBean EmbeddingGeneratorService embeddingGeneratorService;
+
+    private Artist artist;
+
+    @BeforeEach
+    void setup() {
+        artist = artistRepository.save(
+            Artist.builder().firstName("Giri").lastName("Pottepalem").bio("Concurrency test artist").build()
+        );
+    }
+
+    @Test
+    void pool_usage_stays_flat_while_many_uploads_are_in_flight() throws Exception {
+        // given: the vision model blocks until every upload has reached it
+        var allInModelCall = new CountDownLatch(CONCURRENT_UPLOADS);
+        var releaseModel = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            allInModelCall.countDown();
+            releaseModel.await(30, TimeUnit.SECONDS);
+            return new MediaAnalysis("A test description", "test-model");
+        }).given(embeddingGeneratorService).describe(any());
+
+        // and: upload and embed are mocked
+        given(minioStorageService.uploadFile(any(), any())).willReturn("artwork/test.png");
+        given(embeddingGeneratorService.embed(any(), eq(EmbeddingType.IMAGE)))
+            .willAnswer(invocation -> ArtworkEmbedding.builder()
+                .embedding(EmbeddingUtils.generateRandomEmbedding(1536))
+                .type(EmbeddingType.IMAGE)
+                .build());
+
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+
+        // when: many uploads run concurrently
+        List<Future<Artwork>> results = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_UPLOADS; i++) {
+                var image = new MockMultipartFile("imageFile", "test-%d.png".formatted(i), "image/png", "fake-%s".formatted(UUID.randomUUID()).getBytes());
+                results.add(executor.submit(() -> ingestionService.ingestArtwork(
+                    artist.getId(), "Concurrent Art", "Concurrency test", ArtType.PAINTING, image
+                )));
+            }
+
+            // then: while every upload is waiting on the model, no connection is checked out
+            assertThat(allInModelCall.await(30, TimeUnit.SECONDS)).isTrue();
+            assertThat(pool.getActiveConnections()).isZero();
+            assertThat(pool.getThreadsAwaitingConnection()).isZero();
+
+            releaseModel.countDown();
+        }
+
+        // and: every upload completes
+        for (Future<Artwork> result : results) {
+            assertThat(result.get().getId()).isNotNull();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.giri.aiart.modules.ingestion;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.modules.chat.media.MediaAnalysis;
 import com.giri.aiart.modules.embeddings.EmbeddingGeneratorService;
 import com.giri.aiart.modules.storage.MinioStorageService;
 import com.giri.aiart.shared.domain.Artist;
@@ -23,6 +24,8 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.util.UUID;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -67,13 +70,15 @@ public class IngestionControllerMockMvcIntegrationTest {
     void ingestArtwork_REST_endpoint_should_store_Artwork_and_Embeddings() throws Exception {
         // given: a mock image
         MockMultipartFile mockImage = new MockMultipartFile(
-            "imageFile", "sample.png", "image/png", "fake-image-data".getBytes()
+            "imageFile", "sample.png", "image/png", "fake-image-data-%s".formatted(UUID.randomUUID()).getBytes()
         );
 
         // and: mock dependencies
         given(minioStorageService.uploadFile(any(), any()))
             .willReturn("artwork/sample.png");
-        given(embeddingGeneratorService.generateEmbedding(any(), eq(EmbeddingType.IMAGE)))
+        given(embeddingGeneratorService.describe(any()))
+            .willReturn(new MediaAnalysis("A test description", "test-model"));
+        given(embeddingGeneratorService.embed(any(), eq(EmbeddingType.IMAGE)))
             .willReturn(ArtworkEmbedding.builder()
                 .embedding(EmbeddingUtils.generateRandomEmbedding(1536))
                 .type(EmbeddingType.IMAGE)
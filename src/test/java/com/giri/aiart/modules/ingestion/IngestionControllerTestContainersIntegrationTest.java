@@ -103,7 +103,7 @@ public class IngestionControllerTestContainersIntegrationTest {
     @Test
     void ingestArtwork_viaRestTemplate_shouldStoreArtworkAndEmbeddings() throws Exception {
         // 🖼️ Prepare mock image
-        ByteArrayResource mockImage = new ByteArrayResource("fake-image-data".getBytes()) {
+        ByteArrayResource mockImage = new ByteArrayResource("fake-image-data-%s".formatted(UUID.randomUUID()).getBytes()) {
             @Override
             public String getFilename() {
                 return "test.png";
@@ -161,7 +161,8 @@ public class IngestionControllerTestContainersIntegrationTest {
         assertThat(embeddingDto.id()).isNotNull();
         assertThat(embeddingDto.type()).isEqualTo(EmbeddingType.IMAGE);
         assertThat(embeddingDto.status()).isEqualTo(EmbeddingStatusType.ACTIVE);
-        assertThat(embeddingDto.embedding()).hasSize(1536);
-        assertThat(embeddingDto.embedding()).containsOnly(0.0f);
+        assertThat(embeddingDto.dimensions()).isEqualTo(1536);
+        // 🪶 Vectors are only returned on request, see ArtworkController
+        assertThat(embeddingDto.vector()).isNull();
     }
 }
@@ -0,0 +1,179 @@
+package com.giri.aiart.modules.ingestion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.modules.chat.media.MediaAnalysis;
+import com.giri.aiart.modules.embeddings.EmbeddingGeneratorService;
+import com.giri.aiart.modules.storage.MinioStorageService;
+import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.IngestionCheckpoint;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import com.giri.aiart.shared.persistence.IngestionCheckpointRepository;
+import com.giri.aiart.shared.util.EmbeddingUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/// MockMvc Integration test for the asynchronous ingestion endpoints of {@link IngestionController}.
+///
+/// @author Giri Pottepalem
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Import(TestcontainersConfig.class)
+public class IngestionJobMockMvcIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private ArtistRepository artistRepository;
+    @Autowired private IngestionCheckpointRepository checkpointRepository;
+
+    @MockitoBean MinioStorageService minioStorageService;
+    @MockitoBean EmbeddingGeneratorService embeddingGeneratorService;
+
+    private Artist artist;
+
+    /// Creates and persists a dummy artist before each test.
+    @BeforeEach
+    void setup() {
+        artist = artistRepository.save(
+            Artist.builder()
+                .firstName("Giri")
+                .lastName("Pottepalem")
+                .bio("Async ingestion test artist")
+                .build()
+        );
+    }
+
+    @Test
+    void ingestArtworkAsync_returns_202_and_job_completes_with_all_stages() throws Exception {
+        // given: a mock image
+        MockMultipartFile mockImage = new MockMultipartFile(
+            "imageFile", "sample.png", "image/png", "fake-image-data-%s".formatted(UUID.randomUUID()).getBytes()
+        );
+
+        // and: mock dependencies
+        given(minioStorageService.uploadFile(any(), any()))
+            .willReturn("artwork/sample.png");
+        given(embeddingGeneratorService.describe(any()))
+            .willReturn(new MediaAnalysis("A test description", "test-model"));
+        given(embeddingGeneratorService.embed(any(), eq(EmbeddingType.IMAGE)))
+            .willReturn(ArtworkEmbedding.builder()
+                .embedding(EmbeddingUtils.generateRandomEmbedding(1536))
+                .type(EmbeddingType.IMAGE)
+                .build());
+
+        // when: performing multipart POST to the async endpoint
+        var submitResult = mockMvc.perform(
+            MockMvcRequestBuilders.multipart("/api/v1/ingest/%s/async".formatted(artist.getId()))
+                .file(mockImage)
+                .param("title", "Async Artwork")
+                .param("description", "Artwork ingested asynchronously")
+                .param("artType", ArtType.PAINTING.name())
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+        )
+        .andExpect(status().isAccepted())
+        .andExpect(header().exists("Location"))
+        .andExpect(jsonPath("$.id").exists())
+        .andReturn();
+
+        String jobId = objectMapper.readTree(submitResult.getResponse().getContentAsString()).get("id").asText();
+
+        // then: the job eventually completes
+        JsonNode job = pollUntilFinished(jobId);
+        assertThat(job.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(job.get("artworkId").asText()).isNotBlank();
+
+        // and: every stage was timed (upload runs concurrently with describe/embed, so no fixed order)
+        assertThat(job.get("stages").findValuesAsText("stage"))
+            .containsExactlyInAnyOrder("FINGERPRINTED", "UPLOADED", "PREPROCESSED", "DESCRIBED", "EMBEDDED", "PERSISTED");
+    }
+
+    @Test
+    void ingestArtworkAsync_when_describe_fails_job_fails_and_checkpoint_is_kept_for_a_retry() throws Exception {
+        // given: a mock image
+        MockMultipartFile mockImage = new MockMultipartFile(
+            "imageFile", "broken.png", "image/png", "fake-image-data-%s".formatted(UUID.randomUUID()).getBytes()
+        );
+
+        // and: the upload succeeds but the vision model fails
+        given(minioStorageService.uploadFile(any(), any()))
+            .willReturn("artwork/broken.png");
+        given(embeddingGeneratorService.describe(any()))
+            .willThrow(new IllegalStateException("vision model unavailable"));
+
+        // when: performing multipart POST to the async endpoint
+        var submitResult = mockMvc.perform(
+            MockMvcRequestBuilders.multipart("/api/v1/ingest/%s/async".formatted(artist.getId()))
+                .file(mockImage)
+                .param("title", "Broken Artwork")
+                .param("description", "Artwork whose description fails")
+                .param("artType", ArtType.PAINTING.name())
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+        )
+        .andExpect(status().isAccepted())
+        .andReturn();
+
+        String jobId = objectMapper.readTree(submitResult.getResponse().getContentAsString()).get("id").asText();
+
+        // then: the job fails with the model error
+        JsonNode job = pollUntilFinished(jobId);
+        assertThat(job.get("status").asText()).isEqualTo("FAILED");
+        assertThat(job.get("error").asText()).contains("vision model unavailable");
+
+        // and: the checkpoint of the image records the failure, the uploaded image is kept for a retry
+        assertThat(checkpointRepository.findAll())
+            .filteredOn(checkpoint -> checkpoint.getArtistId().equals(artist.getId()))
+            .singleElement()
+            .satisfies(checkpoint -> {
+                assertThat(checkpoint.getStatus()).isEqualTo(IngestionCheckpoint.Status.FAILED);
+                assertThat(checkpoint.getLastError()).contains("vision model unavailable");
+            });
+        then(minioStorageService).should(never()).deleteFile(any());
+    }
+
+    @Test
+    void getJob_for_unknown_id_returns_404() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/ingest/jobs/%s".formatted(UUID.randomUUID())))
+            .andExpect(status().isNotFound());
+    }
+
+    private JsonNode pollUntilFinished(String jobId) throws Exception {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            var response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/ingest/jobs/%s".formatted(jobId)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode job = objectMapper.readTree(response);
+            var jobStatus = job.get("status").asText();
+            if ("COMPLETED".equals(jobStatus) || "FAILED".equals(jobStatus)) {
+                return job;
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+        throw new AssertionError("Ingestion job %s did not finish in time".formatted(jobId));
+    }
+}
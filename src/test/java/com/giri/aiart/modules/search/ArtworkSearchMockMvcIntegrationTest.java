@@ -0,0 +1,195 @@
+package com.giri.aiart.modules.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giri.aiart.config.TestcontainersConfig;
+import com.giri.aiart.modules.embeddings.EmbeddingGeneratorService;
+import com.giri.aiart.modules.embeddings.EmbeddingSpaceRegistry;
+import com.giri.aiart.shared.domain.Artist;
+import com.giri.aiart.shared.domain.Artwork;
+import com.giri.aiart.shared.domain.ArtworkEmbedding;
+import com.giri.aiart.shared.domain.type.ArtType;
+import com.giri.aiart.shared.domain.type.EmbeddingType;
+import com.giri.aiart.shared.persistence.ArtWorkRepository;
+import com.giri.aiart.shared.persistence.ArtistRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/// MockMvc Integration test for {@link ArtworkSearchController}: similarity, text and hybrid search with filters, a
+/// distance threshold and keyset pagination
+///
+/// @author Giri Pottepalem
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Import(TestcontainersConfig.class)
+public class ArtworkSearchMockMvcIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private ArtistRepository artistRepository;
+    @Autowired private ArtWorkRepository artWorkRepository;
+    @Autowired private EmbeddingSpaceRegistry embeddingSpaceRegistry;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @MockitoBean EmbeddingGeneratorService embeddingGeneratorService;
+
+    private Artist artist;
+    private Artwork source;
+    private Artwork close;
+    private Artwork closeSculpture;
+    private Artwork far;
+
+    /// Four artworks of a new artist, so that every search filtered on it only sees these
+    @BeforeEach
+    void setup() {
+        artist = artistRepository.save(
+            Artist.builder().firstName("Giri").lastName("Pottepalem").bio("Search test artist").build()
+        );
+        source = artwork("Source", ArtType.PAINTING, 1, 0, 0);
+        close = artwork("Close", ArtType.PAINTING, 1, 1, 0);
+        closeSculpture = artwork("Close sculpture", ArtType.SCULPTURE, 1, 0.5f, 0);
+        far = artwork("Far", ArtType.PAINTING, -1, 0, 1);
+    }
+
+    @Test
+    void similar_artworks_exclude_the_source_and_are_nearest_first() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/artworks/{id}/similar", source.getId())
+                .param("artistId", artist.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[*].title").value(contains("Close sculpture", "Close", "Far")))
+            .andExpect(jsonPath("$.results[0].artistName").value("Giri Pottepalem"))
+            .andExpect(jsonPath("$.next").value(nullValue()));
+    }
+
+    @Test
+    void similar_artworks_are_filtered_by_art_type_and_distance() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/artworks/{id}/similar", source.getId())
+                .param("artistId", artist.getId().toString())
+                .param("artType", ArtType.PAINTING.name())
+                .param("maxDistance", "0.5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[*].title").value(contains("Close")));
+    }
+
+    @Test
+    void similar_artworks_are_paged_with_the_next_cursor() throws Exception {
+        // given: a first page of two
+        var first = page(mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/artworks/{id}/similar", source.getId())
+                .param("artistId", artist.getId().toString())
+                .param("limit", "2"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+        assertThat(first.results()).extracting(SimilarArtwork::title).containsExactly("Close sculpture", "Close");
+        assertThat(first.next()).isNotNull();
+
+        // when
+        var second = page(mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/artworks/{id}/similar", source.getId())
+                .param("artistId", artist.getId().toString())
+                .param("limit", "2")
+                .param("after", first.next()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+
+        // then: the page continues after the last result, without repeats
+        assertThat(second.results()).extracting(SimilarArtwork::title).containsExactly("Far");
+        assertThat(second.next()).isNull();
+    }
+
+    @Test
+    void similar_to_an_artwork_without_embedding_is_not_found() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/artworks/{id}/similar", UUID.randomUUID()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void text_search_ranks_artworks_by_the_embedded_query() throws Exception {
+        // given: the query embeds next to the "Far" artwork
+        given(embeddingGeneratorService.embed(eq("a lonely lighthouse"), any(EmbeddingType.class)))
+            .willReturn(ArtworkEmbedding.builder().embedding(vector(-1, 0, 1)).build());
+        var request = new SearchRequest("a lonely lighthouse", null, 1, null, null, artist.getId(), null);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[*].title").value(contains("Far")))
+            .andExpect(jsonPath("$.results[0].distance").value(0.0))
+            .andExpect(jsonPath("$.next").isNotEmpty());
+    }
+
+    @Test
+    void hybrid_search_finds_an_exact_title_the_vectors_rank_last() throws Exception {
+        // given: the query embeds next to "Far", but names the "Close" artwork
+        given(embeddingGeneratorService.embed(eq("Close"), any(EmbeddingType.class)))
+            .willReturn(ArtworkEmbedding.builder().embedding(vector(-1, 0, 1)).build());
+        var request = new SearchRequest("Close", SearchMode.HYBRID, 10, null, ArtType.PAINTING, artist.getId(), null);
+
+        // when
+        var page = page(mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+
+        // then: the keyword match is fused to the top, vector-only matches follow, nothing is paged
+        assertThat(page.results()).extracting(SimilarArtwork::title).startsWith("Close").contains("Far", "Source");
+        assertThat(page.results().getFirst().score()).isPositive();
+        assertThat(page.next()).isNull();
+
+        // and: both sides were timed
+        assertThat(meterRegistry.timer(ArtworkSearchService.LEG_METRIC, "leg", "text").count()).isPositive();
+        assertThat(meterRegistry.timer(ArtworkSearchService.LEG_METRIC, "leg", "vector").count()).isPositive();
+    }
+
+    @Test
+    void text_search_rejects_a_blank_query_and_a_bad_cursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new SearchRequest(" ", null, null, null, null, null, null))))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/artworks/{id}/similar", source.getId())
+                .param("after", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private Artwork artwork(String title, ArtType artType, float... head) {
+        Artwork artwork = Artwork.builder().title(title).artType(artType).artist(artist).build();
+        artwork.addEmbeddings(List.of(ArtworkEmbedding.builder()
+            .model(embeddingSpaceRegistry.current().model())
+            .type(EmbeddingType.IMAGE)
+            .embedding(vector(head))
+            .build()));
+        return artWorkRepository.save(artwork);
+    }
+
+    /// A vector of the current space starting with the given components, zero elsewhere
+    private float[] vector(float... head) {
+        float[] vector = new float[embeddingSpaceRegistry.current().dimensions()];
+        System.arraycopy(head, 0, vector, 0, head.length);
+        return vector;
+    }
+
+    private SearchPage page(String json) throws Exception {
+        return objectMapper.readValue(json, SearchPage.class);
+    }
+}
@@ -0,0 +1,36 @@
+package com.giri.aiart.modules.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/// Unit test for {@link ReciprocalRankFusion}
+///
+/// @author Giri Pottepalem
+class ReciprocalRankFusionTest {
+
+    @Test
+    void items_ranked_by_both_lists_beat_items_ranked_by_one() {
+        // given: "b" is second in both rankings, "a" and "c" first in one each
+        var keyword = List.of("a", "b");
+        var vector = List.of("c", "b", "d");
+
+        // when
+        var fused = ReciprocalRankFusion.fuse(60, List.of(keyword, vector));
+
+        // then
+        assertThat(fused.keySet()).containsExactly("b", "a", "c", "d");
+        assertThat(fused.get("b")).isCloseTo(2.0 / 62, within(1e-12));
+        assertThat(fused.get("a")).isCloseTo(1.0 / 61, within(1e-12));
+    }
+
+    @Test
+    void ties_keep_the_order_of_first_appearance() {
+        var fused = ReciprocalRankFusion.fuse(60, List.of(List.of("x"), List.of("y")));
+
+        assertThat(fused.keySet()).containsExactly("x", "y");
+    }
+}
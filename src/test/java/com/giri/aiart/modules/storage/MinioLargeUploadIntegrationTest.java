@@ -0,0 +1,124 @@
+package com.giri.aiart.modules.storage;
+
+import com.giri.aiart.BaseIntegrationTest;
+import com.giri.aiart.config.MinioConfig;
+import com.giri.aiart.config.MinioProperties;
+import com.giri.aiart.shared.util.ContentHashUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+
+import java.io.InputStream;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/// Integration test for streaming uploads of {@link MinioStorageService}: uploads objects larger than the JVM heap.
+///
+/// Tagged `large-upload`, it runs in its own surefire execution with `-Xmx256m` (see `pom.xml`), so an upload that
+/// buffered the whole object on the heap would fail with an `OutOfMemoryError`.
+///
+/// @author Giri Pottepalem
+@Tag("large-upload")
+@SpringBootTest(classes = {MinioStorageService.class, MinioConfig.class, MinioProperties.class, SimpleMeterRegistry.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class MinioLargeUploadIntegrationTest extends BaseIntegrationTest {
+    private static final long LARGER_THAN_HEAP = 384L * 1024 * 1024;
+
+    static final GenericContainer<?> minio =
+        new GenericContainer<>("minio/minio:latest")
+            .withExposedPorts(9000)
+            .withEnv("MINIO_ROOT_USER", "minioadmin")
+            .withEnv("MINIO_ROOT_PASSWORD", "minioadmin")
+            .withCommand("server /data");
+
+    @Autowired
+    private MinioStorageService minioStorageService;
+
+    @DynamicPropertySource
+    static void registerMinioProperties(DynamicPropertyRegistry registry) {
+        minio.start();
+        String endpoint = "http://" + minio.getHost() + ":" + minio.getMappedPort(9000);
+        registry.add("minio.endpoint", () -> endpoint);
+    }
+
+    @AfterAll
+    void tearDown() {
+        minio.stop();
+    }
+
+    @Test
+    @DisplayName("Should stream an object of known size larger than the heap, in parallel parts")
+    void upload_of_known_size_larger_than_heap_should_succeed() throws Exception {
+        // given: generated content, never materialized
+        String objectName = "large/known-size.bin";
+        String expectedHash = ContentHashUtils.sha256Hex(new GeneratedInputStream(LARGER_THAN_HEAP, 42));
+
+        // when: uploading with a known size (above the parallel upload threshold)
+        minioStorageService.uploadFile(objectName, new GeneratedInputStream(LARGER_THAN_HEAP, 42), LARGER_THAN_HEAP,
+            "application/octet-stream");
+
+        // then: the stored object has the same content
+        try (InputStream download = minioStorageService.downloadFile(objectName)) {
+            assertThat(ContentHashUtils.sha256Hex(download)).isEqualTo(expectedHash);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream an object of unknown size larger than the heap")
+    void upload_of_unknown_size_larger_than_heap_should_succeed() throws Exception {
+        // given: generated content, never materialized
+        String objectName = "large/unknown-size.bin";
+        String expectedHash = ContentHashUtils.sha256Hex(new GeneratedInputStream(LARGER_THAN_HEAP, 7));
+
+        // when: uploading without a size
+        minioStorageService.uploadFile(objectName, new GeneratedInputStream(LARGER_THAN_HEAP, 7),
+            "application/octet-stream");
+
+        // then: the stored object has the same content
+        try (InputStream download = minioStorageService.downloadFile(objectName)) {
+            assertThat(ContentHashUtils.sha256Hex(download)).isEqualTo(expectedHash);
+        }
+    }
+
+    /// Deterministic pseudo-random content of the given size, produced on the fly
+    private static final class GeneratedInputStream extends InputStream {
+        private final SplittableRandom random;
+        private long remaining;
+
+        GeneratedInputStream(long size, long seed) {
+            this.remaining = size;
+            this.random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) {
+                return -1;
+            }
+            remaining--;
+            return random.nextInt(256);
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int count = (int) Math.min(length, remaining);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) random.nextInt(256);
+            }
+            remaining -= count;
+            return count;
+        }
+    }
+}
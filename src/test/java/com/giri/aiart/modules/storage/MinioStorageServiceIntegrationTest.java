@@ -3,6 +3,8 @@ package com.giri.aiart.modules.storage;
 import com.giri.aiart.BaseIntegrationTest;
 import com.giri.aiart.config.MinioConfig;
 import com.giri.aiart.config.MinioProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -25,7 +27,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 /// using Testcontainers.
 ///
 /// @author Giri Pottepalem
-@SpringBootTest(classes = {MinioStorageService.class, MinioConfig.class, MinioProperties.class})
+@SpringBootTest(classes = {MinioStorageService.class, MinioConfig.class, MinioProperties.class, SimpleMeterRegistry.class})
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class MinioStorageServiceIntegrationTest extends BaseIntegrationTest {
     /// Setup Testcontainers base class that can run any Docker image (as opposed to specialized ones like
@@ -53,6 +55,9 @@ public class MinioStorageServiceIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private MinioStorageService minioStorageService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /// Load other minio properties from `application-test.yml`, only the end point is replaced dynamically.
     /// Spring registers these first, then loads application-test.yml, and merges that the service will see
     @DynamicPropertySource
@@ -112,4 +117,44 @@ public class MinioStorageServiceIntegrationTest extends BaseIntegrationTest {
         }
 
     }
+
+    @Test
+    @DisplayName("Should check bucket existence once, not on every upload")
+    void repeated_uploads_should_not_check_bucket_again() throws Exception {
+        // given: the bucket was provisioned at startup
+        long bucketChecksBefore = bucketChecks();
+
+        // when: uploading several objects
+        for (int i = 0; i < 3; i++) {
+            minioStorageService.uploadFile("repeat-%d.txt".formatted(i),
+                new ByteArrayInputStream("repeat %d".formatted(i).getBytes()), "text/plain");
+        }
+
+        // then: no further bucketExists round trips, but every put was timed
+        assertThat(bucketChecks()).isEqualTo(bucketChecksBefore);
+        assertThat(meterRegistry.get(MinioStorageService.TIMER_NAME)
+            .tags("operation", "put", "outcome", "success").timer().count()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should store thumbnails in the thumbnails bucket")
+    void upload_and_download_thumbnail_should_succeed() throws Exception {
+        // given: a thumbnail
+        byte[] thumbnail = "thumbnail".getBytes(StandardCharsets.UTF_8);
+
+        // when: it is uploaded to the thumbnails bucket
+        minioStorageService.uploadFile(StorageBucket.THUMBNAILS, "thumbnails/a.jpg",
+            new ByteArrayInputStream(thumbnail), thumbnail.length, "image/jpeg");
+
+        // then: it can be downloaded from there
+        try (InputStream download = minioStorageService.downloadFile(StorageBucket.THUMBNAILS, "thumbnails/a.jpg")) {
+            assertThat(download.readAllBytes()).isEqualTo(thumbnail);
+        }
+    }
+
+    private long bucketChecks() {
+        return meterRegistry.find(MinioStorageService.TIMER_NAME).tag("operation", "bucket-exists").timers().stream()
+            .mapToLong(timer -> timer.count())
+            .sum();
+    }
 }
@@ -7,6 +7,7 @@ import com.giri.aiart.shared.domain.type.EmbeddingStatusType;
 import com.giri.aiart.shared.domain.type.EmbeddingType;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.util.UUID;
 
@@ -19,6 +20,7 @@ public class ArtworkEmbeddingRepositoryIntegrationTest extends BaseDataJpaTest{
     @Autowired private ArtistRepository artistRepository;
     @Autowired private ArtWorkRepository artworkRepository;
     @Autowired private ArtworkEmbeddingRepository embeddingRepository;
+    @Autowired private TestEntityManager entityManager;
 
     @Test
     void test_ArtworkEmbeddingRepository_insertAndRetrieveEmbedding() {
@@ -58,4 +60,22 @@ public class ArtworkEmbeddingRepositoryIntegrationTest extends BaseDataJpaTest{
         assertThat(retrieved.getEmbedding()[2]).isEqualTo(0.0f);
     }
 
+    @Test
+    void vectors_round_trip_exactly_in_text_and_in_binary() {
+        // given: an embedding with values that have no short decimal form
+        Artist artist = artistRepository.save(Artist.builder().firstName("Ada").lastName("Binary").build());
+        Artwork artwork = artworkRepository.save(Artwork.builder().title("Bits").artist(artist).build());
+        float[] vector = {0.1f, -123456.79f, (float) Math.PI, 1e-7f, 0};
+        var saved = embeddingRepository.save(ArtworkEmbedding.builder().artwork(artwork).embedding(vector).build());
+        entityManager.flush();
+
+        // when / then: read more often than the driver's prepareThreshold (5), so that later reads of the same
+        // statement on this connection arrive in binary
+        for (int read = 0; read < 8; read++) {
+            entityManager.clear();
+            var retrieved = embeddingRepository.findById(saved.getId()).orElseThrow();
+            assertThat(retrieved.getEmbedding()).as("read %d", read).containsExactly(vector);
+            assertThat(retrieved.getDimensions()).isEqualTo(5);
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package com.giri.aiart.shared.persistence.pgvector;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PGobject;
+
+import java.nio.ByteBuffer;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/// Unit test for the binary codecs {@link PgVector} and {@link PgHalfVector} and the {@link PgVectorType} mapping
+///
+/// @author Giri Pottepalem
+class PgVectorCodecTest {
+    private static final float[] VECTOR = {0.25f, -1.5f, 3.0e-3f, 0};
+
+    @Test
+    void vector_round_trips_in_binary_wire_format() throws Exception {
+        // given
+        var vector = new PgVector(VECTOR);
+
+        // when
+        byte[] bytes = new byte[vector.lengthInBytes()];
+        vector.toBytes(bytes, 0);
+
+        // then: int16 dimensions, int16 unused, big-endian float4 elements
+        var buffer = ByteBuffer.wrap(bytes);
+        assertThat(bytes).hasSize(4 + 4 * Float.BYTES);
+        assertThat(buffer.getShort()).isEqualTo((short) 4);
+        assertThat(buffer.getShort()).isZero();
+        assertThat(buffer.getFloat()).isEqualTo(0.25f);
+        assertThat(PgVector.decode(bytes)).containsExactly(VECTOR);
+        assertThat(vector.clone()).isEqualTo(vector);
+    }
+
+    @Test
+    void halfvec_round_trips_rounded_to_float16() {
+        // given
+        var vector = new PgHalfVector(VECTOR);
+
+        // when
+        byte[] bytes = new byte[vector.lengthInBytes()];
+        vector.toBytes(bytes, 0);
+
+        // then: int16 dimensions, int16 unused, big-endian float16 elements
+        var buffer = ByteBuffer.wrap(bytes);
+        assertThat(bytes).hasSize(4 + 4 * Short.BYTES);
+        assertThat(buffer.getShort()).isEqualTo((short) 4);
+        assertThat(buffer.getShort()).isZero();
+        assertThat(buffer.getShort()).isEqualTo(Float.floatToFloat16(0.25f));
+        assertThat(PgHalfVector.decode(bytes))
+            .containsExactly(0.25f, -1.5f, Float.float16ToFloat(Float.floatToFloat16(3.0e-3f)), 0);
+    }
+
+    @Test
+    void results_of_unregistered_connections_are_parsed_from_text() throws Exception {
+        // given: what the driver returns for a type that is not registered on the connection
+        var text = new PGobject();
+        text.setType("vector");
+        text.setValue("[0.25,-1.5,0.003,0]");
+        var halfText = new PGobject();
+        halfText.setType("halfvec");
+        halfText.setValue("[0.25,-1.5]");
+
+        // expect
+        assertThat(PgVector.read(text)).containsExactly(VECTOR);
+        assertThat(PgVector.read(new PgVector(VECTOR))).containsExactly(VECTOR);
+        assertThat(PgVector.read(null)).isNull();
+        assertThat(PgHalfVector.read(halfText)).containsExactly(0.25f, -1.5f);
+        assertThatThrownBy(() -> PgVector.read(halfText)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(new PgVector(new float[0]).getValue()).isEqualTo("[]");
+    }
+
+    @Test
+    void user_type_maps_vector_by_default_and_halfvec_on_request() {
+        var type = new PgVectorType();
+        type.setParameterValues(new Properties());
+        float[] copy = type.deepCopy(VECTOR);
+
+        assertThat(copy).isNotSameAs(VECTOR).containsExactly(VECTOR);
+        assertThat(type.equals(copy, VECTOR)).isTrue();
+        assertThat(type.returnedClass()).isEqualTo(float[].class);
+
+        var properties = new Properties();
+        properties.setProperty(PgVectorType.TYPE, "halfvec");
+        type.setParameterValues(properties);
+        properties.setProperty(PgVectorType.TYPE, "sparsevec");
+        assertThatThrownBy(() -> type.setParameterValues(properties)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
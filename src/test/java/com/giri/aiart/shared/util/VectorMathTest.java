@@ -0,0 +1,204 @@
+package com.giri.aiart.shared.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/// Unit test for {@link VectorMath} and both of its kernels, against double-precision reference loops. Lengths
+/// around the lane counts exercise the SIMD tails.
+///
+/// @author Giri Pottepalem
+class VectorMathTest {
+    private static final int[] LENGTHS = {1, 3, 4, 7, 8, 15, 16, 17, 31, 64, 65, 768, 1531, 1536};
+    private final Random random = new Random(42);
+
+    /// The scalar kernels, and the SIMD kernels when the Vector API module is resolved (always under Maven)
+    static List<VectorKernels> kernels() {
+        List<VectorKernels> kernels = new ArrayList<>(List.of(new ScalarVectorKernels()));
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            kernels.add(new SimdVectorKernels());
+        }
+        return kernels;
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void dot_cosine_and_l2_match_the_reference(VectorKernels kernels) {
+        for (int length : LENGTHS) {
+            // given
+            float[] a = randomVector(length);
+            float[] b = randomVector(length);
+            double dot = 0;
+            double normA = 0;
+            double normB = 0;
+            double squaredL2 = 0;
+            double magnitude = 0;
+            for (int i = 0; i < length; i++) {
+                dot += (double) a[i] * b[i];
+                magnitude += Math.abs((double) a[i] * b[i]);
+                normA += (double) a[i] * a[i];
+                normB += (double) b[i] * b[i];
+                squaredL2 += ((double) a[i] - b[i]) * ((double) a[i] - b[i]);
+            }
+
+            // when / then: float sums of `length` terms, in any order, stay within a relative 1e-5
+            assertThat((double) kernels.dot(a, b)).as("dot of %d", length)
+                .isCloseTo(dot, within(1e-5 * magnitude + 1e-7));
+            assertThat((double) kernels.cosine(a, b)).as("cosine of %d", length)
+                .isCloseTo(dot / Math.sqrt(normA * normB), within(1e-5));
+            assertThat((double) kernels.squaredL2(a, b)).as("squared L2 of %d", length)
+                .isCloseTo(squaredL2, within(1e-5 * squaredL2 + 1e-7));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void segment_variants_read_the_vector_in_place(VectorKernels kernels) {
+        try (var arena = Arena.ofConfined()) {
+            for (int length : LENGTHS) {
+                // given: the vector behind an unrelated float, at an offset not aligned to the vector size
+                float[] a = randomVector(length);
+                float[] b = randomVector(length);
+                MemorySegment segment = arena.allocate((long) (length + 1) * Float.BYTES);
+                MemorySegment.copy(b, 0, segment, ValueLayout.JAVA_FLOAT_UNALIGNED, Float.BYTES, length);
+
+                // when / then
+                assertThat(kernels.dot(a, segment, Float.BYTES)).isCloseTo(kernels.dot(a, b), within(1e-4f));
+                assertThat(kernels.cosine(a, segment, Float.BYTES)).isCloseTo(kernels.cosine(a, b), within(1e-6f));
+                assertThat(kernels.squaredL2(a, segment, Float.BYTES))
+                    .isCloseTo(kernels.squaredL2(a, b), within(1e-4f));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void batches_score_every_vector_like_single_dot_products(VectorKernels kernels) {
+        try (var arena = Arena.ofConfined()) {
+            for (int count : new int[] {0, 1, 3, 4, 5, 9}) {
+                // given: count vectors on the heap and the same ones contiguous in a segment
+                float[] query = randomVector(37);
+                float[][] vectors = new float[count][];
+                MemorySegment slab = arena.allocate((long) Math.max(1, count) * 37 * Float.BYTES);
+                for (int row = 0; row < count; row++) {
+                    vectors[row] = randomVector(37);
+                    MemorySegment.copy(vectors[row], 0, slab, ValueLayout.JAVA_FLOAT_UNALIGNED,
+                        (long) row * 37 * Float.BYTES, 37);
+                }
+
+                // when
+                float[] scores = new float[count];
+                float[] segmentScores = new float[count];
+                kernels.dotAll(query, vectors, scores);
+                kernels.dotAll(query, slab, 0, count, segmentScores);
+
+                // then
+                for (int row = 0; row < count; row++) {
+                    float expected = kernels.dot(query, vectors[row]);
+                    assertThat(scores[row]).isCloseTo(expected, within(1e-4f));
+                    assertThat(segmentScores[row]).isCloseTo(expected, within(1e-4f));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void max_abs_and_scale(VectorKernels kernels) {
+        float[] vector = randomVector(19);
+        vector[17] = -3;
+
+        float[] scaled = new float[19];
+        kernels.scale(vector, 2, scaled);
+
+        assertThat(kernels.maxAbs(vector)).isEqualTo(3);
+        for (int i = 0; i < vector.length; i++) {
+            assertThat(scaled[i]).isEqualTo(vector[i] * 2);
+        }
+    }
+
+    @Test
+    void normalize_returns_a_unit_vector_and_keeps_zero_vectors() {
+        float[] unit = VectorMath.normalize(new float[] {3, 0, 4});
+
+        assertThat(unit).containsExactly(new float[] {0.6f, 0, 0.8f}, within(1e-6f));
+        assertThat(VectorMath.norm(VectorMath.normalize(randomVector(1536)))).isCloseTo(1, within(1e-5f));
+        assertThat(VectorMath.normalize(new float[3])).containsExactly(0, 0, 0);
+        assertThat(VectorMath.cosine(new float[3], new float[] {1, 2, 3})).isZero();
+    }
+
+    @Test
+    void half_precision_round_trips_on_arrays_and_segments() {
+        // given
+        float[] vector = randomVector(1536);
+        short[] half = new short[vector.length];
+        float[] restored = new float[vector.length];
+        float[] restoredFromSegment = new float[vector.length];
+
+        // when
+        VectorMath.toHalf(vector, half);
+        VectorMath.fromHalf(half, restored);
+        try (var arena = Arena.ofConfined()) {
+            MemorySegment segment = arena.allocate((long) vector.length * Short.BYTES + 2);
+            VectorMath.toHalf(vector, segment, 2);
+            VectorMath.fromHalf(segment, 2, restoredFromSegment);
+        }
+
+        // then: float16 keeps 11 significant bits
+        for (int i = 0; i < vector.length; i++) {
+            assertThat(restored[i]).isCloseTo(vector[i], within(Math.abs(vector[i]) / 1024 + 1e-7f));
+        }
+        assertThat(restoredFromSegment).isEqualTo(restored);
+    }
+
+    @Test
+    void int8_quantization_maps_the_largest_value_to_127() {
+        // given
+        float[] vector = randomVector(768);
+        vector[5] = -2;
+        byte[] quantized = new byte[vector.length];
+        float[] restored = new float[vector.length];
+
+        // when
+        float scale = VectorMath.quantizeInt8(vector, quantized);
+        VectorMath.dequantizeInt8(quantized, scale, restored);
+
+        // then
+        assertThat(scale).isCloseTo(2f / 127, within(1e-7f));
+        assertThat(quantized[5]).isEqualTo((byte) -127);
+        for (int i = 0; i < vector.length; i++) {
+            assertThat(restored[i]).isCloseTo(vector[i], within(scale / 2 + 1e-6f));
+        }
+        assertThat(VectorMath.quantizeInt8(new float[4], new byte[4])).isZero();
+    }
+
+    @Test
+    void vectors_of_different_lengths_are_rejected() {
+        assertThatThrownBy(() -> VectorMath.dot(new float[3], new float[4]))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> VectorMath.dotAll(new float[3], new float[][] {new float[3], new float[2]},
+            new float[2]))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> VectorMath.dotAll(new float[3], new float[][] {new float[3]}, new float[0]))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private float[] randomVector(int length) {
+        float[] vector = new float[length];
+        for (int i = 0; i < length; i++) {
+            vector[i] = random.nextFloat() * 2 - 1;
+        }
+        return vector;
+    }
+}